@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.cache.impl.NearCacheService;
 import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 
 import java.util.Properties;
@@ -62,6 +63,10 @@ public final class CacheServiceLoader {
             throw new IllegalArgumentException("Failed to instantiate cache using class " + cacheClass, e);
         }
 
+        if (Boolean.parseBoolean(properties.getProperty(CacheProperties.NEAR_CACHE_ENABLED))) {
+            service = new NearCacheService(service);
+        }
+
         service.initialise(properties);
 
         if (!shutdownHookAdded) {
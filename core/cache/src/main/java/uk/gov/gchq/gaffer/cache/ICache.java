@@ -20,6 +20,8 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -39,6 +41,24 @@ public interface ICache<K, V> {
      */
     V get(final K key);
 
+    /**
+     * Retrieve the values associated with the given keys. Keys that are not
+     * in the cache are not included in the result.
+     *
+     * @param keys the keys to lookup in the cache
+     * @return the values associated with the keys
+     */
+    default Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new HashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (null != value) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
     /**
      * Add a new key-value pair to the cache.
      *
@@ -48,6 +68,18 @@ public interface ICache<K, V> {
      */
     void put(final K key, final V value) throws CacheOperationException;
 
+    /**
+     * Add all of the given key-value pairs to the cache.
+     *
+     * @param values the key-value pairs to add
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default void putAll(final Map<? extends K, ? extends V> values) throws CacheOperationException {
+        for (final Map.Entry<? extends K, ? extends V> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Add a new key-value pair to the cache, but only if there is existing entry associated with the specified key.
      *
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -65,6 +66,20 @@ public interface ICacheService {
         return cache.get(key);
     }
 
+    /**
+     * Get the values associated with the specified cache and keys.
+     *
+     * @param cacheName the name of the cache to look in
+     * @param keys      the keys of the entries to lookup
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @return the values of the keys that are in the cache
+     */
+    default <K, V> Map<K, V> getAllFromCache(final String cacheName, final Collection<? extends K> keys) {
+        final ICache<K, V> cache = getCache(cacheName);
+        return cache.getAll(keys);
+    }
+
     /**
      * Add a new key-value pair to the specified cache.
      *
@@ -80,6 +95,20 @@ public interface ICacheService {
         cache.put(key, value);
     }
 
+    /**
+     * Add all of the key-value pairs to the specified cache.
+     *
+     * @param cacheName the name of the cache
+     * @param values    the key-value pairs to add
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default <K, V> void putAllInCache(final String cacheName, final Map<? extends K, ? extends V> values) throws CacheOperationException {
+        final ICache<K, V> cache = getCache(cacheName);
+        cache.putAll(values);
+    }
+
     /**
      * Add a new key-value pair to the specified cache, but only if there is no existing
      * entry associated with the specified key.
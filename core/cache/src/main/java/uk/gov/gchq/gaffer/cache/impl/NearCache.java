@@ -0,0 +1,325 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@code NearCache} is an {@link ICache} that holds recently used entries of
+ * another cache locally, so repeated lookups do not go to the other cache.
+ * <p>
+ * Entries are held for a time to live and the least recently used entries
+ * are evicted once the near cache is full. Changes made through the near cache
+ * are written through to the other cache and invalidate the local entry.
+ * Changes made elsewhere, for example on another node sharing a distributed
+ * cache, are only seen once the local entry expires or is invalidated.
+ * Operations over the whole cache, such as getting all of the keys, always
+ * use the other cache.
+ * </p>
+ * <p>
+ * The cached values are returned without being copied, so they should not be
+ * modified. {@link InvalidationListener}s are notified whenever an entry is
+ * invalidated, so any state derived from the cached values can be dropped.
+ * </p>
+ * <p>
+ * An entry loaded from the other cache is not held locally if the key is
+ * invalidated while it is being loaded, so a value read before a concurrent
+ * change cannot outlive that change. This only covers changes made through
+ * this near cache; changes made on other nodes are not seen until the local
+ * entry expires.
+ * </p>
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class NearCache<K, V> implements ICache<K, V> {
+    private final ICache<K, V> delegate;
+    private final long timeToLive;
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, Load> loads = new HashMap<>();
+    private final List<InvalidationListener<K>> listeners = new CopyOnWriteArrayList<>();
+
+    public NearCache(final ICache<K, V> delegate, final long timeToLive, final int maxSize) {
+        if (null == delegate) {
+            throw new IllegalArgumentException("A cache to wrap is required");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2539846152471238312L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(final K key) {
+        final V value = getLocal(key);
+        if (null != value) {
+            return value;
+        }
+
+        final long invalidations = startLoad(key);
+        V delegateValue = null;
+        try {
+            delegateValue = delegate.get(key);
+        } finally {
+            finishLoad(key, invalidations, delegateValue);
+        }
+        return delegateValue;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new HashMap<>();
+        final List<K> missingKeys = new ArrayList<>();
+        for (final K key : keys) {
+            final V value = getLocal(key);
+            if (null != value) {
+                values.put(key, value);
+            } else {
+                missingKeys.add(key);
+            }
+        }
+
+        if (!missingKeys.isEmpty()) {
+            final Map<K, Long> invalidations = new HashMap<>();
+            for (final K key : missingKeys) {
+                if (!invalidations.containsKey(key)) {
+                    invalidations.put(key, startLoad(key));
+                }
+            }
+            Map<K, V> delegateValues = null;
+            try {
+                delegateValues = delegate.getAll(missingKeys);
+            } finally {
+                for (final Map.Entry<K, Long> entry : invalidations.entrySet()) {
+                    finishLoad(entry.getKey(), entry.getValue(), null != delegateValues ? delegateValues.get(entry.getKey()) : null);
+                }
+            }
+            values.putAll(delegateValues);
+        }
+        return values;
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        try {
+            delegate.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values) throws CacheOperationException {
+        try {
+            delegate.putAll(values);
+        } finally {
+            for (final K key : values.keySet()) {
+                invalidate(key);
+            }
+        }
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        // The other cache decides whether the key already exists
+        try {
+            delegate.putSafe(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        try {
+            delegate.remove(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        return delegate.getAllValues();
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        return delegate.getAllKeys();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() throws CacheOperationException {
+        try {
+            delegate.clear();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Removes the local entry for a key, so the next lookup goes to the other
+     * cache.
+     *
+     * @param key the key to invalidate
+     */
+    public void invalidate(final K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            final Load load = loads.get(key);
+            if (null != load) {
+                load.invalidations++;
+            }
+        }
+        for (final InvalidationListener<K> listener : listeners) {
+            listener.invalidated(key);
+        }
+    }
+
+    /**
+     * Removes all of the local entries.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            for (final Load load : loads.values()) {
+                load.invalidations++;
+            }
+        }
+        for (final InvalidationListener<K> listener : listeners) {
+            listener.invalidatedAll();
+        }
+    }
+
+    public void addInvalidationListener(final InvalidationListener<K> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeInvalidationListener(final InvalidationListener<K> listener) {
+        listeners.remove(listener);
+    }
+
+    public ICache<K, V> getDelegate() {
+        return delegate;
+    }
+
+    private V getLocal(final K key) {
+        synchronized (entries) {
+            final Entry<V> entry = entries.get(key);
+            if (null == entry) {
+                return null;
+            }
+            if (entry.isExpired()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * Records that a key is being loaded from the other cache.
+     *
+     * @param key the key being loaded
+     * @return the number of times the key has been invalidated while loads of
+     * it have been in progress, to be passed to {@link #finishLoad}
+     */
+    private long startLoad(final K key) {
+        synchronized (entries) {
+            final Load load = loads.computeIfAbsent(key, k -> new Load());
+            load.count++;
+            return load.invalidations;
+        }
+    }
+
+    /**
+     * Records that a load of a key has finished, holding the loaded value
+     * locally unless the key was invalidated while it was being loaded.
+     *
+     * @param key           the key that was loaded
+     * @param invalidations the value returned by {@link #startLoad}
+     * @param value         the loaded value, or null if there was none
+     */
+    private void finishLoad(final K key, final long invalidations, final V value) {
+        synchronized (entries) {
+            final Load load = loads.get(key);
+            if (null != value && load.invalidations == invalidations) {
+                entries.put(key, new Entry<>(value, timeToLive > 0 ? System.currentTimeMillis() + timeToLive : Long.MAX_VALUE));
+            }
+            load.count--;
+            if (0 == load.count) {
+                loads.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Notified when entries are removed from a {@link NearCache} because they
+     * have changed.
+     *
+     * @param <K> The object type that acts as the key for the cache
+     */
+    public interface InvalidationListener<K> {
+        void invalidated(final K key);
+
+        void invalidatedAll();
+    }
+
+    private static final class Load {
+        private int count;
+        private long invalidations;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiry;
+
+        private Entry(final V value, final long expiry) {
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiry;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link ICacheService} that wraps another cache service and holds a
+ * {@link NearCache} in front of each of its caches.
+ * <p>
+ * The near caches can be limited to the caches listed in
+ * {@link CacheProperties#NEAR_CACHE_NAMES}. Their size and time to live are
+ * set using {@link CacheProperties#NEAR_CACHE_MAX_SIZE} and
+ * {@link CacheProperties#NEAR_CACHE_TIME_TO_LIVE}.
+ * </p>
+ */
+public class NearCacheService implements ICacheService {
+    public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final ICacheService delegate;
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private Set<String> cacheNames;
+
+    public NearCacheService(final ICacheService delegate) {
+        if (null == delegate) {
+            throw new IllegalArgumentException("A cache service to wrap is required");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void initialise(final Properties properties) {
+        delegate.initialise(properties);
+        if (null == properties) {
+            return;
+        }
+
+        final String timeToLiveProperty = properties.getProperty(CacheProperties.NEAR_CACHE_TIME_TO_LIVE);
+        if (null != timeToLiveProperty) {
+            timeToLive = Long.parseLong(timeToLiveProperty.trim());
+        }
+        final String maxSizeProperty = properties.getProperty(CacheProperties.NEAR_CACHE_MAX_SIZE);
+        if (null != maxSizeProperty) {
+            maxSize = Integer.parseInt(maxSizeProperty.trim());
+        }
+        final String cacheNamesProperty = properties.getProperty(CacheProperties.NEAR_CACHE_NAMES);
+        if (null != cacheNamesProperty) {
+            cacheNames = new HashSet<>();
+            for (final String cacheName : cacheNamesProperty.split(",")) {
+                if (!cacheName.trim().isEmpty()) {
+                    cacheNames.add(cacheName.trim());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        for (final NearCache cache : caches.values()) {
+            cache.invalidateAll();
+        }
+        caches.clear();
+        delegate.shutdown();
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        if (null != cacheNames && !cacheNames.contains(cacheName)) {
+            return delegate.getCache(cacheName);
+        }
+
+        final NearCache<K, V> cache = caches.computeIfAbsent(cacheName,
+                k -> new NearCache<>(delegate.getCache(cacheName), timeToLive, maxSize));
+        return cache;
+    }
+
+    public ICacheService getDelegate() {
+        return delegate;
+    }
+}
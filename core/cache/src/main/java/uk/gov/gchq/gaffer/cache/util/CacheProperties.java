@@ -35,4 +35,30 @@ public final class CacheProperties {
      */
     public static final String CACHE_CONFIG_FILE = "gaffer.cache.config.file";
 
+    /**
+     * Name of the system property to use in order to wrap the cache service in a
+     * {@link uk.gov.gchq.gaffer.cache.impl.NearCacheService}, which holds recently
+     * used entries locally.
+     */
+    public static final String NEAR_CACHE_ENABLED = "gaffer.cache.near.enabled";
+
+    /**
+     * Name of the system property to use in order to define how long, in milliseconds,
+     * an entry is held in a near cache. A value of 0 or less holds entries until they
+     * are evicted or invalidated.
+     */
+    public static final String NEAR_CACHE_TIME_TO_LIVE = "gaffer.cache.near.timeToLive";
+
+    /**
+     * Name of the system property to use in order to define the maximum number of
+     * entries held in each near cache.
+     */
+    public static final String NEAR_CACHE_MAX_SIZE = "gaffer.cache.near.maxSize";
+
+    /**
+     * Name of the system property to use in order to define a comma separated list of
+     * the caches to hold near caches for. If not set, all caches have a near cache.
+     */
+    public static final String NEAR_CACHE_NAMES = "gaffer.cache.near.cacheNames";
+
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NearCacheTest {
+    private HashMapCache<String, Integer> delegate;
+
+    @BeforeEach
+    public void before() {
+        delegate = new HashMapCache<>();
+    }
+
+    @Test
+    public void shouldHoldValuesUntilInvalidated() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 10);
+        delegate.put("key", 1);
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+
+        // When
+        delegate.put("key", 2);
+
+        // Then
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+        cache.invalidate("key");
+        assertEquals(Integer.valueOf(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldExpireValues() throws CacheOperationException, InterruptedException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 1, 10);
+        delegate.put("key", 1);
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+
+        // When
+        delegate.put("key", 2);
+        Thread.sleep(10);
+
+        // Then
+        assertEquals(Integer.valueOf(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedValues() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 2);
+        delegate.put("a", 1);
+        delegate.put("b", 2);
+        delegate.put("c", 3);
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+
+        // When
+        cache.get("c");
+        delegate.put("a", 10);
+        delegate.put("b", 20);
+
+        // Then
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(20), cache.get("b"));
+    }
+
+    @Test
+    public void shouldWriteThroughAndInvalidateOnPut() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 10);
+        cache.put("key", 1);
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+
+        // When
+        cache.put("key", 2);
+
+        // Then
+        assertEquals(Integer.valueOf(2), delegate.get("key"));
+        assertEquals(Integer.valueOf(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldInvalidateOnRemoveAndClear() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("b");
+
+        // When
+        cache.remove("a");
+
+        // Then
+        assertNull(cache.get("a"));
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+
+        // When
+        cache.clear();
+
+        // Then
+        assertNull(cache.get("b"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldGetAllFromNearCacheAndDelegate() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 10);
+        final Map<String, Integer> values = new HashMap<>();
+        values.put("a", 1);
+        values.put("b", 2);
+        cache.putAll(values);
+        cache.get("a");
+        delegate.put("a", 10);
+
+        // When
+        final Map<String, Integer> result = cache.getAll(Arrays.asList("a", "b", "c"));
+
+        // Then
+        final Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 2);
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void shouldNotHoldValuesInvalidatedWhileBeingLoaded() throws CacheOperationException {
+        // Given
+        final List<NearCache<String, Integer>> caches = new ArrayList<>();
+        final HashMapCache<String, Integer> racingDelegate = new HashMapCache<String, Integer>() {
+            @Override
+            public Integer get(final String key) {
+                final Integer value = super.get(key);
+                if (Integer.valueOf(1).equals(value)) {
+                    try {
+                        caches.get(0).put(key, 2);
+                    } catch (final CacheOperationException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return value;
+            }
+        };
+        final NearCache<String, Integer> cache = new NearCache<>(racingDelegate, 0, 10);
+        caches.add(cache);
+        racingDelegate.put("a", 1);
+        racingDelegate.put("b", 1);
+
+        // When
+        final Integer value = cache.get("a");
+        final Map<String, Integer> values = cache.getAll(Arrays.asList("b"));
+
+        // Then
+        assertEquals(Integer.valueOf(1), value);
+        assertEquals(Integer.valueOf(1), values.get("b"));
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+    }
+
+    @Test
+    public void shouldNotifyInvalidationListeners() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(delegate, 0, 10);
+        final List<String> invalidated = new ArrayList<>();
+        cache.addInvalidationListener(new NearCache.InvalidationListener<String>() {
+            @Override
+            public void invalidated(final String key) {
+                invalidated.add(key);
+            }
+
+            @Override
+            public void invalidatedAll() {
+                invalidated.add("*");
+            }
+        });
+
+        // When
+        cache.put("a", 1);
+        cache.remove("b");
+        cache.clear();
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "*"), invalidated);
+    }
+
+    @Test
+    public void shouldOnlyWrapNamedCaches() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.NEAR_CACHE_NAMES, "near, other");
+        properties.setProperty(CacheProperties.NEAR_CACHE_MAX_SIZE, "5");
+        final ICacheService service = new NearCacheService(new HashMapCacheService());
+        service.initialise(properties);
+
+        // When
+        final ICache<String, Integer> nearCache = service.getCache("near");
+        final ICache<String, Integer> farCache = service.getCache("far");
+
+        // Then
+        assertTrue(nearCache instanceof NearCache);
+        assertTrue(farCache instanceof HashMapCache);
+        assertSame(nearCache, service.getCache("near"));
+        service.shutdown();
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@code JobScheduler} queues jobs before they are run on an {@link Executor},
+ * so that the order jobs are run in is fair between users.
+ * <p>
+ * Jobs are queued by priority and then by user. Jobs with a higher priority
+ * are always run first. Within a priority, users take turns, so a user who
+ * submits many jobs does not delay the jobs of other users. Each job submitted
+ * hands the executor a task that runs the next queued job, so the number of
+ * jobs running at once is limited by the executor.
+ * </p>
+ * <p>
+ * The total number of queued jobs, and the number of queued jobs for each
+ * user, can be limited. Jobs submitted when a queue is full are rejected
+ * with a {@link RejectedExecutionException}, so callers are told to back off
+ * rather than jobs building up without limit.
+ * </p>
+ */
+public class JobScheduler {
+    /**
+     * The operation option used to set the priority of a job.
+     */
+    public static final String PRIORITY_OPTION = "gaffer.job.priority";
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private final Executor executor;
+    private final int maxQueueDepth;
+    private final int maxQueueDepthPerUser;
+    // Priority (highest first) to user to the queued jobs of that user
+    private final TreeMap<Integer, LinkedHashMap<String, Deque<Runnable>>> queues = new TreeMap<>(Collections.reverseOrder());
+    private final Map<String, Integer> userQueueDepths = new HashMap<>();
+    private int queueDepth;
+
+    public JobScheduler(final Executor executor) {
+        this(executor, null, null);
+    }
+
+    /**
+     * @param executor             the executor to run the jobs on
+     * @param maxQueueDepth        the maximum number of queued jobs, or null or a non-positive value for no limit
+     * @param maxQueueDepthPerUser the maximum number of queued jobs for each user, or null or a non-positive value for no limit
+     */
+    public JobScheduler(final Executor executor, final Integer maxQueueDepth, final Integer maxQueueDepthPerUser) {
+        if (null == executor) {
+            throw new IllegalArgumentException("An executor is required");
+        }
+        this.executor = executor;
+        this.maxQueueDepth = getLimit(maxQueueDepth);
+        this.maxQueueDepthPerUser = getLimit(maxQueueDepthPerUser);
+    }
+
+    private static int getLimit(final Integer limit) {
+        return null != limit && limit > 0 ? limit : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Queues a job to be run.
+     *
+     * @param userId   the id of the user running the job
+     * @param priority the priority of the job, higher priorities run first
+     * @param job      the job to run
+     * @throws RejectedExecutionException if the queue is full or the executor rejects the job
+     */
+    public void submit(final String userId, final int priority, final Runnable job) {
+        final String user = null != userId ? userId : "";
+        synchronized (queues) {
+            if (queueDepth >= maxQueueDepth) {
+                throw new RejectedExecutionException("The job queue is full (" + maxQueueDepth + " jobs), try again later");
+            }
+            final int userQueueDepth = userQueueDepths.getOrDefault(user, 0);
+            if (userQueueDepth >= maxQueueDepthPerUser) {
+                throw new RejectedExecutionException("User " + user + " has too many queued jobs (" + maxQueueDepthPerUser + " jobs), try again later");
+            }
+            queues.computeIfAbsent(priority, k -> new LinkedHashMap<>())
+                    .computeIfAbsent(user, k -> new ArrayDeque<>())
+                    .add(job);
+            userQueueDepths.put(user, userQueueDepth + 1);
+            queueDepth++;
+        }
+
+        try {
+            executor.execute(this::runNext);
+        } catch (final RejectedExecutionException e) {
+            // Remove a queued job so the queue matches the tasks held by the executor
+            synchronized (queues) {
+                remove(job);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the total number of queued jobs
+     */
+    public int getQueueDepth() {
+        synchronized (queues) {
+            return queueDepth;
+        }
+    }
+
+    /**
+     * @param userId the id of the user
+     * @return the number of queued jobs for the user
+     */
+    public int getQueueDepth(final String userId) {
+        synchronized (queues) {
+            return userQueueDepths.getOrDefault(null != userId ? userId : "", 0);
+        }
+    }
+
+    private void runNext() {
+        final Runnable job;
+        synchronized (queues) {
+            job = poll();
+        }
+        if (null != job) {
+            job.run();
+        }
+    }
+
+    private Runnable poll() {
+        if (queues.isEmpty()) {
+            return null;
+        }
+
+        final Map.Entry<Integer, LinkedHashMap<String, Deque<Runnable>>> priorityQueues = queues.firstEntry();
+        final Iterator<Map.Entry<String, Deque<Runnable>>> users = priorityQueues.getValue().entrySet().iterator();
+        final Map.Entry<String, Deque<Runnable>> userQueue = users.next();
+        final String user = userQueue.getKey();
+        final Runnable job = userQueue.getValue().poll();
+
+        // Move the user to the back of the queue so the other users take their turns
+        users.remove();
+        if (!userQueue.getValue().isEmpty()) {
+            priorityQueues.getValue().put(user, userQueue.getValue());
+        }
+        if (priorityQueues.getValue().isEmpty()) {
+            queues.remove(priorityQueues.getKey());
+        }
+        decrementDepth(user);
+        return job;
+    }
+
+    private void remove(final Runnable job) {
+        final Iterator<LinkedHashMap<String, Deque<Runnable>>> priorityItr = queues.values().iterator();
+        while (priorityItr.hasNext()) {
+            final LinkedHashMap<String, Deque<Runnable>> userQueues = priorityItr.next();
+            final Iterator<Map.Entry<String, Deque<Runnable>>> userItr = userQueues.entrySet().iterator();
+            while (userItr.hasNext()) {
+                final Map.Entry<String, Deque<Runnable>> userQueue = userItr.next();
+                if (userQueue.getValue().removeLastOccurrence(job)) {
+                    if (userQueue.getValue().isEmpty()) {
+                        userItr.remove();
+                    }
+                    if (userQueues.isEmpty()) {
+                        priorityItr.remove();
+                    }
+                    decrementDepth(userQueue.getKey());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void decrementDepth(final String user) {
+        queueDepth--;
+        final int userQueueDepth = userQueueDepths.get(user) - 1;
+        if (0 == userQueueDepth) {
+            userQueueDepths.remove(user);
+        } else {
+            userQueueDepths.put(user, userQueueDepth);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JobSchedulerTest {
+    private List<Runnable> tasks;
+    private List<String> jobsRun;
+
+    @BeforeEach
+    public void before() {
+        tasks = new ArrayList<>();
+        jobsRun = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldTakeTurnsBetweenUsers() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(tasks::add);
+        submit(scheduler, "user1", 0, "a1");
+        submit(scheduler, "user1", 0, "a2");
+        submit(scheduler, "user1", 0, "a3");
+        submit(scheduler, "user2", 0, "b1");
+        submit(scheduler, "user3", 0, "c1");
+
+        // When
+        runTasks();
+
+        // Then
+        assertEquals(Arrays.asList("a1", "b1", "c1", "a2", "a3"), jobsRun);
+    }
+
+    @Test
+    public void shouldRunHigherPriorityJobsFirst() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(tasks::add);
+        submit(scheduler, "user1", 0, "low");
+        submit(scheduler, "user1", 5, "high");
+        submit(scheduler, "user2", 1, "medium");
+
+        // When
+        runTasks();
+
+        // Then
+        assertEquals(Arrays.asList("high", "medium", "low"), jobsRun);
+    }
+
+    @Test
+    public void shouldRejectJobsWhenQueueIsFull() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(tasks::add, 2, null);
+        submit(scheduler, "user1", 0, "a1");
+        submit(scheduler, "user2", 0, "b1");
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> submit(scheduler, "user3", 0, "c1"));
+        assertEquals(2, scheduler.getQueueDepth());
+
+        runTasks();
+        submit(scheduler, "user3", 0, "c1");
+        assertEquals(1, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void shouldRejectJobsWhenUserQueueIsFull() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(tasks::add, null, 1);
+        submit(scheduler, "user1", 0, "a1");
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> submit(scheduler, "user1", 0, "a2"));
+        submit(scheduler, "user2", 0, "b1");
+        assertEquals(1, scheduler.getQueueDepth("user1"));
+        assertEquals(1, scheduler.getQueueDepth("user2"));
+    }
+
+    @Test
+    public void shouldNotLimitQueuesWhenLimitsAreNotPositive() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(tasks::add, 0, -1);
+
+        // When
+        submit(scheduler, "user1", 0, "a1");
+        submit(scheduler, "user1", 0, "a2");
+
+        // Then
+        assertEquals(2, scheduler.getQueueDepth());
+        assertEquals(2, scheduler.getQueueDepth("user1"));
+    }
+
+    @Test
+    public void shouldRemoveJobRejectedByExecutor() {
+        // Given
+        final JobScheduler scheduler = new JobScheduler(task -> {
+            throw new RejectedExecutionException("shutdown");
+        });
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> submit(scheduler, "user1", 0, "a1"));
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(0, scheduler.getQueueDepth("user1"));
+    }
+
+    private void submit(final JobScheduler scheduler, final String userId, final int priority, final String jobName) {
+        scheduler.submit(userId, priority, () -> jobsRun.add(jobName));
+    }
+
+    private void runTasks() {
+        final List<Runnable> tasksToRun = new ArrayList<>(tasks);
+        tasks.clear();
+        tasksToRun.forEach(Runnable::run);
+    }
+}
@@ -31,15 +31,16 @@ import uk.gov.gchq.gaffer.access.ResourceType;
 import uk.gov.gchq.gaffer.access.predicate.AccessPredicate;
 import uk.gov.gchq.gaffer.access.predicate.UnrestrictedAccessPredicate;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.access.predicate.NamedViewWriteAccessPredicate;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONTemplate;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -196,25 +197,18 @@ public class NamedViewDetail implements AccessControlledResource, Serializable {
      */
     @JsonIgnore
     public View getViewWithDefaultParams() {
-        String viewStringWithDefaults = view;
+        final Map<String, Object> paramValues = new HashMap<>();
 
         if (null != parameters) {
             for (final Map.Entry<String, ViewParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    viewStringWithDefaults = viewStringWithDefaults.replace(buildParamNameString(paramKey),
-                            StringUtil.toString(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue())));
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
+                paramValues.put(parameterDetailPair.getKey(), parameterDetailPair.getValue().getDefaultValue());
             }
         }
 
         View view;
 
         try {
-            view = JSONSerialiser.deserialise(StringUtil.toBytes(viewStringWithDefaults), View.class);
+            view = JSONTemplate.compile(this.view).deserialise(paramValues, View.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
@@ -224,40 +218,34 @@ public class NamedViewDetail implements AccessControlledResource, Serializable {
     /**
      * Gets the View after adding in the parameters specified.  If a parameter does
      * not have a default and none is set an Exception will be thrown.
+     * The view json is parsed once and cached as a {@link JSONTemplate}.
      *
      * @param executionParams Parameters to add
      * @return the {@link View} with substituted parameters
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public View getView(final Map<String, Object> executionParams) {
-        String viewString = view;
+        final Map<String, Object> paramValues = new HashMap<>();
 
         for (final Map.Entry<String, ViewParameterDetail> entry : parameters.entrySet()) {
             final String paramKey = entry.getKey();
             final ViewParameterDetail paramDetail = entry.getValue();
 
-            final Object paramValueObj;
             if (null != executionParams && executionParams.keySet().contains(paramKey)) {
-                paramValueObj = executionParams.get(paramKey);
+                paramValues.put(paramKey, executionParams.get(paramKey));
             } else {
                 if (null != paramDetail.getDefaultValue() && !paramDetail.isRequired()) {
-                    paramValueObj = paramDetail.getDefaultValue();
+                    paramValues.put(paramKey, paramDetail.getDefaultValue());
                 } else {
                     throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                 }
             }
-            try {
-                viewString = viewString.replace(buildParamNameString(paramKey),
-                        StringUtil.toString(JSONSerialiser.serialise(paramValueObj)));
-            } catch (final SerialisationException e) {
-                throw new IllegalArgumentException(e.getMessage());
-            }
         }
 
         View view;
 
         try {
-            view = JSONSerialiser.deserialise(StringUtil.toBytes(viewString), View.class);
+            view = JSONTemplate.compile(this.view).deserialise(paramValues, View.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -318,11 +306,6 @@ public class NamedViewDetail implements AccessControlledResource, Serializable {
     }
 
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
-
     public AccessPredicate getReadAccessPredicate() {
         return readAccessPredicate != null ? deserialise(readAccessPredicate) : null;
     }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import com.google.common.collect.Sets;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@code CompactAdjacencyMaps} object holds the adjacency components of a
+ * graph for a number of hops, in a more compact form than {@link AdjacencyMaps}.
+ * <p>
+ * Each vertex is interned once into an int id which is shared by all of the
+ * hops, using an open addressing table of vertices and int ids. For each hop
+ * the destinations of each source vertex are held in a primitive int array,
+ * and the edges between each pair of vertex ids are found through an open
+ * addressing table keyed on the pair as a primitive long. A pair with a single
+ * edge holds just that edge, so no collection is created for it.
+ */
+public class CompactAdjacencyMaps {
+    private static final int[] NO_DESTINATIONS = new int[0];
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Object NULL_VERTEX = new Object();
+
+    private Object[] vertexTable = new Object[INITIAL_CAPACITY];
+    private int[] vertexTableIds = new int[INITIAL_CAPACITY];
+    private Object[] vertices = new Object[INITIAL_CAPACITY];
+    private int vertexCount;
+    private final List<Hop> hops = new ArrayList<>();
+
+    /**
+     * Add a new empty hop.
+     *
+     * @return the index of the new hop
+     */
+    public int addHop() {
+        hops.add(new Hop());
+        return hops.size() - 1;
+    }
+
+    /**
+     * Return the number of hops.
+     *
+     * @return the number of hops
+     */
+    public int size() {
+        return hops.size();
+    }
+
+    /**
+     * Add an edge to a hop.
+     *
+     * @param hop         the index of the hop
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param edge        the edge to add
+     */
+    public void putEdge(final int hop, final Object source, final Object destination, final Edge edge) {
+        hops.get(hop).putEdge(intern(source), intern(destination), edge);
+    }
+
+    /**
+     * Get the id of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex, or -1 if the vertex is not in any hop
+     */
+    public int getId(final Object vertex) {
+        final Object key = null != vertex ? vertex : NULL_VERTEX;
+        final int mask = vertexTable.length - 1;
+        for (int slot = hash(key.hashCode()) & mask; null != vertexTable[slot]; slot = (slot + 1) & mask) {
+            if (key.equals(vertexTable[slot])) {
+                return vertexTableIds[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the vertex with the given id.
+     *
+     * @param id the vertex id
+     * @return the vertex
+     */
+    public Object getVertex(final int id) {
+        if (id < 0 || id >= vertexCount) {
+            throw new IndexOutOfBoundsException("No vertex with id " + id);
+        }
+        return vertices[id];
+    }
+
+    /**
+     * Given a source vertex id, get the ids of the vertices which can be
+     * reached from that source in a hop.
+     *
+     * @param hop    the index of the hop
+     * @param source the source vertex id
+     * @return the destination vertex ids. The array must not be modified and
+     * may be longer than the number of destinations, see
+     * {@link #getDestinationCount(int, int)}.
+     */
+    public int[] getDestinations(final int hop, final int source) {
+        return hops.get(hop).getDestinations(source);
+    }
+
+    /**
+     * Given a source vertex id, get the number of vertices which can be
+     * reached from that source in a hop.
+     *
+     * @param hop    the index of the hop
+     * @param source the source vertex id
+     * @return the number of destinations
+     */
+    public int getDestinationCount(final int hop, final int source) {
+        return hops.get(hop).getDestinationCount(source);
+    }
+
+    /**
+     * Get the edges in a hop between the given source and destination vertex ids.
+     *
+     * @param hop         the index of the hop
+     * @param source      the source vertex id
+     * @param destination the destination vertex id
+     * @return the {@link Set} of edges
+     */
+    public Set<Edge> getEdges(final int hop, final int source, final int destination) {
+        return hops.get(hop).getEdges(source, destination);
+    }
+
+    private int intern(final Object vertex) {
+        final Object key = null != vertex ? vertex : NULL_VERTEX;
+        int mask = vertexTable.length - 1;
+        int slot = hash(key.hashCode()) & mask;
+        for (; null != vertexTable[slot]; slot = (slot + 1) & mask) {
+            if (key.equals(vertexTable[slot])) {
+                return vertexTableIds[slot];
+            }
+        }
+
+        final int id = vertexCount++;
+        if (id == vertices.length) {
+            vertices = Arrays.copyOf(vertices, id << 1);
+        }
+        vertices[id] = vertex;
+        vertexTable[slot] = key;
+        vertexTableIds[slot] = id;
+
+        // Keep the table at most half full
+        if (vertexCount << 1 > vertexTable.length) {
+            final Object[] oldTable = vertexTable;
+            final int[] oldIds = vertexTableIds;
+            vertexTable = new Object[oldTable.length << 1];
+            vertexTableIds = new int[oldTable.length << 1];
+            mask = vertexTable.length - 1;
+            for (int i = 0; i < oldTable.length; i++) {
+                if (null != oldTable[i]) {
+                    int newSlot = hash(oldTable[i].hashCode()) & mask;
+                    while (null != vertexTable[newSlot]) {
+                        newSlot = (newSlot + 1) & mask;
+                    }
+                    vertexTable[newSlot] = oldTable[i];
+                    vertexTableIds[newSlot] = oldIds[i];
+                }
+            }
+        }
+        return id;
+    }
+
+    private static int hash(final int hashCode) {
+        final int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(final long key) {
+        return hash((int) (key ^ (key >>> 32)));
+    }
+
+    private static long key(final int source, final int destination) {
+        return ((long) source << 32) | (destination & 0xFFFFFFFFL);
+    }
+
+    private static final class Hop {
+        private int[][] destinations = new int[INITIAL_CAPACITY][];
+        private int[] destinationCounts = new int[INITIAL_CAPACITY];
+
+        // An open addressing table from each pair of vertex ids to the index
+        // of its edges, plus one so that 0 marks an empty slot
+        private long[] pairKeys = new long[INITIAL_CAPACITY];
+        private int[] pairIndexes = new int[INITIAL_CAPACITY];
+        // The edges of each pair, either a single Edge or an Edge[]
+        private Object[] pairEdges = new Object[INITIAL_CAPACITY];
+        private int pairCount;
+
+        private void putEdge(final int source, final int destination, final Edge edge) {
+            final long key = key(source, destination);
+            final int mask = pairKeys.length - 1;
+            int slot = hash(key) & mask;
+            for (; 0 != pairIndexes[slot]; slot = (slot + 1) & mask) {
+                if (key == pairKeys[slot]) {
+                    addEdge(pairIndexes[slot] - 1, edge);
+                    return;
+                }
+            }
+
+            final int index = pairCount++;
+            if (index == pairEdges.length) {
+                pairEdges = Arrays.copyOf(pairEdges, index << 1);
+            }
+            pairEdges[index] = edge;
+            pairKeys[slot] = key;
+            pairIndexes[slot] = index + 1;
+            if (pairCount << 1 > pairKeys.length) {
+                resizePairs();
+            }
+
+            addDestination(source, destination);
+        }
+
+        private void addEdge(final int index, final Edge edge) {
+            final Object existing = pairEdges[index];
+            if (existing instanceof Edge) {
+                if (!existing.equals(edge)) {
+                    pairEdges[index] = new Edge[]{(Edge) existing, edge};
+                }
+            } else {
+                final Edge[] edges = (Edge[]) existing;
+                for (final Edge other : edges) {
+                    if (other.equals(edge)) {
+                        return;
+                    }
+                }
+                final Edge[] newEdges = Arrays.copyOf(edges, edges.length + 1);
+                newEdges[edges.length] = edge;
+                pairEdges[index] = newEdges;
+            }
+        }
+
+        private void resizePairs() {
+            final long[] oldKeys = pairKeys;
+            final int[] oldIndexes = pairIndexes;
+            pairKeys = new long[oldKeys.length << 1];
+            pairIndexes = new int[oldKeys.length << 1];
+            final int mask = pairKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (0 != oldIndexes[i]) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (0 != pairIndexes[slot]) {
+                        slot = (slot + 1) & mask;
+                    }
+                    pairKeys[slot] = oldKeys[i];
+                    pairIndexes[slot] = oldIndexes[i];
+                }
+            }
+        }
+
+        private void addDestination(final int source, final int destination) {
+            if (source >= destinations.length) {
+                final int newLength = Math.max(source + 1, destinations.length * 2);
+                destinations = Arrays.copyOf(destinations, newLength);
+                destinationCounts = Arrays.copyOf(destinationCounts, newLength);
+            }
+            int[] dests = destinations[source];
+            if (null == dests) {
+                dests = new int[2];
+                destinations[source] = dests;
+            } else if (destinationCounts[source] == dests.length) {
+                dests = Arrays.copyOf(dests, dests.length * 2);
+                destinations[source] = dests;
+            }
+            dests[destinationCounts[source]++] = destination;
+        }
+
+        private int[] getDestinations(final int source) {
+            if (source < 0 || source >= destinations.length || null == destinations[source]) {
+                return NO_DESTINATIONS;
+            }
+            return destinations[source];
+        }
+
+        private int getDestinationCount(final int source) {
+            if (source < 0 || source >= destinationCounts.length) {
+                return 0;
+            }
+            return destinationCounts[source];
+        }
+
+        private Set<Edge> getEdges(final int source, final int destination) {
+            final long key = key(source, destination);
+            final int mask = pairKeys.length - 1;
+            for (int slot = hash(key) & mask; 0 != pairIndexes[slot]; slot = (slot + 1) & mask) {
+                if (key == pairKeys[slot]) {
+                    final Object edges = pairEdges[pairIndexes[slot] - 1];
+                    return edges instanceof Edge ? Collections.singleton((Edge) edges) : Sets.newHashSet((Edge[]) edges);
+                }
+            }
+            return Collections.emptySet();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class CompactAdjacencyMapsTest {
+
+    @Test
+    public void shouldGetDestinations() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        final Set<Object> results = getDestinations(adjacencyMaps, 0, 1);
+
+        assertThat(results, containsInAnyOrder(1, 2, 5));
+    }
+
+    @Test
+    public void shouldGetDestinationsInEachHop() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        final Set<Object> results = getDestinations(adjacencyMaps, 1, 2);
+
+        assertThat(results, containsInAnyOrder(7));
+    }
+
+    @Test
+    public void shouldGetNoDestinationsForUnknownVertex() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        assertThat(adjacencyMaps.getId(8), is(-1));
+        assertThat(adjacencyMaps.getDestinationCount(0, -1), is(0));
+    }
+
+    @Test
+    public void shouldGetNoDestinationsForVertexWithNoEdgesInHop() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        assertThat(adjacencyMaps.getDestinationCount(1, adjacencyMaps.getId(1)), is(0));
+    }
+
+    @Test
+    public void shouldGetEdges() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        final Set<Edge> results = adjacencyMaps.getEdges(0, adjacencyMaps.getId(1), adjacencyMaps.getId(2));
+
+        assertThat(results, containsInAnyOrder(makeEdge(1, 2)));
+    }
+
+    @Test
+    public void shouldGetEmptyEdgeSet() {
+        final CompactAdjacencyMaps adjacencyMaps = getAdjacencyMaps();
+
+        final Set<Edge> results = adjacencyMaps.getEdges(0, adjacencyMaps.getId(2), adjacencyMaps.getId(1));
+
+        assertThat(results, is(empty()));
+    }
+
+    @Test
+    public void shouldPutEdgeWhenExisting() {
+        // Given
+        final CompactAdjacencyMaps adjacencyMaps = new CompactAdjacencyMaps();
+        adjacencyMaps.addHop();
+
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(1, 2));
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(TestGroups.EDGE_2, 1, 2));
+
+        // When
+        final Set<Edge> results = adjacencyMaps.getEdges(0, adjacencyMaps.getId(1), adjacencyMaps.getId(2));
+
+        // Then
+        assertThat(results, containsInAnyOrder(makeEdge(1, 2), makeEdge(TestGroups.EDGE_2, 1, 2)));
+        assertThat(adjacencyMaps.getDestinationCount(0, adjacencyMaps.getId(1)), is(1));
+    }
+
+    @Test
+    public void shouldNotDuplicateEqualEdges() {
+        // Given
+        final CompactAdjacencyMaps adjacencyMaps = new CompactAdjacencyMaps();
+        adjacencyMaps.addHop();
+
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(1, 2));
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(TestGroups.EDGE_2, 1, 2));
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(1, 2));
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(TestGroups.EDGE_2, 1, 2));
+
+        // When
+        final Set<Edge> results = adjacencyMaps.getEdges(0, adjacencyMaps.getId(1), adjacencyMaps.getId(2));
+
+        // Then
+        assertThat(results.size(), is(2));
+    }
+
+    @Test
+    public void shouldHoldManyVerticesAndPairs() {
+        // Given
+        final CompactAdjacencyMaps adjacencyMaps = new CompactAdjacencyMaps();
+        adjacencyMaps.addHop();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            adjacencyMaps.putEdge(0, i, i + 1, makeEdge(i, i + 1));
+            adjacencyMaps.putEdge(0, 0, i + 1, makeEdge(0, i + 1));
+        }
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertThat(adjacencyMaps.getVertex(adjacencyMaps.getId(i)), is(i));
+            assertThat(adjacencyMaps.getEdges(0, adjacencyMaps.getId(i), adjacencyMaps.getId(i + 1)), containsInAnyOrder(makeEdge(i, i + 1)));
+        }
+        assertThat(adjacencyMaps.getDestinationCount(0, adjacencyMaps.getId(0)), is(1000));
+        assertThat(adjacencyMaps.getId(1001), is(-1));
+    }
+
+    private Set<Object> getDestinations(final CompactAdjacencyMaps adjacencyMaps, final int hop, final Object source) {
+        final int sourceId = adjacencyMaps.getId(source);
+        final int[] destinations = adjacencyMaps.getDestinations(hop, sourceId);
+        final Object[] vertices = new Object[adjacencyMaps.getDestinationCount(hop, sourceId)];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = adjacencyMaps.getVertex(destinations[i]);
+        }
+        return new HashSet<>(Arrays.asList(vertices));
+    }
+
+    private CompactAdjacencyMaps getAdjacencyMaps() {
+        final CompactAdjacencyMaps adjacencyMaps = new CompactAdjacencyMaps();
+
+        adjacencyMaps.addHop();
+        adjacencyMaps.putEdge(0, 1, 2, makeEdge(1, 2));
+        adjacencyMaps.putEdge(0, 2, 3, makeEdge(2, 3));
+        adjacencyMaps.putEdge(0, 5, 4, makeEdge(5, 4));
+        adjacencyMaps.putEdge(0, 1, 5, makeEdge(1, 5));
+        adjacencyMaps.putEdge(0, 1, 1, makeEdge(1, 1));
+
+        adjacencyMaps.addHop();
+        adjacencyMaps.putEdge(1, 2, 7, makeEdge(2, 7));
+
+        return adjacencyMaps;
+    }
+
+    private Edge makeEdge(final Object source, final Object destination) {
+        return makeEdge(TestGroups.EDGE, source, destination);
+    }
+
+    private Edge makeEdge(final String group, final Object source, final Object destination) {
+        return new Edge.Builder().group(group).source(source).dest(destination).directed(true).build();
+    }
+}
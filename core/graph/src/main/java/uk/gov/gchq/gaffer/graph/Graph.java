@@ -183,7 +183,7 @@ public final class Graph {
      * @throws OperationException if an operation fails
      */
     public <O> GraphResult<O> execute(final GraphRequest<O> request) throws OperationException {
-        return _execute(store::execute, request);
+        return _execute(store::execute, request, true);
     }
 
     /**
@@ -224,7 +224,7 @@ public final class Graph {
      * @throws OperationException thrown if the job fails to run.
      */
     public GraphResult<JobDetail> executeJob(final GraphRequest<?> request) throws OperationException {
-        return _execute(store::executeJob, request);
+        return _execute(store::executeJob, request, false);
     }
 
     /**
@@ -295,7 +295,7 @@ public final class Graph {
         return result;
     }
 
-    private <O> GraphResult<O> _execute(final StoreExecuter<O> storeExecuter, final GraphRequest<?> request) throws OperationException {
+    private <O> GraphResult<O> _execute(final StoreExecuter<O> storeExecuter, final GraphRequest<?> request, final boolean closeExporters) throws OperationException {
         if (null == request) {
             throw new IllegalArgumentException("A request is required");
         }
@@ -348,6 +348,11 @@ public final class Graph {
             CloseableUtil.close(clonedOpChain);
             CloseableUtil.close(result);
             throw e;
+        } finally {
+            // Jobs close their exporters when they finish running
+            if (closeExporters) {
+                clonedContext.closeExporters(request.getContext().getExporters());
+            }
         }
         return new GraphResult<>(result, clonedContext);
     }
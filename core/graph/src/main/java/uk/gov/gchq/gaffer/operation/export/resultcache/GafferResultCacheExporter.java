@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -42,14 +43,24 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.koryphe.impl.predicate.AreIn;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Implementation of the {@link Exporter} interface for exporting the results of
  * a Gaffer query to a {@link Graph}-backed results cache.
+ * <p>
+ * Results are stored as JSON, which can optionally be GZIP compressed.
+ * Compressed results are detected when they are read, so results cached with
+ * and without compression can be read by any exporter.
+ * </p>
  */
 public class GafferResultCacheExporter implements Exporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferResultCacheExporter.class);
@@ -59,12 +70,23 @@ public class GafferResultCacheExporter implements Exporter {
     private final String visibility;
     private final TreeSet<String> requiredOpAuths;
     private final Set<String> userOpAuths;
+    private final boolean compressed;
 
     public GafferResultCacheExporter(final Context context,
                                      final String jobId,
                                      final Graph resultCache,
                                      final String visibility,
                                      final Set<String> requiredOpAuths) {
+        this(context, jobId, resultCache, visibility, requiredOpAuths, false);
+    }
+
+    public GafferResultCacheExporter(final Context context,
+                                     final String jobId,
+                                     final Graph resultCache,
+                                     final String visibility,
+                                     final Set<String> requiredOpAuths,
+                                     final boolean compressed) {
+        this.compressed = compressed;
         this.context = context;
         this.jobId = jobId;
         this.resultCache = resultCache;
@@ -97,7 +119,7 @@ public class GafferResultCacheExporter implements Exporter {
                         valueJson = null;
                     } else {
                         valueClass = value.getClass();
-                        valueJson = JSONSerialiser.serialise(value);
+                        valueJson = compressed ? compress(JSONSerialiser.serialise(value)) : JSONSerialiser.serialise(value);
                     }
 
                     return new Edge.Builder()
@@ -111,7 +133,7 @@ public class GafferResultCacheExporter implements Exporter {
                             .property("resultClass", valueClass.getName())
                             .property("result", valueJson)
                             .build();
-                } catch (final SerialisationException e) {
+                } catch (final IOException e) {
                     throw new RuntimeException("Unable to serialise results to json", e);
                 }
             }
@@ -124,6 +146,20 @@ public class GafferResultCacheExporter implements Exporter {
 
     @Override
     public CloseableIterable<?> get(final String key) throws OperationException {
+        return get(key, 0, null);
+    }
+
+    /**
+     * Gets the results from start (inclusive) to end (exclusive). Results
+     * before the start are skipped without being deserialised.
+     *
+     * @param key   the export key
+     * @param start the index of the first result
+     * @param end   the index after the last result, or null to read to the end
+     * @return the results
+     * @throws OperationException if the results cannot be fetched from the results cache
+     */
+    public CloseableIterable<?> get(final String key, final int start, final Integer end) throws OperationException {
         final GetElements getEdges = new GetElements.Builder()
                 .input(new EdgeSeed(jobId, key, true))
                 .view(new View.Builder()
@@ -140,7 +176,36 @@ public class GafferResultCacheExporter implements Exporter {
         if (null == edges) {
             return new WrappedCloseableIterable<>();
         }
-        return new TransformJsonResult(edges);
+        if (0 == start && null == end) {
+            return new TransformJsonResult(edges);
+        }
+        return new TransformJsonResult(new LimitedCloseableIterable<>((CloseableIterable<Element>) edges, start, end));
+    }
+
+    private static byte[] compress(final byte[] bytes) throws IOException {
+        final ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream();
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(compressedBytes)) {
+            gzip.write(bytes);
+        }
+        return compressedBytes.toByteArray();
+    }
+
+    private static byte[] decompress(final byte[] bytes) {
+        // JSON never starts with the GZIP magic number
+        if (bytes.length < 2 || (byte) GZIPInputStream.GZIP_MAGIC != bytes[0] || (byte) (GZIPInputStream.GZIP_MAGIC >> 8) != bytes[1]) {
+            return bytes;
+        }
+        try (final GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            final ByteArrayOutputStream decompressedBytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int length;
+            while ((length = gzip.read(buffer)) > 0) {
+                decompressedBytes.write(buffer, 0, length);
+            }
+            return decompressedBytes.toByteArray();
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to decompress result", e);
+        }
     }
 
     private static class TransformJsonResult extends TransformIterable<Element, Object> {
@@ -151,10 +216,11 @@ public class GafferResultCacheExporter implements Exporter {
         @Override
         protected Object transform(final Element edge) {
             final String resultClassName = (String) edge.getProperty("resultClass");
-            final byte[] resultBytes = (byte[]) edge.getProperty("result");
-            if (null == resultClassName || null == resultBytes) {
+            final byte[] storedBytes = (byte[]) edge.getProperty("result");
+            if (null == resultClassName || null == storedBytes) {
                 return null;
             }
+            final byte[] resultBytes = decompress(storedBytes);
 
             final Class<?> resultClass;
             try {
@@ -200,4 +266,8 @@ public class GafferResultCacheExporter implements Exporter {
     protected Set<String> getUserOpAuths() {
         return userOpAuths;
     }
+
+    protected boolean isCompressed() {
+        return compressed;
+    }
 }
@@ -40,6 +40,8 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
 
     private String cacheStorePropertiesPath;
 
+    private boolean compressResults = false;
+
     @Override
     protected Class<GafferResultCacheExporter> getExporterClass() {
         return GafferResultCacheExporter.class;
@@ -49,7 +51,7 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
     protected GafferResultCacheExporter createExporter(final ExportToGafferResultCache export, final Context context, final Store store) {
         return new GafferResultCacheExporter(
                 context, context.getJobId(), createGraph(store),
-                visibility, export.getOpAuths());
+                visibility, export.getOpAuths(), compressResults);
     }
 
     protected Graph createGraph(final Store store) {
@@ -87,4 +89,12 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
     public void setStorePropertiesPath(final String cacheStorePropertiesPath) {
         this.cacheStorePropertiesPath = cacheStorePropertiesPath;
     }
+
+    public boolean isCompressResults() {
+        return compressResults;
+    }
+
+    public void setCompressResults(final boolean compressResults) {
+        this.compressResults = compressResults;
+    }
 }
@@ -16,7 +16,9 @@
 
 package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
 import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.GetGafferResultCacheExport;
@@ -40,6 +42,14 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
 
     private String cacheStorePropertiesPath;
 
+    @Override
+    protected CloseableIterable<?> getExport(final GetGafferResultCacheExport export, final GafferResultCacheExporter exporter) throws OperationException {
+        if (0 == export.getStart() && null == export.getEnd()) {
+            return super.getExport(export, exporter);
+        }
+        return exporter.get(export.getKeyOrDefault(), export.getStart(), export.getEnd());
+    }
+
     @Override
     protected Class<GafferResultCacheExporter> getExporterClass() {
         return GafferResultCacheExporter.class;
@@ -48,6 +48,7 @@ import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -143,6 +144,44 @@ public class GafferResultCacheExporterTest {
         assertEquals(results, Lists.newArrayList(cachedResults));
     }
 
+    @Test
+    public void shouldAddCompressedResultsAndGetThem() throws OperationException {
+        // Given
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                context, jobId, resultCache, visibility, requiredOpAuths, true
+        );
+        exporter.add(key, results);
+        final ArgumentCaptor<OperationChain> addChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(addChain.capture(), Mockito.any(Context.class));
+        final List<Element> elements = Lists.newArrayList(((AddElements) addChain.getValue().getOperations().get(0)).getInput());
+        assertFalse(Arrays.equals(serialisedResults[0], (byte[]) elements.get(0).getProperty("result")));
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.any())).willReturn(new WrappedCloseableIterable<>(elements));
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key);
+
+        // Then
+        assertEquals(results, Lists.newArrayList(cachedResults));
+    }
+
+    @Test
+    public void shouldGetPageOfResults() throws OperationException {
+        // Given
+        long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = createCachedEdges(timestamp, serialisedResults);
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.any())).willReturn(new WrappedCloseableIterable<>(cachedEdges));
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                context, jobId, resultCache, visibility, requiredOpAuths
+        );
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key, 1, 2);
+
+        // Then
+        assertEquals(Collections.singletonList("2"), Lists.newArrayList(cachedResults));
+    }
+
     @Test
     public void shouldGetEmptyResults() throws OperationException {
         // Given
@@ -41,6 +41,8 @@ public class JobDetail implements Serializable {
     private JobStatus status;
     private Long startTime;
     private Long endTime;
+    private Long queueWaitTime;
+    private Long runTime;
     private String opChain;
     private String serialisedOperationChain;
     private String description;
@@ -57,6 +59,8 @@ public class JobDetail implements Serializable {
         this.status = getNewOrOld(oldJobDetail.status, newJobDetail.status);
         this.parentJobId = getNewOrOld(oldJobDetail.parentJobId, newJobDetail.parentJobId);
         this.repeat = getNewOrOld(oldJobDetail.repeat, newJobDetail.repeat);
+        this.queueWaitTime = getNewOrOld(oldJobDetail.queueWaitTime, newJobDetail.queueWaitTime);
+        this.runTime = getNewOrOld(oldJobDetail.runTime, newJobDetail.runTime);
 
         if (null == oldJobDetail.startTime) {
             this.startTime = System.currentTimeMillis();
@@ -174,6 +178,30 @@ public class JobDetail implements Serializable {
         this.endTime = endTime;
     }
 
+    /**
+     * @return the time in milliseconds the job waited in the queue before it started running,
+     * or null if the job has not been run from a queue
+     */
+    public Long getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public void setQueueWaitTime(final Long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
+    /**
+     * @return the time in milliseconds the job took to run once it left the queue,
+     * or null if the job has not finished running from a queue
+     */
+    public Long getRunTime() {
+        return runTime;
+    }
+
+    public void setRunTime(final Long runTime) {
+        this.runTime = runTime;
+    }
+
     public void setParentJobId(final String parentJobId) {
         this.parentJobId = parentJobId;
     }
@@ -235,6 +263,8 @@ public class JobDetail implements Serializable {
                 .append(serialisedOperationChain, jobDetail.serialisedOperationChain)
                 .append(startTime, jobDetail.startTime)
                 .append(endTime, jobDetail.endTime)
+                .append(queueWaitTime, jobDetail.queueWaitTime)
+                .append(runTime, jobDetail.runTime)
                 .append(status, jobDetail.status)
                 .append(description, jobDetail.description)
                 .append(parentJobId, jobDetail.parentJobId)
@@ -251,6 +281,8 @@ public class JobDetail implements Serializable {
                 .append(serialisedOperationChain)
                 .append(startTime)
                 .append(endTime)
+                .append(queueWaitTime)
+                .append(runTime)
                 .append(status)
                 .append(description)
                 .append(parentJobId)
@@ -266,6 +298,8 @@ public class JobDetail implements Serializable {
                 .append("status", status)
                 .append("startTime", startTime)
                 .append("endTime", endTime)
+                .append("queueWaitTime", queueWaitTime)
+                .append("runTime", runTime)
                 .append("opChain", opChain)
                 .append("serialisedOperationChain", serialisedOperationChain)
                 .append("description", description)
@@ -32,13 +32,14 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONTemplate;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -171,10 +172,6 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -184,29 +181,15 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
+        final Map<String, Object> paramValues = new HashMap<>();
 
         if (null != parameters) {
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
+                paramValues.put(parameterDetailPair.getKey(), parameterDetailPair.getValue().getDefaultValue());
             }
         }
 
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return deserialiseOperationChain(paramValues);
     }
 
     /**
@@ -217,7 +200,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
+        final Map<String, Object> paramValues = new HashMap<>();
 
         // First check all the parameters supplied are expected parameter names
         if (null != parameters) {
@@ -235,25 +218,32 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
                 try {
                     if (null != executionParams && executionParams.containsKey(paramKey)) {
                         Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
+                        paramValues.put(paramKey, paramObj);
                     } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
+                        paramValues.put(paramKey, parameterDetailPair.getValue().getDefaultValue());
                     } else {
                         throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                     }
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
+                } catch (final SerialisationException e) {
                     throw new IllegalArgumentException(e.getMessage());
                 }
             }
         }
 
-        OperationChain opChain;
+        return deserialiseOperationChain(paramValues);
+    }
 
+    /**
+     * Deserialises the operations using a cached {@link JSONTemplate}, so the
+     * operations json is only parsed once rather than on every execution.
+     *
+     * @param paramValues the values of the parameters
+     * @return the deserialised operation chain
+     */
+    private OperationChain deserialiseOperationChain(final Map<String, Object> paramValues) {
+        OperationChain opChain;
         try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
+            opChain = JSONTemplate.compile(operations).deserialise(paramValues, OperationChainDAO.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
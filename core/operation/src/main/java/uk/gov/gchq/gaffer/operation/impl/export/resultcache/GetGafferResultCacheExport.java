@@ -36,7 +36,7 @@ import java.util.Map;
  *
  * @see ExportToGafferResultCache
  */
-@JsonPropertyOrder(value = {"class"}, alphabetic = true)
+@JsonPropertyOrder(value = {"class", "start", "end"}, alphabetic = true)
 @Since("1.0.0")
 @Summary("Fetches data from a Gaffer result cache")
 public class GetGafferResultCacheExport implements
@@ -44,8 +44,26 @@ public class GetGafferResultCacheExport implements
         Output<CloseableIterable<?>> {
     private String jobId;
     private String key = Export.DEFAULT_KEY;
+    private int start = 0;
+    private Integer end = null;
     private Map<String, String> options;
 
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(final int start) {
+        this.start = start;
+    }
+
+    public Integer getEnd() {
+        return end;
+    }
+
+    public void setEnd(final Integer end) {
+        this.end = end;
+    }
+
     @Override
     public String getKey() {
         return key;
@@ -76,6 +94,8 @@ public class GetGafferResultCacheExport implements
         return new GetGafferResultCacheExport.Builder()
                 .jobId(jobId)
                 .key(key)
+                .start(start)
+                .end(end)
                 .options(options)
                 .build();
     }
@@ -97,5 +117,15 @@ public class GetGafferResultCacheExport implements
         public Builder() {
             super(new GetGafferResultCacheExport());
         }
+
+        public Builder start(final int start) {
+            _getOp().setStart(start);
+            return _self();
+        }
+
+        public Builder end(final Integer end) {
+            _getOp().setEnd(end);
+            return _self();
+        }
     }
 }
@@ -19,10 +19,14 @@ package uk.gov.gchq.gaffer.operation.impl.export.set;
 import com.google.common.collect.Iterables;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -33,13 +37,55 @@ import java.util.Set;
  * using a {@link Set}.
  * The values are stored in a {@link LinkedHashSet} in order to ensure there is
  * a predictable iteration order.
+ * <p>
+ * If a spill threshold is set, only that many values of each export are held
+ * in memory. Further values are written to a {@link SpilledSet} in the spill
+ * directory, optionally compressed, and are read back lazily after the values
+ * held in memory. This reduces the memory used by large exports, but does not
+ * bound it, as the hash code and position of each spilled value are still
+ * held in memory. Closing the exporter deletes the spilled values once any
+ * values read from them have been closed.
+ * </p>
  */
-public class SetExporter implements Exporter {
+public class SetExporter implements Exporter, Closeable {
     private Map<String, Set<Object>> exports = new HashMap<>();
+    private final Map<String, SpilledSet> spilledExports = new HashMap<>();
+    private final Integer spillThreshold;
+    private final File spillDirectory;
+    private final boolean compressed;
+
+    public SetExporter() {
+        this(null, null, false);
+    }
+
+    public SetExporter(final Integer spillThreshold, final File spillDirectory, final boolean compressed) {
+        if (null != spillThreshold && spillThreshold < 0) {
+            throw new IllegalArgumentException("spillThreshold must not be negative");
+        }
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = null != spillDirectory ? spillDirectory : new File(System.getProperty("java.io.tmpdir"));
+        this.compressed = compressed;
+    }
 
     @Override
     public void add(final String key, final Iterable<?> results) {
-        Iterables.addAll(getExport(key), results);
+        final Set<Object> export = getExport(key);
+        if (null == spillThreshold) {
+            Iterables.addAll(export, results);
+            return;
+        }
+
+        try {
+            for (final Object result : results) {
+                if (export.size() < spillThreshold) {
+                    export.add(result);
+                } else if (!export.contains(result)) {
+                    getSpilledExport(key).add(result);
+                }
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to spill export " + key + " to " + spillDirectory + ": " + e.getMessage(), e);
+        }
     }
 
     @Override
@@ -48,7 +94,31 @@ public class SetExporter implements Exporter {
     }
 
     public CloseableIterable<?> get(final String key, final int start, final Integer end) {
-        return new LimitedCloseableIterable<>(getExport(key), start, end);
+        final Set<Object> export = getExport(key);
+        final SpilledSet spilledExport = spilledExports.get(key);
+        if (null == spilledExport) {
+            return new LimitedCloseableIterable<>(export, start, end);
+        }
+
+        final int size = export.size();
+        final CloseableIterable<Object> spilledValues;
+        try {
+            spilledValues = spilledExport.get(Math.max(0, start - size), null != end ? (long) Math.max(0, end - size) : null);
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read spilled export " + key + ": " + e.getMessage(), e);
+        }
+        if (start >= size) {
+            return spilledValues;
+        }
+        return new ChainedIterable<>(new LimitedCloseableIterable<>(export, start, end), spilledValues);
+    }
+
+    @Override
+    public void close() {
+        for (final SpilledSet spilledExport : spilledExports.values()) {
+            spilledExport.close();
+        }
+        spilledExports.clear();
     }
 
     private Set<Object> getExport(final String key) {
@@ -57,9 +127,21 @@ public class SetExporter implements Exporter {
         return export;
     }
 
+    private SpilledSet getSpilledExport(final String key) throws IOException {
+        SpilledSet spilledExport = spilledExports.get(key);
+        if (null == spilledExport) {
+            spilledExport = new SpilledSet(spillDirectory, compressed);
+            spilledExports.put(key, spilledExport);
+        }
+        return spilledExport;
+    }
+
     public String toString() {
         return new ToStringBuilder(this)
                 .append("exports", exports)
+                .append("spillThreshold", spillThreshold)
+                .append("spillDirectory", spillDirectory)
+                .append("compressed", compressed)
                 .toString();
     }
 
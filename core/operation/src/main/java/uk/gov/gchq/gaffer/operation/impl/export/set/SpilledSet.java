@@ -0,0 +1,368 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.export.set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@code SpilledSet} holds the values of a {@link SetExporter} export that
+ * did not fit in memory in a file on local disk.
+ * <p>
+ * The values are serialised with the {@link JSONSerialiser} and written in
+ * blocks, which can be compressed. The position of each block is held in
+ * memory, so a page of values can be read without reading the blocks before
+ * it. Duplicate values are detected using equals, like a {@link java.util.Set}.
+ * The hash code and position of every value are held in memory and values
+ * with the same hash code are read back to compare them, so memory use grows
+ * with the number of values, although much more slowly than holding the
+ * values themselves. The most recently read blocks are cached, so that
+ * repeated lookups do not decompress the same block each time.
+ * </p>
+ * <p>
+ * The file is deleted as soon as it has been opened, so the disk space is
+ * released when the set is closed or garbage collected. If the file system
+ * does not allow an open file to be deleted, the file is deleted when the set
+ * is closed or the JVM exits. Values returned by {@link #get(long, Long)}
+ * can still be read after the set is closed, the file is closed once they
+ * have been closed too.
+ * </p>
+ */
+final class SpilledSet implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpilledSet.class);
+    private static final int BLOCK_SIZE = 1000;
+    private static final int LOOKUP_CACHE_BLOCKS = 8;
+    private static final String NULL_CLASS = "";
+
+    private final File file;
+    private final boolean compressed;
+    private final FileOutputStream output;
+    private final FileInputStream input;
+    private final FileChannel channel;
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<Integer, List<Long>> indexesByHash = new HashMap<>();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final List<Object> pendingValues = new ArrayList<>();
+    private final BlockCache lookupBlocks = new BlockCache();
+    private long fileLength;
+    private long size;
+    private int openReaders;
+    private boolean closed;
+
+    SpilledSet(final File directory, final boolean compressed) throws IOException {
+        this.compressed = compressed;
+        file = Files.createTempFile(directory.toPath(), "export", ".bin").toFile();
+        output = new FileOutputStream(file);
+        input = new FileInputStream(file);
+        channel = input.getChannel();
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Adds a value to the set if it is not already in the set.
+     *
+     * @param value the value to add
+     * @throws IOException if the value cannot be serialised or written
+     */
+    synchronized void add(final Object value) throws IOException {
+        final int hash = Objects.hashCode(value);
+        final List<Long> indexes = indexesByHash.get(hash);
+        if (null != indexes) {
+            for (final long index : indexes) {
+                if (Objects.equals(value, getValue(index))) {
+                    return;
+                }
+            }
+        }
+
+        final String className = null != value ? value.getClass().getName() : NULL_CLASS;
+        final byte[] bytes = null != value ? JSONSerialiser.serialise(value) : new byte[0];
+        final DataOutputStream dataOutput = new DataOutputStream(pending);
+        dataOutput.writeUTF(className);
+        dataOutput.writeInt(bytes.length);
+        dataOutput.write(bytes);
+        pendingValues.add(value);
+        indexesByHash.computeIfAbsent(hash, k -> new ArrayList<>(1)).add(size);
+        size++;
+        if (pendingValues.size() >= BLOCK_SIZE) {
+            flush();
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Gets the values from start (inclusive) to end (exclusive). The values
+     * are read lazily, a block at a time.
+     *
+     * @param start the index of the first value
+     * @param end   the index after the last value, or null to read to the end
+     * @return the values
+     * @throws IOException if the pending values cannot be written
+     */
+    synchronized CloseableIterable<Object> get(final long start, final Long end) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The spilled export data has been closed");
+        }
+        flush();
+        openReaders++;
+        final long first = Math.max(0, start);
+        final long limit = null != end ? Math.min(end, size) : size;
+        // The blocks are copied as the list can be resized by a later add
+        final List<Block> readBlocks = first < limit
+                ? new ArrayList<>(blocks.subList(getBlockIndex(first), getBlockIndex(limit - 1) + 1))
+                : Collections.emptyList();
+        return new BlockIterable(readBlocks, first, limit);
+    }
+
+    /**
+     * Closes the set. The file is closed and deleted once all the values
+     * returned by {@link #get(long, Long)} have also been closed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        release();
+    }
+
+    private synchronized void closeReader() {
+        openReaders--;
+        release();
+    }
+
+    private void release() {
+        if (!closed || openReaders > 0) {
+            return;
+        }
+        indexesByHash.clear();
+        pendingValues.clear();
+        lookupBlocks.clear();
+        try {
+            output.close();
+            input.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to close spilled export data", e);
+        }
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Unable to delete spilled export data: {}", file);
+        }
+    }
+
+    private Object getValue(final long index) {
+        final long pendingStart = size - pendingValues.size();
+        if (index >= pendingStart) {
+            return pendingValues.get((int) (index - pendingStart));
+        }
+        final Block block = blocks.get(getBlockIndex(index));
+        return lookupBlocks.computeIfAbsent(block, this::readBlock).get((int) (index - block.first));
+    }
+
+    private void flush() throws IOException {
+        final int pendingCount = pendingValues.size();
+        if (0 == pendingCount) {
+            return;
+        }
+
+        final byte[] bytes;
+        if (compressed) {
+            final ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream();
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(compressedBytes)) {
+                pending.writeTo(gzip);
+            }
+            bytes = compressedBytes.toByteArray();
+        } else {
+            bytes = pending.toByteArray();
+        }
+        output.write(bytes);
+        output.flush();
+        blocks.add(new Block(fileLength, bytes.length, size - pendingCount, pendingCount));
+        fileLength += bytes.length;
+        pending.reset();
+        pendingValues.clear();
+    }
+
+    private List<Object> readBlock(final Block block) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.allocate(block.length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of spilled export data");
+                }
+            }
+
+            InputStream blockInput = new ByteArrayInputStream(buffer.array());
+            if (compressed) {
+                blockInput = new GZIPInputStream(blockInput);
+            }
+            final List<Object> values = new ArrayList<>(block.count);
+            try (final DataInputStream dataInput = new DataInputStream(blockInput)) {
+                for (int i = 0; i < block.count; i++) {
+                    final String className = dataInput.readUTF();
+                    final byte[] bytes = new byte[dataInput.readInt()];
+                    dataInput.readFully(bytes);
+                    values.add(NULL_CLASS.equals(className) ? null : JSONSerialiser.deserialise(bytes, Class.forName(className)));
+                }
+            }
+            return values;
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Unable to read spilled export data", e);
+        }
+    }
+
+    private int getBlockIndex(final long index) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (blocks.get(mid).first <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private final class BlockIterable implements CloseableIterable<Object> {
+        private final List<Block> readBlocks;
+        private final long start;
+        private final long limit;
+        private final AtomicBoolean readerClosed = new AtomicBoolean();
+
+        private BlockIterable(final List<Block> readBlocks, final long start, final long limit) {
+            this.readBlocks = readBlocks;
+            this.start = start;
+            this.limit = limit;
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            return new BlockIterator(readBlocks, start, limit);
+        }
+
+        @Override
+        public void close() {
+            if (readerClosed.compareAndSet(false, true)) {
+                closeReader();
+            }
+        }
+    }
+
+    private final class BlockIterator implements CloseableIterator<Object> {
+        private final List<Block> readBlocks;
+        private final long limit;
+        private long index;
+        private int blockIndex;
+        private List<Object> blockValues;
+
+        private BlockIterator(final List<Block> readBlocks, final long start, final long limit) {
+            this.readBlocks = readBlocks;
+            this.index = start;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < limit;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Block block = readBlocks.get(blockIndex);
+            if (index >= block.first + block.count) {
+                blockIndex++;
+                block = readBlocks.get(blockIndex);
+                blockValues = null;
+            }
+            if (null == blockValues) {
+                blockValues = readBlock(block);
+            }
+            return blockValues.get((int) (index++ - block.first));
+        }
+
+        @Override
+        public void close() {
+            blockValues = null;
+        }
+    }
+
+    /**
+     * The most recently used blocks read to check for duplicate values.
+     */
+    private static final class BlockCache extends LinkedHashMap<Block, List<Object>> {
+        private static final long serialVersionUID = -2270950297520133530L;
+
+        private BlockCache() {
+            super(LOOKUP_CACHE_BLOCKS * 2, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Block, List<Object>> eldest) {
+            return size() > LOOKUP_CACHE_BLOCKS;
+        }
+    }
+
+    private static final class Block {
+        private final long offset;
+        private final int length;
+        private final long first;
+        private final int count;
+
+        private Block(final long offset, final int length, final long first, final int count) {
+            this.offset = offset;
+            this.length = length;
+            this.first = first;
+            this.count = count;
+        }
+    }
+}
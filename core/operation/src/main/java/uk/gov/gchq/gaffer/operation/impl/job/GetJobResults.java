@@ -30,7 +30,8 @@ import java.util.Map;
 
 /**
  * A {@code GetJobResults} operation is used to retrieve the results of executing
- * a job on a Gaffer graph.
+ * a job on a Gaffer graph. A page of the results can be retrieved by setting
+ * the start (inclusive) and end (exclusive) indices of the results.
  */
 @JsonPropertyOrder(value = {"class"}, alphabetic = true)
 @Since("1.0.0")
@@ -55,6 +56,8 @@ public class GetJobResults extends GetGafferResultCacheExport {
     public GetJobResults shallowClone() {
         return new GetJobResults.Builder()
                 .jobId(getJobId())
+                .start(getStart())
+                .end(getEnd())
                 .options(options)
                 .build();
     }
@@ -75,5 +78,15 @@ public class GetJobResults extends GetGafferResultCacheExport {
         public Builder() {
             super(new GetJobResults());
         }
+
+        public Builder start(final int start) {
+            _getOp().setStart(start);
+            return _self();
+        }
+
+        public Builder end(final Integer end) {
+            _getOp().setEnd(end);
+            return _self();
+        }
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.join.match;
+
+/**
+ * A {@link Match} where a test object matches a candidate if, and only if, their
+ * keys are equal. This allows a join to look up the matches in a hash table
+ * rather than testing every candidate.
+ */
+public interface KeyedMatch extends Match {
+
+    /**
+     * Extracts the key from an object being tested for matches.
+     *
+     * @param testObject the object being tested
+     * @return the key, which must implement equals and hashCode
+     */
+    Object getTestObjectKey(final Object testObject);
+
+    /**
+     * Extracts the key from a match candidate.
+     *
+     * @param matchCandidate the match candidate
+     * @return the key, which must implement equals and hashCode
+     */
+    Object getMatchCandidateKey(final Object matchCandidate);
+
+    /**
+     * Converts a matched candidate into the value returned in the join results.
+     *
+     * @param matchCandidate the matched candidate
+     * @return the value to return, by default the candidate itself
+     */
+    default Object getMatch(final Object matchCandidate) {
+        return matchCandidate;
+    }
+}
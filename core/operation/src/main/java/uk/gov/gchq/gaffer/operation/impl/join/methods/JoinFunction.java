@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,28 +48,36 @@ public abstract class JoinFunction {
         }
 
         List<MapTuple> resultList = new ArrayList<>();
-        List matching;
 
-        if (flatten) {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final List<MapTuple> mapTuples = joinFlattened(keyObj, matching, keyName, matchingValuesName);
-                if (!mapTuples.isEmpty()) {
-                    resultList.addAll(mapTuples);
-                }
-            }
-        } else {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
-                if (mapTuple != null) {
-                    resultList.add(mapTuple);
-                }
-            }
+        for (final Object keyObj : keys) {
+            resultList.addAll(joinKey(keyObj, match.matching(keyObj), keyName, matchingValuesName, flatten));
         }
         return resultList;
     }
 
+    /**
+     * Joins a single key to the values it matched.
+     *
+     * @param key      the key
+     * @param matches  a list containing the matches
+     * @param matchKey the side the key is from
+     * @param flatten  true if a tuple should be returned for each match
+     * @return the resulting tuples, which may be empty
+     */
+    public List<MapTuple> join(final Object key, final List matches, final MatchKey matchKey, final Boolean flatten) {
+        final String matchingValuesName = MatchKey.LEFT.equals(matchKey) ? MatchKey.RIGHT.name() : MatchKey.LEFT.name();
+        return joinKey(key, matches, matchKey.name(), matchingValuesName, flatten);
+    }
+
+    private List<MapTuple> joinKey(final Object key, final List matches, final String keyName, final String matchingValuesName, final Boolean flatten) {
+        if (flatten) {
+            return joinFlattened(key, matches, keyName, matchingValuesName);
+        }
+
+        final MapTuple mapTuple = joinAggregated(key, matches, keyName, matchingValuesName);
+        return null != mapTuple ? Collections.singletonList(mapTuple) : Collections.emptyList();
+    }
+
     @Deprecated
     protected List<MapTuple> join(final Iterable keys, final String keyName, final String matchingValuesName, final Match match, final Boolean flatten) {
         throw new NotImplementedException();
@@ -19,11 +19,17 @@ package uk.gov.gchq.gaffer.export;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
 import uk.gov.gchq.gaffer.operation.impl.export.set.SetExporter;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -84,4 +90,109 @@ public class SetExporterTest {
             assertEquals(values1.subList(start, end), Lists.newArrayList(results));
         }
     }
+
+    @Test
+    public void shouldSpillValuesOverThresholdAndDeduplicate(@TempDir final File tempDir) {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            values.add(i);
+        }
+        final SetExporter exporter = new SetExporter(100, tempDir, true);
+
+        // When
+        exporter.add("key", values);
+        exporter.add("key", values);
+
+        // Then
+        try (CloseableIterable<?> results = exporter.get("key")) {
+            assertEquals(values, Lists.newArrayList(results));
+        }
+        exporter.close();
+    }
+
+    @Test
+    public void shouldGetSubsetOfSpilledValues(@TempDir final File tempDir) {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            values.add(i);
+        }
+        final SetExporter exporter = new SetExporter(100, tempDir, false);
+        exporter.add("key", values);
+
+        // When / Then
+        try (CloseableIterable<?> results = exporter.get("key", 50, 150)) {
+            assertEquals(values.subList(50, 150), Lists.newArrayList(results));
+        }
+        try (CloseableIterable<?> results = exporter.get("key", 1990, 2010)) {
+            assertEquals(values.subList(1990, 2010), Lists.newArrayList(results));
+        }
+        exporter.close();
+    }
+
+    @Test
+    public void shouldDeduplicateSpilledValuesUsingEquals(@TempDir final File tempDir) {
+        // Given
+        final List<Edge> edges = new ArrayList<>();
+        final List<Edge> matchedEdges = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            edges.add(new Edge.Builder().group(TestGroups.EDGE).source(i).dest(i + 1).directed(true).build());
+            matchedEdges.add(new Edge.Builder().group(TestGroups.EDGE).source(i).dest(i + 1).directed(true)
+                    .matchedVertex(MatchedVertex.SOURCE).build());
+        }
+        final SetExporter exporter = new SetExporter(0, tempDir, false);
+
+        // When
+        exporter.add("key", edges);
+        exporter.add("key", matchedEdges);
+
+        // Then
+        try (CloseableIterable<?> results = exporter.get("key")) {
+            assertEquals(edges, Lists.newArrayList(results));
+        }
+        exporter.close();
+    }
+
+    @Test
+    public void shouldReadSpilledValuesAfterExporterIsClosed(@TempDir final File tempDir) {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            values.add(i);
+        }
+        final SetExporter exporter = new SetExporter(100, tempDir, false);
+        exporter.add("key", values);
+
+        // When
+        final CloseableIterable<?> results = exporter.get("key");
+        exporter.close();
+
+        // Then
+        assertEquals(values, Lists.newArrayList(results));
+        results.close();
+    }
+
+    @Test
+    public void shouldReadSpilledValuesWhileMoreAreAdded(@TempDir final File tempDir) {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        final List<Integer> moreValues = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            values.add(i);
+            moreValues.add(i + 1500);
+        }
+        final SetExporter exporter = new SetExporter(100, tempDir, true);
+        exporter.add("key", values);
+
+        // When
+        final CloseableIterable<?> results = exporter.get("key");
+        exporter.add("key", moreValues);
+        exporter.add("key", values);
+
+        // Then
+        assertEquals(values, Lists.newArrayList(results));
+        results.close();
+        exporter.close();
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A {@code JSONTemplate} is json containing parameters, written as
+ * <code>"${parameterName}"</code>, that has been parsed once so it can be
+ * deserialised many times with different parameter values.
+ * <p>
+ * Parameter values are substituted into the parsed json tree, so the template
+ * does not need to be parsed again for each set of parameters. The result is
+ * the same as replacing each quoted parameter in the json string with the
+ * serialised parameter value and deserialising the json.
+ * </p>
+ * <p>
+ * Templates are cached by their json using {@link #compile(String)}, so a
+ * template is reused for as long as its json is unchanged. The number of
+ * cached templates is limited to {@link #MAX_CACHE_SIZE}.
+ * </p>
+ */
+public final class JSONTemplate {
+    public static final int MAX_CACHE_SIZE = 1000;
+    private static final String PARAMETER_PREFIX = "${";
+    private static final String PARAMETER_SUFFIX = "}";
+    private static final Map<String, JSONTemplate> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, JSONTemplate>(16, 0.75f, true) {
+                private static final long serialVersionUID = 4630218571369201853L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, JSONTemplate> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+
+    private final String json;
+    private final JsonNode tree;
+    private final Set<String> parameterNames;
+
+    private JSONTemplate(final String json) throws SerialisationException {
+        this.json = json;
+        this.parameterNames = new TreeSet<>();
+        final JsonNode parsedTree = JSONSerialiser.getJsonNodeFromString(json);
+        // Parameters used as field names can only be substituted into the json string
+        this.tree = findParameters(parsedTree) ? parsedTree : null;
+    }
+
+    /**
+     * Gets the template for the json, parsing the json if the template is not
+     * already cached.
+     *
+     * @param json the json containing parameters
+     * @return the template
+     * @throws SerialisationException if the json cannot be parsed
+     */
+    public static JSONTemplate compile(final String json) throws SerialisationException {
+        JSONTemplate template = CACHE.get(json);
+        if (null == template) {
+            template = new JSONTemplate(json);
+            CACHE.put(json, template);
+        }
+        return template;
+    }
+
+    /**
+     * Removes all of the cached templates.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Deserialises the template after substituting in the parameter values.
+     * Parameters without a value are left unchanged.
+     *
+     * @param parameters the parameter values
+     * @param clazz      the class of the object to deserialise
+     * @param <T>        the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if a parameter value cannot be serialised or the result cannot be deserialised
+     */
+    public <T> T deserialise(final Map<String, ?> parameters, final Class<T> clazz) throws SerialisationException {
+        if (null == tree) {
+            return JSONSerialiser.deserialise(replaceParameters(parameters), clazz);
+        }
+
+        final Map<String, JsonNode> parameterNodes = new HashMap<>();
+        if (null != parameters) {
+            for (final Map.Entry<String, ?> entry : parameters.entrySet()) {
+                if (parameterNames.contains(entry.getKey())) {
+                    parameterNodes.put(entry.getKey(), toNode(entry.getValue()));
+                }
+            }
+        }
+
+        try {
+            return JSONSerialiser.getMapper().treeToValue(substitute(tree, parameterNodes), clazz);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(parameterNames);
+    }
+
+    private boolean findParameters(final JsonNode node) {
+        if (node.isTextual()) {
+            final String parameterName = getParameterName(node.textValue());
+            if (null != parameterName) {
+                parameterNames.add(parameterName);
+            }
+        } else if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (null != getParameterName(field.getKey()) || !findParameters(field.getValue())) {
+                    return false;
+                }
+            }
+        } else if (node.isArray()) {
+            for (final JsonNode child : node) {
+                if (!findParameters(child)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Copies the containers in the tree, so the cached tree is never shared,
+    // and replaces the parameters with their values.
+    private JsonNode substitute(final JsonNode node, final Map<String, JsonNode> parameterNodes) {
+        if (node.isTextual()) {
+            final String parameterName = getParameterName(node.textValue());
+            if (null != parameterName && parameterNodes.containsKey(parameterName)) {
+                return parameterNodes.get(parameterName).deepCopy();
+            }
+            return node;
+        }
+        if (node.isObject()) {
+            final ObjectNode copy = JSONSerialiser.getMapper().createObjectNode();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(field.getKey(), substitute(field.getValue(), parameterNodes));
+            }
+            return copy;
+        }
+        if (node.isArray()) {
+            final ArrayNode copy = JSONSerialiser.getMapper().createArrayNode();
+            for (final JsonNode child : node) {
+                copy.add(substitute(child, parameterNodes));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    private static JsonNode toNode(final Object value) throws SerialisationException {
+        // Read the serialised value back as a tree, so numbers have the same type as if they were parsed from the json
+        final JsonNode node;
+        try {
+            node = JSONSerialiser.getMapper().readTree(JSONSerialiser.serialise(value));
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+        return null != node ? node : NullNode.getInstance();
+    }
+
+    private String replaceParameters(final Map<String, ?> parameters) throws SerialisationException {
+        String result = json;
+        if (null != parameters) {
+            for (final Map.Entry<String, ?> entry : parameters.entrySet()) {
+                result = result.replace("\"" + PARAMETER_PREFIX + entry.getKey() + PARAMETER_SUFFIX + "\"",
+                        new String(JSONSerialiser.serialise(entry.getValue()), StandardCharsets.UTF_8));
+            }
+        }
+        return result;
+    }
+
+    private static String getParameterName(final String value) {
+        if (null != value && value.length() > PARAMETER_PREFIX.length() + PARAMETER_SUFFIX.length()
+                && value.startsWith(PARAMETER_PREFIX) && value.endsWith(PARAMETER_SUFFIX)) {
+            return value.substring(PARAMETER_PREFIX.length(), value.length() - PARAMETER_SUFFIX.length());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonSerialisation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JSONTemplateTest {
+    private static final String JSON = "{\"a\":\"${a}\",\"b\":[\"${b}\",\"${a}\"],\"c\":\"text ${a}\",\"d\":\"${d}\"}";
+
+    @AfterEach
+    public void after() {
+        JSONTemplate.clearCache();
+    }
+
+    @Test
+    public void shouldSubstituteParametersTheSameAsStringReplacement() throws SerialisationException {
+        // Given
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("a", 1);
+        parameters.put("b", Arrays.asList("x", "y"));
+
+        // When
+        final Map result = JSONTemplate.compile(JSON).deserialise(parameters, Map.class);
+
+        // Then
+        final String replaced = JSON.replace("\"${a}\"", "1").replace("\"${b}\"", "[\"x\",\"y\"]");
+        assertEquals(JSONSerialiser.deserialise(replaced, Map.class), result);
+        assertEquals("${d}", result.get("d"));
+    }
+
+    @Test
+    public void shouldNotModifyTemplateWhenSubstituting() throws SerialisationException {
+        // Given
+        final JSONTemplate template = JSONTemplate.compile(JSON);
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("a", 1);
+        template.deserialise(parameters, Map.class);
+        parameters.put("a", 2);
+
+        // When
+        final Map result = template.deserialise(parameters, Map.class);
+
+        // Then
+        assertEquals(2, result.get("a"));
+    }
+
+    @Test
+    public void shouldSubstituteNullParameters() throws SerialisationException {
+        // Given
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("a", null);
+
+        // When
+        final Map result = JSONTemplate.compile(JSON).deserialise(parameters, Map.class);
+
+        // Then
+        assertEquals(null, result.get("a"));
+        assertEquals(true, result.containsKey("a"));
+    }
+
+    @Test
+    public void shouldSubstituteParametersUsedAsFieldNames() throws SerialisationException {
+        // Given
+        final String json = "{\"${a}\":1}";
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("a", "key");
+
+        // When
+        final Map result = JSONTemplate.compile(json).deserialise(parameters, Map.class);
+
+        // Then
+        assertEquals(1, result.get("key"));
+    }
+
+    @Test
+    public void shouldCacheTemplates() throws SerialisationException {
+        // When
+        final JSONTemplate template = JSONTemplate.compile(JSON);
+
+        // Then
+        assertSame(template, JSONTemplate.compile(new String(JSON)));
+        assertEquals(3, template.getParameterNames().size());
+    }
+}
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.store;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
@@ -169,6 +170,22 @@ public class Context {
         exporters.put(exporter.getClass(), exporter);
     }
 
+    /**
+     * Closes the exporters in this context that are not in the given
+     * collection, for example all the exporters added while executing an
+     * operation chain, leaving open the exporters the context was created with.
+     * Exporters that are not {@link AutoCloseable} are ignored.
+     *
+     * @param exportersToKeep the exporters to leave open
+     */
+    public void closeExporters(final Collection<Exporter> exportersToKeep) {
+        for (final Exporter exporter : exporters.values()) {
+            if (!exportersToKeep.contains(exporter)) {
+                CloseableUtil.close(exporter);
+            }
+        }
+    }
+
     public <E> E getExporter(final Class<? extends E> exporterClass) {
         if (null == exporterClass) {
             throw new IllegalArgumentException("Exporter class is required.");
@@ -17,12 +17,14 @@
 package uk.gov.gchq.gaffer.store;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+import uk.gov.gchq.gaffer.commonutil.JobScheduler;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
@@ -46,6 +48,7 @@ import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.Operations;
+import uk.gov.gchq.gaffer.operation.export.Exporter;
 import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
@@ -168,6 +171,7 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -175,6 +179,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.StreamSupport;
 
@@ -220,6 +225,7 @@ public abstract class Store {
     private GraphLibrary library;
 
     private JobTracker jobTracker;
+    private JobScheduler jobScheduler;
     private String graphId;
 
     private boolean jobsRescheduled;
@@ -420,17 +426,20 @@ public abstract class Store {
         if (opChain.getOperations().isEmpty()) {
             throw new IllegalArgumentException("An operation is required");
         }
+        getJobPriority(opChain, context);
         final JobDetail jobDetail = addOrUpdateJobDetail(opChain, context, null, JobStatus.RUNNING);
         jobDetail.setRepeat(job.getRepeat());
         return executeJob(opChain, jobDetail, context);
     }
 
     protected JobDetail executeJob(final OperationChain<?> operationChain, final Context context) throws OperationException {
+        getJobPriority(operationChain, context);
         final JobDetail jobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
         return executeJob(operationChain, jobDetail, context);
     }
 
     protected JobDetail executeJob(final OperationChain<?> operationChain, final Context context, final String parentJobId) throws OperationException {
+        getJobPriority(operationChain, context);
         JobDetail childJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
         childJobDetail.setParentJobId(parentJobId);
         return executeJob(operationChain, childJobDetail,
@@ -510,6 +519,11 @@ public abstract class Store {
             try {
                 executeJob(operationChain, newContext, jobDetail.getJobId());
             } catch (final OperationException e) {
+                if (e.getCause() instanceof RejectedExecutionException) {
+                    // Skip this run rather than cancelling the schedule
+                    LOGGER.warn("Scheduled job {} was not run: {}", jobDetail.getJobId(), e.getMessage());
+                    return;
+                }
                 throw new RuntimeException("Exception within scheduled job", e);
             }
         }
@@ -518,7 +532,7 @@ public abstract class Store {
 
     private JobDetail runJob(final Operation operation,
                              final JobDetail jobDetail,
-                             final Context context) {
+                             final Context context) throws OperationException {
         final OperationChain<?> clonedOp =
                 (operation instanceof Operations)
                         ? (OperationChain) operation.shallowClone()
@@ -538,23 +552,79 @@ public abstract class Store {
             }
         }
 
-        runAsync(() -> {
+        final long queuedTime = System.currentTimeMillis();
+        final Collection<Exporter> existingExporters = new ArrayList<>(context.getExporters());
+        final Runnable job = () -> {
+            final long runStartTime = System.currentTimeMillis();
+            final long queueWaitTime = runStartTime - queuedTime;
             try {
                 handleOperation(clonedOp, context);
-                addOrUpdateJobDetail(clonedOp, context, null, JobStatus.FINISHED);
+                addOrUpdateJobDetail(clonedOp, context, null, JobStatus.FINISHED,
+                        queueWaitTime, System.currentTimeMillis() - runStartTime);
             } catch (final Error e) {
                 addOrUpdateJobDetail(clonedOp, context, e.getMessage(),
-                        JobStatus.FAILED);
+                        JobStatus.FAILED, queueWaitTime, System.currentTimeMillis() - runStartTime);
                 throw e;
             } catch (final Exception e) {
                 LOGGER.warn("Operation chain job failed to execute", e);
                 addOrUpdateJobDetail(clonedOp, context, e.getMessage(),
-                        JobStatus.FAILED);
+                        JobStatus.FAILED, queueWaitTime, System.currentTimeMillis() - runStartTime);
+            } finally {
+                // Release any resources held by the exporters the job created
+                context.closeExporters(existingExporters);
+            }
+        };
+
+        if (null == jobScheduler) {
+            runAsync(job);
+        } else {
+            try {
+                jobScheduler.submit(context.getUser().getUserId(), getJobPriority(clonedOp, context), job);
+            } catch (final RejectedExecutionException e) {
+                addOrUpdateJobDetail(clonedOp, context, e.getMessage(), JobStatus.FAILED);
+                throw new OperationException(e.getMessage(), e);
             }
-        });
+        }
         return jobDetail;
     }
 
+    /**
+     * Gets the priority of a job from the {@link JobScheduler#PRIORITY_OPTION}
+     * option. This is called before the job is recorded, so that a job with an
+     * invalid priority is rejected rather than left running. Priorities above
+     * {@link StoreProperties#getJobExecutorMaxPriority()} are lowered to it,
+     * unless the user has the admin auth.
+     *
+     * @param operation the operation being run as a job
+     * @param context   the context of the job
+     * @return the priority of the job
+     * @throws OperationException if the priority is not an integer
+     */
+    private int getJobPriority(final Operation operation, final Context context) throws OperationException {
+        final String priorityOption = operation.getOption(JobScheduler.PRIORITY_OPTION);
+        if (null == priorityOption) {
+            return JobScheduler.DEFAULT_PRIORITY;
+        }
+        final int priority;
+        try {
+            priority = Integer.parseInt(priorityOption.trim());
+        } catch (final NumberFormatException e) {
+            throw new OperationException("The job priority option " + JobScheduler.PRIORITY_OPTION + " must be an integer: " + priorityOption, e);
+        }
+
+        final int maxPriority = getProperties().getJobExecutorMaxPriority();
+        if (priority > maxPriority && !isAdmin(context.getUser())) {
+            LOGGER.debug("Lowering the priority of a job for user {} from {} to {}", context.getUser().getUserId(), priority, maxPriority);
+            return maxPriority;
+        }
+        return priority;
+    }
+
+    private boolean isAdmin(final User user) {
+        final String adminAuth = getProperties().getAdminAuth();
+        return StringUtils.isNotEmpty(adminAuth) && null != user && user.getOpAuths().contains(adminAuth);
+    }
+
     public void runAsync(final Runnable runnable) {
         getExecutorService().execute(runnable);
     }
@@ -919,7 +989,14 @@ public abstract class Store {
     }
 
     private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
+        return addOrUpdateJobDetail(operationChain, context, msg, jobStatus, null, null);
+    }
+
+    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus,
+                                           final Long queueWaitTime, final Long runTime) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context.getUser(), operationChain, jobStatus, msg);
+        newJobDetail.setQueueWaitTime(queueWaitTime);
+        newJobDetail.setRunTime(runTime);
         if (null != jobTracker) {
             final JobDetail oldJobDetail = jobTracker.getJob(newJobDetail.getJobId(), context
                     .getUser());
@@ -962,6 +1039,9 @@ public abstract class Store {
 
     private void addExecutorService(final StoreProperties properties) {
         ExecutorService.initialise(properties.getJobExecutorThreadCount());
+        // Look up the executor service for each job, as it can be shutdown and initialised again
+        jobScheduler = new JobScheduler(runnable -> getExecutorService().execute(runnable),
+                properties.getJobExecutorMaxQueueDepth(), properties.getJobExecutorMaxQueueDepthPerUser());
     }
 
     private void addOpHandlers() {
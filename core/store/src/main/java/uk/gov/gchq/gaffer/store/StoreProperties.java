@@ -71,6 +71,29 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * The maximum number of jobs that can be queued waiting to run. Further
+     * jobs are rejected until the queue has space. If not set, or not
+     * positive, the queue is not limited.
+     */
+    public static final String JOB_EXECUTOR_MAX_QUEUE_DEPTH = "gaffer.store.job.executor.queue.max";
+
+    /**
+     * The maximum number of jobs each user can have queued waiting to run.
+     * If not set, or not positive, the number of jobs per user is only
+     * limited by {@link #JOB_EXECUTOR_MAX_QUEUE_DEPTH}.
+     */
+    public static final String JOB_EXECUTOR_MAX_QUEUE_DEPTH_PER_USER = "gaffer.store.job.executor.queue.maxPerUser";
+
+    /**
+     * The highest job priority that users can set with the
+     * gaffer.job.priority option. Higher priorities are lowered to this
+     * value, unless the user has the {@link #ADMIN_AUTH}. Defaults to 0, so
+     * only administrators can run jobs ahead of the jobs of other users.
+     */
+    public static final String JOB_EXECUTOR_MAX_PRIORITY = "gaffer.store.job.executor.priority.max";
+    public static final String JOB_EXECUTOR_MAX_PRIORITY_DEFAULT = "0";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -408,6 +431,32 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Integer getJobExecutorMaxQueueDepth() {
+        final String maxQueueDepth = get(JOB_EXECUTOR_MAX_QUEUE_DEPTH);
+        return null != maxQueueDepth ? Integer.parseInt(maxQueueDepth) : null;
+    }
+
+    public void setJobExecutorMaxQueueDepth(final Integer maxQueueDepth) {
+        set(JOB_EXECUTOR_MAX_QUEUE_DEPTH, null != maxQueueDepth ? maxQueueDepth.toString() : null);
+    }
+
+    public Integer getJobExecutorMaxQueueDepthPerUser() {
+        final String maxQueueDepth = get(JOB_EXECUTOR_MAX_QUEUE_DEPTH_PER_USER);
+        return null != maxQueueDepth ? Integer.parseInt(maxQueueDepth) : null;
+    }
+
+    public void setJobExecutorMaxQueueDepthPerUser(final Integer maxQueueDepth) {
+        set(JOB_EXECUTOR_MAX_QUEUE_DEPTH_PER_USER, null != maxQueueDepth ? maxQueueDepth.toString() : null);
+    }
+
+    public int getJobExecutorMaxPriority() {
+        return Integer.parseInt(get(JOB_EXECUTOR_MAX_PRIORITY, JOB_EXECUTOR_MAX_PRIORITY_DEFAULT));
+    }
+
+    public void setJobExecutorMaxPriority(final int maxPriority) {
+        set(JOB_EXECUTOR_MAX_PRIORITY, Integer.toString(maxPriority));
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
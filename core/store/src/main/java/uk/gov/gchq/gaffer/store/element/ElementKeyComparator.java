@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.element;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementComparator;
+
+/**
+ * An {@code ElementKeyComparator} orders {@link Element}s so that all of the
+ * elements that could share an {@link ElementKey} are next to each other.
+ * <p>
+ * Elements are ordered by group and then by a hash of their identifiers - the
+ * vertex, or the source, destination and directed flag. The group by
+ * properties are not compared, so elements with the same identifiers but
+ * different group by property values are also next to each other. The
+ * ordering has no other meaning, but is the same in every graph provided the
+ * hash codes of the vertices are based on their values.
+ * </p>
+ */
+public class ElementKeyComparator implements ElementComparator {
+    @Override
+    public int compare(final Element element1, final Element element2) {
+        if (element1 == element2) {
+            return 0;
+        }
+        if (null == element1) {
+            return -1;
+        }
+        if (null == element2) {
+            return 1;
+        }
+
+        final int groupComparison = element1.getGroup().compareTo(element2.getGroup());
+        if (0 != groupComparison) {
+            return groupComparison;
+        }
+        return Integer.compare(getIdentifierHash(element1), getIdentifierHash(element2));
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
+    private static int getIdentifierHash(final Element element) {
+        if (element instanceof Entity) {
+            return hash(((Entity) element).getVertex());
+        }
+
+        final Edge edge = (Edge) element;
+        if (edge.isDirected()) {
+            return 31 * hash(edge.getSource()) + hash(edge.getDestination());
+        }
+        // Undirected edges are equal to the same edge the other way round
+        return hash(edge.getSource()) ^ hash(edge.getDestination());
+    }
+
+    private static int hash(final Object vertex) {
+        return new HashCodeBuilder(17, 37).append(vertex).toHashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return null != obj && getClass().equals(obj.getClass());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
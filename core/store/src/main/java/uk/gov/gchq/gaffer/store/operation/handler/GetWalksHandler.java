@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
@@ -30,6 +31,7 @@ import uk.gov.gchq.gaffer.data.graph.GraphWindow;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMap;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.adjacency.CompactAdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.adjacency.PrunedAdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.adjacency.SimpleAdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
@@ -48,10 +50,17 @@ import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An operation handler for {@link GetWalks} operations.
@@ -63,7 +72,7 @@ import java.util.stream.Collectors;
  * used to construct all of the {@link Walk}s that exist in the temporary
  * graph.
  * <p>
- * The default handler has two settings which can be overridden by system
+ * The default handler has settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
  * operations that contain more than a set number of hops.</li> <li>prune -
  * toggle pruning for the in-memory graph representation. Enabling pruning
@@ -78,9 +87,29 @@ import java.util.stream.Collectors;
  * (for applications where performance is paramount and any issues arising from
  * excessive memory usage can be mitigated, this flag can be disabled).
  * <p>
+ * Setting the streaming flag changes how the walks are returned. The in-memory
+ * graph is held in a {@link CompactAdjacencyMaps}, with the vertices interned
+ * into int ids, and the walks are enumerated lazily by an iterative depth-first
+ * search as the result is consumed, rather than being collected into a list.
+ * Streaming is disabled by default and the prune flag is ignored when it is
+ * enabled.
+ * <p>
+ * Whether or not streaming is enabled, the walks returned are truncated at the
+ * resultsLimit. The input seeds and the elements returned by each hop are not
+ * truncated, a LimitExceededException is thrown if they exceed the
+ * resultsLimit.
+ * <p>
+ * The seeds for each hop are deduplicated before they are sent to the store.
+ * Setting batchSize splits each hop's seeds into batches of that size, which
+ * are executed as separate GetElements operations. If parallelism is greater
+ * than 1 the batches are executed concurrently, each with its own copy of the
+ * context, on a pool of that many daemon threads shared by all the GetWalks
+ * operations run by the handler. By default the seeds are not batched.
+ * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted, to enable/disable the pruning and streaming features or to
+ * configure the seed batching.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
@@ -88,6 +117,10 @@ import java.util.stream.Collectors;
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private boolean streaming = false;
+    private Integer batchSize = null;
+    private int parallelism = 1;
+    private ExecutorService batchExecutor;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -115,7 +148,15 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             throw new OperationException("GetWalks operation contains " + hops + " hops. The maximum number of hops is: " + maxHops);
         }
 
-        final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
+        final AdjacencyMaps adjacencyMaps;
+        final CompactAdjacencyMaps compactAdjacencyMaps;
+        if (streaming) {
+            adjacencyMaps = null;
+            compactAdjacencyMaps = new CompactAdjacencyMaps();
+        } else {
+            adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
+            compactAdjacencyMaps = null;
+        }
         final EntityMaps entityMaps = new SimpleEntityMaps();
 
         List<?> seeds = originalInput;
@@ -125,28 +166,36 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, compactAdjacencyMaps, entityMaps
                 );
             } else {
                 seeds = executeOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, compactAdjacencyMaps, entityMaps
                 );
             }
         }
 
         // Must add an empty entity map at the end if one has not been explicitly
         // requested by the user.
-        if (entityMaps.size() == adjacencyMaps.size()) {
+        if (entityMaps.size() == getHopCount(adjacencyMaps, compactAdjacencyMaps)) {
             entityMaps.add(new EntityMap());
         }
 
+        if (streaming) {
+            final Iterable<Walk> walks = () -> new WalkIterator(originalInput.iterator(), compactAdjacencyMaps, entityMaps, hops, getWalks.isIncludePartial());
+            return new LimitedCloseableIterable<>(walks, 0, resultLimit, true);
+        }
+
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
         // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream())
-                .collect(Collectors.toList());
+        Stream<Walk> walks = Streams.toStream(originalInput)
+                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream());
+        if (null != resultLimit) {
+            walks = walks.limit(resultLimit);
+        }
+        return walks.collect(Collectors.toList());
     }
 
     public Integer getMaxHops() {
@@ -165,6 +214,41 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(final Boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        if (null != batchSize && batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public synchronized void setParallelism(final Integer parallelism) {
+        this.parallelism = null != parallelism ? parallelism : 1;
+        if (null != batchExecutor) {
+            batchExecutor.shutdown();
+            batchExecutor = null;
+        }
+    }
+
+    private static int getHopCount(final AdjacencyMaps adjacencyMaps, final CompactAdjacencyMaps compactAdjacencyMaps) {
+        return null != compactAdjacencyMaps ? compactAdjacencyMaps.size() : adjacencyMaps.size();
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -177,6 +261,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
+                                          final CompactAdjacencyMaps compactAdjacencyMaps,
                                           final EntityMaps entityMaps) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
@@ -212,7 +297,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, compactAdjacencyMaps, entityMaps
                 );
             }
         }
@@ -227,10 +312,13 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
+                                     final CompactAdjacencyMaps compactAdjacencyMaps,
                                      final EntityMaps entityMaps) throws OperationException {
         final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
 
-        final AdjacencyMap adjacencyMap = new AdjacencyMap();
+        final boolean addHop = hops > getHopCount(adjacencyMaps, compactAdjacencyMaps);
+        final AdjacencyMap adjacencyMap = null == compactAdjacencyMaps ? new AdjacencyMap() : null;
+        final int compactHop = null != compactAdjacencyMaps && addHop ? compactAdjacencyMaps.addHop() : -1;
         final EntityMap entityMap = new EntityMap();
 
         final List<Object> nextSeeds = new ArrayList<>();
@@ -239,14 +327,18 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 final Edge edge = (Edge) e;
                 final Object nextSeed = edge.getAdjacentMatchedVertexValue();
                 nextSeeds.add(nextSeed);
-                adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                if (null != adjacencyMap) {
+                    adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                } else if (compactHop > -1) {
+                    compactAdjacencyMaps.putEdge(compactHop, edge.getMatchedVertexValue(), nextSeed, edge);
+                }
             } else {
                 final Entity entity = (Entity) e;
                 entityMap.putEntity(entity.getVertex(), entity);
             }
         }
 
-        if (hops > adjacencyMaps.size()) {
+        if (null != adjacencyMap && addHop) {
             adjacencyMaps.add(adjacencyMap);
         }
         entityMaps.add(entityMap);
@@ -259,7 +351,81 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                                final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
+        // Each vertex in the frontier only needs to be queried once
+        final List<Object> uniqueSeeds = new ArrayList<>(new LinkedHashSet<Object>(seeds));
+        if (null == batchSize || uniqueSeeds.size() <= batchSize) {
+            return executeBatch(operation, uniqueSeeds, resultLimit, context, store);
+        }
+
+        final List<List<Object>> batches = Lists.partition(uniqueSeeds, batchSize);
+        final List<Element> results = new ArrayList<>();
+        if (parallelism < 2) {
+            for (final List<Object> batch : batches) {
+                Iterables.addAll(results, executeBatch(operation, batch, resultLimit, context, store));
+                // Going over the limit fails below, as it does without batching
+                if (null != resultLimit && results.size() > resultLimit) {
+                    break;
+                }
+            }
+        } else {
+            results.addAll(executeBatchesInParallel(operation, batches, resultLimit, context, store));
+        }
+
+        return new LimitedCloseableIterable<>(results, 0, resultLimit, false);
+    }
+
+    private List<Element> executeBatchesInParallel(final Output<Iterable<Element>> operation,
+                                                   final List<List<Object>> batches,
+                                                   final Integer resultLimit,
+                                                   final Context context,
+                                                   final Store store) throws OperationException {
+        final ExecutorService threadPool = getBatchExecutor();
+        final List<Future<List<Element>>> futures = new ArrayList<>(batches.size());
+        try {
+            for (final List<Object> batch : batches) {
+                // Store handlers may modify the operation and context, so each batch gets its own copy
+                final Output<Iterable<Element>> batchOperation = (Output<Iterable<Element>>) operation.shallowClone();
+                final Context batchContext = context.shallowClone();
+                futures.add(threadPool.submit(() -> Lists.newArrayList(executeBatch(batchOperation, batch, resultLimit, batchContext, store))));
+            }
+
+            final List<Element> results = new ArrayList<>();
+            for (final Future<List<Element>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst executing GetWalks hop", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof OperationException) {
+                throw (OperationException) e.getCause();
+            }
+            throw new OperationException("Failed to execute GetWalks hop: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Cancel any batches still running if a batch failed
+            for (final Future<List<Element>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getBatchExecutor() {
+        if (null == batchExecutor) {
+            batchExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+                final Thread thread = new Thread(r, "get-walks-batch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return batchExecutor;
+    }
 
+    private Iterable<Element> executeBatch(final Output<Iterable<Element>> operation,
+                                           final List<?> seeds,
+                                           final Integer resultLimit,
+                                           final Context context,
+                                           final Store store) throws OperationException {
         final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
                         .input(seeds)
@@ -336,4 +502,99 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             );
         }
     }
+
+    /**
+     * Lazily enumerates the walks from each seed using an iterative depth-first
+     * search over a {@link CompactAdjacencyMaps}. Only the current path is held
+     * in memory.
+     */
+    private static final class WalkIterator implements Iterator<Walk> {
+        private final Iterator<EntityId> seeds;
+        private final CompactAdjacencyMaps adjacencyMaps;
+        private final EntityMaps entityMaps;
+        private final int hops;
+        private final boolean includePartial;
+
+        /**
+         * The vertex ids in the current path and, for each vertex in the path,
+         * the position of the next destination to visit.
+         */
+        private final int[] path;
+        private final int[] positions;
+        private Object seed;
+        private int depth = -1;
+        private Walk nextWalk;
+
+        private WalkIterator(final Iterator<EntityId> seeds, final CompactAdjacencyMaps adjacencyMaps, final EntityMaps entityMaps, final int hops, final boolean includePartial) {
+            this.seeds = seeds;
+            this.adjacencyMaps = adjacencyMaps;
+            this.entityMaps = entityMaps;
+            this.hops = hops;
+            this.includePartial = includePartial;
+            this.path = new int[hops + 1];
+            this.positions = new int[hops + 1];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextWalk) {
+                nextWalk = computeNext();
+            }
+            return null != nextWalk;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = nextWalk;
+            nextWalk = null;
+            return walk;
+        }
+
+        private Walk computeNext() {
+            while (true) {
+                if (depth < 0) {
+                    if (!seeds.hasNext()) {
+                        return null;
+                    }
+                    seed = seeds.next().getVertex();
+                    path[0] = adjacencyMaps.getId(seed);
+                    positions[0] = 0;
+                    if (0 < adjacencyMaps.getDestinationCount(0, path[0])) {
+                        depth = 0;
+                    } else if (includePartial) {
+                        return buildWalk(0);
+                    }
+                } else if (positions[depth] < adjacencyMaps.getDestinationCount(depth, path[depth])) {
+                    final int length = depth + 1;
+                    path[length] = adjacencyMaps.getDestinations(depth, path[depth])[positions[depth]++];
+                    if (hops == length) {
+                        return buildWalk(length);
+                    }
+                    if (0 < adjacencyMaps.getDestinationCount(length, path[length])) {
+                        depth = length;
+                        positions[depth] = 0;
+                    } else if (includePartial) {
+                        return buildWalk(length);
+                    }
+                } else {
+                    depth--;
+                }
+            }
+        }
+
+        private Walk buildWalk(final int length) {
+            final Walk.Builder builder = new Walk.Builder();
+            for (int i = 0; i <= length; i++) {
+                final Object vertex = 0 == i ? seed : adjacencyMaps.getVertex(path[i]);
+                builder.entities(entityMaps.get(i).get(vertex));
+                if (i < length) {
+                    builder.edges(adjacencyMaps.getEdges(i, path[i], path[i + 1]));
+                }
+            }
+            return builder.build();
+        }
+    }
 }
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sorts {@link Element}s that may not fit in memory.
+ * <p>
+ * The elements are read into runs of at most runSize elements. If all of the
+ * elements fit in a single run they are sorted in memory, otherwise each run
+ * is sorted and written to a file on local disk and the runs are lazily
+ * merged as the results are iterated. Runs can be sorted and written by
+ * several threads while the next run is being read, and at most one run per
+ * thread is held in memory while waiting to be written.
+ * </p>
+ * <p>
+ * Elements are written using the serialisers in the schema if the schema
+ * holds their group and all of their properties, otherwise, or if the schema
+ * serialisers fail, they are written using the {@link JSONSerialiser}. The
+ * matched vertex of an edge is written alongside the schema serialised bytes,
+ * as the schema serialisers do not keep it.
+ * </p>
+ * <p>
+ * The runs are ordered by the comparator and then by the hash code of the
+ * elements, so that equal elements are next to each other when the runs are
+ * merged and only elements with the same sort order and hash code need to be
+ * held to deduplicate them. The spilled data is deleted when the results are
+ * closed, or straight away if the sort fails.
+ * </p>
+ */
+public class ExternalSort {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSort.class);
+    private static final byte SCHEMA_SERIALISED = 0;
+    private static final byte JSON_SERIALISED = 1;
+
+    private final Comparator<Element> comparator;
+    private final Comparator<Element> runComparator;
+    private final Integer resultLimit;
+    private final boolean deduplicate;
+    private final int runSize;
+    private final int threads;
+    private final File spillDirectory;
+    private final Schema schema;
+
+    public ExternalSort(final Comparator<Element> comparator,
+                        final Integer resultLimit,
+                        final boolean deduplicate,
+                        final int runSize,
+                        final int threads,
+                        final File spillDirectory,
+                        final Schema schema) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize must be at least 1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.comparator = comparator;
+        this.runComparator = comparator.thenComparingInt(Element::hashCode);
+        this.resultLimit = resultLimit;
+        this.deduplicate = deduplicate;
+        this.runSize = runSize;
+        this.threads = threads;
+        this.spillDirectory = spillDirectory;
+        this.schema = schema;
+    }
+
+    /**
+     * Sorts the elements. The elements are read immediately, null elements
+     * are skipped.
+     *
+     * @param elements the elements to sort
+     * @return the sorted elements, which must be closed to delete any spilled data
+     * @throws IOException if the runs cannot be written
+     */
+    public CloseableIterable<Element> sort(final Iterable<? extends Element> elements) throws IOException {
+        final Iterator<? extends Element> itr = elements.iterator();
+        List<Element> run = readRun(itr);
+        if (!itr.hasNext()) {
+            try (final Stream<Element> stream = run.stream()) {
+                return new WrappedCloseableIterable<>(stream.collect(
+                        GafferCollectors.toLimitedInMemorySortedIterable(comparator, resultLimit, deduplicate)));
+            }
+        }
+
+        final File directory = Files.createTempDirectory(spillDirectory.toPath(), "sort").toFile();
+        LOGGER.info("Sort exceeded {} elements, spilling sorted runs to {}", runSize, directory);
+        final SpilledSort spilledSort = new SpilledSort(directory);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "sort-run-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean spilled = false;
+        try {
+            final LinkedList<Future<File>> pending = new LinkedList<>();
+            int runIndex = 0;
+            while (!run.isEmpty()) {
+                final List<Element> runToWrite = run;
+                final File runFile = new File(directory, "run-" + runIndex++);
+                pending.add(executorService.submit(() -> writeRun(runToWrite, runFile)));
+                // Limit the number of runs held in memory to one per thread
+                if (pending.size() >= threads) {
+                    spilledSort.runFiles.add(await(pending.removeFirst()));
+                }
+                run = readRun(itr);
+            }
+            while (!pending.isEmpty()) {
+                spilledSort.runFiles.add(await(pending.removeFirst()));
+            }
+            spilled = true;
+        } finally {
+            executorService.shutdownNow();
+            if (!spilled) {
+                awaitTermination(executorService);
+                spilledSort.close();
+            }
+        }
+        return spilledSort;
+    }
+
+    private List<Element> readRun(final Iterator<? extends Element> itr) {
+        final List<Element> run = new ArrayList<>();
+        while (run.size() < runSize && itr.hasNext()) {
+            final Element element = itr.next();
+            if (null != element) {
+                run.add(element);
+            }
+        }
+        return run;
+    }
+
+    private File writeRun(final List<Element> run, final File runFile) throws IOException {
+        run.sort(runComparator);
+        // Only the first resultLimit elements of a run can be returned, unless
+        // some of them are removed as duplicates when the runs are merged
+        final int size = null != resultLimit && !deduplicate ? Math.min(resultLimit, run.size()) : run.size();
+        final ElementSerialiser serialiser = null != schema ? new ElementSerialiser(schema) : null;
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile)))) {
+            for (int i = 0; i < size; i++) {
+                write(output, run.get(i), serialiser);
+            }
+        }
+        return runFile;
+    }
+
+    private void write(final DataOutputStream output, final Element element, final ElementSerialiser serialiser) throws IOException {
+        if (canSerialiseWithSchema(element)) {
+            byte[] bytes = null;
+            try {
+                bytes = serialiser.serialise(element);
+            } catch (final SerialisationException e) {
+                LOGGER.debug("Unable to serialise element with the schema serialisers, using JSON instead", e);
+            }
+            if (null != bytes) {
+                output.writeByte(SCHEMA_SERIALISED);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+                output.writeByte(getMatchedVertexCode(element));
+                return;
+            }
+        }
+        final byte[] bytes = JSONSerialiser.serialise(element);
+        output.writeByte(JSON_SERIALISED);
+        output.writeUTF(element.getClass().getName());
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte getMatchedVertexCode(final Element element) {
+        if (element instanceof Edge && null != ((Edge) element).getMatchedVertex()) {
+            return (byte) (((Edge) element).getMatchedVertex().ordinal() + 1);
+        }
+        return 0;
+    }
+
+    private boolean canSerialiseWithSchema(final Element element) {
+        if (null == schema || null == schema.getVertexSerialiser()) {
+            return false;
+        }
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        return null != elementDef && elementDef.getProperties().containsAll(element.getProperties().keySet());
+    }
+
+    /**
+     * Waits for the run writers to stop, so no run files are written after
+     * the spilled data is deleted.
+     *
+     * @param executorService the run writers
+     */
+    private static void awaitTermination(final ExecutorService executorService) {
+        try {
+            if (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Sorted run writers did not stop, spilled data may be left behind");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static File await(final Future<File> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing sorted runs", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to write sorted run: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * The results of a sort that has spilled to disk. The sorted runs are
+     * merged as the results are iterated.
+     */
+    private final class SpilledSort implements CloseableIterable<Element> {
+        private final File directory;
+        private final List<File> runFiles = new ArrayList<>();
+
+        private SpilledSort(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            return new MergeIterator(runFiles);
+        }
+
+        @Override
+        public void close() {
+            try (final Stream<File> files = Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile)) {
+                files.forEach(File::delete);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete spilled sort data in {}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * Merges the sorted runs, applying the result limit and deduplication.
+     */
+    private final class MergeIterator implements CloseableIterator<Element> {
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> queue = new PriorityQueue<>((r1, r2) -> runComparator.compare(r1.head, r2.head));
+        // The distinct elements with the same sort order and hash code as the
+        // last element returned
+        private final Set<Element> ties = new HashSet<>();
+        private Element last;
+        private Element next;
+        private long count;
+
+        private MergeIterator(final List<File> runFiles) {
+            try {
+                for (final File runFile : runFiles) {
+                    final RunReader reader = new RunReader(runFile);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (final RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && !queue.isEmpty() && (null == resultLimit || count < resultLimit)) {
+                final RunReader reader = queue.poll();
+                final Element element = reader.head;
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+
+                if (deduplicate) {
+                    if (null == last || 0 != runComparator.compare(last, element)) {
+                        ties.clear();
+                    }
+                    last = element;
+                    if (!ties.add(element)) {
+                        continue;
+                    }
+                }
+                next = element;
+                count++;
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+            queue.clear();
+        }
+    }
+
+    /**
+     * Reads the elements in a sorted run file.
+     */
+    private final class RunReader implements AutoCloseable {
+        private final DataInputStream input;
+        private final ElementSerialiser serialiser;
+        private Element head;
+
+        private RunReader(final File file) {
+            try {
+                input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read spilled sort data: " + file, e);
+            }
+            serialiser = null != schema ? new ElementSerialiser(schema) : null;
+        }
+
+        private boolean advance() {
+            try {
+                final byte type;
+                try {
+                    type = input.readByte();
+                } catch (final EOFException e) {
+                    head = null;
+                    close();
+                    return false;
+                }
+                if (SCHEMA_SERIALISED == type) {
+                    head = serialiser.deserialise(readBytes());
+                    final byte matchedVertexCode = input.readByte();
+                    if (0 != matchedVertexCode) {
+                        final Edge edge = (Edge) head;
+                        edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(),
+                                MatchedVertex.values()[matchedVertexCode - 1]);
+                    }
+                } else {
+                    final String className = input.readUTF();
+                    head = (Element) JSONSerialiser.deserialise(readBytes(), Class.forName(className));
+                }
+                return true;
+            } catch (final IOException | ClassNotFoundException e) {
+                throw new RuntimeException("Unable to read spilled sort data", e);
+            }
+        }
+
+        private byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            try {
+                input.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close spilled sort data", e);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.store.operation.handler.compare;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -26,6 +27,8 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -35,10 +38,21 @@ import java.util.stream.Stream;
  * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * <p>
+ * If there is no resultLimit, or it is more than the spillThreshold, the sort
+ * is done using an {@link ExternalSort}, which spills sorted runs of
+ * spillThreshold elements to disk if there are too many elements to sort in
+ * memory. The spillThreshold, spillDirectory and sortThreads can be
+ * configured by supplying an operationDeclarations.json file.
+ * </p>
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
 
+    private int spillThreshold = 1000000;
+    private String spillDirectory = null;
+    private int sortThreads = 1;
+
     @Override
     public Iterable<? extends Element> doOperation(final Sort operation, final Context context, final Store store) throws OperationException {
         // If there is no input or there are no comparators, we return null
@@ -60,6 +74,10 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        if (null == operation.getResultLimit() || operation.getResultLimit() > spillThreshold) {
+            return externalSort(operation, store);
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
                              .filter(Objects::nonNull)) {
@@ -74,4 +92,47 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    public int getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(final int spillThreshold) {
+        if (spillThreshold < 1) {
+            throw new IllegalArgumentException("spillThreshold must be at least 1");
+        }
+        this.spillThreshold = spillThreshold;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(final String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public int getSortThreads() {
+        return sortThreads;
+    }
+
+    public void setSortThreads(final int sortThreads) {
+        if (sortThreads < 1) {
+            throw new IllegalArgumentException("sortThreads must be at least 1");
+        }
+        this.sortThreads = sortThreads;
+    }
+
+    private CloseableIterable<Element> externalSort(final Sort operation, final Store store) throws OperationException {
+        final File directory = new File(null != spillDirectory ? spillDirectory : System.getProperty("java.io.tmpdir"));
+        final ExternalSort externalSort = new ExternalSort(operation.getCombinedComparator(), operation.getResultLimit(),
+                operation.isDeduplicate(), spillThreshold, sortThreads, directory, null != store ? store.getSchema() : null);
+        try {
+            return externalSort.sort(operation.getInput());
+        } catch (final IOException e) {
+            throw new OperationException("Unable to spill the sort to " + directory + ": " + e.getMessage(), e);
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
 }
@@ -22,11 +22,24 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.export.ExportToHandler;
 
+import java.io.File;
+
 /**
  * Implementation of the {@link ExportToHandler} abstract class to export objects
  * to a {@link java.util.Set} via a {@link SetExporter}.
+ * <p>
+ * Once an export holds spillThreshold objects, further objects are spilled to
+ * local disk, optionally compressed. The spillThreshold, spillDirectory and
+ * compressSpill can be configured by supplying an operationDeclarations.json
+ * file. By default the spillThreshold is null, which holds all exported
+ * objects in memory.
+ * </p>
  */
 public class ExportToSetHandler extends ExportToHandler<ExportToSet, SetExporter> {
+    private Integer spillThreshold = null;
+    private String spillDirectory = null;
+    private boolean compressSpill = false;
+
     @Override
     protected Class<SetExporter> getExporterClass() {
         return SetExporter.class;
@@ -34,6 +47,30 @@ public class ExportToSetHandler extends ExportToHandler<ExportToSet, SetExporter
 
     @Override
     protected SetExporter createExporter(final ExportToSet export, final Context context, final Store store) {
-        return new SetExporter();
+        return new SetExporter(spillThreshold, null != spillDirectory ? new File(spillDirectory) : null, compressSpill);
+    }
+
+    public Integer getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(final Integer spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(final String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public boolean isCompressSpill() {
+        return compressSpill;
+    }
+
+    public void setCompressSpill(final boolean compressSpill) {
+        this.compressSpill = compressSpill;
     }
 }
@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 /**
  * A {@code GetJobResultsHandler} handles {@link GetJobResults} operations by querying
  * the configured store's job tracker for the required job results.
+ * Only the requested page of results is read from the result cache.
  */
 public class GetJobResultsHandler implements OutputOperationHandler<GetJobResults, CloseableIterable<?>> {
     @Override
@@ -40,6 +41,8 @@ public class GetJobResultsHandler implements OutputOperationHandler<GetJobResult
         return store.execute(new OperationChain<>(new GetGafferResultCacheExport.Builder()
                 .jobId(operation.getJobId())
                 .key(operation.getKeyOrDefault())
+                .start(operation.getStart())
+                .end(operation.getEnd())
                 .build()), context);
     }
 }
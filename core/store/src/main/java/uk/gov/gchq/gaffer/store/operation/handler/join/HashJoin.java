@@ -0,0 +1,357 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Joins two iterables using a hash table built on the keys of the match
+ * candidates. The side being matched against is read into the hash table and
+ * the keyed side is then streamed, so the join runs in linear time.
+ * <p>
+ * If more than the spill threshold of match candidates are read, both sides
+ * are partitioned on the hash of their keys and written to local disk, then
+ * each partition is joined in turn. The objects are written using the
+ * {@link JSONSerialiser}, so must be JSON serialisable when a join spills, and
+ * the results of a spilled join are grouped by partition rather than in the
+ * order of the keyed side. The spilled data is deleted once the results have
+ * been iterated to the end or closed, so the results of a spilled join can
+ * only be iterated once.
+ */
+public class HashJoin {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashJoin.class);
+    private static final String NULL_CLASS = "";
+
+    private final JoinFunction joinFunction;
+    private final KeyedMatch match;
+    private final MatchKey matchKey;
+    private final Boolean flatten;
+    private final long spillThreshold;
+    private final int spillPartitions;
+    private final File spillDirectory;
+
+    public HashJoin(final JoinFunction joinFunction,
+                    final KeyedMatch match,
+                    final MatchKey matchKey,
+                    final Boolean flatten,
+                    final long spillThreshold,
+                    final int spillPartitions,
+                    final File spillDirectory) {
+        this.joinFunction = joinFunction;
+        this.match = match;
+        this.matchKey = matchKey;
+        this.flatten = flatten;
+        this.spillThreshold = spillThreshold;
+        this.spillPartitions = spillPartitions;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Joins the left and right iterables. The match candidates are read
+     * immediately, the keyed side is read as the results are iterated.
+     *
+     * @param left  the left iterable
+     * @param right the right iterable
+     * @return the join results, which should be closed if they are not iterated to the end
+     * @throws IOException if the join spills and the data cannot be written
+     */
+    public CloseableIterable<MapTuple> join(final Iterable left, final Iterable right) throws IOException {
+        final Iterable keys = MatchKey.LEFT.equals(matchKey) ? left : right;
+        final Iterable matchCandidates = MatchKey.LEFT.equals(matchKey) ? right : left;
+
+        final Map<Object, List> table = new HashMap<>();
+        final Iterator candidates = matchCandidates.iterator();
+        long count = 0;
+        while (candidates.hasNext()) {
+            final Object candidate = candidates.next();
+            addToTable(table, match.getMatchCandidateKey(candidate), candidate);
+            count++;
+            if (count > spillThreshold) {
+                return spill(table, candidates, keys);
+            }
+        }
+
+        final Iterable<MapTuple> results = () -> joinKeys(table, Streams.toStream(keys)).iterator();
+        return new WrappedCloseableIterable<>(results);
+    }
+
+    private Stream<MapTuple> joinKeys(final Map<Object, List> table, final Stream<?> keys) {
+        return keys.flatMap(key -> {
+            final List candidates = table.get(match.getTestObjectKey(key));
+            final List matches = new ArrayList<>();
+            if (null != candidates) {
+                for (final Object candidate : candidates) {
+                    matches.add(match.getMatch(candidate));
+                }
+            }
+            return joinFunction.join(key, matches, matchKey, flatten).stream();
+        });
+    }
+
+    private CloseableIterable<MapTuple> spill(final Map<Object, List> table, final Iterator candidates, final Iterable keys) throws IOException {
+        final File directory = Files.createTempDirectory(spillDirectory.toPath(), "join").toFile();
+        LOGGER.info("Join exceeded {} match candidates, spilling {} partitions to {}", spillThreshold, spillPartitions, directory);
+
+        boolean spilled = false;
+        try {
+            writePartitions(directory, table, candidates, keys);
+            spilled = true;
+        } finally {
+            if (!spilled) {
+                deleteDirectory(directory);
+            }
+        }
+        return new SpilledJoin(directory);
+    }
+
+    private void writePartitions(final File directory, final Map<Object, List> table, final Iterator candidates, final Iterable keys) throws IOException {
+        try (final Partitions candidatePartitions = new Partitions(directory, "candidates")) {
+            for (final Map.Entry<Object, List> entry : table.entrySet()) {
+                for (final Object candidate : entry.getValue()) {
+                    candidatePartitions.write(entry.getKey(), candidate);
+                }
+            }
+            table.clear();
+            while (candidates.hasNext()) {
+                final Object candidate = candidates.next();
+                candidatePartitions.write(match.getMatchCandidateKey(candidate), candidate);
+            }
+        }
+
+        try (final Partitions keyPartitions = new Partitions(directory, "keys")) {
+            for (final Object key : keys) {
+                keyPartitions.write(match.getTestObjectKey(key), key);
+            }
+        }
+    }
+
+    private static void addToTable(final Map<Object, List> table, final Object key, final Object candidate) {
+        table.computeIfAbsent(key, k -> new ArrayList()).add(candidate);
+    }
+
+    private static void deleteDirectory(final File directory) {
+        try (final Stream<File> files = Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile)) {
+            files.forEach(File::delete);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete spilled join data in {}", directory, e);
+        }
+    }
+
+    private static File getPartitionFile(final File directory, final String name, final int partition) {
+        return new File(directory, name + "-" + partition);
+    }
+
+    /**
+     * Writes objects to a file per partition.
+     */
+    private final class Partitions implements AutoCloseable {
+        private final DataOutputStream[] outputs = new DataOutputStream[spillPartitions];
+
+        private Partitions(final File directory, final String name) throws IOException {
+            for (int i = 0; i < spillPartitions; i++) {
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getPartitionFile(directory, name, i))));
+            }
+        }
+
+        private void write(final Object key, final Object object) throws IOException {
+            final DataOutputStream output = outputs[(Objects.hashCode(key) & Integer.MAX_VALUE) % spillPartitions];
+            if (null == object) {
+                output.writeUTF(NULL_CLASS);
+            } else {
+                final byte[] bytes = JSONSerialiser.serialise(object);
+                output.writeUTF(object.getClass().getName());
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (final DataOutputStream output : outputs) {
+                if (null != output) {
+                    output.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * The results of a join that has spilled to disk. Each partition of match
+     * candidates is read into a hash table and joined with the same partition
+     * of the keyed side.
+     */
+    private final class SpilledJoin implements CloseableIterable<MapTuple> {
+        private final File directory;
+        private boolean deleted;
+
+        private SpilledJoin(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public CloseableIterator<MapTuple> iterator() {
+            synchronized (this) {
+                if (deleted) {
+                    throw new IllegalStateException("The spilled join results have already been read or closed");
+                }
+            }
+            final Stream<MapTuple> results = IntStream.range(0, spillPartitions)
+                    .boxed()
+                    .flatMap(partition -> {
+                        final Map<Object, List> table = new HashMap<>();
+                        try (final PartitionReader reader = new PartitionReader(getPartitionFile(directory, "candidates", partition))) {
+                            reader.forEachRemaining(candidate -> addToTable(table, match.getMatchCandidateKey(candidate), candidate));
+                        }
+                        final PartitionReader keyReader = new PartitionReader(getPartitionFile(directory, "keys", partition));
+                        return joinKeys(table, Streams.toStream(keyReader)).onClose(keyReader::close);
+                    });
+            final Iterator<MapTuple> iterator = results.iterator();
+            return new CloseableIterator<MapTuple>() {
+                @Override
+                public void close() {
+                    results.close();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    if (iterator.hasNext()) {
+                        return true;
+                    }
+                    results.close();
+                    SpilledJoin.this.close();
+                    return false;
+                }
+
+                @Override
+                public MapTuple next() {
+                    return iterator.next();
+                }
+            };
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!deleted) {
+                deleted = true;
+                deleteDirectory(directory);
+            }
+        }
+    }
+
+    /**
+     * Reads the objects in a partition file.
+     */
+    private static final class PartitionReader implements Iterator<Object>, AutoCloseable {
+        private static final Object END = new Object();
+        private final DataInputStream input;
+        private Object next;
+
+        private PartitionReader(final File file) {
+            try {
+                input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read spilled join data: " + file, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next) {
+                next = read();
+            }
+            return END != next;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object result = next;
+            next = null;
+            return result instanceof NullObject ? null : result;
+        }
+
+        @Override
+        public void close() {
+            try {
+                input.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close spilled join data", e);
+            }
+        }
+
+        private Object read() {
+            try {
+                final String className;
+                try {
+                    className = input.readUTF();
+                } catch (final EOFException e) {
+                    return END;
+                }
+                if (NULL_CLASS.equals(className)) {
+                    return NullObject.INSTANCE;
+                }
+                final byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return JSONSerialiser.deserialise(bytes, Class.forName(className));
+            } catch (final IOException | ClassNotFoundException e) {
+                throw new RuntimeException("Unable to read spilled join data", e);
+            }
+        }
+    }
+
+    /**
+     * Marks a null object read from a partition file.
+     */
+    private enum NullObject {
+        INSTANCE
+    }
+}
@@ -17,10 +17,14 @@
 package uk.gov.gchq.gaffer.store.operation.handler.join;
 
 
+import com.google.common.collect.Lists;
+
 import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
@@ -29,15 +33,36 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
+/**
+ * An {@link OutputOperationHandler} for the {@link Join} operation.
+ * <p>
+ * If the match method is a {@link KeyedMatch} the join is executed as a
+ * {@link HashJoin}. If a collectionLimit is set on the operation both inputs
+ * are limited and the results are read into memory, otherwise the inputs are
+ * not limited and the join spills to disk once more than spillThreshold match
+ * candidates have been read. Other match methods compare each key with every
+ * match candidate, so both inputs are always limited.
+ * <p>
+ * The spillThreshold, spillPartitions and spillDirectory can be configured by
+ * supplying an operationDeclarations.json file.
+ */
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
+    private static final int DEFAULT_COLLECTION_LIMIT = 100000;
+
+    private long spillThreshold = 1000000L;
+    private int spillPartitions = 64;
+    private String spillDirectory = null;
+
     @Override
     public Iterable<? extends MapTuple> doOperation(final Join<I> operation, final Context context, final Store store) throws OperationException {
-        final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : 100000;
+        final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : DEFAULT_COLLECTION_LIMIT;
 
         if (null == operation.getJoinType()) {
             throw new OperationException("A join type must be specified");
@@ -73,13 +98,64 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
         final Iterable limitedLeftIterable;
         final Iterable limitedRightIterable;
 
+        if (operation.getMatchMethod() instanceof KeyedMatch && null == operation.getCollectionLimit()) {
+            return hashJoin(joinFunction, operation, matchKey, operation.getInput(), null != rightIterable ? rightIterable : new ArrayList<>());
+        }
+
         try {
             limitedLeftIterable = new LimitedCloseableIterable(operation.getInput(), 0, limit, false);
             limitedRightIterable = new LimitedCloseableIterable(rightIterable, 0, limit, false);
+            if (operation.getMatchMethod() instanceof KeyedMatch) {
+                try (final CloseableIterable<MapTuple> results = hashJoin(joinFunction, operation, matchKey, limitedLeftIterable, limitedRightIterable)) {
+                    return Lists.newArrayList(results);
+                }
+            }
             return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
             throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
         }
 
     }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(final long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public int getSpillPartitions() {
+        return spillPartitions;
+    }
+
+    public void setSpillPartitions(final int spillPartitions) {
+        if (spillPartitions < 1) {
+            throw new IllegalArgumentException("spillPartitions must be at least 1");
+        }
+        this.spillPartitions = spillPartitions;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(final String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    private CloseableIterable<MapTuple> hashJoin(final JoinFunction joinFunction,
+                                                 final Join<I> operation,
+                                                 final MatchKey matchKey,
+                                                 final Iterable left,
+                                                 final Iterable right) throws OperationException {
+        final File directory = new File(null != spillDirectory ? spillDirectory : System.getProperty("java.io.tmpdir"));
+        final HashJoin hashJoin = new HashJoin(joinFunction, (KeyedMatch) operation.getMatchMethod(), matchKey, operation.isFlatten(),
+                spillThreshold, spillPartitions, directory);
+        try {
+            return hashJoin.join(left, right);
+        } catch (final IOException e) {
+            throw new OperationException("Unable to spill the join to " + directory + ": " + e.getMessage(), e);
+        }
+    }
 }
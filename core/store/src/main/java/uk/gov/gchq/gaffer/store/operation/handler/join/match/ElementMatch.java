@@ -16,9 +16,11 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
-import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +29,7 @@ import java.util.Set;
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
  */
-public class ElementMatch implements Match {
+public class ElementMatch implements KeyedMatch {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
 
@@ -73,4 +75,48 @@ public class ElementMatch implements Match {
         }
         return matches;
     }
+
+    @Override
+    public Object getTestObjectKey(final Object testObject) {
+        return getKey((Element) testObject);
+    }
+
+    @Override
+    public Object getMatchCandidateKey(final Object matchCandidate) {
+        return getKey((Element) matchCandidate);
+    }
+
+    @Override
+    public Object getMatch(final Object matchCandidate) {
+        return ((Element) matchCandidate).shallowClone();
+    }
+
+    /**
+     * Creates a key from the fields compared by the {@link ElementJoinComparator},
+     * so two elements have equal keys if, and only if, the comparator matches them.
+     *
+     * @param element the element
+     * @return the key
+     */
+    private Object getKey(final Element element) {
+        if (null == element) {
+            return null;
+        }
+
+        final List<Object> key = new ArrayList<>();
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            final Edge edge = (Edge) element;
+            key.add(edge.getSource());
+            key.add(edge.getDestination());
+            key.add(edge.getDirectedType());
+        }
+        for (final String property : elementJoinComparator.getGroupByProperties()) {
+            key.add(element.getProperty(property));
+        }
+        return key;
+    }
 }
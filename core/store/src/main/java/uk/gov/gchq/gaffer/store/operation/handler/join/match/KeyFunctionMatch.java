@@ -21,7 +21,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 import uk.gov.gchq.koryphe.impl.function.Identity;
 
 import java.util.ArrayList;
@@ -31,13 +31,13 @@ import java.util.function.Function;
 
 
 /**
- * A {@code KeyFunctionMatch} is a {@link Match} which takes two key functions which are used to extract keys from
+ * A {@code KeyFunctionMatch} is a {@link uk.gov.gchq.gaffer.operation.impl.join.match.Match} which takes two key functions which are used to extract keys from
  * two inputs. A match occurs when the keys are equal. The first key function is applied to the Left input
  * in a Left sided join and vice versa.
  */
 
 @JsonPropertyOrder(value = {"class", "firstKeyFunction", "secondKeyFunction"}, alphabetic = true)
-public class KeyFunctionMatch implements Match {
+public class KeyFunctionMatch implements KeyedMatch {
 
     private static final String NULL_FUNCTION_ERROR_MESSAGE = "Key functions for left and right input cannot be null";
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "Iterable of match candidates cannot be null";
@@ -105,6 +105,22 @@ public class KeyFunctionMatch implements Match {
         return this.keyedMatchCandidates.getOrDefault(testObjectKey, new ArrayList());
     }
 
+    @Override
+    public Object getTestObjectKey(final Object testObject) {
+        if (null == firstKeyFunction) {
+            throw new IllegalArgumentException(NULL_FUNCTION_ERROR_MESSAGE);
+        }
+        return firstKeyFunction.apply(testObject);
+    }
+
+    @Override
+    public Object getMatchCandidateKey(final Object matchCandidate) {
+        if (null == secondKeyFunction) {
+            throw new IllegalArgumentException(NULL_FUNCTION_ERROR_MESSAGE);
+        }
+        return secondKeyFunction.apply(matchCandidate);
+    }
+
     public static final class Builder {
         private Function firstKeyFunction = new Identity();
         private Function secondKeyFunction = new Identity();
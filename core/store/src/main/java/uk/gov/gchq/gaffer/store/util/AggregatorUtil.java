@@ -16,8 +16,11 @@
 package uk.gov.gchq.gaffer.store.util;
 
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -25,6 +28,7 @@ import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.ReservedPropertyNames;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.element.ElementKeyComparator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.Since;
@@ -35,10 +39,14 @@ import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -142,6 +150,28 @@ public final class AggregatorUtil {
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
+    /**
+     * Applies query time aggregation to the provided iterables of {@link Element}s,
+     * which must each be sorted using an {@link ElementKeyComparator}. The iterables
+     * are merged as they are read and only the elements that are next to each other
+     * in the sort order are held in memory and aggregated, so the iterables can be
+     * of any size.
+     *
+     * @param sortedElements the sorted iterables of elements to be merged and aggregated
+     * @param schema         the schema containing the aggregators and groupBy properties to use
+     * @param view           the view containing the aggregators and groupBy properties to use
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregateSorted(final List<? extends Iterable<? extends Element>> sortedElements, final Schema schema, final View view) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        return new MergeAggregatedIterable(sortedElements, schema, view);
+    }
+
     /**
      * A Function that takes and element as input and outputs an element key that consists of
      * the Group-by values in the {@link Schema}, the Identifiers and the Group. These act as a key and can be used in a
@@ -320,6 +350,87 @@ public final class AggregatorUtil {
         }
     }
 
+    /**
+     * Merges sorted iterables of elements, aggregating each run of elements
+     * that the {@link ElementKeyComparator} considers equal.
+     */
+    private static final class MergeAggregatedIterable implements CloseableIterable<Element> {
+        private static final ElementKeyComparator COMPARATOR = new ElementKeyComparator();
+
+        private final List<? extends Iterable<? extends Element>> sortedElements;
+        private final Schema schema;
+        private final View view;
+
+        private MergeAggregatedIterable(final List<? extends Iterable<? extends Element>> sortedElements, final Schema schema, final View view) {
+            this.sortedElements = sortedElements;
+            this.schema = schema;
+            this.view = view;
+        }
+
+        @Override
+        public void close() {
+            for (final Iterable<? extends Element> elements : sortedElements) {
+                CloseableUtil.close(elements);
+            }
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final List<Iterator<? extends Element>> iterators = new ArrayList<>(sortedElements.size());
+            final PriorityQueue<Pair<Element, Iterator<? extends Element>>> heads =
+                    new PriorityQueue<>(Math.max(1, sortedElements.size()), (a, b) -> COMPARATOR.compare(a.getFirst(), b.getFirst()));
+            for (final Iterable<? extends Element> elements : sortedElements) {
+                final Iterator<? extends Element> iterator = elements.iterator();
+                iterators.add(iterator);
+                addNext(heads, iterator);
+            }
+
+            return new CloseableIterator<Element>() {
+                private Iterator<Element> aggregated = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!aggregated.hasNext() && !heads.isEmpty()) {
+                        final Element first = heads.peek().getFirst();
+                        final List<Element> run = new ArrayList<>();
+                        while (!heads.isEmpty() && 0 == COMPARATOR.compare(first, heads.peek().getFirst())) {
+                            final Pair<Element, Iterator<? extends Element>> head = heads.poll();
+                            run.add(head.getFirst());
+                            addNext(heads, head.getSecond());
+                        }
+                        aggregated = 1 == run.size() ? run.iterator() : queryAggregate(run, schema, view).iterator();
+                    }
+                    return aggregated.hasNext();
+                }
+
+                @Override
+                public Element next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return aggregated.next();
+                }
+
+                @Override
+                public void close() {
+                    for (final Iterator<? extends Element> iterator : iterators) {
+                        CloseableUtil.close(iterator);
+                    }
+                }
+            };
+        }
+
+        private static void addNext(final PriorityQueue<Pair<Element, Iterator<? extends Element>>> heads, final Iterator<? extends Element> iterator) {
+            while (iterator.hasNext()) {
+                final Element element = iterator.next();
+                if (null != element) {
+                    heads.add(new Pair<>(element, iterator));
+                    return;
+                }
+            }
+        }
+    }
+
     public static Map<String, Set<String>> getIngestGroupBys(final Schema schema) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
@@ -20,8 +20,12 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
+import uk.gov.gchq.gaffer.operation.impl.export.set.SetExporter;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -33,6 +37,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
 public class ContextTest {
     @Test
@@ -118,6 +125,24 @@ public class ContextTest {
         assertEquals(context.getConfig("key"), clone.getConfig("key"));
     }
 
+    @Test
+    public void shouldCloseExportersAddedAfterTheGivenExporters() throws Exception {
+        // Given
+        final Exporter existingExporter = mock(Exporter.class, withSettings().extraInterfaces(Closeable.class));
+        final SetExporter addedExporter = mock(SetExporter.class);
+        final Context context = new Context();
+        context.addExporter(existingExporter);
+        final Collection<Exporter> existingExporters = new ArrayList<>(context.getExporters());
+        context.addExporter(addedExporter);
+
+        // When
+        context.closeExporters(existingExporters);
+
+        // Then
+        verify(addedExporter).close();
+        verify((Closeable) existingExporter, never()).close();
+    }
+
     @Test
     public void shouldAddAndGetExporter() {
         // Given
@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
 import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.JobScheduler;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
@@ -152,6 +153,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -824,6 +826,24 @@ public class StoreTest {
         assertSame(user, contextCaptor.getValue().getUser());
     }
 
+    @Test
+    public void shouldRejectJobWithInvalidPriorityBeforeRecordingIt() throws StoreException {
+        // Given
+        final Operation operation = new GetVariables.Builder()
+                .variableNames(Lists.newArrayList())
+                .option(JobScheduler.PRIORITY_OPTION, "high")
+                .build();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getJobTrackerEnabled()).willReturn(true);
+        final Store store = new StoreImpl();
+        store.initialise("graphId", new Schema(), properties);
+
+        // When / Then
+        assertThrows(OperationException.class, () -> store.executeJob(operation, context));
+        verify(jobTracker, never()).addOrUpdateJob(any(JobDetail.class), any(User.class));
+    }
+
     @Test
     public void shouldGetJobTracker() throws StoreException {
         // Given
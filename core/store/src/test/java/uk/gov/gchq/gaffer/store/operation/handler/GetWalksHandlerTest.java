@@ -20,17 +20,41 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class GetWalksHandlerTest {
     @Test
@@ -67,4 +91,179 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    @Test
+    public void shouldStreamTheSameWalksAsTheDefaultHandler() throws Exception {
+        // Given
+        final List<Element> hop1 = Arrays.asList(makeEdge("A", "B"), makeEdge("A", "C"));
+        final List<Element> hop2 = Arrays.asList(makeEdge("B", "D"), makeEdge("C", "E"), makeEdge("C", "F"));
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+
+        // When
+        final Set<Walk> walks = getWalks(new GetWalksHandler(), false, hop1, hop2);
+        final Set<Walk> streamedWalks = getWalks(streamingHandler, false, hop1, hop2);
+
+        // Then
+        assertEquals(3, walks.size());
+        assertEquals(walks, streamedWalks);
+    }
+
+    @Test
+    public void shouldStreamPartialWalks() throws Exception {
+        // Given
+        final List<Element> hop1 = Arrays.asList(makeEdge("A", "B"), makeEdge("A", "C"));
+        final List<Element> hop2 = Arrays.asList(makeEdge("B", "D"));
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+
+        // When
+        final Set<Walk> walks = getWalks(new GetWalksHandler(), true, hop1, hop2);
+        final Set<Walk> streamedWalks = getWalks(streamingHandler, true, hop1, hop2);
+
+        // Then
+        assertEquals(2, walks.size());
+        assertEquals(walks, streamedWalks);
+    }
+
+    @Test
+    public void shouldTruncateWalksAtTheResultsLimit() throws Exception {
+        // Given
+        final List<Element> hop1 = Arrays.asList(makeEdge("A", "B"), makeEdge("A", "C"));
+        final List<Element> hop2 = Arrays.asList(makeEdge("B", "D"), makeEdge("C", "D"));
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+
+        for (final GetWalksHandler handler : Arrays.asList(new GetWalksHandler(), streamingHandler)) {
+            final Store store = mock(Store.class);
+            given(store.execute(any(Output.class), any(Context.class))).willReturn(hop1, hop2);
+            final GetElements getElements = new GetElements.Builder()
+                    .view(new View.Builder()
+                            .edge(TestGroups.EDGE)
+                            .build())
+                    .build();
+            final GetWalks operation = new GetWalks.Builder()
+                    .input("A", "A")
+                    .operations(getElements, getElements)
+                    .resultsLimit(2)
+                    .build();
+
+            // When
+            final List<Walk> walks = new ArrayList<>();
+            handler.doOperation(operation, new Context(new User()), store).forEach(walks::add);
+
+            // Then
+            assertEquals(2, walks.size());
+        }
+    }
+
+    @Test
+    public void shouldDeduplicateAndBatchSeedsForEachHop() throws Exception {
+        // Given
+        final Map<Object, List<Element>> edges = new HashMap<>();
+        edges.put("A", Arrays.asList(makeEdge("A", "B"), makeEdge("A", "C")));
+        edges.put("B", Arrays.asList(makeEdge("B", "D")));
+        edges.put("C", Arrays.asList(makeEdge("C", "E")));
+        final List<List<Object>> queries = Collections.synchronizedList(new ArrayList<>());
+        final Store store = createStore(edges, queries);
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setBatchSize(1);
+        handler.setParallelism(2);
+
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input("A", "A")
+                .operations(getElements, getElements)
+                .build();
+
+        // When
+        final Set<Walk> walks = new HashSet<>();
+        handler.doOperation(operation, new Context(new User()), store).forEach(walks::add);
+
+        // Then
+        final Set<Walk> expected = new HashSet<>(Arrays.asList(
+                new Walk.Builder().edge(makeEdge("A", "B")).edge(makeEdge("B", "D")).build(),
+                new Walk.Builder().edge(makeEdge("A", "C")).edge(makeEdge("C", "E")).build()));
+        assertEquals(expected, walks);
+        assertEquals(new HashSet<>(Arrays.asList(
+                Collections.singletonList("A"),
+                Collections.singletonList("B"),
+                Collections.singletonList("C"))), new HashSet<>(queries));
+        assertEquals(3, queries.size());
+    }
+
+    @Test
+    public void shouldFailWhenBatchedHopExceedsTheResultsLimit() throws Exception {
+        // Given
+        final Map<Object, List<Element>> edges = new HashMap<>();
+        edges.put("A", Arrays.asList(makeEdge("A", "B"), makeEdge("A", "C")));
+        edges.put("B", Arrays.asList(makeEdge("B", "D"), makeEdge("B", "E")));
+        edges.put("C", Arrays.asList(makeEdge("C", "F")));
+
+        final GetWalksHandler batchingHandler = new GetWalksHandler();
+        batchingHandler.setBatchSize(1);
+
+        // When / Then
+        for (final GetWalksHandler handler : Arrays.asList(new GetWalksHandler(), batchingHandler)) {
+            final GetElements getElements = new GetElements.Builder()
+                    .view(new View.Builder()
+                            .edge(TestGroups.EDGE)
+                            .build())
+                    .build();
+            final GetWalks operation = new GetWalks.Builder()
+                    .input("A")
+                    .operations(getElements, getElements)
+                    .resultsLimit(2)
+                    .build();
+            final Store store = createStore(edges, Collections.synchronizedList(new ArrayList<>()));
+            assertThrows(LimitExceededException.class, () -> handler.doOperation(operation, new Context(new User()), store));
+        }
+    }
+
+    private Store createStore(final Map<Object, List<Element>> edges, final List<List<Object>> queries) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Object> seeds = new ArrayList<>();
+            final List<Element> results = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final Object vertex = seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed;
+                seeds.add(vertex);
+                results.addAll(edges.getOrDefault(vertex, Collections.emptyList()));
+            }
+            queries.add(seeds);
+            return results;
+        });
+        return store;
+    }
+
+    private Set<Walk> getWalks(final GetWalksHandler handler, final boolean includePartial,
+                               final List<Element> hop1, final List<Element> hop2) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(hop1, hop2);
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input("A")
+                .operations(getElements, getElements)
+                .includePartial(includePartial)
+                .build();
+
+        final Set<Walk> walks = new HashSet<>();
+        handler.doOperation(operation, new Context(new User()), store).forEach(walks::add);
+        return walks;
+    }
+
+    private Edge makeEdge(final Object source, final Object destination) {
+        return new Edge.Builder().group(TestGroups.EDGE).source(source).dest(destination).directed(true).build();
+    }
 }
@@ -20,13 +20,20 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,6 +47,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -290,6 +299,104 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSortElementsBySpillingSortedRunsToDisk() throws Exception {
+                // Given
+                final List<Element> input = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).property("property", (i * 7919) % 500).build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setSpillThreshold(100);
+                handler.setSortThreads(2);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                final List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                        expected.add(i);
+                }
+                final List<Object> properties = Streams.toStream(result).map(e -> e.getProperty("property")).collect(Collectors.toList());
+                assertEquals(expected, properties);
+                CloseableUtil.close(result);
+        }
+
+        @Test
+        public void shouldLimitResultsWhenSpillingSortedRunsToDisk() throws Exception {
+                // Given
+                final List<Element> input = new ArrayList<>();
+                for (int i = 1000; i > 0; i--) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).property("property", i).build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .resultLimit(250).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setSpillThreshold(100);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                final List<Object> properties = Streams.toStream(result).map(e -> e.getProperty("property")).collect(Collectors.toList());
+                assertEquals(250, properties.size());
+                assertEquals(1, properties.get(0));
+                assertEquals(250, properties.get(249));
+                CloseableUtil.close(result);
+        }
+
+        @Test
+        public void shouldKeepMatchedVertexWhenSpillingWithSchemaSerialisers() throws Exception {
+                // Given
+                final Schema schema = new Schema.Builder()
+                                .vertexSerialiser(new StringSerialiser())
+                                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder().build())
+                                .build();
+                final Store store = mock(Store.class);
+                given(store.getSchema()).willReturn(schema);
+
+                final List<Element> input = new ArrayList<>();
+                for (int i = 0; i < 300; i++) {
+                        input.add(new Edge.Builder().group(TestGroups.EDGE)
+                                        .source(String.format("%03d", 299 - i))
+                                        .dest("dest")
+                                        .directed(true)
+                                        .matchedVertex(0 == i % 2 ? MatchedVertex.SOURCE : MatchedVertex.DESTINATION)
+                                        .build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(Comparator.comparing(e -> (String) ((Edge) e).getSource()))
+                                .build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setSpillThreshold(100);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+                // Then
+                final List<? extends Element> sorted = Lists.newArrayList(result);
+                assertEquals(300, sorted.size());
+                for (int i = 0; i < 300; i++) {
+                        final Edge edge = (Edge) sorted.get(i);
+                        assertEquals(String.format("%03d", i), edge.getSource());
+                        assertEquals(0 == (299 - i) % 2 ? MatchedVertex.SOURCE : MatchedVertex.DESTINATION, edge.getMatchedVertex());
+                }
+                CloseableUtil.close(result);
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
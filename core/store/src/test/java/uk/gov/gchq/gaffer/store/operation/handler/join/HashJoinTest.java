@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HashJoinTest {
+    private static final List<Integer> LEFT = Arrays.asList(1, 2, 3, 4, 4, 5);
+    private static final List<Integer> RIGHT = Arrays.asList(1, 3, 3, 5, 6, 7);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldReturnTheSameResultsAsNestedJoin() throws IOException {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                for (final boolean flatten : new boolean[]{true, false}) {
+                    assertJoin(joinType, matchKey, flatten, Long.MAX_VALUE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnTheSameResultsAsNestedJoinWhenSpilled() throws IOException {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                for (final boolean flatten : new boolean[]{true, false}) {
+                    assertJoin(joinType, matchKey, flatten, 1);
+                }
+            }
+        }
+        assertEquals(0, tempDir.toFile().list().length);
+    }
+
+    @Test
+    public void shouldDeleteSpilledDataOnceResultsAreIteratedWithoutBeingClosed() throws IOException {
+        // Given
+        final HashJoin hashJoin = new HashJoin(JoinType.INNER.createInstance(), new KeyFunctionMatch(), MatchKey.LEFT, true, 1, 4, tempDir.toFile());
+        final CloseableIterable<MapTuple> results = hashJoin.join(LEFT, RIGHT);
+        assertEquals(1, tempDir.toFile().list().length);
+
+        // When
+        Lists.newArrayList(results);
+
+        // Then
+        assertEquals(0, tempDir.toFile().list().length);
+        assertThrows(IllegalStateException.class, results::iterator);
+    }
+
+    @Test
+    public void shouldDeleteSpilledDataWhenSpillFails() {
+        // Given
+        final HashJoin hashJoin = new HashJoin(JoinType.INNER.createInstance(), new KeyFunctionMatch(), MatchKey.LEFT, true, 1, 4, tempDir.toFile());
+        final Iterable<Integer> failingKeys = () -> {
+            throw new RuntimeException("Unable to read keys");
+        };
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> hashJoin.join(failingKeys, RIGHT));
+        assertEquals(0, tempDir.toFile().list().length);
+    }
+
+    @Test
+    public void shouldJoinElements() throws IOException {
+        // Given
+        final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY).vertex("A").property("count", 1).build();
+        final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY).vertex("B").property("count", 2).build();
+        final Entity entity3 = new Entity.Builder().group(TestGroups.ENTITY).vertex("A").property("count", 3).build();
+        final List<Entity> left = Arrays.asList(entity1, entity2);
+        final List<Entity> right = Arrays.asList(entity3);
+
+        // When
+        final List<MapTuple> expected = JoinType.INNER.createInstance().join(left, right, new ElementMatch(), MatchKey.LEFT, true);
+        final List<MapTuple> results = join(JoinType.INNER, new ElementMatch(), MatchKey.LEFT, true, 1, left, right);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(expected, results);
+    }
+
+    private void assertJoin(final JoinType joinType, final MatchKey matchKey, final boolean flatten, final long spillThreshold) throws IOException {
+        final List<MapTuple> expected = joinType.createInstance().join(LEFT, RIGHT, new KeyFunctionMatch(), matchKey, flatten);
+        final List<MapTuple> results = join(joinType, new KeyFunctionMatch(), matchKey, flatten, spillThreshold, LEFT, RIGHT);
+
+        assertEquals(expected.size(), results.size(), joinType + " " + matchKey + " flatten=" + flatten);
+        assertEquals(new HashSet<>(expected), new HashSet<>(results), joinType + " " + matchKey + " flatten=" + flatten);
+    }
+
+    private List<MapTuple> join(final JoinType joinType, final KeyedMatch match, final MatchKey matchKey, final boolean flatten,
+                                final long spillThreshold, final List<?> left, final List<?> right) throws IOException {
+        final HashJoin hashJoin = new HashJoin(joinType.createInstance(), match, matchKey, flatten, spillThreshold, 4, tempDir.toFile());
+        try (final CloseableIterable<MapTuple> results = hashJoin.join(left, right)) {
+            return Lists.newArrayList(results);
+        }
+    }
+}
@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.function.ExampleFilterFunction;
 import uk.gov.gchq.gaffer.store.TestTypes;
+import uk.gov.gchq.gaffer.store.element.ElementKeyComparator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -1124,4 +1125,96 @@ public class AggregatorUtilTest {
                         .property("visibility", "vis1")
                         .build());
     }
+
+    @Test
+    public void shouldQueryAggregateSortedElementsFromMultipleIterables() {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+
+        final List<Element> elements1 = Lists.newArrayList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .property("property2", "value1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 20)
+                        .property("property2", "value10")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex2")
+                        .dest("vertex1")
+                        .directed(true)
+                        .property("count", 100)
+                        .property("property2", "value1")
+                        .build()
+        );
+        final List<Element> elements2 = Lists.newArrayList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 2)
+                        .property("property2", "value1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 5)
+                        .property("property2", "value2")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex2")
+                        .dest("vertex1")
+                        .directed(true)
+                        .property("count", 200)
+                        .property("property2", "value1")
+                        .build()
+        );
+        elements1.sort(new ElementKeyComparator());
+        elements2.sort(new ElementKeyComparator());
+
+        final Set<Element> expected = Sets.newHashSet(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 3)
+                        .property("property2", "value1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 5)
+                        .property("property2", "value2")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 20)
+                        .property("property2", "value10")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex2")
+                        .dest("vertex1")
+                        .directed(true)
+                        .property("count", 300)
+                        .property("property2", "value1")
+                        .build()
+        );
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.queryAggregateSorted(Arrays.asList(elements1, elements2), schema, view);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
 }
@@ -22,6 +22,8 @@ import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -43,6 +45,11 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         return distributedMap.get(key);
     }
 
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return distributedMap.getAll(new HashSet<>(keys));
+    }
+
     @Override
     public void put(final K key, final V value) throws CacheOperationException {
         try {
@@ -52,6 +59,15 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         }
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values) throws CacheOperationException {
+        try {
+            distributedMap.putAll(values);
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
     @Override
     public void remove(final K key) {
         distributedMap.remove(key);
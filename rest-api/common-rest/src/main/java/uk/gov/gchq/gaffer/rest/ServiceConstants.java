@@ -26,6 +26,10 @@ public final class ServiceConstants {
     public static final String GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION = "The gaffer media type containing the REST API version.";
     public static final String JOB_ID_HEADER = "job-id";
     public static final String JOB_ID_HEADER_DESCRIPTION = "The job execution ID.";
+    public static final String JOB_RESULTS_CURSOR_HEADER = "job-results-cursor";
+    public static final String JOB_RESULTS_CURSOR_HEADER_DESCRIPTION = "The cursor to use to get the next page of job results, if there are more results.";
+    public static final String JOB_RESULTS_NEXT_START_HEADER = "job-results-next-start";
+    public static final String JOB_RESULTS_NEXT_START_HEADER_DESCRIPTION = "The start index of the next page of job results, if there are more results.";
 
     // REST status error messages
     public static final String OK = "OK";
@@ -43,6 +47,7 @@ public final class ServiceConstants {
     public static final String JOB_CREATED = "A new job was successfully submitted";
     public static final String JOB_NOT_FOUND = "Job was not found";
     public static final String JOB_SERVICE_UNAVAILABLE = "The job service is not available";
+    public static final String JOB_RESULTS_CURSOR_NOT_FOUND = "The job results cursor was not found or has expired";
 
     static {
         final String apiVersion = System.getProperty(SystemProperty.REST_API_VERSION, SystemProperty.CORE_VERSION);
@@ -45,6 +45,14 @@ public abstract class SystemProperty {
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String REST_DEBUG = DebugUtil.DEBUG;
+    /**
+     * The time in milliseconds an unused job results cursor is held open.
+     */
+    public static final String JOB_RESULTS_CURSOR_TIMEOUT = "gaffer.rest-api.jobs.results.cursor.timeout";
+    /**
+     * The maximum number of job results cursors held open at once.
+     */
+    public static final String JOB_RESULTS_MAX_CURSORS = "gaffer.rest-api.jobs.results.cursor.max";
 
     // Exposed Property Keys
     /**
@@ -98,6 +106,8 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = DebugUtil.DEBUG_DEFAULT;
+    public static final String JOB_RESULTS_CURSOR_TIMEOUT_DEFAULT = "300000";
+    public static final String JOB_RESULTS_MAX_CURSORS_DEFAULT = "100";
     public static final String APP_TITLE_DEFAULT = "Gaffer REST";
     public static final String APP_DESCRIPTION_DEFAULT = "The Gaffer REST service.";
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/";
@@ -34,9 +34,11 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.BAD_REQUEST;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.FORBIDDEN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -46,6 +48,11 @@ import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_CREATED;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER_DESCRIPTION;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_NOT_FOUND;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_CURSOR_HEADER;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_CURSOR_HEADER_DESCRIPTION;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_CURSOR_NOT_FOUND;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_NEXT_START_HEADER;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_NEXT_START_HEADER_DESCRIPTION;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.OK;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.OPERATION_NOT_IMPLEMENTED;
@@ -132,10 +139,36 @@ public interface IJobServiceV2 {
     @Path("{id}/results")
     @ApiOperation(value = "Get the results of a job",
             notes = "Once a Job has FINISHED, this endpoint will extract the results, " +
-                    "and display them as one would expect from running an Operation/OpChain.",
+                    "and display them as one would expect from running an Operation/OpChain. " +
+                    "If a page size is given, only that many results are returned. If there are more results, " +
+                    "the response headers contain a cursor and the start index of the next page. " +
+                    "Passing the cursor back continues reading from where the previous page finished.",
             response = Object.class,
             responseContainer = "List",
             produces = APPLICATION_JSON,
+            responseHeaders = {
+                    @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
+                    @ResponseHeader(name = GAFFER_MEDIA_TYPE_HEADER, description = GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION),
+                    @ResponseHeader(name = JOB_RESULTS_CURSOR_HEADER, description = JOB_RESULTS_CURSOR_HEADER_DESCRIPTION),
+                    @ResponseHeader(name = JOB_RESULTS_NEXT_START_HEADER, description = JOB_RESULTS_NEXT_START_HEADER_DESCRIPTION)
+            })
+    @ApiResponses(value = {@ApiResponse(code = 200, message = OK),
+            @ApiResponse(code = 400, message = BAD_REQUEST),
+            @ApiResponse(code = 404, message = JOB_RESULTS_CURSOR_NOT_FOUND),
+            @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 503, message = JOB_SERVICE_UNAVAILABLE)})
+    Response results(@ApiParam(value = "A job id, for which the results should be returned") @PathParam("id") final String id,
+                     @ApiParam(value = "The index of the first result to return") @QueryParam("start") final Integer start,
+                     @ApiParam(value = "The maximum number of results to return") @QueryParam("pageSize") final Integer pageSize,
+                     @ApiParam(value = "The cursor returned with the previous page of results") @QueryParam("cursor") final String cursor) throws OperationException;
+
+    @GET
+    @Path("{id}/results/chunked")
+    @Produces({APPLICATION_JSON, TEXT_PLAIN})
+    @ApiOperation(value = "Get the results of a job, returning a chunked output",
+            notes = "Streams the results of a FINISHED Job one at a time, so the results are never all held in memory at once.",
+            response = Object.class,
+            produces = APPLICATION_JSON,
             responseHeaders = {
                     @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
                     @ResponseHeader(name = GAFFER_MEDIA_TYPE_HEADER, description = GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION)
@@ -143,5 +176,5 @@ public interface IJobServiceV2 {
     @ApiResponses(value = {@ApiResponse(code = 200, message = OK),
             @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
             @ApiResponse(code = 503, message = JOB_SERVICE_UNAVAILABLE)})
-    Response results(@ApiParam(value = "A job id, for which the results should be returned") @PathParam("id") final String id) throws OperationException;
+    Response resultsChunked(@ApiParam(value = "A job id, for which the results should be returned") @PathParam("id") final String id) throws OperationException;
 }
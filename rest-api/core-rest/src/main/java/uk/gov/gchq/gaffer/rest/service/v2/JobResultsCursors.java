@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the open job results being read a page at a time, so each page
+ * continues from the end of the previous page rather than reading the results
+ * again from the start.
+ * <p>
+ * Each cursor can only be used by the user and job it was created for.
+ * Cursors that have not been used within the timeout are closed by a
+ * background task that runs every cleanup period, as well as whenever a cursor
+ * is added or taken. The least recently used cursors are closed when the
+ * maximum number of cursors is reached.
+ * </p>
+ */
+public class JobResultsCursors {
+    private static final ScheduledExecutorService CLEANUP_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "job-results-cursors-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long timeout;
+    private final int maxCursors;
+    private final Map<String, Cursor> cursors = new LinkedHashMap<>(16, 0.75f, true);
+    private final ScheduledFuture<?> cleanup;
+
+    public JobResultsCursors(final long timeout, final int maxCursors) {
+        this(timeout, maxCursors, timeout);
+    }
+
+    public JobResultsCursors(final long timeout, final int maxCursors, final long cleanupPeriod) {
+        this.timeout = timeout;
+        this.maxCursors = maxCursors;
+        final long period = Math.max(1, cleanupPeriod);
+        this.cleanup = CLEANUP_EXECUTOR.scheduleWithFixedDelay(this::closeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Holds the results open so they can be read from later.
+     *
+     * @param jobId    the id of the job
+     * @param userId   the id of the user reading the results
+     * @param results  the results, which are closed when the cursor is closed
+     * @param iterator the iterator over the results
+     * @param position the index of the next result
+     * @return the id of the cursor
+     */
+    public String add(final String jobId, final String userId, final Iterable<?> results, final Iterator<?> iterator, final long position) {
+        final Cursor cursor = new Cursor(jobId, userId, results, iterator, position);
+        final String cursorId = UUID.randomUUID().toString();
+        final List<Cursor> closedCursors = new ArrayList<>();
+        synchronized (cursors) {
+            closedCursors.addAll(removeExpired());
+            while (!cursors.isEmpty() && cursors.size() >= maxCursors) {
+                final Iterator<Cursor> itr = cursors.values().iterator();
+                closedCursors.add(itr.next());
+                itr.remove();
+            }
+            cursors.put(cursorId, cursor);
+        }
+        closedCursors.forEach(Cursor::close);
+        return cursorId;
+    }
+
+    /**
+     * Takes the cursor so the next page of results can be read. The cursor
+     * should be added again if there are more results.
+     *
+     * @param cursorId the id of the cursor
+     * @param jobId    the id of the job
+     * @param userId   the id of the user reading the results
+     * @return the cursor, or null if it was not found, has expired or belongs to another user or job
+     */
+    public Cursor take(final String cursorId, final String jobId, final String userId) {
+        final List<Cursor> closedCursors;
+        final Cursor cursor;
+        synchronized (cursors) {
+            closedCursors = removeExpired();
+            final Cursor candidate = cursors.get(cursorId);
+            if (null != candidate && Objects.equals(jobId, candidate.jobId) && Objects.equals(userId, candidate.userId)) {
+                cursor = cursors.remove(cursorId);
+            } else {
+                cursor = null;
+            }
+        }
+        closedCursors.forEach(Cursor::close);
+        return cursor;
+    }
+
+    /**
+     * Closes the cursors that have not been used within the timeout.
+     */
+    public void closeExpired() {
+        final List<Cursor> closedCursors;
+        synchronized (cursors) {
+            closedCursors = removeExpired();
+        }
+        closedCursors.forEach(Cursor::close);
+    }
+
+    /**
+     * Closes all of the cursors.
+     */
+    public void closeAll() {
+        final List<Cursor> closedCursors;
+        synchronized (cursors) {
+            closedCursors = new ArrayList<>(cursors.values());
+            cursors.clear();
+        }
+        closedCursors.forEach(Cursor::close);
+    }
+
+    /**
+     * Stops the background cleanup task and closes all of the cursors.
+     */
+    public void close() {
+        cleanup.cancel(false);
+        closeAll();
+    }
+
+    public int size() {
+        synchronized (cursors) {
+            return cursors.size();
+        }
+    }
+
+    private List<Cursor> removeExpired() {
+        final List<Cursor> expired = new ArrayList<>();
+        final long now = System.currentTimeMillis();
+        final Iterator<Cursor> itr = cursors.values().iterator();
+        while (itr.hasNext()) {
+            final Cursor cursor = itr.next();
+            if (now - cursor.lastUsed > timeout) {
+                expired.add(cursor);
+                itr.remove();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Open job results and the position of the next result.
+     */
+    public static final class Cursor {
+        private final String jobId;
+        private final String userId;
+        private final Iterable<?> results;
+        private final Iterator<?> iterator;
+        private final long position;
+        private final long lastUsed = System.currentTimeMillis();
+
+        private Cursor(final String jobId, final String userId, final Iterable<?> results, final Iterator<?> iterator, final long position) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.results = results;
+            this.iterator = iterator;
+            this.position = position;
+        }
+
+        public Iterable<?> getResults() {
+            return results;
+        }
+
+        public Iterator<?> getIterator() {
+            return iterator;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public void close() {
+            CloseableUtil.close(iterator);
+            CloseableUtil.close(results);
+        }
+    }
+}
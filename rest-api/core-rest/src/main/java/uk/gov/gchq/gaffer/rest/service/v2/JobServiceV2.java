@@ -16,9 +16,14 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.jobtracker.Job;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -27,6 +32,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.store.Context;
@@ -35,11 +41,19 @@ import javax.inject.Inject;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
+import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_CURSOR_HEADER;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_CURSOR_NOT_FOUND;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_RESULTS_NEXT_START_HEADER;
 
 /**
  * An implementation of {@link IJobServiceV2}. By default it will use a singleton
@@ -50,6 +64,11 @@ import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
  */
 public class JobServiceV2 implements IJobServiceV2 {
     private static final Logger LOGGER = LoggerFactory.getLogger(JobServiceV2.class);
+    private static final JobResultsCursors CURSORS = new JobResultsCursors(
+            Long.parseLong(System.getProperty(SystemProperty.JOB_RESULTS_CURSOR_TIMEOUT, SystemProperty.JOB_RESULTS_CURSOR_TIMEOUT_DEFAULT)),
+            Integer.parseInt(System.getProperty(SystemProperty.JOB_RESULTS_MAX_CURSORS, SystemProperty.JOB_RESULTS_MAX_CURSORS_DEFAULT)));
+
+    public final ObjectMapper mapper = createDefaultMapper();
 
     @Inject
     private GraphFactory graphFactory;
@@ -134,13 +153,104 @@ public class JobServiceV2 implements IJobServiceV2 {
     }
 
     @Override
-    public Response results(final String id) throws OperationException {
+    public Response results(final String id, final Integer start, final Integer pageSize, final String cursor) throws OperationException {
         final Context context = userFactory.createContext();
-        return Response.ok(graphFactory.getGraph().execute(
+        if (null == pageSize && null == cursor) {
+            return Response.ok(graphFactory.getGraph().execute(
+                    new GetJobResults.Builder()
+                            .jobId(id)
+                            .start(null != start ? start : 0)
+                            .build(),
+                    context))
+                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                    .header(JOB_ID_HEADER, context.getJobId())
+                    .build();
+        }
+
+        if (null != pageSize && pageSize < 1) {
+            throw new GafferRuntimeException("The page size must be at least 1", Status.BAD_REQUEST);
+        }
+
+        final String userId = context.getUser().getUserId();
+        final Iterable<?> results;
+        final Iterator<?> iterator;
+        long position;
+        if (null != cursor) {
+            final JobResultsCursors.Cursor jobResultsCursor = CURSORS.take(cursor, id, userId);
+            if (null == jobResultsCursor) {
+                throw new GafferRuntimeException(JOB_RESULTS_CURSOR_NOT_FOUND, Status.NOT_FOUND);
+            }
+            results = jobResultsCursor.getResults();
+            iterator = jobResultsCursor.getIterator();
+            position = jobResultsCursor.getPosition();
+        } else {
+            position = null != start ? start : 0;
+            results = graphFactory.getGraph().execute(
+                    new GetJobResults.Builder()
+                            .jobId(id)
+                            .start((int) position)
+                            .build(),
+                    context);
+            iterator = null != results ? results.iterator() : null;
+        }
+
+        final List<Object> page = new ArrayList<>();
+        Response.ResponseBuilder response = Response.ok(page);
+        if (null != iterator) {
+            try {
+                while ((null == pageSize || page.size() < pageSize) && iterator.hasNext()) {
+                    page.add(iterator.next());
+                    position++;
+                }
+            } catch (final RuntimeException e) {
+                CloseableUtil.close(iterator);
+                CloseableUtil.close(results);
+                throw e;
+            }
+
+            if (iterator.hasNext()) {
+                // Keep the results open so the next page carries on from here
+                response = response
+                        .header(JOB_RESULTS_CURSOR_HEADER, CURSORS.add(id, userId, results, iterator, position))
+                        .header(JOB_RESULTS_NEXT_START_HEADER, position);
+            } else {
+                CloseableUtil.close(iterator);
+                CloseableUtil.close(results);
+            }
+        }
+
+        return response
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, context.getJobId())
+                .build();
+    }
+
+    @Override
+    public Response resultsChunked(final String id) throws OperationException {
+        final Context context = userFactory.createContext();
+        final Iterable<?> results = graphFactory.getGraph().execute(
                 new GetJobResults.Builder()
                         .jobId(id)
                         .build(),
-                context))
+                context);
+
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        new Thread(() -> {
+            try {
+                if (null != results) {
+                    for (final Object result : results) {
+                        output.write(mapper.writeValueAsString(result));
+                    }
+                }
+            } catch (final IOException e) {
+                LOGGER.warn("IOException (chunks)", e);
+            } finally {
+                CloseableUtil.close(results);
+                CloseableUtil.close(output);
+            }
+        }).start();
+
+        return Response.ok(output)
                 .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                 .header(JOB_ID_HEADER, context.getJobId())
                 .build();
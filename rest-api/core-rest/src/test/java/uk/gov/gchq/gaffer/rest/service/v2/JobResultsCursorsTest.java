@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class JobResultsCursorsTest {
+
+    @Test
+    public void shouldTakeCursorForSameJobAndUser() {
+        // Given
+        final JobResultsCursors cursors = new JobResultsCursors(60000, 10);
+        final CloseableIterable<?> results = mock(CloseableIterable.class);
+        final Iterator<?> iterator = mock(Iterator.class);
+        final String cursorId = cursors.add("job1", "user1", results, iterator, 5);
+
+        // When
+        final JobResultsCursors.Cursor cursor = cursors.take(cursorId, "job1", "user1");
+
+        // Then
+        assertNotNull(cursor);
+        assertSame(iterator, cursor.getIterator());
+        assertEquals(5, cursor.getPosition());
+        assertNull(cursors.take(cursorId, "job1", "user1"));
+        verify(results, never()).close();
+    }
+
+    @Test
+    public void shouldNotTakeCursorForDifferentUserOrJob() {
+        // Given
+        final JobResultsCursors cursors = new JobResultsCursors(60000, 10);
+        final String cursorId = cursors.add("job1", "user1", mock(CloseableIterable.class), mock(Iterator.class), 0);
+
+        // When / Then
+        assertNull(cursors.take(cursorId, "job1", "user2"));
+        assertNull(cursors.take(cursorId, "job2", "user1"));
+        assertNotNull(cursors.take(cursorId, "job1", "user1"));
+    }
+
+    @Test
+    public void shouldCloseLeastRecentlyUsedCursorWhenFull() {
+        // Given
+        final JobResultsCursors cursors = new JobResultsCursors(60000, 2);
+        final CloseableIterable<?> results1 = mock(CloseableIterable.class);
+        final CloseableIterator<?> iterator1 = mock(CloseableIterator.class);
+        final String cursorId1 = cursors.add("job1", "user1", results1, iterator1, 0);
+        cursors.add("job2", "user1", mock(CloseableIterable.class), mock(Iterator.class), 0);
+
+        // When
+        cursors.add("job3", "user1", mock(CloseableIterable.class), mock(Iterator.class), 0);
+
+        // Then
+        assertEquals(2, cursors.size());
+        assertNull(cursors.take(cursorId1, "job1", "user1"));
+        verify(results1).close();
+        verify(iterator1).close();
+    }
+
+    @Test
+    public void shouldCloseExpiredCursors() throws InterruptedException {
+        // Given
+        final JobResultsCursors cursors = new JobResultsCursors(1, 10);
+        final CloseableIterable<?> results = mock(CloseableIterable.class);
+        final String cursorId = cursors.add("job1", "user1", results, mock(Iterator.class), 0);
+        Thread.sleep(10);
+
+        // When
+        final JobResultsCursors.Cursor cursor = cursors.take(cursorId, "job1", "user1");
+
+        // Then
+        assertNull(cursor);
+        assertEquals(0, cursors.size());
+        verify(results).close();
+    }
+
+    @Test
+    public void shouldCloseExpiredCursorsInTheBackground() throws InterruptedException {
+        // Given
+        final JobResultsCursors cursors = new JobResultsCursors(1, 10, 10);
+        final CloseableIterable<?> results = mock(CloseableIterable.class);
+        cursors.add("job1", "user1", results, mock(Iterator.class), 0);
+
+        // When
+        Thread.sleep(500);
+
+        // Then
+        assertEquals(0, cursors.size());
+        verify(results).close();
+        cursors.close();
+    }
+}
@@ -82,6 +82,7 @@ public interface IJobController {
             produces = APPLICATION_JSON_VALUE,
             method = GET
     )
-    @ApiOperation("Retrieves the results of an asynchronous job")
-    Object getResults(final String id) throws OperationException;
+    @ApiOperation(value = "Retrieves the results of an asynchronous job",
+            notes = "A page of the results can be retrieved by setting the start and end indices of the results.")
+    Object getResults(final String id, final Integer start, final Integer end) throws OperationException;
 }
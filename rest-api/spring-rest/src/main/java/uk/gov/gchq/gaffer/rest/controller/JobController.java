@@ -21,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -91,9 +92,13 @@ public class JobController implements IJobController {
     }
 
     @Override
-    public Object getResults(@PathVariable("id") @ApiParam("The Job ID") final String id) throws OperationException {
+    public Object getResults(@PathVariable("id") @ApiParam("The Job ID") final String id,
+                             @RequestParam(value = "start", required = false) @ApiParam("The index of the first result to return") final Integer start,
+                             @RequestParam(value = "end", required = false) @ApiParam("The index after the last result to return") final Integer end) throws OperationException {
         return graphFactory.getGraph().execute(new GetJobResults.Builder()
                         .jobId(id)
+                        .start(null != start ? start : 0)
+                        .end(end)
                         .build(),
                 userFactory.createContext()
         );
@@ -48,12 +48,23 @@ public class AccumuloProperties extends StoreProperties {
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String CLIENT_SIDE_FALSE_POSITIVE_RATE = "accumulo.clientSideFalsePositiveRate";
+    public static final String COMPRESS_BLOOM_FILTER_FOR_ITERATOR = "accumulo.compressBloomFilterForIterator";
+    public static final String TABLE_BLOOM_ERROR_RATE = "accumulo.bloom.error.rate";
+    public static final String TABLE_BLOOM_SIZE = "accumulo.bloom.size";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
+    public static final String RETRIEVER_PIPELINE_ENABLED = "gaffer.store.accumulo.retriever.pipeline.enabled";
+    public static final String RETRIEVER_PIPELINE_LOOKAHEAD = "gaffer.store.accumulo.retriever.pipeline.lookahead";
+    public static final String RETRIEVER_PIPELINE_BUFFER_SIZE = "gaffer.store.accumulo.retriever.pipeline.buffer.size";
+    public static final String RETRIEVER_PIPELINE_IDLE_TIMEOUT_MILLIS = "gaffer.store.accumulo.retriever.pipeline.idle.timeout.millis";
+    public static final String RETRIEVER_LAZY_ELEMENTS_ENABLED = "gaffer.store.accumulo.retriever.lazy.elements.enabled";
+    public static final String SUMMARY_TABLE_ENABLED = "gaffer.store.accumulo.summary.table.enabled";
+    public static final String RETRIEVER_MAX_EDGES_PER_SEED = "gaffer.store.accumulo.retriever.max.edges.per.seed";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
@@ -61,10 +72,18 @@ public class AccumuloProperties extends StoreProperties {
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String CLIENT_SIDE_FALSE_POSITIVE_RATE_DEFAULT = "0.000001";
+    private static final String COMPRESS_BLOOM_FILTER_FOR_ITERATOR_DEFAULT = "false";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    public static final String RETRIEVER_PIPELINE_ENABLED_DEFAULT = "false";
+    public static final String RETRIEVER_PIPELINE_LOOKAHEAD_DEFAULT = "1";
+    public static final String RETRIEVER_PIPELINE_BUFFER_SIZE_DEFAULT = "10000";
+    public static final String RETRIEVER_PIPELINE_IDLE_TIMEOUT_MILLIS_DEFAULT = "600000";
+    public static final String RETRIEVER_LAZY_ELEMENTS_ENABLED_DEFAULT = "false";
+    public static final String SUMMARY_TABLE_ENABLED_DEFAULT = "false";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -369,6 +388,88 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the false positive rate used to size the client side bloom filter
+     * when the number of seeds is known.
+     *
+     * @return the client side false positive rate
+     */
+    public double getClientSideFalsePositiveRate() {
+        return Double.parseDouble(get(CLIENT_SIDE_FALSE_POSITIVE_RATE, CLIENT_SIDE_FALSE_POSITIVE_RATE_DEFAULT));
+    }
+
+    /**
+     * Sets the false positive rate used to size the client side bloom filter
+     * when the number of seeds is known.
+     *
+     * @param clientSideFalsePositiveRate the client side false positive rate
+     */
+    public void setClientSideFalsePositiveRate(final String clientSideFalsePositiveRate) {
+        set(CLIENT_SIDE_FALSE_POSITIVE_RATE, clientSideFalsePositiveRate);
+    }
+
+    /**
+     * Gets the flag determining whether bloom filters passed to iterators
+     * should be compressed. The tablet servers must have a version of Gaffer
+     * that supports compressed bloom filters.
+     *
+     * @return true if bloom filters passed to iterators should be compressed
+     */
+    public boolean getCompressBloomFilterForIterator() {
+        return Boolean.parseBoolean(get(COMPRESS_BLOOM_FILTER_FOR_ITERATOR, COMPRESS_BLOOM_FILTER_FOR_ITERATOR_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether bloom filters passed to iterators
+     * should be compressed.
+     *
+     * @param compressBloomFilterForIterator true if bloom filters passed to iterators should be compressed
+     */
+    public void setCompressBloomFilterForIterator(final boolean compressBloomFilterForIterator) {
+        set(COMPRESS_BLOOM_FILTER_FOR_ITERATOR, Boolean.toString(compressBloomFilterForIterator));
+    }
+
+    /**
+     * Gets the error rate of the bloom filters Accumulo stores in each file
+     * of tables created by Gaffer. If not set the Accumulo default is used.
+     *
+     * @return the table bloom filter error rate, e.g. 0.5%
+     */
+    public String getTableBloomErrorRate() {
+        return get(TABLE_BLOOM_ERROR_RATE, null);
+    }
+
+    /**
+     * Sets the error rate of the bloom filters Accumulo stores in each file
+     * of tables created by Gaffer.
+     *
+     * @param tableBloomErrorRate the table bloom filter error rate, e.g. 0.5%
+     */
+    public void setTableBloomErrorRate(final String tableBloomErrorRate) {
+        set(TABLE_BLOOM_ERROR_RATE, tableBloomErrorRate);
+    }
+
+    /**
+     * Gets the number of keys the bloom filters Accumulo stores in each file
+     * of tables created by Gaffer are sized for. If not set the Accumulo
+     * default is used.
+     *
+     * @return the table bloom filter size
+     */
+    public String getTableBloomSize() {
+        return get(TABLE_BLOOM_SIZE, null);
+    }
+
+    /**
+     * Sets the number of keys the bloom filters Accumulo stores in each file
+     * of tables created by Gaffer are sized for.
+     *
+     * @param tableBloomSize the table bloom filter size
+     */
+    public void setTableBloomSize(final String tableBloomSize) {
+        set(TABLE_BLOOM_SIZE, tableBloomSize);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
@@ -431,6 +532,155 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether seeded retrievers should read their
+     * seed batches through a pipeline, so building the ranges and scanning
+     * the next batch overlaps with converting the results of the current
+     * batch.
+     *
+     * @return true if the retriever pipeline should be used.
+     */
+    public boolean getRetrieverPipelineEnabled() {
+        return Boolean.parseBoolean(get(RETRIEVER_PIPELINE_ENABLED, RETRIEVER_PIPELINE_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether seeded retrievers should read their
+     * seed batches through a pipeline.
+     *
+     * @param retrieverPipelineEnabled true if the retriever pipeline should be used.
+     */
+    public void setRetrieverPipelineEnabled(final boolean retrieverPipelineEnabled) {
+        set(RETRIEVER_PIPELINE_ENABLED, Boolean.toString(retrieverPipelineEnabled));
+    }
+
+    /**
+     * Gets the number of batch scanners the retriever pipeline opens ahead of
+     * the batch currently being converted.
+     *
+     * @return the number of batch scanners to open ahead.
+     */
+    public int getRetrieverPipelineLookahead() {
+        return Integer.parseInt(get(RETRIEVER_PIPELINE_LOOKAHEAD, RETRIEVER_PIPELINE_LOOKAHEAD_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners the retriever pipeline opens ahead of
+     * the batch currently being converted.
+     *
+     * @param retrieverPipelineLookahead the number of batch scanners to open ahead.
+     */
+    public void setRetrieverPipelineLookahead(final String retrieverPipelineLookahead) {
+        set(RETRIEVER_PIPELINE_LOOKAHEAD, retrieverPipelineLookahead);
+    }
+
+    /**
+     * Gets the maximum number of converted elements the retriever pipeline
+     * holds before they are read by the client.
+     *
+     * @return the maximum number of buffered elements.
+     */
+    public int getRetrieverPipelineBufferSize() {
+        return Integer.parseInt(get(RETRIEVER_PIPELINE_BUFFER_SIZE, RETRIEVER_PIPELINE_BUFFER_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of converted elements the retriever pipeline
+     * holds before they are read by the client.
+     *
+     * @param retrieverPipelineBufferSize the maximum number of buffered elements.
+     */
+    public void setRetrieverPipelineBufferSize(final String retrieverPipelineBufferSize) {
+        set(RETRIEVER_PIPELINE_BUFFER_SIZE, retrieverPipelineBufferSize);
+    }
+
+    /**
+     * Gets the number of milliseconds the retriever pipeline waits for the
+     * client to read from a full buffer before it closes its scanners and
+     * stops. A value of 0 or less means the pipeline waits until the iterator
+     * is closed.
+     *
+     * @return the idle timeout in milliseconds.
+     */
+    public long getRetrieverPipelineIdleTimeoutMillis() {
+        return Long.parseLong(get(RETRIEVER_PIPELINE_IDLE_TIMEOUT_MILLIS, RETRIEVER_PIPELINE_IDLE_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of milliseconds the retriever pipeline waits for the
+     * client to read from a full buffer before it closes its scanners and
+     * stops.
+     *
+     * @param retrieverPipelineIdleTimeoutMillis the idle timeout in milliseconds.
+     */
+    public void setRetrieverPipelineIdleTimeoutMillis(final String retrieverPipelineIdleTimeoutMillis) {
+        set(RETRIEVER_PIPELINE_IDLE_TIMEOUT_MILLIS, retrieverPipelineIdleTimeoutMillis);
+    }
+
+    /**
+     * Gets the flag determining whether retrievers should deserialise element
+     * properties lazily, so only the properties used by the view's filters
+     * and transforms, and the properties returned, are deserialised.
+     *
+     * @return true if element properties should be deserialised lazily.
+     */
+    public boolean getRetrieverLazyElementsEnabled() {
+        return Boolean.parseBoolean(get(RETRIEVER_LAZY_ELEMENTS_ENABLED, RETRIEVER_LAZY_ELEMENTS_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether retrievers should deserialise element
+     * properties lazily.
+     *
+     * @param retrieverLazyElementsEnabled true if element properties should be deserialised lazily.
+     */
+    public void setRetrieverLazyElementsEnabled(final boolean retrieverLazyElementsEnabled) {
+        set(RETRIEVER_LAZY_ELEMENTS_ENABLED, Boolean.toString(retrieverLazyElementsEnabled));
+    }
+
+    /**
+     * Get the flag determining whether a summary table counting the
+     * elements added for each vertex should be maintained.
+     *
+     * @return true if the summary table is enabled.
+     */
+    public boolean getSummaryTableEnabled() {
+        return Boolean.parseBoolean(get(SUMMARY_TABLE_ENABLED, SUMMARY_TABLE_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether a summary table counting the
+     * elements added for each vertex should be maintained.
+     *
+     * @param summaryTableEnabled true if the summary table is enabled.
+     */
+    public void setSummaryTableEnabled(final boolean summaryTableEnabled) {
+        set(SUMMARY_TABLE_ENABLED, Boolean.toString(summaryTableEnabled));
+    }
+
+    /**
+     * Get the default maximum number of edges that are returned for each seed
+     * vertex. This can be overridden for an operation with the
+     * {@link uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants#OPERATION_MAX_EDGES_PER_SEED}
+     * option.
+     *
+     * @return the maximum number of edges for each seed, or null if there is no maximum.
+     */
+    public Integer getRetrieverMaxEdgesPerSeed() {
+        final String maxEdgesPerSeed = get(RETRIEVER_MAX_EDGES_PER_SEED);
+        return null == maxEdgesPerSeed ? null : Integer.parseInt(maxEdgesPerSeed);
+    }
+
+    /**
+     * Sets the default maximum number of edges that are returned for each seed
+     * vertex.
+     *
+     * @param maxEdgesPerSeed the maximum number of edges for each seed, or null if there is no maximum.
+     */
+    public void setRetrieverMaxEdgesPerSeed(final Integer maxEdgesPerSeed) {
+        set(RETRIEVER_MAX_EDGES_PER_SEED, null == maxEdgesPerSeed ? null : maxEdgesPerSeed.toString());
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
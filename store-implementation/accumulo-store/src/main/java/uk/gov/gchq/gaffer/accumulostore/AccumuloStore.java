@@ -50,6 +50,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSets
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetVertexSummariesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SampleElementsForSplitPointsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
@@ -61,9 +62,11 @@ import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloK
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexSummaries;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
+import uk.gov.gchq.gaffer.accumulostore.utils.VertexSummaryUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
@@ -73,6 +76,7 @@ import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.SampleDataForSplitPoints;
 import uk.gov.gchq.gaffer.hdfs.operation.handler.HdfsSplitStoreFromFileHandler;
@@ -215,6 +219,17 @@ public class AccumuloStore extends Store {
         return getGraphId();
     }
 
+    /**
+     * Gets the name of the summary table, which holds the number of elements
+     * of each group added for each vertex when
+     * {@link AccumuloProperties#getSummaryTableEnabled()} is true.
+     *
+     * @return the name of the summary table
+     */
+    public String getSummaryTableName() {
+        return getTableName() + AccumuloStoreConstants.SUMMARY_TABLE_SUFFIX;
+    }
+
     @Override
     protected void validateSchema(final ValidationResult validationResult, final Serialiser serialiser) {
         super.validateSchema(validationResult, serialiser);
@@ -379,6 +394,7 @@ public class AccumuloStore extends Store {
         addOperationHandler(GenerateSplitPointsFromSample.class, new GenerateSplitPointsFromSampleHandler());
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
+        addOperationHandler(GetVertexSummaries.class, new GetVertexSummariesHandler());
 
         if (null == getSchema().getVertexSerialiser() || getSchema().getVertexSerialiser().preservesObjectOrdering()) {
             addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
@@ -427,6 +443,7 @@ public class AccumuloStore extends Store {
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
+        final BatchWriter summaryWriter = getProperties().getSummaryTableEnabled() ? TableUtils.createSummaryBatchWriter(this) : null;
         // Loop through elements, convert to mutations, and add to
         // BatchWriter.as
         // The BatchWriter takes care of batching them up, sending them without
@@ -471,6 +488,13 @@ public class AccumuloStore extends Store {
                         LOGGER.error("Failed to create an accumulo key mutation");
                     }
                 }
+                if (null != summaryWriter) {
+                    try {
+                        summaryWriter.addMutations(VertexSummaryUtils.getMutations(getSchema(), element, keys.getFirst()));
+                    } catch (final SerialisationException | MutationsRejectedException e) {
+                        LOGGER.error("Failed to create an accumulo summary mutation for element of type {}", element.getGroup(), e);
+                    }
+                }
             }
         } else {
             throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
@@ -480,6 +504,13 @@ public class AccumuloStore extends Store {
         } catch (final MutationsRejectedException e) {
             LOGGER.warn("Accumulo batch writer failed to close", e);
         }
+        if (null != summaryWriter) {
+            try {
+                summaryWriter.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo summary batch writer failed to close", e);
+            }
+        }
     }
 
     /**
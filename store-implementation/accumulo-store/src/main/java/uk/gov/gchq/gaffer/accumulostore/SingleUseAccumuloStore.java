@@ -47,6 +47,11 @@ public class SingleUseAccumuloStore extends AccumuloStore {
         } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
             // no action required
         }
+        try {
+            getConnection().tableOperations().delete(getSummaryTableName());
+        } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+            // no action required
+        }
         super.preInitialise(graphId, schema, properties);
     }
 
@@ -52,6 +52,11 @@ public class SingleUseMockAccumuloStore extends MockAccumuloStore {
         } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
             // no action required
         }
+        try {
+            getConnection().tableOperations().delete(getSummaryTableName());
+        } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+            // no action required
+        }
         super.preInitialise(graphId, schema, properties);
     }
 
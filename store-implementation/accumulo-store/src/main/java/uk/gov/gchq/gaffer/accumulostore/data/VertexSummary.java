@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.io.Serializable;
+
+/**
+ * A {@code VertexSummary} holds the number of times elements of a group have
+ * been added for a vertex. For an entity group this is the number of entity
+ * adds for the vertex. For an edge group these are the number of outgoing,
+ * incoming and undirected edge adds with the vertex as an end, along with the
+ * outgoing, incoming and undirected degree of the vertex.
+ * <p>
+ * The add counts are not of distinct elements. An element that is added more
+ * than once is counted each time it is added. The degrees are the number of
+ * distinct vertices at the other end of the edges, estimated from HyperLogLog
+ * sketches, so re-adding an edge does not change them. They are typically
+ * within a few percent of the exact values. Neither is ever decremented, so
+ * elements that are deleted or aged off are still counted.
+ * </p>
+ */
+@JsonPropertyOrder(value = {"vertex", "group"}, alphabetic = true)
+public class VertexSummary implements Serializable {
+    private static final long serialVersionUID = 6130871520359424806L;
+
+    private Object vertex;
+    private String group;
+    private long entityAdds;
+    private long outEdgeAdds;
+    private long inEdgeAdds;
+    private long undirectedEdgeAdds;
+    private long outDegree;
+    private long inDegree;
+    private long undirectedDegree;
+    private long lastSeen;
+
+    public VertexSummary() {
+    }
+
+    public VertexSummary(final Object vertex, final String group) {
+        this.vertex = vertex;
+        this.group = group;
+    }
+
+    public Object getVertex() {
+        return vertex;
+    }
+
+    public void setVertex(final Object vertex) {
+        this.vertex = vertex;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(final String group) {
+        this.group = group;
+    }
+
+    /**
+     * @return the number of entities added for the vertex
+     */
+    public long getEntityAdds() {
+        return entityAdds;
+    }
+
+    public void setEntityAdds(final long entityAdds) {
+        this.entityAdds = entityAdds;
+    }
+
+    /**
+     * @return the number of directed edges added with the vertex as the source
+     */
+    public long getOutEdgeAdds() {
+        return outEdgeAdds;
+    }
+
+    public void setOutEdgeAdds(final long outEdgeAdds) {
+        this.outEdgeAdds = outEdgeAdds;
+    }
+
+    /**
+     * @return the number of directed edges added with the vertex as the destination
+     */
+    public long getInEdgeAdds() {
+        return inEdgeAdds;
+    }
+
+    public void setInEdgeAdds(final long inEdgeAdds) {
+        this.inEdgeAdds = inEdgeAdds;
+    }
+
+    /**
+     * @return the number of undirected edges added with the vertex as an end
+     */
+    public long getUndirectedEdgeAdds() {
+        return undirectedEdgeAdds;
+    }
+
+    public void setUndirectedEdgeAdds(final long undirectedEdgeAdds) {
+        this.undirectedEdgeAdds = undirectedEdgeAdds;
+    }
+
+    /**
+     * @return the total number of edges added with the vertex as an end
+     */
+    @JsonIgnore
+    public long getEdgeAdds() {
+        return outEdgeAdds + inEdgeAdds + undirectedEdgeAdds;
+    }
+
+    /**
+     * @return the estimated number of distinct destinations of the directed edges with the vertex as the source
+     */
+    public long getOutDegree() {
+        return outDegree;
+    }
+
+    public void setOutDegree(final long outDegree) {
+        this.outDegree = outDegree;
+    }
+
+    /**
+     * @return the estimated number of distinct sources of the directed edges with the vertex as the destination
+     */
+    public long getInDegree() {
+        return inDegree;
+    }
+
+    public void setInDegree(final long inDegree) {
+        this.inDegree = inDegree;
+    }
+
+    /**
+     * @return the estimated number of distinct vertices at the other end of the undirected edges of the vertex
+     */
+    public long getUndirectedDegree() {
+        return undirectedDegree;
+    }
+
+    public void setUndirectedDegree(final long undirectedDegree) {
+        this.undirectedDegree = undirectedDegree;
+    }
+
+    /**
+     * @return the largest Accumulo timestamp of the elements added for the vertex
+     */
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(final long lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final VertexSummary that = (VertexSummary) obj;
+
+        return new EqualsBuilder()
+                .append(vertex, that.vertex)
+                .append(group, that.group)
+                .append(entityAdds, that.entityAdds)
+                .append(outEdgeAdds, that.outEdgeAdds)
+                .append(inEdgeAdds, that.inEdgeAdds)
+                .append(undirectedEdgeAdds, that.undirectedEdgeAdds)
+                .append(outDegree, that.outDegree)
+                .append(inDegree, that.inDegree)
+                .append(undirectedDegree, that.undirectedDegree)
+                .append(lastSeen, that.lastSeen)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(vertex)
+                .append(group)
+                .append(entityAdds)
+                .append(outEdgeAdds)
+                .append(inEdgeAdds)
+                .append(undirectedEdgeAdds)
+                .append(outDegree)
+                .append(inDegree)
+                .append(undirectedDegree)
+                .append(lastSeen)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("vertex", vertex)
+                .append("group", group)
+                .append("entityAdds", entityAdds)
+                .append("outEdgeAdds", outEdgeAdds)
+                .append("inEdgeAdds", inEdgeAdds)
+                .append("undirectedEdgeAdds", undirectedEdgeAdds)
+                .append("outDegree", outDegree)
+                .append("inDegree", inDegree)
+                .append("undirectedDegree", undirectedDegree)
+                .append("lastSeen", lastSeen)
+                .toString();
+    }
+}
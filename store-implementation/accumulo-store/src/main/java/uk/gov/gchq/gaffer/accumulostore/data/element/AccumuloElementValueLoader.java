@@ -68,7 +68,10 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
         } else if (name.equals(timestampProperty)) {
             props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
         } else {
-            props = elementConverter.getPropertiesFromValue(group, value);
+            // Only deserialise the requested property, so large properties
+            // that are never used are not deserialised.
+            props = new Properties();
+            props.put(name, elementConverter.getPropertyFromValue(group, value, name));
         }
         lazyProperties.putAll(props);
         return props.get(name);
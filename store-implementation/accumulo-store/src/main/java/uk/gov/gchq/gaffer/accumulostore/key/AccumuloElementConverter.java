@@ -95,6 +95,20 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Gets a single property stored within an Accumulo
+     * {@link org.apache.accumulo.core.data.Value}, without deserialising the
+     * other properties.
+     *
+     * @param group        the element group
+     * @param value        the Value containing the serialised properties
+     * @param propertyName the name of the property to get
+     * @return the property value, or null if it is not stored within the {@link Value}
+     */
+    default Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        return getPropertiesFromValue(group, value).get(propertyName);
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -22,6 +22,7 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
 /**
@@ -46,6 +47,22 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will filter elements based on their
+     * vertices membership in a given
+     * {@link org.apache.hadoop.util.bloom.BloomFilter}, optionally compressing
+     * the serialised filter.
+     *
+     * @param filter   the bloom filter
+     * @param compress true if the serialised bloom filter should be compressed
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link BloomFilter}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    default IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter, final boolean compress) throws IteratorSettingException {
+        return getBloomFilterIteratorSetting(filter);
+    }
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on
@@ -84,6 +101,23 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getEdgeEntityDirectionFilterIteratorSetting(final GraphFilters operation);
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that limits the number of edges
+     * returned for each seed and samples edges, based on the options of the
+     * operation or the store properties. Returns null if neither a maximum
+     * number of edges nor a sample rate is set.
+     *
+     * @param operation the operation
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator that limits and samples the edges of each seed, or null if it is not required
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    default IteratorSetting getSeedLimitIteratorSetting(final Operation operation, final AccumuloStore store)
+            throws IteratorSettingException {
+        return null;
+    }
+
     /**
      * Returns an Iterator that will aggregate values in the accumulo table,
      * this iterator will be applied to the table on creation
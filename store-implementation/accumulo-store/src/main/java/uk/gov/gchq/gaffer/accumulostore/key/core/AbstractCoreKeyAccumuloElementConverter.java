@@ -160,6 +160,40 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        if (isNotEmpty(value)) {
+            final byte[] bytes = value.get();
+            int delimiterPosition = 0;
+            final int arrayLength = bytes.length;
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+            while (propertyNames.hasNext() && delimiterPosition < arrayLength) {
+                final String name = propertyNames.next();
+                if (!isStoredInValue(name, elementDefinition)) {
+                    continue;
+                }
+                final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(name);
+                final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+                if (null == serialiser) {
+                    continue;
+                }
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+                final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+                if (name.equals(propertyName)) {
+                    try {
+                        return getDeserialisedObject(serialiser, bytes, delimiterPosition + numBytesForLength, currentPropLength);
+                    } catch (final SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                }
+                // Skip over the bytes of the properties that are not required
+                delimiterPosition += numBytesForLength + currentPropLength;
+            }
+        }
+        return null;
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeySeedLimitIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
@@ -35,6 +36,7 @@ import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -44,9 +46,14 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
 
     @Override
     public IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException {
+        return getBloomFilterIteratorSetting(filter, false);
+    }
+
+    @Override
+    public IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter, final boolean compress) throws IteratorSettingException {
         final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, CoreKeyBloomFilterIterator.class)
-                .bloomFilter(filter)
+                .bloomFilter(filter, compress)
                 .build();
         LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}",
                 CoreKeyBloomFilterIterator.class.getName(),
@@ -100,6 +107,37 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getSeedLimitIteratorSetting(final Operation operation, final AccumuloStore store)
+            throws IteratorSettingException {
+        final String maxEdgesPerSeedOption = operation.getOption(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_SEED);
+        final Integer maxEdgesPerSeed = null != maxEdgesPerSeedOption
+                ? Integer.valueOf(maxEdgesPerSeedOption)
+                : store.getProperties().getRetrieverMaxEdgesPerSeed();
+        final String sampleRate = operation.getOption(AccumuloStoreConstants.OPERATION_EDGE_SAMPLE_RATE);
+        if (null == maxEdgesPerSeed && null == sampleRate) {
+            LOGGER.debug("Returning null from getSeedLimitIteratorSetting as no maximum edges per seed or edge sample rate is set");
+            return null;
+        }
+
+        final IteratorSettingBuilder builder = new IteratorSettingBuilder(AccumuloStoreConstants.SEED_LIMIT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.SEED_LIMIT_ITERATOR_NAME, CoreKeySeedLimitIterator.class)
+                .schema(store.getSchema());
+        if (null != maxEdgesPerSeed) {
+            builder.option(AccumuloStoreConstants.MAX_EDGES_PER_SEED, maxEdgesPerSeed.toString());
+        }
+        if (null != sampleRate) {
+            builder.option(AccumuloStoreConstants.EDGE_SAMPLE_RATE, Double.valueOf(sampleRate).toString());
+        }
+        final IteratorSetting is = builder.build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, "
+                        + "maxEdgesPerSeed = {}, sampleRate = {}",
+                CoreKeySeedLimitIterator.class.getName(),
+                AccumuloStoreConstants.SEED_LIMIT_ITERATOR_PRIORITY,
+                maxEdgesPerSeed, sampleRate);
+        return is;
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
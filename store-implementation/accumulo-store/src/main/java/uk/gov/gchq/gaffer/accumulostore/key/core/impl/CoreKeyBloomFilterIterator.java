@@ -37,6 +37,7 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.zip.InflaterInputStream;
 
 /**
  * The CoreKeyBloomFilterIterator filters out Edges based on their non searched
@@ -76,7 +77,10 @@ public class CoreKeyBloomFilterIterator extends Filter {
             throw new BloomFilterIteratorException("Failed to re-create serialised bloom filter", e);
         }
 
-        try (final InputStream inStream = new ByteArrayInputStream(bytes);
+        final boolean compressed = Boolean.parseBoolean(options.get(AccumuloStoreConstants.BLOOM_FILTER_COMPRESSED));
+        try (final InputStream inStream = compressed
+                ? new InflaterInputStream(new ByteArrayInputStream(bytes))
+                : new ByteArrayInputStream(bytes);
              final DataInputStream dataStream = new DataInputStream(inStream)) {
             filter.readFields(dataStream);
         } catch (final IOException e) {
@@ -102,6 +106,8 @@ public class CoreKeyBloomFilterIterator extends Filter {
         return new IteratorOptionsBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, "Bloom Filter")
                 .addNamedOption(AccumuloStoreConstants.BLOOM_FILTER,
                         "Required: The serialised form of the bloom filter that keys will be tested against")
+                .addNamedOption(AccumuloStoreConstants.BLOOM_FILTER_COMPRESSED,
+                        "Optional: true if the serialised bloom filter is compressed")
                 .build();
     }
 
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.hadoop.util.hash.MurmurHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code CoreKeySeedLimitIterator} limits the number of edges returned
+ * for each vertex at the start of a row, so that a query for a seed with a
+ * very large number of edges does not return all of them.
+ * <p>
+ * Edges can be sampled by providing a rate between 0 and 1. Whether an edge
+ * is sampled depends only on a hash of its row, column family and column
+ * qualifier, so the same query returns the same sample each time it is run.
+ * Only sampled edges are counted towards the maximum number of edges.
+ * </p>
+ * <p>
+ * When a vertex has more edges than the maximum, a key with the row of the
+ * first edge not returned and a column family of
+ * {@link AccumuloStoreConstants#TRUNCATED_SEED_COLUMN_FAMILY} is returned,
+ * and the iterator skips to the next vertex. Entities are always returned.
+ * </p>
+ * <p>
+ * The iterator only sees the entries on the tablet it is running on, so the
+ * maximum applies to each tablet rather than to the whole query. The count
+ * is also only kept for a single seek, so when a scan is resumed part way
+ * through the edges of a vertex, or a batch scanner splits a seed's range at
+ * a tablet boundary, the count starts again from zero. Recounting the edges
+ * before the resumed key would re-read them on every resume. A vertex can
+ * therefore return up to the maximum from each seek, so the
+ * {@link uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloItemRetriever}
+ * also enforces the maximum across all of the entries it receives.
+ * </p>
+ */
+public class CoreKeySeedLimitIterator extends WrappingIterator implements OptionDescriber {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreKeySeedLimitIterator.class);
+    private static final Hash HASH = MurmurHash.getInstance();
+    private static final byte[] TRUNCATED_SEED_COLUMN_FAMILY_BYTES = AccumuloStoreConstants.TRUNCATED_SEED_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8);
+    private static final Value EMPTY_VALUE = new Value(new byte[0]);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "edgeGroups is initialised in init method, which is always called first")
+    private Set<String> edgeGroups;
+    private Integer maxEdgesPerSeed;
+    private double sampleRate = 1.0;
+
+    private Range currentRange;
+    private Collection<ByteSequence> currentColumnFamilies;
+    private boolean currentColumnFamiliesInclusive;
+
+    private byte[] currentVertex;
+    private int edgeCount;
+    private boolean skipToNextVertex;
+    private boolean finished;
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.SEED_LIMIT_ITERATOR_NAME,
+                "Limits the number of edges returned for each seed vertex and deterministically samples edges")
+                .addSchemaNamedOption()
+                .addNamedOption(AccumuloStoreConstants.MAX_EDGES_PER_SEED, "Optional maximum number of edges to return for each seed vertex")
+                .addNamedOption(AccumuloStoreConstants.EDGE_SAMPLE_RATE, "Optional rate between 0 and 1 at which edges are sampled")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        return true;
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
+        validateOptions(options);
+        super.init(source, options, env);
+        final Schema schema;
+        try {
+            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema", e);
+        }
+        edgeGroups = schema.getEdgeGroups();
+
+        final String maxEdgesPerSeedOption = options.get(AccumuloStoreConstants.MAX_EDGES_PER_SEED);
+        if (null != maxEdgesPerSeedOption) {
+            maxEdgesPerSeed = Integer.parseInt(maxEdgesPerSeedOption);
+        }
+        final String sampleRateOption = options.get(AccumuloStoreConstants.EDGE_SAMPLE_RATE);
+        if (null != sampleRateOption) {
+            sampleRate = Double.parseDouble(sampleRateOption);
+        }
+        LOGGER.debug("Initialising CoreKeySeedLimitIterator with maxEdgesPerSeed {} and sampleRate {}", maxEdgesPerSeed, sampleRate);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeySeedLimitIterator copy = new CoreKeySeedLimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.edgeGroups = edgeGroups;
+        copy.maxEdgesPerSeed = maxEdgesPerSeed;
+        copy.sampleRate = sampleRate;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        currentRange = range;
+        currentColumnFamilies = columnFamilies;
+        currentColumnFamiliesInclusive = inclusive;
+        currentVertex = null;
+        edgeCount = 0;
+        skipToNextVertex = false;
+        finished = false;
+        topKey = null;
+
+        final Key startKey = range.getStartKey();
+        if (null != startKey && Arrays.equals(TRUNCATED_SEED_COLUMN_FAMILY_BYTES, startKey.getColumnFamilyData().toArray())) {
+            // The scan is being resumed after a truncated seed marker
+            seekToNextVertex(getVertex(startKey));
+            findTop();
+            return;
+        }
+
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        if (skipToNextVertex) {
+            skipToNextVertex = false;
+            seekToNextVertex(currentVertex);
+        } else {
+            getSource().next();
+        }
+        findTop();
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    private void findTop() throws IOException {
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (!finished && source.hasTop()) {
+            final Key key = source.getTopKey();
+            if (isEdge(key)) {
+                if (!isSampled(key)) {
+                    source.next();
+                    continue;
+                }
+                final byte[] vertex = getVertex(key);
+                if (!Arrays.equals(vertex, currentVertex)) {
+                    currentVertex = vertex;
+                    edgeCount = 0;
+                }
+                if (null != maxEdgesPerSeed && edgeCount >= maxEdgesPerSeed) {
+                    topKey = new Key(key.getRowData().toArray(), TRUNCATED_SEED_COLUMN_FAMILY_BYTES, new byte[0], new byte[0], key.getTimestamp());
+                    topValue = EMPTY_VALUE;
+                    skipToNextVertex = true;
+                    return;
+                }
+                edgeCount++;
+            }
+            topKey = new Key(key);
+            topValue = new Value(source.getTopValue());
+            return;
+        }
+    }
+
+    private void seekToNextVertex(final byte[] vertex) throws IOException {
+        currentVertex = null;
+        edgeCount = 0;
+        final byte[] nextRow = Arrays.copyOf(vertex, vertex.length + 1);
+        nextRow[vertex.length] = ByteArrayEscapeUtils.DELIMITER_PLUS_ONE;
+        final Key nextKey = new Key(new Text(nextRow));
+        if (currentRange.afterEndKey(nextKey)) {
+            finished = true;
+            return;
+        }
+        getSource().seek(new Range(nextKey, true, currentRange.getEndKey(), currentRange.isEndKeyInclusive()),
+                currentColumnFamilies, currentColumnFamiliesInclusive);
+    }
+
+    private boolean isEdge(final Key key) {
+        return edgeGroups.contains(key.getColumnFamily().toString());
+    }
+
+    private boolean isSampled(final Key key) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+        final byte[] row = key.getRowData().toArray();
+        final byte[] columnFamily = key.getColumnFamilyData().toArray();
+        final byte[] columnQualifier = key.getColumnQualifierData().toArray();
+        int hash = HASH.hash(row, row.length, 0);
+        hash = HASH.hash(columnFamily, columnFamily.length, hash);
+        hash = HASH.hash(columnQualifier, columnQualifier.length, hash);
+        return (hash & Integer.MAX_VALUE) < sampleRate * Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the escaped vertex at the start of the row of a key, which is the
+     * bytes of the row up to the first delimiter.
+     *
+     * @param key the key
+     * @return the escaped vertex
+     */
+    private static byte[] getVertex(final Key key) {
+        final byte[] row = key.getRowData().toArray();
+        for (int i = 0; i < row.length; i++) {
+            if (ByteArrayEscapeUtils.DELIMITER == row[i]) {
+                return Arrays.copyOf(row, i);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Combiner;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AggregationException;
+import uk.gov.gchq.gaffer.accumulostore.utils.VertexSummaryUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.util.Iterator;
+
+/**
+ * The {@code VertexSummaryCombiner} combines the {@link Value}s in the summary
+ * table where the {@link Key} is the same (except for the timestamp). Counts
+ * are added together and degree sketches are merged, as described in
+ * {@link VertexSummaryUtils}.
+ */
+public class VertexSummaryCombiner extends Combiner {
+    @Override
+    public Value reduce(final Key key, final Iterator<Value> iter) {
+        if (!VertexSummaryUtils.isDegreeSketch(key)) {
+            return VertexSummaryUtils.sumCounts(iter);
+        }
+        try {
+            return VertexSummaryUtils.mergeDegreeSketches(iter);
+        } catch (final SerialisationException e) {
+            throw new AggregationException("Failed to merge the degree sketches in the summary table", e);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloElementsRetriever;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -34,12 +35,16 @@ public class GetElementsHandler implements OutputOperationHandler<GetElements, C
     public CloseableIterable<? extends Element> doOperation(final GetElements operation,
                                                             final Context context, final Store store)
             throws OperationException {
-        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+        final AccumuloElementsRetriever retriever = doOperation(operation, context.getUser(), (AccumuloStore) store);
+        if (retriever.hasMaxEdgesPerSeed()) {
+            context.setVariable(AccumuloStoreConstants.TRUNCATED_SEEDS_VARIABLE, retriever.getTruncatedSeeds());
+        }
+        return retriever;
     }
 
-    public CloseableIterable<? extends Element> doOperation(final GetElements operation,
-                                                            final User user,
-                                                            final AccumuloStore store) throws OperationException {
+    public AccumuloElementsRetriever doOperation(final GetElements operation,
+                                                 final User user,
+                                                 final AccumuloStore store) throws OperationException {
         if (null != operation.getOption("accumulostore.operation.return_matched_id_as_edge_source")) {
             throw new IllegalArgumentException("The accumulostore.operation.return_matched_id_as_edge_source option has been removed. Instead of flipping the Edges around the result Edges will have a matchedVertex field set specifying if the SOURCE or DESTINATION was matched.");
         }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.data.VertexSummary;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexSummaries;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloVertexSummaryRetriever;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+public class GetVertexSummariesHandler implements OutputOperationHandler<GetVertexSummaries, CloseableIterable<? extends VertexSummary>> {
+
+    @Override
+    public CloseableIterable<? extends VertexSummary> doOperation(final GetVertexSummaries operation,
+                                                                  final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<? extends VertexSummary> doOperation(final GetVertexSummaries operation,
+                                                                  final User user,
+                                                                  final AccumuloStore store) throws OperationException {
+        if (!store.getProperties().getSummaryTableEnabled()) {
+            throw new OperationException("The summary table is not enabled, set "
+                    + AccumuloProperties.SUMMARY_TABLE_ENABLED + " to true before adding elements to use "
+                    + GetVertexSummaries.class.getSimpleName());
+        }
+        return new AccumuloVertexSummaryRetriever(store, operation, user);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.accumulostore.data.VertexSummary;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiEntityIdInput;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retrieves the {@link VertexSummary}s of the provided vertices from the
+ * summary table, which must be enabled with
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#SUMMARY_TABLE_ENABLED}.
+ * One summary is returned for each vertex and group that elements have been
+ * added for. This reads a single row for each vertex, rather than all of the
+ * edges of the vertex. Each summary holds the number of elements added and
+ * the estimated degree of the vertex in each direction.
+ */
+@JsonPropertyOrder(value = {"class", "input", "groups"}, alphabetic = true)
+@Since("1.15.0")
+@Summary("Gets the number of elements added and the degree of vertices from the summary table")
+public class GetVertexSummaries implements
+        InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends VertexSummary>>,
+        MultiEntityIdInput {
+    private Iterable<? extends EntityId> input;
+    private Set<String> groups;
+    private Map<String, String> options;
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    /**
+     * @return the groups to get summaries for, or null for all groups
+     */
+    public Set<String> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(final Set<String> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends VertexSummary>> getOutputTypeReference() {
+        return new TypeReference<CloseableIterable<? extends VertexSummary>>() {
+        };
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public GetVertexSummaries shallowClone() {
+        return new GetVertexSummaries.Builder()
+                .input(input)
+                .groups(groups)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetVertexSummaries, Builder>
+            implements InputOutput.Builder<GetVertexSummaries, Iterable<? extends EntityId>, CloseableIterable<? extends VertexSummary>, Builder>,
+            MultiEntityIdInput.Builder<GetVertexSummaries, Builder> {
+        public Builder() {
+            super(new GetVertexSummaries());
+        }
+
+        public Builder groups(final String... groups) {
+            return groups(Arrays.asList(groups));
+        }
+
+        public Builder groups(final Collection<String> groups) {
+            _getOp().setGroups(null != groups ? new LinkedHashSet<>(groups) : null);
+            return _self();
+        }
+    }
+}
@@ -16,9 +16,11 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -28,31 +30,78 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
+    private static final long OFFER_INTERVAL_MILLIS = 100;
+    private static final byte[] TRUNCATED_SEED_COLUMN_FAMILY = AccumuloStoreConstants.TRUNCATED_SEED_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8);
+    private static final ExecutorService PIPELINE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("accumulo-retriever-pipeline-%d")
+            .setDaemon(true)
+            .build());
 
     protected final boolean includeMatchedVertex;
     private final Iterable<? extends I_ITEM> ids;
+    private final Integer maxEdgesPerSeed;
+    private final Set<String> edgeGroups;
+    // The seed limit state of the current iterator, replaced whenever a new
+    // iterator is created
+    private volatile SeedLimitState seedLimitState = new SeedLimitState();
+    // A view of the truncated seeds of the current iterator
+    private final Set<Object> truncatedSeedsView = new AbstractSet<Object>() {
+        @Override
+        public Iterator<Object> iterator() {
+            return Collections.unmodifiableSet(seedLimitState.truncatedSeeds).iterator();
+        }
+
+        @Override
+        public int size() {
+            return seedLimitState.truncatedSeeds.size();
+        }
+
+        @Override
+        public boolean contains(final Object seed) {
+            return seedLimitState.truncatedSeeds.contains(seed);
+        }
+    };
 
     protected AccumuloItemRetriever(final AccumuloStore store, final OP operation,
                                     final User user, final boolean includeMatchedVertex,
@@ -60,6 +109,20 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         super(store, operation, user, iteratorSettings);
         this.includeMatchedVertex = includeMatchedVertex;
         this.ids = operation instanceof Input ? ((Input<Iterable<? extends I_ITEM>>) operation).getInput() : null;
+        this.maxEdgesPerSeed = getMaxEdgesPerSeed(iteratorSettings);
+        this.edgeGroups = store.getSchema().getEdgeGroups();
+    }
+
+    private static Integer getMaxEdgesPerSeed(final IteratorSetting... iteratorSettings) {
+        if (null != iteratorSettings) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (null != iteratorSetting && AccumuloStoreConstants.SEED_LIMIT_ITERATOR_NAME.equals(iteratorSetting.getName())) {
+                    final String maxEdgesPerSeed = iteratorSetting.getOptions().get(AccumuloStoreConstants.MAX_EDGES_PER_SEED);
+                    return null != maxEdgesPerSeed ? Integer.valueOf(maxEdgesPerSeed) : null;
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -73,9 +136,15 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         final Iterator<? extends I_ITEM> idIterator = null != ids ? ids.iterator() : Collections.emptyIterator();
         if (!idIterator.hasNext()) {
+            seedLimitState = new SeedLimitState();
             return new EmptyCloseableIterator<>();
         }
 
+        if (store.getProperties().getRetrieverPipelineEnabled()) {
+            iterator = new PipelinedElementIterator(idIterator);
+            return iterator;
+        }
+
         try {
             iterator = new ElementIterator(idIterator);
         } catch (final RetrieverException e) {
@@ -88,25 +157,136 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    private Set<Range> nextRanges(final Iterator<? extends I_ITEM> idsIterator) {
+        int count = 0;
+        final Set<Range> ranges = new HashSet<>();
+        while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            count++;
+            try {
+                addToRanges(idsIterator.next(), ranges);
+            } catch (final RangeFactoryException e) {
+                LOGGER.error("Failed to create a range from given seed", e);
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Converts an entry to an element, applying the view transformations and
+     * post filters.
+     *
+     * @param entry the key value entry
+     * @param state the seed limit state of the iterator reading the entry
+     * @return the element, or null if it could not be converted or was filtered out
+     */
+    private Element toElement(final Entry<Key, Value> entry, final SeedLimitState state) {
+        if (isTruncatedSeedMarker(entry.getKey())) {
+            addTruncatedSeed(entry.getKey(), state);
+            return null;
+        }
+        if (isOverMaxEdgesPerSeed(entry.getKey(), state)) {
+            return null;
+        }
+        try {
+            final Element element = getFullElement(
+                    entry.getKey(),
+                    entry.getValue(),
+                    includeMatchedVertex);
+            doTransformation(element);
+            if (doPostFilter(element)) {
+                ViewUtil.removeProperties(operation.getView(), element);
+                return loadElement(element);
+            }
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                    e);
+        }
+        return null;
+    }
+
+    /**
+     * Whether a maximum number of edges per seed is set, so that seeds may
+     * be truncated.
+     *
+     * @return true if a maximum number of edges per seed is set
+     */
+    public boolean hasMaxEdgesPerSeed() {
+        return null != maxEdgesPerSeed;
+    }
+
+    /**
+     * Gets the seed vertices that had more edges than the maximum number of
+     * edges per seed, so not all of their edges were returned. The set is a
+     * live view of the truncated seeds of the current iterator, populated as
+     * its results are read, and is emptied when a new iterator is created.
+     *
+     * @return the truncated seed vertices
+     */
+    public Set<Object> getTruncatedSeeds() {
+        return truncatedSeedsView;
+    }
+
+    /**
+     * The seed limit iterator can only count the edges within the range it
+     * is scanning on a single tablet, so the maximum number of edges per
+     * seed is also enforced across all of the entries returned for each batch
+     * of seeds. The seed is recorded as truncated when its first edge is
+     * dropped.
+     *
+     * @param key   the key of the entry
+     * @param state the seed limit state of the iterator reading the entry
+     * @return true if the key is an edge beyond the maximum number of edges
+     * for its seed vertex
+     */
+    private boolean isOverMaxEdgesPerSeed(final Key key, final SeedLimitState state) {
+        if (null == maxEdgesPerSeed || !edgeGroups.contains(key.getColumnFamily().toString())) {
+            return false;
+        }
+        final byte[] row = key.getRowData().toArray();
+        final ByteBuffer vertex = ByteBuffer.wrap(row, 0, getVertexLength(row)).slice();
+        final int count = state.edgeCounts.merge(vertex, 1, Integer::sum);
+        if (count == maxEdgesPerSeed + 1) {
+            addTruncatedSeed(key, state);
+        }
+        return count > maxEdgesPerSeed;
+    }
+
+    private static int getVertexLength(final byte[] row) {
+        int vertexLength = 0;
+        while (vertexLength < row.length && ByteArrayEscapeUtils.DELIMITER != row[vertexLength]) {
+            vertexLength++;
+        }
+        return vertexLength;
+    }
+
+    private boolean isTruncatedSeedMarker(final Key key) {
+        final ByteSequence columnFamily = key.getColumnFamilyData();
+        return columnFamily.length() == TRUNCATED_SEED_COLUMN_FAMILY.length
+                && Arrays.equals(TRUNCATED_SEED_COLUMN_FAMILY, columnFamily.toArray());
+    }
+
+    private void addTruncatedSeed(final Key key, final SeedLimitState state) {
+        final byte[] row = key.getRowData().toArray();
+        final int vertexLength = getVertexLength(row);
+        try {
+            state.truncatedSeeds.add(((ToBytesSerialiser) store.getSchema().getVertexSerialiser())
+                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, vertexLength)));
+        } catch (final SerialisationException e) {
+            LOGGER.error("Failed to deserialise the vertex of a truncated seed", e);
+        }
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
+        private final SeedLimitState iteratorSeedLimitState = new SeedLimitState();
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            seedLimitState = iteratorSeedLimitState;
+            final Set<Range> ranges = nextRanges(idsIterator);
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
@@ -127,23 +307,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 return true;
             }
             while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
+                nextElm = toElement(scannerIterator.next(), iteratorSeedLimitState);
+                if (null != nextElm) {
                     return true;
-                } else {
-                    nextElm = null;
                 }
             }
             // If current scanner is spent then go back to the iterator
@@ -151,17 +317,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             // If so create the next scanner, if there are no more entities
             // then return false.
             while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+                final Set<Range> ranges = nextRanges(idsIterator);
                 scanner.close();
+                iteratorSeedLimitState.edgeCounts.clear();
                 try {
                     scanner = getScanner(ranges);
                 } catch (final TableNotFoundException | StoreException e) {
@@ -202,4 +360,221 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             }
         }
     }
+
+    /**
+     * An iterator that reads the seed batches through a pipeline. One task
+     * builds the ranges for each batch of seeds and opens its batch scanner,
+     * staying up to the configured look-ahead number of scanners in front.
+     * A second task drains the scanners in order, converting, transforming
+     * and post filtering the entries into a bounded buffer that the client
+     * reads from. The tablet servers are therefore kept busy with the next
+     * batch while the current batch is being converted and consumed.
+     * <p>
+     * If the client stops reading without closing the iterator, the tasks
+     * wait for space in a full queue for at most the configured idle timeout
+     * and then close the iterator, so the pool threads and scanners are not
+     * held forever. Reading from an iterator closed in this way fails.
+     * </p>
+     */
+    protected class PipelinedElementIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends I_ITEM> idsIterator;
+        private final BlockingQueue<Object> scanners;
+        private final BlockingQueue<Object> elements;
+        private final List<Future<?>> tasks = new ArrayList<>(2);
+        private final long idleTimeoutMillis;
+        private final SeedLimitState iteratorSeedLimitState = new SeedLimitState();
+        private volatile boolean closed;
+        private volatile boolean timedOut;
+        private boolean finished;
+        private Element nextElm;
+
+        public PipelinedElementIterator(final Iterator<? extends I_ITEM> idIterator) {
+            idsIterator = idIterator;
+            seedLimitState = iteratorSeedLimitState;
+            scanners = new ArrayBlockingQueue<>(Math.max(1, store.getProperties().getRetrieverPipelineLookahead()));
+            elements = new ArrayBlockingQueue<>(Math.max(1, store.getProperties().getRetrieverPipelineBufferSize()));
+            idleTimeoutMillis = store.getProperties().getRetrieverPipelineIdleTimeoutMillis();
+            tasks.add(PIPELINE_EXECUTOR.submit(this::openScanners));
+            tasks.add(PIPELINE_EXECUTOR.submit(this::convertEntries));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElm && !finished && !closed) {
+                final Object item;
+                try {
+                    item = elements.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted while waiting for elements", e);
+                }
+
+                if (Marker.END == item) {
+                    finished = true;
+                } else if (item instanceof Failure) {
+                    close();
+                    throw ((Failure) item).exception;
+                } else {
+                    nextElm = (Element) item;
+                }
+            }
+            if (null == nextElm && timedOut) {
+                throw new RuntimeException("The iterator was closed because it was not read from for " + idleTimeoutMillis + " ms");
+            }
+            return null != nextElm;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element nextReturn = nextElm;
+            nextElm = null;
+            return nextReturn;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (final Future<?> task : tasks) {
+                task.cancel(true);
+            }
+            closeQueuedScanners();
+            elements.clear();
+        }
+
+        private void openScanners() {
+            try {
+                while (idsIterator.hasNext() && !closed) {
+                    final BatchScanner scanner;
+                    try {
+                        scanner = getScanner(nextRanges(idsIterator));
+                    } catch (final TableNotFoundException | StoreException e) {
+                        LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                        break;
+                    }
+                    // Creating the iterator starts the batch scanner's lookups
+                    if (!offer(scanners, new ScannerBatch(scanner, scanner.iterator()))) {
+                        scanner.close();
+                        return;
+                    }
+                    if (closed) {
+                        closeQueuedScanners();
+                    }
+                }
+                offer(scanners, Marker.END);
+            } catch (final RuntimeException e) {
+                offer(scanners, new Failure(e));
+            } catch (final Error e) {
+                offer(scanners, new Failure(new RuntimeException(e)));
+                throw e;
+            } finally {
+                CloseableUtil.close(idsIterator);
+            }
+        }
+
+        private void convertEntries() {
+            try {
+                while (!closed) {
+                    final Object item = scanners.take();
+                    if (Marker.END == item || item instanceof Failure) {
+                        offer(elements, item);
+                        return;
+                    }
+
+                    final ScannerBatch batch = (ScannerBatch) item;
+                    try {
+                        while (batch.iterator.hasNext()) {
+                            final Element element = toElement(batch.iterator.next(), iteratorSeedLimitState);
+                            if (null != element && !offer(elements, element)) {
+                                return;
+                            }
+                        }
+                        iteratorSeedLimitState.edgeCounts.clear();
+                    } finally {
+                        batch.scanner.close();
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException e) {
+                offer(elements, new Failure(e));
+            } catch (final Error e) {
+                offer(elements, new Failure(new RuntimeException(e)));
+                throw e;
+            }
+        }
+
+        private boolean offer(final BlockingQueue<Object> queue, final Object item) {
+            final long start = System.currentTimeMillis();
+            try {
+                while (!closed) {
+                    if (queue.offer(item, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    if (idleTimeoutMillis > 0 && System.currentTimeMillis() - start > idleTimeoutMillis) {
+                        LOGGER.warn("Closing the retriever pipeline as it has not been read from for {} ms", idleTimeoutMillis);
+                        timedOut = true;
+                        close();
+                        return false;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private void closeQueuedScanners() {
+            Object item;
+            while (null != (item = scanners.poll())) {
+                if (item instanceof ScannerBatch) {
+                    ((ScannerBatch) item).scanner.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * The edge counts and truncated seeds of a single iterator. Each iterator
+     * owns its own state, so an old pipelined iterator whose tasks are still
+     * stopping after it was closed cannot change the state of a new one.
+     */
+    private static final class SeedLimitState {
+        // The number of edges returned for each escaped seed vertex in the
+        // current batch of seeds, only accessed by the thread converting the
+        // entries of the iterator. A batch scanner returns all of the entries
+        // for its seeds, so the counts are cleared when it is exhausted.
+        private final Map<ByteBuffer, Integer> edgeCounts = new HashMap<>();
+        private final Set<Object> truncatedSeeds = ConcurrentHashMap.newKeySet();
+    }
+
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> iterator;
+
+        private ScannerBatch(final BatchScanner scanner, final Iterator<Entry<Key, Value>> iterator) {
+            this.scanner = scanner;
+            this.iterator = iterator;
+        }
+    }
+
+    private enum Marker {
+        END
+    }
+
+    private static final class Failure {
+        private final RuntimeException exception;
+
+        private Failure(final RuntimeException exception) {
+            this.exception = exception;
+        }
+    }
 }
@@ -19,25 +19,36 @@ package uk.gov.gchq.gaffer.accumulostore.retriever;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
+import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.LazyEdge;
+import uk.gov.gchq.gaffer.data.element.LazyEntity;
+import uk.gov.gchq.gaffer.data.element.LazyProperties;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Set;
@@ -54,6 +65,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final boolean lazyElements;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -65,6 +77,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
         this.user = user;
+        this.lazyElements = store.getProperties().getRetrieverLazyElementsEnabled();
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
                     user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
@@ -73,6 +86,66 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         }
     }
 
+    /**
+     * Converts a key value entry to an element. If lazy elements are enabled
+     * the identifiers and properties are only deserialised when they are
+     * used, and {@link #loadElement(Element)} must be called before the
+     * element is returned.
+     *
+     * @param key                  the key
+     * @param value                the value
+     * @param includeMatchedVertex if true then the matchedVertex field is set on Edges
+     * @return the element
+     */
+    protected Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex) {
+        if (!lazyElements) {
+            return elementConverter.getFullElement(key, value, includeMatchedVertex);
+        }
+
+        final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        if (store.getSchema().isEntity(group)) {
+            return new LazyEntity(new Entity(group), new AccumuloEntityValueLoader(group, key, value, elementConverter, store.getSchema()));
+        }
+        return new LazyEdge(new Edge(group, null, null, false), new AccumuloEdgeValueLoader(group, key, value, elementConverter, store.getSchema(), includeMatchedVertex));
+    }
+
+    /**
+     * Deserialises the identifiers and any properties of a lazy element that
+     * are required by the view, so the element can be returned. Properties
+     * not required by the view are not deserialised.
+     *
+     * @param element the element to load
+     * @return the loaded element
+     */
+    protected Element loadElement(final Element element) {
+        if (!(element.getProperties() instanceof LazyProperties)) {
+            return element;
+        }
+
+        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        final LazyProperties properties = (LazyProperties) element.getProperties();
+        final SchemaElementDefinition schemaDef = store.getSchema().getElement(element.getGroup());
+        if (null != schemaDef) {
+            for (final String propertyName : schemaDef.getProperties()) {
+                if (isPropertyRequired(viewDef, propertyName)) {
+                    properties.get(propertyName);
+                }
+            }
+        }
+        element.getIdentifier(element instanceof Entity ? IdentifierType.VERTEX : IdentifierType.SOURCE);
+        return element.getElement();
+    }
+
+    private boolean isPropertyRequired(final ViewElementDefinition viewDef, final String propertyName) {
+        if (null == viewDef || viewDef.isAllProperties()) {
+            return true;
+        }
+        if (null != viewDef.getProperties()) {
+            return viewDef.getProperties().contains(propertyName);
+        }
+        return !viewDef.getExcludeProperties().contains(propertyName);
+    }
+
     /**
      * Performs any transformations specified in a view on an element
      *
@@ -115,6 +115,18 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
     protected abstract boolean hasSeeds();
 
+    /**
+     * Gets the number of seeds that will be added to the bloom filters, so
+     * they can be sized for the query. If the number of seeds is not known,
+     * null is returned and the bloom filters are sized from the store
+     * properties.
+     *
+     * @return the number of seeds added to the bloom filters, or null if not known
+     */
+    protected Integer getBloomFilterCardinality() {
+        return null;
+    }
+
     protected abstract AbstractElementIteratorReadIntoMemory createElementIteratorReadIntoMemory()
             throws RetrieverException;
 
@@ -179,7 +191,8 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             IteratorSetting bloomFilter = null;
             IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
             try {
-                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter,
+                        store.getProperties().getCompressBloomFilterForIterator());
             } catch (final IteratorSettingException e) {
                 LOGGER.error(
                         "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
@@ -272,17 +285,29 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
         protected BloomFilter filter;
+        // Set when the filter changes, so it is only serialised again when it has changed
+        protected boolean filterUpdated = true;
+        private IteratorSetting filterIteratorSetting;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            final Integer cardinality = getBloomFilterCardinality();
+            if (null == cardinality) {
+                // Set up client side filter
+                clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+                // Create Bloom filter to be passed to iterators.
+                filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                        store.getProperties().getMaxEntriesForBatchScanner(),
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            } else {
+                // Size the filters for the number of seeds, rather than the maximum sizes
+                clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideFalsePositiveRate(),
+                        cardinality, store.getProperties().getClientSideBloomFilterSize());
+                filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                        cardinality, store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            }
             currentSeeds = new HashSet<>();
         }
 
@@ -295,16 +320,16 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 while (_hasNext()) {
                     final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
+                        final Element element = getFullElement(entry.getKey(), entry.getValue(), true);
+                        if (secondaryCheck(element)) {
+                            doTransformation(element);
+                            if (doPostFilter(element)) {
+                                nextElm = loadElement(element);
+                                return true;
+                            }
+                        }
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
-                        continue;
-                    }
-                    if (secondaryCheck(nextElm)) {
-                        doTransformation(nextElm);
-                        if (doPostFilter(nextElm)) {
-                            return true;
-                        }
                     }
                 }
             } catch (final RetrieverException e) {
@@ -368,7 +393,12 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                if (filterUpdated || null == filterIteratorSetting) {
+                    filterIteratorSetting = iteratorSettingFactory.getBloomFilterIteratorSetting(filter,
+                            store.getProperties().getCompressBloomFilterForIterator());
+                    filterUpdated = false;
+                }
+                scanner.addScanIterator(filterIteratorSetting);
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
@@ -141,23 +141,23 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 final String group = StringUtil.toString(entry.getKey().getColumnFamilyData().getBackingArray());
                 ElementId elementId = null;
                 if (transformGroups.contains(group)) {
-                    final Element element;
                     try {
-                        element = elementConverter.getFullElement(
+                        final Element element = getFullElement(
                                 entry.getKey(),
                                 entry.getValue(),
                                 true);
+                        if (null != element) {
+                            doTransformation(element);
+                            if (doPostFilter(element)) {
+                                // Only the identifiers are used, so the lazy properties are not loaded
+                                elementId = element;
+                            }
+                        }
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to re-create an element from a key value entry set returning next EntityId as null",
                                 e);
                         continue;
                     }
-                    if (null != element) {
-                        doTransformation(element);
-                        if (doPostFilter(element)) {
-                            elementId = element;
-                        }
-                    }
                 } else {
                     try {
                         elementId = elementConverter.getElementId(entry.getKey(), true);
@@ -96,6 +96,12 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
         this.seedSetB = setB;
     }
 
+    @Override
+    protected Integer getBloomFilterCardinality() {
+        final int cardinality = BloomFilterUtils.getCardinality(seedSetB, -1);
+        return cardinality > 0 ? cardinality : null;
+    }
+
     @Override
     protected boolean hasSeeds() {
         seedSetAIter = seedSetA.iterator();
@@ -93,6 +93,12 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
         this.seeds = seeds;
     }
 
+    @Override
+    protected Integer getBloomFilterCardinality() {
+        final int cardinality = BloomFilterUtils.getCardinality(seeds, -1);
+        return cardinality > 0 ? cardinality : null;
+    }
+
     @Override
     protected boolean hasSeeds() {
         this.seedsIter = seeds.iterator();
@@ -155,6 +161,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
             addToBloomFilter(seed, filter, clientSideFilter);
+            filterUpdated = true;
         }
 
         @Override
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.data.VertexSummary;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexSummaries;
+import uk.gov.gchq.gaffer.accumulostore.utils.VertexSummaryUtils;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.BatchedIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Retrieves the {@link VertexSummary}s of the seeds of a
+ * {@link GetVertexSummaries} operation from the summary table.
+ * The seeds are read in batches of
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxEntriesForBatchScanner()},
+ * and the entries for each vertex and group are combined, as there is an
+ * entry for each visibility of the elements added.
+ */
+public class AccumuloVertexSummaryRetriever extends BatchedIterable<VertexSummary> {
+    private final AccumuloStore store;
+    private final GetVertexSummaries operation;
+    private final Authorizations authorisations;
+    private Iterator<? extends EntityId> seedsIterator;
+
+    public AccumuloVertexSummaryRetriever(final AccumuloStore store, final GetVertexSummaries operation, final User user) {
+        this.store = store;
+        this.operation = operation;
+        if (null != user && null != user.getDataAuths()) {
+            this.authorisations = new Authorizations(
+                    user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        } else {
+            this.authorisations = new Authorizations();
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        CloseableUtil.close(seedsIterator);
+        seedsIterator = null;
+        CloseableUtil.close(operation);
+    }
+
+    @Override
+    protected Iterable<VertexSummary> createBatch() {
+        if (null == seedsIterator) {
+            if (null == operation.getInput()) {
+                return null;
+            }
+            seedsIterator = operation.getInput().iterator();
+        }
+        if (!seedsIterator.hasNext()) {
+            return null;
+        }
+
+        final List<Range> ranges = new ArrayList<>();
+        final int batchSize = store.getProperties().getMaxEntriesForBatchScanner();
+        try {
+            while (seedsIterator.hasNext() && ranges.size() < batchSize) {
+                ranges.add(Range.exact(new Text(VertexSummaryUtils.getRow(store.getSchema(), seedsIterator.next().getVertex()))));
+            }
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Failed to serialise a vertex to read its summary", e);
+        }
+
+        // Keyed on the row and group, so the entries for each visibility are combined
+        final Map<Pair<ByteBuffer, String>, VertexSummaryUtils.SummaryBuilder> summaries = new LinkedHashMap<>();
+        final BatchScanner scanner;
+        try {
+            scanner = store.getConnection().createBatchScanner(store.getSummaryTableName(),
+                    authorisations, store.getProperties().getThreadsForBatchScanner());
+        } catch (final TableNotFoundException | StoreException e) {
+            throw new GafferRuntimeException("Failed to create a scanner for the summary table", e);
+        }
+        try {
+            scanner.setRanges(ranges);
+            if (null != operation.getGroups()) {
+                for (final String group : operation.getGroups()) {
+                    scanner.fetchColumnFamily(new Text(group));
+                }
+            }
+            for (final Entry<Key, Value> entry : scanner) {
+                final Key key = entry.getKey();
+                final byte[] row = key.getRowData().toArray();
+                final String group = key.getColumnFamily().toString();
+                final Pair<ByteBuffer, String> summaryKey = new Pair<>(ByteBuffer.wrap(row), group);
+                VertexSummaryUtils.SummaryBuilder summary = summaries.get(summaryKey);
+                if (null == summary) {
+                    summary = new VertexSummaryUtils.SummaryBuilder(VertexSummaryUtils.getVertex(store.getSchema(), row), group);
+                    summaries.put(summaryKey, summary);
+                }
+                summary.add(key, entry.getValue());
+            }
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Failed to deserialise a vertex from the summary table", e);
+        } finally {
+            scanner.close();
+        }
+        final List<VertexSummary> batch = new ArrayList<>(summaries.size());
+        for (final VertexSummaryUtils.SummaryBuilder summary : summaries.values()) {
+            batch.add(summary.build());
+        }
+        return batch;
+    }
+}
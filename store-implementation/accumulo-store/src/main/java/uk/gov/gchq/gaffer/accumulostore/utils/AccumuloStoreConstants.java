@@ -28,6 +28,8 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String SUMMARY_COMBINER_ITERATOR_NAME = "Summary_Combiner";
+    public static final String SEED_LIMIT_ITERATOR_NAME = "Seed_Limit";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -57,7 +59,19 @@ public final class AccumuloStoreConstants {
     public static final String DEDUPLICATE_UNDIRECTED_EDGES = "Deduplicate_Undirected_Edges";
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
+    public static final String BLOOM_FILTER_COMPRESSED = "Bloom_Filter_Compressed";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String MAX_EDGES_PER_SEED = "Max_Edges_Per_Seed";
+    public static final String EDGE_SAMPLE_RATE = "Edge_Sample_Rate";
+
+    /**
+     * The column family of the entries returned by the
+     * {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeySeedLimitIterator}
+     * to mark a vertex whose edges were truncated. The '~' character is not
+     * allowed in group names and sorts after all characters that are, so the
+     * marker sorts after the elements of the same row.
+     */
+    public static final String TRUNCATED_SEED_COLUMN_FAMILY = "~Truncated_Seed";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -78,9 +92,35 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans.
+    public static final int SEED_LIMIT_ITERATOR_PRIORITY = 38;
+    // Applied to the summary table during major compactions, minor compactions and scans.
+    public static final int SUMMARY_COMBINER_ITERATOR_PRIORITY = 10;
+
+    // Summary table
+    public static final String SUMMARY_TABLE_SUFFIX = "_summary";
+    public static final String SUMMARY_ENTITY_ADDS = "entityAdds";
+    public static final String SUMMARY_OUT_EDGE_ADDS = "outEdgeAdds";
+    public static final String SUMMARY_IN_EDGE_ADDS = "inEdgeAdds";
+    public static final String SUMMARY_UNDIRECTED_EDGE_ADDS = "undirectedEdgeAdds";
+    public static final String SUMMARY_OUT_DEGREE = "outDegree";
+    public static final String SUMMARY_IN_DEGREE = "inDegree";
+    public static final String SUMMARY_UNDIRECTED_DEGREE = "undirectedDegree";
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    public static final String OPERATION_MAX_EDGES_PER_SEED = "accumulostore.operation.max_edges_per_seed";
+    public static final String OPERATION_EDGE_SAMPLE_RATE = "accumulostore.operation.edge_sample_rate";
+
+    // Context variables
+    /**
+     * The context variable holding the set of seed vertices whose edges were
+     * truncated by the maximum number of edges per seed. It is only set by
+     * GetElements when a maximum number of edges per seed is configured. The
+     * set is populated as the results are read, so it is only complete once
+     * the results have been fully consumed.
+     */
+    public static final String TRUNCATED_SEEDS_VARIABLE = "accumulostore.truncatedSeeds";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
@@ -239,6 +239,7 @@ public final class AddUpdateTableIterator {
         if (!store.getConnection().tableOperations().exists(store.getTableName())) {
             TableUtils.createTable(store);
         }
+        TableUtils.ensureSummaryTableExists(store);
 
         final String modifyKey = getModifyKey(args);
         switch (modifyKey) {
@@ -20,6 +20,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.hash.Hash;
 
+import java.util.Collection;
+
 /**
  * Utilities for the creation of Bloom Filters
  */
@@ -89,4 +91,21 @@ public final class BloomFilterUtils {
     public static BloomFilter getBloomFilter(final int size) {
         return new BloomFilter(size, 13, Hash.MURMUR_HASH);
     }
+
+    /**
+     * Gets the number of items in the given {@link Iterable}, if it can be
+     * found without iterating through the items, so a
+     * {@link org.apache.hadoop.util.bloom.BloomFilter} can be sized for the
+     * number of items that will actually be added to it.
+     *
+     * @param items              the items
+     * @param defaultCardinality the number of items to assume if it is not known
+     * @return the number of items, or the default if the number of items is not known
+     */
+    public static int getCardinality(final Iterable<?> items, final int defaultCardinality) {
+        if (items instanceof Collection) {
+            return Math.max(1, ((Collection<?>) items).size());
+        }
+        return defaultCardinality;
+    }
 }
@@ -38,6 +38,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
 
 public class IteratorSettingBuilder {
     private final IteratorSetting setting;
@@ -76,9 +77,21 @@ public class IteratorSettingBuilder {
     }
 
     public IteratorSettingBuilder bloomFilter(final BloomFilter filter) throws IteratorSettingException {
+        return bloomFilter(filter, false);
+    }
+
+    public IteratorSettingBuilder bloomFilter(final BloomFilter filter, final boolean compress) throws IteratorSettingException {
         final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
-            filter.write(new DataOutputStream(baos));
+            if (compress) {
+                // Bloom filters sized for more items than they hold are mostly
+                // zeros, so they compress well.
+                try (final DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(baos))) {
+                    filter.write(out);
+                }
+            } else {
+                filter.write(new DataOutputStream(baos));
+            }
         } catch (final IOException e) {
             throw new IteratorSettingException("Failed to write bloom filter", e);
         }
@@ -88,6 +101,9 @@ public class IteratorSettingBuilder {
         } catch (final UnsupportedEncodingException e) {
             throw new IteratorSettingException("Failed to encode the bloom filter to a string", e);
         }
+        if (compress) {
+            setting.addOption(AccumuloStoreConstants.BLOOM_FILTER_COMPRESSED, "true");
+        }
 
         return this;
     }
@@ -29,6 +29,7 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.ZooKeeperInstance;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.iterators.Combiner;
 import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.commons.lang3.StringUtils;
@@ -40,6 +41,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFunctor;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.VertexSummaryCombiner;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.koryphe.ValidationResult;
 
@@ -84,6 +86,29 @@ public final class TableUtils {
                 // Someone else got there first, never mind...
             }
         }
+        ensureSummaryTableExists(store);
+    }
+
+    /**
+     * Ensures that the summary table exists if it is enabled in the store
+     * properties, otherwise it creates it.
+     *
+     * @param store the accumulo store
+     * @throws StoreException if a connection to accumulo could not be created or there is a failure to create the table/iterator
+     */
+    public static void ensureSummaryTableExists(final AccumuloStore store) throws StoreException {
+        if (!store.getProperties().getSummaryTableEnabled()) {
+            return;
+        }
+        if (!store.getConnection().tableOperations().exists(store.getSummaryTableName())) {
+            try {
+                TableUtils.createSummaryTable(store);
+            } catch (final TableExistsException e) {
+                // Someone else got there first, never mind...
+            }
+        } else {
+            updateSummaryCombiner(store);
+        }
     }
 
     /**
@@ -135,6 +160,16 @@ public final class TableUtils {
             connector.tableOperations().setProperty(tableName, Property.TABLE_BLOOM_ENABLED.getKey(), "true");
             connector.tableOperations().setProperty(tableName, Property.TABLE_BLOOM_KEY_FUNCTOR.getKey(),
                     store.getKeyPackage().getKeyFunctor().getClass().getName());
+            final String bloomErrorRate = store.getProperties().getTableBloomErrorRate();
+            if (null != bloomErrorRate) {
+                LOGGER.info("Bloom filter error rate set to {} on table {}", bloomErrorRate, tableName);
+                connector.tableOperations().setProperty(tableName, Property.TABLE_BLOOM_ERRORRATE.getKey(), bloomErrorRate);
+            }
+            final String bloomSize = store.getProperties().getTableBloomSize();
+            if (null != bloomSize) {
+                LOGGER.info("Bloom filter size set to {} on table {}", bloomSize, tableName);
+                connector.tableOperations().setProperty(tableName, Property.TABLE_BLOOM_SIZE.getKey(), bloomSize);
+            }
 
             // Remove versioning iterator from table for all scopes
             LOGGER.info("Removing versioning iterator from table {}", tableName);
@@ -169,6 +204,77 @@ public final class TableUtils {
         setLocalityGroups(store);
     }
 
+    /**
+     * Creates the summary table, which holds the number of elements of each
+     * group added for each vertex and sketches of their neighbours. The
+     * versioning iterator is removed and a {@link VertexSummaryCombiner} is
+     * added for all scopes, so the counts are summed and the sketches merged as
+     * they are written.
+     *
+     * @param store the accumulo store
+     * @throws StoreException       failure to create accumulo connection or add iterator settings
+     * @throws TableExistsException failure to create table
+     */
+    public static synchronized void createSummaryTable(final AccumuloStore store)
+            throws StoreException, TableExistsException {
+        final String tableName = store.getSummaryTableName();
+        final Connector connector = store.getConnection();
+        if (connector.tableOperations().exists(tableName)) {
+            LOGGER.info("Table {} exists, not creating", tableName);
+            return;
+        }
+        try {
+            LOGGER.info("Creating summary table {} as user {}", tableName, connector.whoami());
+            connector.tableOperations().create(tableName);
+            final String repFactor = store.getProperties().getTableFileReplicationFactor();
+            if (null != repFactor) {
+                LOGGER.info("Table file replication set to {} on table {}", repFactor, tableName);
+                connector.tableOperations().setProperty(tableName, Property.TABLE_FILE_REPLICATION.getKey(), repFactor);
+            }
+
+            // Remove versioning iterator from table for all scopes
+            LOGGER.info("Removing versioning iterator from table {}", tableName);
+            connector.tableOperations().removeIterator(tableName, "vers", EnumSet.allOf(IteratorScope.class));
+
+            LOGGER.info("Adding summary combiner iterator to table {} for all scopes", tableName);
+            connector.tableOperations().attachIterator(tableName, createSummaryCombinerSetting());
+        } catch (final AccumuloSecurityException | TableNotFoundException | AccumuloException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the combiner of a summary table created before the degree
+     * sketches were added, which only summed counts.
+     *
+     * @param store the accumulo store
+     * @throws StoreException failure to read or update the iterator settings
+     */
+    private static synchronized void updateSummaryCombiner(final AccumuloStore store) throws StoreException {
+        final String tableName = store.getSummaryTableName();
+        try {
+            final IteratorSetting existing = store.getConnection().tableOperations()
+                    .getIteratorSetting(tableName, AccumuloStoreConstants.SUMMARY_COMBINER_ITERATOR_NAME, IteratorScope.scan);
+            if (null == existing || !VertexSummaryCombiner.class.getName().equals(existing.getIteratorClass())) {
+                LOGGER.info("Replacing summary combiner iterator on table {}", tableName);
+                if (null != existing) {
+                    store.getConnection().tableOperations().removeIterator(tableName,
+                            AccumuloStoreConstants.SUMMARY_COMBINER_ITERATOR_NAME, EnumSet.allOf(IteratorScope.class));
+                }
+                store.getConnection().tableOperations().attachIterator(tableName, createSummaryCombinerSetting());
+            }
+        } catch (final AccumuloSecurityException | TableNotFoundException | AccumuloException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    private static IteratorSetting createSummaryCombinerSetting() {
+        final IteratorSetting combiner = new IteratorSetting(AccumuloStoreConstants.SUMMARY_COMBINER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.SUMMARY_COMBINER_ITERATOR_NAME, VertexSummaryCombiner.class);
+        Combiner.setCombineAllColumns(combiner, true);
+        return combiner;
+    }
+
     public static void setLocalityGroups(final AccumuloStore store) throws StoreException {
         final String tableName = store.getTableName();
         Map<String, Set<Text>> localityGroups =
@@ -199,6 +305,18 @@ public final class TableUtils {
         return createBatchWriter(store, store.getTableName());
     }
 
+    /**
+     * Creates a {@link BatchWriter} for the summary table
+     *
+     * @param store the accumulo store
+     * @return A new BatchWriter with the settings defined in the
+     * gaffer.accumulostore properties
+     * @throws StoreException if the table could not be found or other table issues
+     */
+    public static BatchWriter createSummaryBatchWriter(final AccumuloStore store) throws StoreException {
+        return createBatchWriter(store, store.getSummaryTableName());
+    }
+
     /**
      * Creates a connection to an accumulo instance using the provided
      * parameters
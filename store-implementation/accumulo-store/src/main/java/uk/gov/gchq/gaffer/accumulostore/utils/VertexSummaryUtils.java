@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.yahoo.sketches.hll.HllSketch;
+import com.yahoo.sketches.hll.Union;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.LongCombiner;
+import org.apache.accumulo.core.security.ColumnVisibility;
+
+import uk.gov.gchq.gaffer.accumulostore.data.VertexSummary;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.sketches.datasketches.cardinality.serialisation.HllSketchSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utilities for the summary table, which holds the number of times elements
+ * of each group have been added for each vertex, and a sketch of the distinct
+ * neighbours of the vertex in each direction.
+ * <p>
+ * The row of a summary key is the serialised vertex, the column family is the
+ * group and the column qualifier is the count or sketch being kept. Counts
+ * are encoded with {@link LongCombiner#VAR_LEN_ENCODER}. Each edge add writes
+ * a {@link HllSketch} holding the serialised vertex at the other end of the
+ * edge, so re-adding an edge increments the add counts but not the degree.
+ * The {@link uk.gov.gchq.gaffer.accumulostore.key.impl.VertexSummaryCombiner}
+ * sums the counts and merges the sketches. The timestamp and visibility are
+ * those of the element, so the combined key has the largest timestamp of the
+ * elements added.
+ * </p>
+ */
+public final class VertexSummaryUtils {
+    private static final Value ONE = new Value(LongCombiner.VAR_LEN_ENCODER.encode(1L));
+    private static final int DEGREE_SKETCH_LG_K = 12;
+    private static final HllSketchSerialiser SKETCH_SERIALISER = new HllSketchSerialiser();
+
+    private VertexSummaryUtils() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Gets the mutations to the summary table for an element that is being
+     * added.
+     *
+     * @param schema  the schema
+     * @param element the element being added
+     * @param key     the Accumulo key of the element, used for the timestamp and visibility
+     * @return the mutations to the summary table
+     * @throws SerialisationException if a vertex could not be serialised
+     */
+    public static List<Mutation> getMutations(final Schema schema, final Element element, final Key key)
+            throws SerialisationException {
+        final List<Mutation> mutations = new ArrayList<>(2);
+        if (element instanceof Entity) {
+            final Mutation mutation = createMutation(schema, ((Entity) element).getVertex());
+            putCount(mutation, element.getGroup(), AccumuloStoreConstants.SUMMARY_ENTITY_ADDS, key);
+            mutations.add(mutation);
+        } else {
+            final Edge edge = (Edge) element;
+            final String group = edge.getGroup();
+            final byte[] sourceBytes = serialise(schema, edge.getSource());
+            final byte[] destinationBytes = serialise(schema, edge.getDestination());
+            final boolean selfLoop = Objects.equals(edge.getSource(), edge.getDestination());
+            final Mutation source = new Mutation(ByteArrayEscapeUtils.escape(sourceBytes));
+            mutations.add(source);
+            final Mutation destination = selfLoop ? source : new Mutation(ByteArrayEscapeUtils.escape(destinationBytes));
+            if (!selfLoop) {
+                mutations.add(destination);
+            }
+            if (edge.isDirected()) {
+                putCount(source, group, AccumuloStoreConstants.SUMMARY_OUT_EDGE_ADDS, key);
+                putSketch(source, group, AccumuloStoreConstants.SUMMARY_OUT_DEGREE, destinationBytes, key);
+                putCount(destination, group, AccumuloStoreConstants.SUMMARY_IN_EDGE_ADDS, key);
+                putSketch(destination, group, AccumuloStoreConstants.SUMMARY_IN_DEGREE, sourceBytes, key);
+            } else {
+                putCount(source, group, AccumuloStoreConstants.SUMMARY_UNDIRECTED_EDGE_ADDS, key);
+                putSketch(source, group, AccumuloStoreConstants.SUMMARY_UNDIRECTED_DEGREE, destinationBytes, key);
+                if (!selfLoop) {
+                    putCount(destination, group, AccumuloStoreConstants.SUMMARY_UNDIRECTED_EDGE_ADDS, key);
+                    putSketch(destination, group, AccumuloStoreConstants.SUMMARY_UNDIRECTED_DEGREE, sourceBytes, key);
+                }
+            }
+        }
+        return mutations;
+    }
+
+    /**
+     * Gets the row of the summary table for a vertex.
+     *
+     * @param schema the schema
+     * @param vertex the vertex
+     * @return the row of the summary table
+     * @throws SerialisationException if the vertex could not be serialised
+     */
+    public static byte[] getRow(final Schema schema, final Object vertex) throws SerialisationException {
+        return ByteArrayEscapeUtils.escape(serialise(schema, vertex));
+    }
+
+    /**
+     * Gets the vertex from a row of the summary table.
+     *
+     * @param schema the schema
+     * @param row    the row of the summary table
+     * @return the vertex
+     * @throws SerialisationException if the vertex could not be deserialised
+     */
+    public static Object getVertex(final Schema schema, final byte[] row) throws SerialisationException {
+        return ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(ByteArrayEscapeUtils.unEscape(row));
+    }
+
+    /**
+     * @param key a key of the summary table
+     * @return true if the value of the key is a degree sketch, otherwise it is a count
+     */
+    public static boolean isDegreeSketch(final Key key) {
+        switch (key.getColumnQualifier().toString()) {
+            case AccumuloStoreConstants.SUMMARY_OUT_DEGREE:
+            case AccumuloStoreConstants.SUMMARY_IN_DEGREE:
+            case AccumuloStoreConstants.SUMMARY_UNDIRECTED_DEGREE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Merges degree sketches from the summary table.
+     *
+     * @param values the serialised sketches
+     * @return the merged sketch
+     * @throws SerialisationException if a sketch could not be deserialised
+     */
+    public static Value mergeDegreeSketches(final Iterator<Value> values) throws SerialisationException {
+        final Union union = new Union(DEGREE_SKETCH_LG_K);
+        while (values.hasNext()) {
+            union.update(SKETCH_SERIALISER.deserialise(values.next().get()));
+        }
+        return new Value(SKETCH_SERIALISER.serialise(union.getResult()));
+    }
+
+    /**
+     * Adds together counts from the summary table.
+     *
+     * @param values the encoded counts
+     * @return the total count
+     */
+    public static Value sumCounts(final Iterator<Value> values) {
+        long count = 0;
+        while (values.hasNext()) {
+            count += LongCombiner.VAR_LEN_ENCODER.decode(values.next().get());
+        }
+        return new Value(LongCombiner.VAR_LEN_ENCODER.encode(count));
+    }
+
+    private static byte[] serialise(final Schema schema, final Object vertex) throws SerialisationException {
+        return ((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex);
+    }
+
+    private static Mutation createMutation(final Schema schema, final Object vertex) throws SerialisationException {
+        return new Mutation(getRow(schema, vertex));
+    }
+
+    private static void putCount(final Mutation mutation, final String group, final String qualifier, final Key key) {
+        mutation.put(group, qualifier, new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), ONE);
+    }
+
+    private static void putSketch(final Mutation mutation, final String group, final String qualifier,
+                                  final byte[] neighbour, final Key key) throws SerialisationException {
+        final HllSketch sketch = new HllSketch(DEGREE_SKETCH_LG_K);
+        sketch.update(neighbour);
+        mutation.put(group, qualifier, new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(),
+                new Value(SKETCH_SERIALISER.serialise(sketch)));
+    }
+
+    /**
+     * Builds a {@link VertexSummary} from the entries of the summary table for
+     * a vertex and group. There is an entry for each visibility of the
+     * elements added, so the counts are added together and the degree sketches
+     * are merged.
+     */
+    public static class SummaryBuilder {
+        private final VertexSummary summary;
+        private final Map<String, Union> degrees = new HashMap<>();
+
+        public SummaryBuilder(final Object vertex, final String group) {
+            summary = new VertexSummary(vertex, group);
+        }
+
+        /**
+         * Adds an entry from the summary table.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         * @throws SerialisationException if a degree sketch could not be deserialised
+         */
+        public void add(final Key key, final Value value) throws SerialisationException {
+            final String qualifier = key.getColumnQualifier().toString();
+            if (isDegreeSketch(key)) {
+                degrees.computeIfAbsent(qualifier, q -> new Union(DEGREE_SKETCH_LG_K))
+                        .update(SKETCH_SERIALISER.deserialise(value.get()));
+            } else {
+                final long count = LongCombiner.VAR_LEN_ENCODER.decode(value.get());
+                switch (qualifier) {
+                    case AccumuloStoreConstants.SUMMARY_ENTITY_ADDS:
+                        summary.setEntityAdds(summary.getEntityAdds() + count);
+                        break;
+                    case AccumuloStoreConstants.SUMMARY_OUT_EDGE_ADDS:
+                        summary.setOutEdgeAdds(summary.getOutEdgeAdds() + count);
+                        break;
+                    case AccumuloStoreConstants.SUMMARY_IN_EDGE_ADDS:
+                        summary.setInEdgeAdds(summary.getInEdgeAdds() + count);
+                        break;
+                    case AccumuloStoreConstants.SUMMARY_UNDIRECTED_EDGE_ADDS:
+                        summary.setUndirectedEdgeAdds(summary.getUndirectedEdgeAdds() + count);
+                        break;
+                    default:
+                        // Ignore counts added by later versions
+                        break;
+                }
+            }
+            summary.setLastSeen(Math.max(summary.getLastSeen(), key.getTimestamp()));
+        }
+
+        /**
+         * @return the summary, with the degrees estimated from the merged sketches
+         */
+        public VertexSummary build() {
+            summary.setOutDegree(getDegree(AccumuloStoreConstants.SUMMARY_OUT_DEGREE));
+            summary.setInDegree(getDegree(AccumuloStoreConstants.SUMMARY_IN_DEGREE));
+            summary.setUndirectedDegree(getDegree(AccumuloStoreConstants.SUMMARY_UNDIRECTED_DEGREE));
+            return summary;
+        }
+
+        private long getDegree(final String qualifier) {
+            final Union union = degrees.get(qualifier);
+            return null != union ? Math.round(union.getEstimate()) : 0;
+        }
+    }
+}
@@ -49,6 +49,11 @@ public class SingleUseMiniAccumuloStore extends MiniAccumuloStore {
         } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
             LOGGER.info("Failed to delete the table", e);
         }
+        try {
+            getConnection().tableOperations().delete(getSummaryTableName());
+        } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+            LOGGER.debug("Failed to delete the summary table", e);
+        }
         super.preInitialise(graphId, schema, properties);
     }
 }
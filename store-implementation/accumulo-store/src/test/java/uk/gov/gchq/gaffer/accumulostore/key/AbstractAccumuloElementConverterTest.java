@@ -242,6 +242,22 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldDeserialiseSinglePropertyFromValue() {
+        Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+        assertEquals(60, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_1));
+        assertEquals(299, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_3));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COUNT));
+        assertEquals(converter.getPropertiesFromValue(TestGroups.EDGE, value).get(AccumuloPropertyNames.PROP_2),
+                converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_2));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, "unknownProperty"));
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueMissingMiddleProperty() {
         Properties properties = new Properties();
@@ -16,19 +16,44 @@
 
 package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 
+import com.google.common.collect.Iterables;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 
 public class GetElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetElementsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil
+            .storeProps(GetElementsHandlerTest.class));
+
     @Test
     public void shouldThrowExceptionIfAnOldOperationOptionIsUsed() throws OperationException, StoreException {
         // Given
@@ -79,4 +104,48 @@ public class GetElementsHandlerTest {
             assertTrue(e.getMessage().equals("Operation input is undefined - please specify an input."));
         }
     }
+
+    @Test
+    public void shouldOnlySetTruncatedSeedsWhenMaxEdgesPerSeedIsSet() throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("truncatedSeedsGraph", SCHEMA, PROPERTIES);
+        final List<Element> edges = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            edges.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A")
+                    .dest("B" + i)
+                    .directed(true)
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                    .property(AccumuloPropertyNames.COUNT, 1)
+                    .property(AccumuloPropertyNames.PROP_1, 0)
+                    .property(AccumuloPropertyNames.PROP_2, 0)
+                    .property(AccumuloPropertyNames.PROP_3, 0)
+                    .property(AccumuloPropertyNames.PROP_4, 0)
+                    .build());
+        }
+        store.addElements(edges);
+        final GetElementsHandler handler = new GetElementsHandler();
+        final Context context = new Context(new User());
+        final Context limitedContext = new Context(new User());
+
+        // When
+        handler.doOperation(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), context, store);
+        final CloseableIterable<? extends Element> results = handler.doOperation(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .option(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_SEED, "2")
+                .build(), limitedContext, store);
+        final Set<Object> truncatedSeeds = (Set<Object>) limitedContext.getVariable(AccumuloStoreConstants.TRUNCATED_SEEDS_VARIABLE);
+
+        // Then
+        assertNull(context.getVariable(AccumuloStoreConstants.TRUNCATED_SEEDS_VARIABLE));
+        // The truncated seeds are only complete once the results have been read
+        assertEquals(Collections.emptySet(), truncatedSeeds);
+        assertEquals(2, Iterables.size(results));
+        assertEquals(Collections.singleton("A"), truncatedSeeds);
+        results.close();
+    }
 }
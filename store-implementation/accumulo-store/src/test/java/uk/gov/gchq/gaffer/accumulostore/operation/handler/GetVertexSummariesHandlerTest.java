@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.data.VertexSummary;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexSummaries;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GetVertexSummariesHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetVertexSummariesHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil
+            .storeProps(GetVertexSummariesHandlerTest.class));
+
+    private final User user = new User();
+    private AccumuloStore store;
+
+    @BeforeEach
+    public void reInitialise() throws StoreException {
+        final AccumuloProperties summaryProperties = PROPERTIES.clone();
+        summaryProperties.setSummaryTableEnabled(true);
+        store = new SingleUseMiniAccumuloStore();
+        store.initialise("summaryGraph", SCHEMA, summaryProperties);
+
+        final List<Element> data = new ArrayList<>();
+        data.add(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .build());
+        for (int i = 1; i <= 3; i++) {
+            data.add(createEdge("A", "B", true, i));
+        }
+        data.add(createEdge("B", "C", false, 1));
+        store.addElements(data);
+    }
+
+    @Test
+    public void shouldGetAddCountsOfVertices() throws OperationException {
+        // Given
+        final GetVertexSummaries operation = new GetVertexSummaries.Builder()
+                .input("A", "B", "C", "D")
+                .build();
+
+        // When
+        final Map<String, VertexSummary> summaries = getSummaries(operation);
+
+        // Then
+        assertEquals(4, summaries.size());
+        assertSummary(summaries.get("A" + TestGroups.ENTITY), 1, 0, 0, 0);
+        assertSummary(summaries.get("A" + TestGroups.EDGE), 0, 3, 0, 0);
+        assertSummary(summaries.get("B" + TestGroups.EDGE), 0, 0, 3, 1);
+        assertSummary(summaries.get("C" + TestGroups.EDGE), 0, 0, 0, 1);
+        assertEquals(4, summaries.get("B" + TestGroups.EDGE).getEdgeAdds());
+    }
+
+    @Test
+    public void shouldGetDistinctDegreesOfVertices() throws OperationException {
+        // Given
+        final GetVertexSummaries operation = new GetVertexSummaries.Builder()
+                .input("A", "B", "C")
+                .groups(TestGroups.EDGE)
+                .build();
+
+        // When
+        final Map<String, VertexSummary> summaries = getSummaries(operation);
+
+        // Then
+        assertDegrees(summaries.get("A" + TestGroups.EDGE), 1, 0, 0);
+        assertDegrees(summaries.get("B" + TestGroups.EDGE), 0, 1, 1);
+        assertDegrees(summaries.get("C" + TestGroups.EDGE), 0, 0, 1);
+    }
+
+    @Test
+    public void shouldOnlyGetSummariesOfRequestedGroups() throws OperationException {
+        // Given
+        final GetVertexSummaries operation = new GetVertexSummaries.Builder()
+                .input("A")
+                .groups(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final Map<String, VertexSummary> summaries = getSummaries(operation);
+
+        // Then
+        assertEquals(1, summaries.size());
+        assertSummary(summaries.get("A" + TestGroups.ENTITY), 1, 0, 0, 0);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSummaryTableIsNotEnabled() throws StoreException {
+        // Given
+        final AccumuloStore storeWithoutSummaries = new SingleUseMiniAccumuloStore();
+        storeWithoutSummaries.initialise("noSummaryGraph", SCHEMA, PROPERTIES);
+        final GetVertexSummaries operation = new GetVertexSummaries.Builder()
+                .input("A")
+                .build();
+
+        // When / Then
+        assertThrows(OperationException.class,
+                () -> new GetVertexSummariesHandler().doOperation(operation, user, storeWithoutSummaries));
+    }
+
+    private Map<String, VertexSummary> getSummaries(final GetVertexSummaries operation) throws OperationException {
+        final Map<String, VertexSummary> summaries = new HashMap<>();
+        try (final CloseableIterable<? extends VertexSummary> results = new GetVertexSummariesHandler().doOperation(operation, user, store)) {
+            for (final VertexSummary summary : results) {
+                summaries.put(summary.getVertex() + summary.getGroup(), summary);
+            }
+        }
+        return summaries;
+    }
+
+    private static void assertSummary(final VertexSummary summary, final long entityAdds, final long outEdgeAdds,
+                                      final long inEdgeAdds, final long undirectedEdgeAdds) {
+        assertEquals(entityAdds, summary.getEntityAdds());
+        assertEquals(outEdgeAdds, summary.getOutEdgeAdds());
+        assertEquals(inEdgeAdds, summary.getInEdgeAdds());
+        assertEquals(undirectedEdgeAdds, summary.getUndirectedEdgeAdds());
+    }
+
+    private static void assertDegrees(final VertexSummary summary, final long outDegree,
+                                      final long inDegree, final long undirectedDegree) {
+        assertEquals(outDegree, summary.getOutDegree());
+        assertEquals(inDegree, summary.getInDegree());
+        assertEquals(undirectedDegree, summary.getUndirectedDegree());
+    }
+
+    private static Edge createEdge(final String source, final String destination, final boolean directed, final int columnQualifier) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(directed)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier)
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .property(AccumuloPropertyNames.PROP_1, 0)
+                .property(AccumuloPropertyNames.PROP_2, 0)
+                .property(AccumuloPropertyNames.PROP_3, 0)
+                .property(AccumuloPropertyNames.PROP_4, 0)
+                .build();
+    }
+}
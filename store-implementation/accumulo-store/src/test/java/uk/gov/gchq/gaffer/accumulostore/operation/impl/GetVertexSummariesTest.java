@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloTestData;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class GetVertexSummariesTest extends OperationTest<GetVertexSummaries> {
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final GetVertexSummaries op = new GetVertexSummaries.Builder()
+                .input(AccumuloTestData.SEED_A, AccumuloTestData.SEED_B)
+                .groups(TestGroups.EDGE)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetVertexSummaries deserialisedOp = JSONSerialiser.deserialise(json, GetVertexSummaries.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(AccumuloTestData.SEED_A, AccumuloTestData.SEED_B), Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(Sets.newHashSet(TestGroups.EDGE), deserialisedOp.getGroups());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final GetVertexSummaries getVertexSummaries = new GetVertexSummaries.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .groups(TestGroups.EDGE)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .build();
+        assertEquals("true", getVertexSummaries.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertEquals(AccumuloTestData.SEED_A, getVertexSummaries.getInput().iterator().next());
+        assertEquals(Sets.newHashSet(TestGroups.EDGE), getVertexSummaries.getGroups());
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final GetVertexSummaries getVertexSummaries = new GetVertexSummaries.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .groups(TestGroups.EDGE)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .build();
+
+        // When
+        final GetVertexSummaries clone = getVertexSummaries.shallowClone();
+
+        // Then
+        assertNotSame(getVertexSummaries, clone);
+        assertEquals("true", clone.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertEquals(AccumuloTestData.SEED_A, clone.getInput().iterator().next());
+        assertEquals(Sets.newHashSet(TestGroups.EDGE), clone.getGroups());
+    }
+
+    @Override
+    protected GetVertexSummaries getTestObject() {
+        return new GetVertexSummaries();
+    }
+}
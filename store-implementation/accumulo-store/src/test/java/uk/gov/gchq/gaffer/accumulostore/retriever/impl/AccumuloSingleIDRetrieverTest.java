@@ -17,6 +17,9 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,11 +28,15 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.LazyEdge;
+import uk.gov.gchq.gaffer.data.element.LazyEntity;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
@@ -45,11 +52,15 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -100,6 +111,110 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void testEntityIdQueryEdgesAndEntitiesPipelined() throws StoreException {
+        // Given
+        final AccumuloProperties pipelinedProperties = PROPERTIES.clone();
+        pipelinedProperties.setRetrieverPipelineEnabled(true);
+        pipelinedProperties.setMaxEntriesForBatchScanner("7");
+        pipelinedProperties.setRetrieverPipelineBufferSize("10");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("pipelinedGraph", SCHEMA, pipelinedProperties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, Iterables.size(retriever));
+        retriever.close();
+    }
+
+    @Test
+    public void shouldClosePipelineWhenNotReadFromForIdleTimeout() throws StoreException, InterruptedException {
+        // Given
+        final AccumuloProperties pipelinedProperties = PROPERTIES.clone();
+        pipelinedProperties.setRetrieverPipelineEnabled(true);
+        pipelinedProperties.setMaxEntriesForBatchScanner("7");
+        pipelinedProperties.setRetrieverPipelineBufferSize("10");
+        pipelinedProperties.setRetrieverPipelineIdleTimeoutMillis("200");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("pipelinedIdleGraph", SCHEMA, pipelinedProperties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+        final Iterator<Element> iterator = retriever.iterator();
+        iterator.next();
+
+        // When
+        Thread.sleep(1000);
+
+        // Then
+        assertThrows(RuntimeException.class, () -> {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+        });
+        retriever.close();
+    }
+
+    @Test
+    public void testEntityIdQueryEdgesAndEntitiesWithLazyElements() throws StoreException {
+        // Given
+        final AccumuloProperties lazyProperties = PROPERTIES.clone();
+        lazyProperties.setRetrieverLazyElementsEnabled(true);
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("lazyGraph", SCHEMA, lazyProperties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final List<Element> lazyResults = new ArrayList<>();
+        final List<Element> results = new ArrayList<>();
+        try {
+            new AccumuloSingleIDRetriever(store, operation, new User()).forEach(lazyResults::add);
+            new AccumuloSingleIDRetriever(BYTE_ENTITY_STORE, operation, new User()).forEach(results::add);
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, lazyResults.size());
+        assertEquals(new HashSet<>(results), new HashSet<>(lazyResults));
+        for (final Element element : lazyResults) {
+            assertEquals(false, element instanceof LazyEdge || element instanceof LazyEntity);
+        }
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(BYTE_ENTITY_STORE);
@@ -292,6 +407,65 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(NUM_ENTRIES * 2, count);
     }
 
+    @Test
+    public void testEntityIdQueryWithMaxEdgesPerSeed() throws IteratorSettingException, StoreException {
+        testEntityIdQueryWithMaxEdgesPerSeed(BYTE_ENTITY_STORE);
+        testEntityIdQueryWithMaxEdgesPerSeed(GAFFER_1_KEY_STORE);
+    }
+
+    private void testEntityIdQueryWithMaxEdgesPerSeed(final AccumuloStore store) throws IteratorSettingException, StoreException {
+        // Given
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder()
+                .view(view)
+                .input(new EntitySeed("B"), new EntitySeed("C"), new EntitySeed("0"))
+                .option(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_SEED, "10")
+                .build();
+
+        // When
+        final AccumuloElementsRetriever retriever = new AccumuloElementsRetriever(store, operation, new User());
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        // 10 edges for each of B and C, and the entity and 2 edges for 0
+        assertEquals(23, results.size());
+        assertEquals(Sets.newHashSet("B", "C"), retriever.getTruncatedSeeds());
+
+        // When - a second pass is started
+        final CloseableIterator<Element> secondPass = retriever.iterator();
+
+        // Then - the truncated seeds of the first pass are not reported
+        assertEquals(Collections.emptySet(), retriever.getTruncatedSeeds());
+        assertEquals(23, Iterators.size(secondPass));
+        assertEquals(Sets.newHashSet("B", "C"), retriever.getTruncatedSeeds());
+        secondPass.close();
+    }
+
+    @Test
+    public void testEntityIdQueryWithEdgeSampleRate() throws IteratorSettingException, StoreException {
+        testEntityIdQueryWithEdgeSampleRate(BYTE_ENTITY_STORE);
+        testEntityIdQueryWithEdgeSampleRate(GAFFER_1_KEY_STORE);
+    }
+
+    private void testEntityIdQueryWithEdgeSampleRate(final AccumuloStore store) throws IteratorSettingException, StoreException {
+        // Given
+        final View view = new View.Builder().edge(TestGroups.EDGE).build();
+        final GetElements operation = new GetElements.Builder()
+                .view(view)
+                .input(new EntitySeed("B"))
+                .option(AccumuloStoreConstants.OPERATION_EDGE_SAMPLE_RATE, "0.5")
+                .build();
+
+        // When
+        final Set<Element> firstResults = Sets.newHashSet(new AccumuloElementsRetriever(store, operation, new User()));
+        final Set<Element> secondResults = Sets.newHashSet(new AccumuloElementsRetriever(store, operation, new User()));
+
+        // Then
+        assertTrue(firstResults.size() > 0);
+        assertTrue(firstResults.size() < NUM_ENTRIES);
+        assertEquals(firstResults, secondResults);
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
@@ -17,11 +17,19 @@
 package uk.gov.gchq.gaffer.accumulostore.utils;
 
 import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -59,4 +67,29 @@ public class IteratorSettingBuilderTest {
         // Then
         verify(setting).addOption(AccumuloStoreConstants.VIEW, compactSchemaJson);
     }
+
+    @Test
+    public void shouldAddCompressedBloomFilterToIteratorSetting() throws Exception {
+        // Given
+        final BloomFilter filter = BloomFilterUtils.getBloomFilter(0.0001, 10, 1000000);
+        filter.add(new Key("vertex".getBytes()));
+        final IteratorSetting uncompressed = new IteratorSetting(1, "bloomFilter", "iterator");
+        final IteratorSetting compressed = new IteratorSetting(1, "bloomFilter", "iterator");
+
+        // When
+        new IteratorSettingBuilder(uncompressed).bloomFilter(filter);
+        new IteratorSettingBuilder(compressed).bloomFilter(filter, true);
+
+        // Then
+        final String compressedFilter = compressed.getOptions().get(AccumuloStoreConstants.BLOOM_FILTER);
+        assertEquals("true", compressed.getOptions().get(AccumuloStoreConstants.BLOOM_FILTER_COMPRESSED));
+        assertTrue(compressedFilter.length() < uncompressed.getOptions().get(AccumuloStoreConstants.BLOOM_FILTER).length());
+
+        final BloomFilter readFilter = new BloomFilter();
+        try (final DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(compressedFilter.getBytes(AccumuloStoreConstants.BLOOM_FILTER_CHARSET))))) {
+            readFilter.readFields(in);
+        }
+        assertTrue(readFilter.membershipTest(new Key("vertex".getBytes())));
+    }
 }
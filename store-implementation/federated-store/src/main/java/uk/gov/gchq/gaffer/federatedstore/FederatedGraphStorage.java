@@ -48,6 +48,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -69,6 +70,7 @@ public class FederatedGraphStorage {
     private FederatedStoreCache federatedStoreCache = new FederatedStoreCache();
     private Boolean isCacheEnabled = false;
     private GraphLibrary graphLibrary;
+    private final MergedSchemaCache mergedSchemaCache = new MergedSchemaCache();
 
     protected void startCacheServiceLoader() throws StorageException {
         if (CacheServiceLoader.isEnabled()) {
@@ -128,6 +130,7 @@ public class FederatedGraphStorage {
                 } else {
                     existingGraphs.add(builtGraph);
                 }
+                mergedSchemaCache.invalidate();
             } catch (final Exception e) {
                 throw new StorageException("Error adding graph " + graphId + " to storage due to: " + e.getMessage(), e);
             }
@@ -159,6 +162,12 @@ public class FederatedGraphStorage {
         return getIdsFrom(allGraphsAsStream);
     }
 
+    private List<String> getIdsFrom(final Collection<Graph> graphs) {
+        return graphs.stream()
+                .map(Graph::getGraphId)
+                .collect(Collectors.toList());
+    }
+
     private Collection<String> getIdsFrom(final Stream<Graph> allStream) {
         final Set<String> rtn = allStream
                 .map(Graph::getGraphId)
@@ -203,7 +212,7 @@ public class FederatedGraphStorage {
     }
 
     private boolean remove(final String graphId, final Predicate<Entry<FederatedAccess, Set<Graph>>> entryPredicateForGraphRemoval) {
-        return storage.entrySet().stream()
+        final boolean anyRemoved = storage.entrySet().stream()
                 .filter(entryPredicateForGraphRemoval)
                 .map(entry -> {
                     boolean isRemoved = false;
@@ -223,6 +232,10 @@ public class FederatedGraphStorage {
                 })
                 .collect(Collectors.toSet())
                 .contains(true);
+        if (anyRemoved) {
+            mergedSchemaCache.invalidate();
+        }
+        return anyRemoved;
     }
 
     private void deleteFromCache(final String graphId) {
@@ -263,29 +276,33 @@ public class FederatedGraphStorage {
             return getSchema((Map<String, String>) null, context);
         }
 
+        // The version is read before the graphs, so a merge of graphs that
+        // are replaced before it is cached is not cached
+        final long mergeVersion = mergedSchemaCache.getVersion();
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(operation.getOptions());
-        final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            if (operation.isCompact()) {
-                final GetSchema getSchema = new GetSchema.Builder()
-                        .compact(true)
-                        .build();
-                graphs.forEach(g -> {
-                    try {
-                        schemaBuilder.merge(g.execute(getSchema, context));
-                    } catch (final OperationException e) {
-                        throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
-                    }
-                });
-            } else {
-                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        return mergedSchemaCache.getSchema(mergeVersion, getIdsFrom(graphs), operation.isCompact(), () -> {
+            final Builder schemaBuilder = new Builder();
+            try {
+                if (operation.isCompact()) {
+                    final GetSchema getSchema = new GetSchema.Builder()
+                            .compact(true)
+                            .build();
+                    graphs.forEach(g -> {
+                        try {
+                            schemaBuilder.merge(g.execute(getSchema, context));
+                        } catch (final OperationException e) {
+                            throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
+                        }
+                    });
+                } else {
+                    graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+                }
+            } catch (final SchemaException e) {
+                throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + getIdsFrom(graphs) + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
             }
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(context.getUser(), graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + resultGraphIds + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
-        }
-        return schemaBuilder.build();
+            return schemaBuilder.build();
+        });
     }
 
     /**
@@ -308,16 +325,18 @@ public class FederatedGraphStorage {
             return new Schema();
         }
 
+        final long mergeVersion = mergedSchemaCache.getVersion();
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        final Stream<Graph> graphs = getStream(user, graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(user, graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
-        }
-        return schemaBuilder.build();
+        final List<Graph> graphs = getStream(user, graphIds).collect(Collectors.toList());
+        return mergedSchemaCache.getSchema(mergeVersion, getIdsFrom(graphs), false, () -> {
+            final Builder schemaBuilder = new Builder();
+            try {
+                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+            } catch (final SchemaException e) {
+                throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, getIdsFrom(graphs), KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
+            }
+            return schemaBuilder.build();
+        });
     }
 
     /**
@@ -332,10 +351,15 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final GetTraits op, final Context context) {
-        final Set<StoreTrait> traits = Sets.newHashSet(StoreTrait.values());
-        if (null != op && op.isCurrentTraits()) {
-            final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
-            final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
+        if (null == op || !op.isCurrentTraits()) {
+            return Sets.newHashSet(StoreTrait.values());
+        }
+
+        final long mergeVersion = mergedSchemaCache.getVersion();
+        final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        return mergedSchemaCache.getTraits(mergeVersion, getIdsFrom(graphs), true, () -> {
+            final Set<StoreTrait> traits = Sets.newHashSet(StoreTrait.values());
             final GetTraits getTraits = op.shallowClone();
             graphs.forEach(g -> {
                 try {
@@ -344,9 +368,8 @@ public class FederatedGraphStorage {
                     throw new RuntimeException("Unable to fetch traits from graph " + g.getGraphId(), e);
                 }
             });
-        }
-
-        return traits;
+            return traits;
+        });
     }
 
     /**
@@ -361,14 +384,31 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final Map<String, String> config, final User user) {
+        final long mergeVersion = mergedSchemaCache.getVersion();
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        Collection<Graph> graphs = get(user, graphIds);
+        final Collection<Graph> graphs = get(user, graphIds);
 
-        final Set<StoreTrait> traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
-        for (final Graph graph : graphs) {
-            traits.retainAll(graph.getStoreTraits());
-        }
-        return traits;
+        return mergedSchemaCache.getTraits(mergeVersion, getIdsFrom(graphs), false, () -> {
+            final Set<StoreTrait> traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
+            for (final Graph graph : graphs) {
+                traits.retainAll(graph.getStoreTraits());
+            }
+            return traits;
+        });
+    }
+
+    /**
+     * returns the {@link FederatedRoutingIndex} of all the graphs in storage,
+     * regardless of visibility. The index is rebuilt after the graphs in
+     * storage change.
+     *
+     * @return the routing index of all graphs
+     */
+    public FederatedRoutingIndex getRoutingIndex() {
+        return mergedSchemaCache.getRoutingIndex(() -> new FederatedRoutingIndex(storage.values().stream()
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList())));
     }
 
     private void validateAllGivenGraphIdsAreVisibleForUser(final User user, final Collection<String> graphIds) {
@@ -570,6 +610,7 @@ public class FederatedGraphStorage {
             for (final Entry<FederatedAccess, Set<Graph>> entry : storage.entrySet()) {
                 entry.getValue().removeIf(graph -> graph.getGraphId().equals(graphId));
             }
+            mergedSchemaCache.invalidate();
 
             //add the graph being moved.
             this.put(new GraphSerialisable.Builder().graph(graphToMove).build(), newFederatedAccess);
@@ -610,6 +651,7 @@ public class FederatedGraphStorage {
                     break;
                 }
             }
+            mergedSchemaCache.invalidate();
 
             final GraphConfig configWithNewGraphId = new GraphConfig.Builder()
                     .json(new GraphSerialisable.Builder().graph(graphToMove).build().getConfig())
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code FederatedRoutingIndex} maps the groups and vertex classes in the
+ * schemas of the federated graphs to the graphIds that hold them.
+ * <p>
+ * It is used to work out which graphs can return results for an operation
+ * before the operation is sent to them. A graph is skipped if its schema
+ * holds none of the groups in the operation's view, or if none of its vertex
+ * types can hold any of the operation's seeds. Graphs with a
+ * {@link StoreTrait#DYNAMIC_SCHEMA} and graphs that were not in the index when
+ * it was built are never skipped.
+ * </p>
+ */
+public class FederatedRoutingIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FederatedRoutingIndex.class);
+
+    private final Map<String, Set<String>> groupToGraphIds = new HashMap<>();
+    private final Map<Class<?>, Set<String>> vertexClassToGraphIds = new HashMap<>();
+    private final Set<String> indexedGraphIds = new HashSet<>();
+    private final Set<String> dynamicSchemaGraphIds = new HashSet<>();
+
+    public FederatedRoutingIndex(final Collection<Graph> graphs) {
+        if (null != graphs) {
+            for (final Graph graph : graphs) {
+                index(graph);
+            }
+        }
+    }
+
+    /**
+     * Filters the given graphs down to those that can return results for the
+     * operation. The order of the graphs is retained.
+     *
+     * @param graphs    the graphs the operation would be executed on
+     * @param operation the operation
+     * @return the graphs that can return results for the operation
+     */
+    public List<Graph> route(final Collection<Graph> graphs, final Operation operation) {
+        final Set<String> groups = getGroups(operation);
+        final Set<Class<?>> seedClasses = getSeedClasses(operation);
+        final Set<String> graphIdsForGroups = null != groups ? getGraphIdsForGroups(groups) : null;
+        final Set<String> graphIdsForSeeds = null != seedClasses ? getGraphIdsForSeedClasses(seedClasses) : null;
+
+        final List<Graph> routedGraphs = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final String graphId = graph.getGraphId();
+            if (!indexedGraphIds.contains(graphId) || dynamicSchemaGraphIds.contains(graphId)
+                    || ((null == graphIdsForGroups || graphIdsForGroups.contains(graphId))
+                    && (null == graphIdsForSeeds || graphIdsForSeeds.contains(graphId)))) {
+                routedGraphs.add(graph);
+            } else {
+                LOGGER.debug("Skipping graph {} for operation {} as it cannot hold any of the requested groups or seeds",
+                        graphId, operation.getClass().getSimpleName());
+            }
+        }
+        return routedGraphs;
+    }
+
+    public Set<String> getGraphIdsForGroup(final String group) {
+        return Collections.unmodifiableSet(groupToGraphIds.getOrDefault(group, Collections.emptySet()));
+    }
+
+    public Set<String> getGraphIdsForVertexClass(final Class<?> vertexClass) {
+        return Collections.unmodifiableSet(getGraphIdsForSeedClasses(Collections.singleton(vertexClass)));
+    }
+
+    private void index(final Graph graph) {
+        final String graphId = graph.getGraphId();
+        indexedGraphIds.add(graphId);
+        if (graph.hasTrait(StoreTrait.DYNAMIC_SCHEMA)) {
+            dynamicSchemaGraphIds.add(graphId);
+        }
+
+        final Schema schema = graph.getSchema();
+        if (null == schema) {
+            return;
+        }
+        for (final Map.Entry<String, SchemaEntityDefinition> entry : schema.getEntities().entrySet()) {
+            addGraphId(groupToGraphIds, entry.getKey(), graphId);
+            addVertexClass(schema, entry.getValue().getVertex(), graphId);
+        }
+        for (final Map.Entry<String, SchemaEdgeDefinition> entry : schema.getEdges().entrySet()) {
+            addGraphId(groupToGraphIds, entry.getKey(), graphId);
+            addVertexClass(schema, entry.getValue().getSource(), graphId);
+            addVertexClass(schema, entry.getValue().getDestination(), graphId);
+        }
+    }
+
+    private void addVertexClass(final Schema schema, final String typeName, final String graphId) {
+        final TypeDefinition type = null != typeName ? schema.getType(typeName) : null;
+        // Without a vertex class any seed could be held, so use Object
+        final Class<?> vertexClass = null != type && null != type.getClazz() ? type.getClazz() : Object.class;
+        addGraphId(vertexClassToGraphIds, vertexClass, graphId);
+    }
+
+    private Set<String> getGraphIdsForGroups(final Set<String> groups) {
+        final Set<String> graphIds = new HashSet<>();
+        for (final String group : groups) {
+            graphIds.addAll(groupToGraphIds.getOrDefault(group, Collections.emptySet()));
+        }
+        return graphIds;
+    }
+
+    private Set<String> getGraphIdsForSeedClasses(final Set<Class<?>> seedClasses) {
+        final Set<String> graphIds = new HashSet<>();
+        for (final Map.Entry<Class<?>, Set<String>> entry : vertexClassToGraphIds.entrySet()) {
+            for (final Class<?> seedClass : seedClasses) {
+                if (entry.getKey().isAssignableFrom(seedClass)) {
+                    graphIds.addAll(entry.getValue());
+                    break;
+                }
+            }
+        }
+        return graphIds;
+    }
+
+    private static Set<String> getGroups(final Operation operation) {
+        if (operation instanceof OperationView) {
+            final View view = ((OperationView) operation).getView();
+            if (null != view && view.hasGroups()) {
+                return view.getGroups();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Only seeds that have already been loaded into a {@link Collection} are
+     * inspected, so iterables that can only be read once are not consumed.
+     *
+     * @param operation the operation
+     * @return the classes of the seed vertices, or null if the seeds cannot be used for routing
+     */
+    private static Set<Class<?>> getSeedClasses(final Operation operation) {
+        if (!(operation instanceof Input)) {
+            return null;
+        }
+        final Object input = ((Input) operation).getInput();
+        if (!(input instanceof Collection) || ((Collection) input).isEmpty()) {
+            return null;
+        }
+
+        final Set<Class<?>> seedClasses = new HashSet<>();
+        for (final Object seed : (Collection<?>) input) {
+            if (seed instanceof EntityId) {
+                if (!addSeedClass(seedClasses, ((EntityId) seed).getVertex())) {
+                    return null;
+                }
+            } else if (seed instanceof EdgeId) {
+                if (!addSeedClass(seedClasses, ((EdgeId) seed).getSource())
+                        || !addSeedClass(seedClasses, ((EdgeId) seed).getDestination())) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return seedClasses.isEmpty() ? null : seedClasses;
+    }
+
+    private static boolean addSeedClass(final Set<Class<?>> seedClasses, final Object vertex) {
+        if (null == vertex) {
+            return false;
+        }
+        seedClasses.add(vertex.getClass());
+        return true;
+    }
+
+    private static <K> void addGraphId(final Map<K, Set<String>> index, final K key, final String graphId) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(graphId);
+    }
+}
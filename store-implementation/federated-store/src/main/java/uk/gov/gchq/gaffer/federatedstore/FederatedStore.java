@@ -54,6 +54,7 @@ import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedGetTrai
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedOperationChainHandler;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedRemoveGraphHandler;
 import uk.gov.gchq.gaffer.federatedstore.schema.FederatedViewValidator;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedGraphExecutor;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphSerialisable;
@@ -118,6 +119,7 @@ public class FederatedStore extends Store {
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
+    private FederatedGraphExecutor graphExecutor = new FederatedGraphExecutor();
     private static final List<Integer> ALL_IDS = new ArrayList<>();
     private final int id;
 
@@ -144,6 +146,8 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        graphExecutor.shutdown();
+        graphExecutor = new FederatedGraphExecutor(getProperties());
     }
 
     @Override
@@ -163,6 +167,26 @@ public class FederatedStore extends Store {
         return (FederatedStoreProperties) super.getProperties();
     }
 
+    /**
+     * Get the {@link FederatedGraphExecutor} used to execute operations
+     * against the sub-graphs of this FederatedStore.
+     *
+     * @return the graph executor
+     */
+    public FederatedGraphExecutor getGraphExecutor() {
+        return graphExecutor;
+    }
+
+    /**
+     * Get the {@link FederatedRoutingIndex} used to skip the sub-graphs of
+     * this FederatedStore that cannot return results for an operation.
+     *
+     * @return the routing index
+     */
+    public FederatedRoutingIndex getRoutingIndex() {
+        return graphStorage.getRoutingIndex();
+    }
+
     /**
      * <p>
      * Within FederatedStore an {@link Operation} is executed against a
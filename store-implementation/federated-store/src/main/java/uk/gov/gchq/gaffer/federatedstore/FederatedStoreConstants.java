@@ -25,6 +25,8 @@ public final class FederatedStoreConstants {
     public static final String DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = String.valueOf(false);
     public static final String DEFAULT_VALUE_IS_PUBLIC = String.valueOf(false);
     public static final String KEY_FEDERATION_ADMIN = "gaffer.federatedstore.operation.admin";
+    public static final String KEY_MERGE_AGGREGATE = "gaffer.federatedstore.operation.mergeAggregate";
+    public static final String DEFAULT_VALUE_KEY_MERGE_AGGREGATE = String.valueOf(false);
 
     private FederatedStoreConstants() {
         // private constructor to prevent users instantiating this class as it
@@ -34,4 +36,8 @@ public final class FederatedStoreConstants {
     public static String getSkipFailedFederatedStoreExecute(final Operation op) {
         return op.getOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE);
     }
+
+    public static String getMergeAggregate(final Operation op) {
+        return op.getOption(KEY_MERGE_AGGREGATE, DEFAULT_VALUE_KEY_MERGE_AGGREGATE);
+    }
 }
@@ -47,6 +47,33 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * This is used to set the number of threads used to execute an operation
+     * on the federated graphs concurrently. With 1 thread the graphs are
+     * executed one after another.
+     * e.g gaffer.federatedstore.executor.threads=10
+     */
+    public static final String EXECUTOR_THREADS = "gaffer.federatedstore.executor.threads";
+    public static final String EXECUTOR_THREADS_DEFAULT = String.valueOf(1);
+
+    /**
+     * This is used to set the time in milliseconds each federated graph has to
+     * execute an operation when the graphs are executed concurrently. A graph
+     * that times out is treated as having failed and is interrupted, but a
+     * graph that ignores the interrupt keeps running until it finishes.
+     * e.g gaffer.federatedstore.executor.timeout=60000
+     */
+    public static final String EXECUTOR_TIMEOUT = "gaffer.federatedstore.executor.timeout";
+    public static final String EXECUTOR_TIMEOUT_DEFAULT = null;
+
+    /**
+     * This is used to set the number of results buffered while the iterable
+     * results of the federated graphs are merged concurrently.
+     * e.g gaffer.federatedstore.merge.buffer.size=1000
+     */
+    public static final String MERGE_BUFFER_SIZE = "gaffer.federatedstore.merge.buffer.size";
+    public static final String MERGE_BUFFER_SIZE_DEFAULT = String.valueOf(1000);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -75,6 +102,31 @@ public class FederatedStoreProperties extends StoreProperties {
         return get(CACHE_SERVICE_CLASS, CACHE_SERVICE_CLASS_DEFAULT);
     }
 
+    public int getExecutorThreads() {
+        return Integer.parseInt(get(EXECUTOR_THREADS, EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setExecutorThreads(final int executorThreads) {
+        set(EXECUTOR_THREADS, String.valueOf(executorThreads));
+    }
+
+    public Long getExecutorTimeout() {
+        final String timeout = get(EXECUTOR_TIMEOUT, EXECUTOR_TIMEOUT_DEFAULT);
+        return null == timeout ? null : Long.parseLong(timeout);
+    }
+
+    public void setExecutorTimeout(final Long executorTimeout) {
+        set(EXECUTOR_TIMEOUT, null == executorTimeout ? null : String.valueOf(executorTimeout));
+    }
+
+    public int getMergeBufferSize() {
+        return Integer.parseInt(get(MERGE_BUFFER_SIZE, MERGE_BUFFER_SIZE_DEFAULT));
+    }
+
+    public void setMergeBufferSize(final int mergeBufferSize) {
+        set(MERGE_BUFFER_SIZE, String.valueOf(mergeBufferSize));
+    }
+
     public String getCustomPropsValue() {
         return this.get(CUSTOM_PROPERTIES_AUTHS, CUSTOM_PROPERTIES_AUTHS_DEFAULT);
     }
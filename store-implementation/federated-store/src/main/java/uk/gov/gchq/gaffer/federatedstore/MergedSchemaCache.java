@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the {@link Schema}s and {@link StoreTrait}s merged from sets of
+ * federated graphs, keyed on the graphIds in the order the graphs are merged.
+ * The {@link FederatedRoutingIndex} of all the graphs is also cached here, as
+ * it is built from the same schemas.
+ * <p>
+ * The graphs in a {@link FederatedGraphStorage} can only change by adding,
+ * removing or moving a graph, so the cache is invalidated whenever that
+ * happens. Each invalidation increments the version of the cache, and a value
+ * merged under an older version is returned but not cached. Callers must get
+ * the version with {@link #getVersion()} before they look up the graphs to
+ * merge, so a value merged from graphs that were replaced before it was cached
+ * is never cached under the newer version.
+ * </p>
+ * <p>
+ * Merged schemas are locked when they are built, so the cached instances and
+ * their group lookups are shared between callers.
+ * </p>
+ */
+public class MergedSchemaCache {
+    private final Map<Key, Object> cache = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public Schema getSchema(final long mergeVersion, final List<String> graphIds, final boolean compact, final Supplier<Schema> merge) {
+        return get(mergeVersion, new Key(compact ? Type.COMPACT_SCHEMA : Type.SCHEMA, graphIds), merge);
+    }
+
+    public Set<StoreTrait> getTraits(final long mergeVersion, final List<String> graphIds, final boolean currentTraits, final Supplier<Set<StoreTrait>> merge) {
+        final Set<StoreTrait> traits = get(mergeVersion, new Key(currentTraits ? Type.CURRENT_TRAITS : Type.TRAITS, graphIds),
+                () -> Collections.unmodifiableSet(new HashSet<>(merge.get())));
+        // Callers are allowed to modify the traits they are given
+        return new HashSet<>(traits);
+    }
+
+    public FederatedRoutingIndex getRoutingIndex(final Supplier<FederatedRoutingIndex> build) {
+        return get(version.get(), new Key(Type.ROUTING_INDEX, Collections.emptyList()), build);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public synchronized void invalidate() {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    private <T> T get(final long mergeVersion, final Key key, final Supplier<T> merge) {
+        final T cached = (T) cache.get(key);
+        if (null != cached) {
+            return cached;
+        }
+
+        final T merged = merge.get();
+        synchronized (this) {
+            if (mergeVersion == version.get() && null != merged) {
+                cache.put(key, merged);
+            }
+        }
+        return merged;
+    }
+
+    private enum Type {
+        SCHEMA, COMPACT_SCHEMA, TRAITS, CURRENT_TRAITS, ROUTING_INDEX
+    }
+
+    private static final class Key {
+        private final Type type;
+        private final List<String> graphIds;
+
+        private Key(final Type type, final List<String> graphIds) {
+            this.type = type;
+            this.graphIds = graphIds;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key key = (Key) obj;
+            return type == key.type && graphIds.equals(key.graphIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, graphIds);
+        }
+    }
+}
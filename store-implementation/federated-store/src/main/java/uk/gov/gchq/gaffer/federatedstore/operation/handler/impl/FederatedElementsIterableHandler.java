@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedGraphExecutor;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.element.ElementKeyComparator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.Collection;
+import java.util.List;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_MERGE_AGGREGATE;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getMergeAggregate;
+
+/**
+ * A handler for Operations that return elements for FederatedStore.
+ * By default the results of each delegate graph are merged in the same way as
+ * the {@link FederatedOperationIterableHandler}.
+ * <p>
+ * If the {@link uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants#KEY_MERGE_AGGREGATE}
+ * option is set to true, each delegate graph sorts its results using an
+ * {@link ElementKeyComparator} and the sorted results are then merged and
+ * aggregated as they are read, using the merged schema of the graphs. This
+ * aggregates elements that are held in more than one graph without holding
+ * all of the results in memory.
+ * </p>
+ * <p>
+ * Graphs that cannot hold any of the requested groups or seeds are skipped
+ * using the {@link uk.gov.gchq.gaffer.federatedstore.FederatedRoutingIndex}.
+ * </p>
+ *
+ * @param <OP> the operation type
+ * @see FederatedOperationIterableHandler
+ * @see AggregatorUtil#queryAggregateSorted(List, Schema, View)
+ */
+public class FederatedElementsIterableHandler<OP extends Output<CloseableIterable<? extends Element>> & OperationView>
+        extends FederatedOperationIterableHandler<OP, CloseableIterable<? extends Element>> {
+
+    @Override
+    public CloseableIterable<? extends Element> doOperation(final OP operation, final Context context, final Store store) throws OperationException {
+        if (!Boolean.valueOf(getMergeAggregate(operation))) {
+            return super.doOperation(operation, context, store);
+        }
+
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Schema schema;
+        try {
+            schema = federatedStore.getSchema(operation, context);
+        } catch (final SchemaException e) {
+            throw new OperationException("Unable to get the merged schema for the federated store to use with option: " + KEY_MERGE_AGGREGATE
+                    + ", add graphId to the operation using option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
+        }
+
+        final Collection<Graph> graphs = getGraphs(operation, context, federatedStore);
+        final FederatedGraphExecutor executor = FederatedStoreUtil.getGraphExecutor(federatedStore);
+        final List<Iterable<? extends Element>> results = executor
+                .execute(operation, graphs, (graph, updatedOp) -> graph.execute(new OperationChain.Builder()
+                        .first(updatedOp)
+                        .then(new Sort.Builder()
+                                .comparators(new ElementKeyComparator())
+                                .deduplicate(false)
+                                .build())
+                        .build(), executor.createGraphContext(context)));
+
+        return AggregatorUtil.queryAggregateSorted(results, schema, getAggregationView(operation.getView(), schema));
+    }
+
+    @Override
+    protected Collection<Graph> getGraphs(final OP operation, final Context context, final FederatedStore store) {
+        return FederatedStoreUtil.getRoutedGraphs(store, super.getGraphs(operation, context, store), operation);
+    }
+
+    private static View getAggregationView(final View view, final Schema schema) {
+        final View.Builder builder = new View.Builder();
+        if (null != view) {
+            builder.merge(view);
+        }
+        for (final String group : schema.getEntityGroups()) {
+            if (null == view || !view.getEntityGroups().contains(group)) {
+                builder.entity(group);
+            }
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            if (null == view || !view.getEdgeGroups().contains(group)) {
+                builder.edge(group);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -18,14 +18,27 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.Collection;
 
 /**
  * A handler for GetAdjacentIds operation for the FederatedStore.
+ * Graphs that cannot hold any of the requested groups or seeds are skipped
+ * using the {@link uk.gov.gchq.gaffer.federatedstore.FederatedRoutingIndex}.
  *
  * @see uk.gov.gchq.gaffer.store.operation.handler.OperationHandler
  * @see uk.gov.gchq.gaffer.federatedstore.FederatedStore
  * @see uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds
  */
 public class FederatedGetAdjacentIdsHandler extends FederatedOperationIterableHandler<GetAdjacentIds, CloseableIterable<? extends EntityId>> {
+
+    @Override
+    protected Collection<Graph> getGraphs(final GetAdjacentIds operation, final Context context, final FederatedStore store) {
+        return FederatedStoreUtil.getRoutedGraphs(store, super.getGraphs(operation, context, store), operation);
+    }
 }
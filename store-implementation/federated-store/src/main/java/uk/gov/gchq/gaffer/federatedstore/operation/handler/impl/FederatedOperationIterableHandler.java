@@ -16,10 +16,11 @@
 
 package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
-import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.federatedstore.util.InterleavedIterable;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -29,18 +30,14 @@ import java.util.List;
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * using a {@link ChainedIterable}, or if the graphs are executed concurrently
+ * merges the results as they arrive using an {@link InterleavedIterable}.
  *
  * @see FederatedOperationOutputHandler
  */
 public class FederatedOperationIterableHandler<OP extends Output<O>, O extends Iterable> extends FederatedOperationOutputHandler<OP, O> {
     @Override
     protected O mergeResults(final List<O> results, final OP operation, final Context context, final Store store) {
-        if (results.isEmpty()) {
-            return (O) new EmptyClosableIterable<>();
-        }
-
-        // Concatenate all the results into 1 iterable
-        return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
+        return (O) FederatedStoreUtil.getGraphExecutor((FederatedStore) store).merge((List) results);
     }
 }
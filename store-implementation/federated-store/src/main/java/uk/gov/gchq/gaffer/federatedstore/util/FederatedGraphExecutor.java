@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Executes an operation on each of the graphs in a FederatedStore.
+ * <p>
+ * If the executor has more than 1 thread the operation is executed on all of
+ * the graphs concurrently, so the latency is that of the slowest graph rather
+ * than the sum of them all, and each graph can be given a timeout. Iterable
+ * results are then merged using an {@link InterleavedIterable}, so results are
+ * returned as soon as any graph provides them. Otherwise the graphs are
+ * executed one after another and iterable results are chained together.
+ * <p>
+ * A graph that times out is treated as failed and its task is cancelled,
+ * which interrupts the thread executing it. Gaffer cannot force a graph to
+ * stop, so a graph that ignores the interrupt keeps its executor thread until
+ * it finishes. Any result it then returns is closed rather than leaked.
+ * </p>
+ *
+ * @see FederatedStoreProperties#getExecutorThreads()
+ * @see FederatedStoreProperties#getExecutorTimeout()
+ */
+public class FederatedGraphExecutor {
+    private final ExecutorService executorService;
+    private final ExecutorService mergeExecutorService;
+    private final Long timeout;
+    private final int mergeBufferSize;
+
+    /**
+     * Creates an executor that executes the graphs one after another.
+     */
+    public FederatedGraphExecutor() {
+        executorService = null;
+        mergeExecutorService = null;
+        timeout = null;
+        mergeBufferSize = 0;
+    }
+
+    public FederatedGraphExecutor(final FederatedStoreProperties properties) {
+        final int threads = properties.getExecutorThreads();
+        if (threads > 1) {
+            executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("federated-executor-%d")
+                    .build());
+            // Each merge thread is blocked while its buffer is full, so they
+            // are kept apart from the threads executing the graphs.
+            mergeExecutorService = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("federated-merge-%d")
+                    .build());
+        } else {
+            executorService = null;
+            mergeExecutorService = null;
+        }
+        timeout = properties.getExecutorTimeout();
+        mergeBufferSize = properties.getMergeBufferSize();
+    }
+
+    public boolean isConcurrent() {
+        return null != executorService;
+    }
+
+    /**
+     * Creates the context to execute an operation on one of the graphs with.
+     * Executing an operation on a graph updates its context, so each graph is
+     * given its own clone. When the graphs are executed concurrently each
+     * clone also has its own copy of the variables, so variables set while
+     * executing on a graph are not copied back to the original context.
+     *
+     * @param context the context of the federated operation
+     * @return the context for a single graph
+     */
+    public Context createGraphContext(final Context context) {
+        final Context graphContext = context.shallowClone();
+        if (isConcurrent() && null != context.getVariables()) {
+            graphContext.setVariables(new HashMap<>(context.getVariables()));
+        }
+        return graphContext;
+    }
+
+    /**
+     * Executes the operation on each of the graphs. The operation is updated
+     * for each graph, and is skipped for any graph that cannot execute it.
+     *
+     * @param operation the operation to execute
+     * @param graphs    the graphs to execute the operation on
+     * @param execution executes an updated operation on a graph
+     * @param <OP>      the operation type
+     * @param <O>       the output type
+     * @return the non null results in the same order as the graphs
+     * @throws OperationException if a graph fails and failed graphs are not
+     *                            being skipped
+     */
+    public <OP extends Operation, O> List<O> execute(final OP operation, final Collection<Graph> graphs, final GraphExecution<OP, O> execution) throws OperationException {
+        final List<O> results = new ArrayList<>(graphs.size());
+        if (!isConcurrent() || graphs.size() < 2) {
+            for (final Graph graph : graphs) {
+                final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+                if (null != updatedOp) {
+                    O result = null;
+                    try {
+                        result = execution.execute(graph, updatedOp);
+                    } catch (final Exception e) {
+                        handleFailure(operation, updatedOp, graph, e);
+                    }
+                    if (null != result) {
+                        results.add(result);
+                    }
+                }
+            }
+            return results;
+        }
+
+        final List<Graph> submittedGraphs = new ArrayList<>(graphs.size());
+        final List<OP> updatedOps = new ArrayList<>(graphs.size());
+        final List<Future<O>> futures = new ArrayList<>(graphs.size());
+        final AtomicBoolean abandoned = new AtomicBoolean(false);
+        for (final Graph graph : graphs) {
+            final OP updatedOp = getUpdatedOperation(operation, graph);
+            if (null != updatedOp) {
+                submittedGraphs.add(graph);
+                updatedOps.add(updatedOp);
+                futures.add(executorService.submit(() -> {
+                    final O result = execution.execute(graph, updatedOp);
+                    if (abandoned.get()) {
+                        // Nothing will read the result, so release any resources it holds
+                        CloseableUtil.close(result);
+                        return null;
+                    }
+                    return result;
+                }));
+            }
+        }
+
+        final long deadline = null != timeout ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                final Future<O> future = futures.get(i);
+                O result = null;
+                try {
+                    if (null != timeout) {
+                        result = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                    } else {
+                        result = future.get();
+                    }
+                } catch (final ExecutionException e) {
+                    handleFailure(operation, updatedOps.get(i), submittedGraphs.get(i), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                } catch (final TimeoutException e) {
+                    abandoned.set(true);
+                    future.cancel(true);
+                    handleFailure(operation, updatedOps.get(i), submittedGraphs.get(i), new TimeoutException("Timed out after " + timeout + "ms"));
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while executing " + operation.getClass().getSimpleName() + " on the federated graphs", e);
+        } finally {
+            abandoned.set(true);
+            for (final Future<O> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Merges the iterable results of the graphs into a single iterable.
+     *
+     * @param results the results from each graph
+     * @param <T>     the type of items in the iterables
+     * @return the merged results
+     */
+    public <T> CloseableIterable<T> merge(final List<? extends Iterable<? extends T>> results) {
+        if (results.isEmpty()) {
+            return new EmptyClosableIterable<>();
+        }
+        if (!isConcurrent() || results.size() < 2) {
+            return new ChainedIterable<>(CollectionUtil.toIterableArray(results));
+        }
+        return new InterleavedIterable<>(results, mergeExecutorService, mergeBufferSize);
+    }
+
+    public void shutdown() {
+        if (null != executorService) {
+            executorService.shutdownNow();
+            mergeExecutorService.shutdownNow();
+        }
+    }
+
+    private static <OP extends Operation> OP getUpdatedOperation(final OP operation, final Graph graph) {
+        final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+        // The graphs are executed concurrently so must not share an operation
+        return operation == updatedOp ? (OP) operation.shallowClone() : updatedOp;
+    }
+
+    private static void handleFailure(final Operation operation, final Operation updatedOp, final Graph graph, final Exception e) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+    }
+
+    /**
+     * Executes an operation on a single graph.
+     *
+     * @param <OP> the operation type
+     * @param <O>  the output type
+     */
+    @FunctionalInterface
+    public interface GraphExecution<OP extends Operation, O> {
+        O execute(final Graph graph, final OP operation) throws OperationException;
+    }
+}
@@ -23,6 +23,8 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedRoutingIndex;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -62,6 +64,36 @@ public final class FederatedStoreUtil {
                 operation.getClass().getSimpleName(), graphId, additionalInfo, e.getMessage());
     }
 
+    /**
+     * Get the {@link FederatedGraphExecutor} of a FederatedStore, defaulting
+     * to executing the graphs one after another if the store does not have one.
+     *
+     * @param store the FederatedStore
+     * @return the graph executor
+     */
+    public static FederatedGraphExecutor getGraphExecutor(final FederatedStore store) {
+        final FederatedGraphExecutor graphExecutor = store.getGraphExecutor();
+        return null != graphExecutor ? graphExecutor : new FederatedGraphExecutor();
+    }
+
+    /**
+     * Filter the graphs down to those that can return results for the
+     * operation, using the {@link FederatedRoutingIndex} of the FederatedStore.
+     * The graphs are returned unchanged if the store does not have an index.
+     *
+     * @param store     the FederatedStore
+     * @param graphs    the graphs the operation would be executed on
+     * @param operation the operation
+     * @return the graphs that can return results for the operation
+     */
+    public static Collection<Graph> getRoutedGraphs(final FederatedStore store, final Collection<Graph> graphs, final Operation operation) {
+        final FederatedRoutingIndex routingIndex = store.getRoutingIndex();
+        if (null == routingIndex || null == graphs || graphs.isEmpty()) {
+            return graphs;
+        }
+        return routingIndex.route(graphs, operation);
+    }
+
     public static List<String> getGraphIds(final Map<String, String> config) {
         if (null == config) {
             return null;
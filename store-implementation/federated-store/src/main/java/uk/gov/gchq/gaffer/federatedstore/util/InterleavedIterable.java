@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code InterleavedIterable} is an iterable composed of other
+ * {@link Iterable}s.
+ * <p>
+ * As a client iterates through this iterable, the child iterables are consumed
+ * concurrently and their items are returned in the order they become
+ * available. The items are passed through a bounded buffer, so a child
+ * iterable is only read ahead of the client by the size of the buffer.
+ * Iterators must be closed if they are not fully consumed.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class InterleavedIterable<T> implements CloseableIterable<T> {
+    private static final long OFFER_INTERVAL_MILLIS = 100;
+
+    private final List<? extends Iterable<? extends T>> itrs;
+    private final ExecutorService executorService;
+    private final int bufferSize;
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> itrs, final ExecutorService executorService, final int bufferSize) {
+        if (null == itrs || itrs.isEmpty()) {
+            throw new IllegalArgumentException("At least 1 iterable is required.");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1.");
+        }
+        this.itrs = itrs;
+        this.executorService = executorService;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void close() {
+        for (final Iterable<? extends T> itr : itrs) {
+            CloseableUtil.close(itr);
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new InterleavedIterator();
+    }
+
+    private final class InterleavedIterator implements CloseableIterator<T> {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final List<Future<?>> producers = new ArrayList<>(itrs.size());
+        private volatile boolean closed;
+        private int remaining = itrs.size();
+        private Object next;
+
+        private InterleavedIterator() {
+            for (final Iterable<? extends T> itr : itrs) {
+                producers.add(executorService.submit(() -> produce(itr)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && remaining > 0 && !closed) {
+                final Object item;
+                try {
+                    item = queue.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted while waiting for results", e);
+                }
+
+                if (Marker.END == item) {
+                    remaining--;
+                } else if (item instanceof Failure) {
+                    close();
+                    throw ((Failure) item).exception;
+                } else {
+                    next = item;
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object item = next;
+            next = null;
+            return Marker.NULL == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (final Future<?> producer : producers) {
+                producer.cancel(true);
+            }
+            queue.clear();
+        }
+
+        private void produce(final Iterable<? extends T> itr) {
+            Iterator<? extends T> iterator = null;
+            try {
+                iterator = itr.iterator();
+                while (iterator.hasNext()) {
+                    final T item = iterator.next();
+                    if (!offer(null == item ? Marker.NULL : item)) {
+                        return;
+                    }
+                }
+                offer(Marker.END);
+            } catch (final RuntimeException e) {
+                offer(new Failure(e));
+            } catch (final Error e) {
+                offer(new Failure(new RuntimeException(e)));
+                throw e;
+            } finally {
+                CloseableUtil.close(iterator);
+            }
+        }
+
+        private boolean offer(final Object item) {
+            try {
+                while (!closed) {
+                    if (queue.offer(item, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private enum Marker {
+        NULL, END
+    }
+
+    private static final class Failure {
+        private final RuntimeException exception;
+
+        private Failure(final RuntimeException exception) {
+            this.exception = exception;
+        }
+    }
+}
@@ -363,6 +363,27 @@ public class FederatedGraphStorageTest {
     }
 
 
+    @Test
+    public void shouldCacheMergedSchema() throws Exception {
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final Schema schema = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        assertSame(schema, graphStorage.getSchema((Map<String, String>) null, testUserContext));
+        assertSame(schema, graphStorage.getSchema((Map<String, String>) null, authUserContext));
+    }
+
+    @Test
+    public void shouldNotUseCachedSchemaAfterRemovingGraph() throws Exception {
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        assertEquals(2, schemaAB.getTypes().size());
+        graphStorage.remove(GRAPH_ID_B, testUser);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        assertEquals(1, schemaA.getTypes().size());
+        assertEquals(e1, schemaA.getElement("e1"));
+    }
+
     @Test
     public void shouldGetSchemaForAddingUser() throws Exception {
         graphStorage.put(a, access);
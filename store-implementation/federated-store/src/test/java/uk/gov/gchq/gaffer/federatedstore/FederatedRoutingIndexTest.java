@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class FederatedRoutingIndexTest {
+    private static final String STRING_GRAPH = "stringGraph";
+    private static final String LONG_GRAPH = "longGraph";
+    private static final String DYNAMIC_GRAPH = "dynamicGraph";
+    private static final String ENTITY_GROUP = "entityGroup";
+    private static final String EDGE_GROUP = "edgeGroup";
+
+    private Graph stringGraph;
+    private Graph longGraph;
+    private Graph dynamicGraph;
+    private List<Graph> graphs;
+    private FederatedRoutingIndex routingIndex;
+
+    @BeforeEach
+    public void setUp() {
+        stringGraph = createGraph(STRING_GRAPH, new Schema.Builder()
+                .entity(ENTITY_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .build())
+                .type("string", new TypeDefinition(String.class))
+                .build(), false);
+        longGraph = createGraph(LONG_GRAPH, new Schema.Builder()
+                .edge(EDGE_GROUP, new SchemaEdgeDefinition.Builder()
+                        .source("long")
+                        .destination("long")
+                        .directed("true")
+                        .build())
+                .type("long", new TypeDefinition(Long.class))
+                .type("true", Boolean.class)
+                .build(), false);
+        dynamicGraph = createGraph(DYNAMIC_GRAPH, new Schema(), true);
+        graphs = Arrays.asList(stringGraph, longGraph, dynamicGraph);
+        routingIndex = new FederatedRoutingIndex(graphs);
+    }
+
+    @Test
+    public void shouldIndexGroupsAndVertexClasses() {
+        assertEquals(Collections.singleton(STRING_GRAPH), routingIndex.getGraphIdsForGroup(ENTITY_GROUP));
+        assertEquals(Collections.singleton(LONG_GRAPH), routingIndex.getGraphIdsForGroup(EDGE_GROUP));
+        assertEquals(Collections.singleton(STRING_GRAPH), routingIndex.getGraphIdsForVertexClass(String.class));
+        assertEquals(Collections.singleton(LONG_GRAPH), routingIndex.getGraphIdsForVertexClass(Long.class));
+        assertEquals(Collections.emptySet(), routingIndex.getGraphIdsForVertexClass(Integer.class));
+    }
+
+    @Test
+    public void shouldRouteToGraphsWithViewGroups() {
+        // Given
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(EDGE_GROUP)
+                        .build())
+                .build();
+
+        // When
+        final List<Graph> routedGraphs = routingIndex.route(graphs, operation);
+
+        // Then
+        assertEquals(Arrays.asList(longGraph, dynamicGraph), routedGraphs);
+    }
+
+    @Test
+    public void shouldRouteToGraphsWithSeedVertexClasses() {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("a"), new EntitySeed("b"))
+                .build();
+
+        // When
+        final List<Graph> routedGraphs = routingIndex.route(graphs, operation);
+
+        // Then
+        assertEquals(Arrays.asList(stringGraph, dynamicGraph), routedGraphs);
+    }
+
+    @Test
+    public void shouldRouteToGraphsWithEdgeSeedVertexClasses() {
+        // Given
+        final GetElements operation = new GetElements.Builder()
+                .input(new EdgeSeed(1L, 2L, true))
+                .build();
+
+        // When
+        final List<Graph> routedGraphs = routingIndex.route(graphs, operation);
+
+        // Then
+        assertEquals(Arrays.asList(longGraph, dynamicGraph), routedGraphs);
+    }
+
+    @Test
+    public void shouldRouteToAllGraphsWithoutViewGroupsOrSeeds() {
+        assertEquals(graphs, routingIndex.route(graphs, new GetElements()));
+    }
+
+    @Test
+    public void shouldRouteToGraphsThatAreNotIndexed() {
+        // Given
+        final Graph newGraph = createGraph("newGraph", new Schema(), false);
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(ENTITY_GROUP)
+                        .build())
+                .build();
+
+        // When
+        final List<Graph> routedGraphs = routingIndex.route(Arrays.asList(stringGraph, longGraph, newGraph), operation);
+
+        // Then
+        assertEquals(Arrays.asList(stringGraph, newGraph), routedGraphs);
+    }
+
+    private Graph createGraph(final String graphId, final Schema schema, final boolean dynamicSchema) {
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(schema);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.hasTrait(StoreTrait.DYNAMIC_SCHEMA)).willReturn(dynamicSchema);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .store(store)
+                .build();
+    }
+}
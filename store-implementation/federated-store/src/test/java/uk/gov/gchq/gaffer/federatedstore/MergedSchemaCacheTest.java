@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MergedSchemaCacheTest {
+    private static final List<String> GRAPH_IDS = Collections.singletonList("graphA");
+
+    @Test
+    public void shouldCacheSchemaMergedAtTheCurrentVersion() {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        final Schema schema = new Schema();
+
+        // When
+        cache.getSchema(cache.getVersion(), GRAPH_IDS, false, () -> schema);
+
+        // Then
+        assertSame(schema, cache.getSchema(cache.getVersion(), GRAPH_IDS, false, Schema::new));
+    }
+
+    @Test
+    public void shouldNotCacheSchemaMergedFromGraphsReadBeforeAnInvalidation() {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        final long versionBeforeGraphsWereRead = cache.getVersion();
+        final Schema staleSchema = new Schema();
+
+        // When
+        cache.invalidate();
+        final Schema merged = cache.getSchema(versionBeforeGraphsWereRead, GRAPH_IDS, false, () -> staleSchema);
+
+        // Then
+        assertSame(staleSchema, merged);
+        assertNotSame(staleSchema, cache.getSchema(cache.getVersion(), GRAPH_IDS, false, Schema::new));
+    }
+}
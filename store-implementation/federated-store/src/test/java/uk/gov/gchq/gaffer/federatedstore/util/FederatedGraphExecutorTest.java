@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
+
+public class FederatedGraphExecutorTest {
+    private FederatedGraphExecutor executor;
+
+    @AfterEach
+    public void after() {
+        if (null != executor) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldExecuteGraphsOneAfterAnotherByDefault() throws OperationException {
+        // Given
+        executor = new FederatedGraphExecutor(new FederatedStoreProperties());
+
+        // When
+        final List<String> results = executor.execute(new GetAllElements(), getGraphs("graph1", "graph2"), (graph, op) -> graph.getGraphId());
+
+        // Then
+        assertFalse(executor.isConcurrent());
+        assertEquals(Arrays.asList("graph1", "graph2"), results);
+    }
+
+    @Test
+    public void shouldExecuteGraphsConcurrently() throws OperationException {
+        // Given
+        executor = createExecutor(null);
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        // When
+        final List<Boolean> results = executor.execute(new GetAllElements(), getGraphs("graph1", "graph2"), (graph, op) -> {
+            latch.countDown();
+            try {
+                return latch.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                throw new OperationException(e);
+            }
+        });
+
+        // Then
+        assertEquals(Arrays.asList(true, true), results);
+    }
+
+    @Test
+    public void shouldFailWhenGraphTimesOut() {
+        // Given
+        executor = createExecutor(100L);
+
+        // When / Then
+        final OperationException exception = assertThrows(OperationException.class,
+                () -> executor.execute(new GetAllElements(), getGraphs("graph1", "graph2"), this::sleepOnGraph2));
+        assertTrue(exception.getMessage().contains("graph2"), exception.getMessage());
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenSkippingFailures() throws OperationException {
+        // Given
+        executor = createExecutor(100L);
+        final GetAllElements operation = new GetAllElements.Builder()
+                .option(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, "true")
+                .build();
+
+        // When
+        final List<String> results = executor.execute(operation, getGraphs("graph1", "graph2"), this::sleepOnGraph2);
+
+        // Then
+        assertEquals(Collections.singletonList("graph1"), results);
+    }
+
+    @Test
+    public void shouldChainResultsByDefault() {
+        // Given
+        executor = new FederatedGraphExecutor(new FederatedStoreProperties());
+
+        // When
+        final CloseableIterable<Integer> results = executor.merge(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)));
+
+        // Then
+        assertTrue(results instanceof ChainedIterable);
+        assertEquals(Arrays.asList(1, 2, 3, 4), Lists.newArrayList(results));
+    }
+
+    @Test
+    public void shouldReturnResultsFromAnyGraphAsSoonAsTheyAreAvailable() {
+        // Given
+        executor = createExecutor(null);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Iterable<String> slowResults = () -> new Iterator<String>() {
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return hasNext;
+            }
+
+            @Override
+            public String next() {
+                hasNext = false;
+                return "slow";
+            }
+        };
+
+        // When
+        final CloseableIterable<String> results = executor.merge(Arrays.asList(slowResults, Arrays.asList("fast", null)));
+        try (final CloseableIterator<String> itr = results.iterator()) {
+            // Then
+            assertTrue(results instanceof InterleavedIterable);
+            assertEquals("fast", itr.next());
+            assertNull(itr.next());
+            latch.countDown();
+            assertEquals("slow", itr.next());
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionFromGraphResults() {
+        // Given
+        executor = createExecutor(null);
+        final Iterable<String> failingResults = () -> {
+            throw new IllegalStateException("Failed to read results");
+        };
+
+        // When
+        final CloseableIterable<String> results = executor.merge(Arrays.asList(Arrays.asList("a"), failingResults));
+
+        // Then
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> Lists.newArrayList(results));
+        assertEquals("Failed to read results", exception.getMessage());
+    }
+
+    private String sleepOnGraph2(final Graph graph, final GetAllElements operation) throws OperationException {
+        if ("graph2".equals(graph.getGraphId())) {
+            try {
+                Thread.sleep(10000);
+            } catch (final InterruptedException e) {
+                throw new OperationException(e);
+            }
+        }
+        return graph.getGraphId();
+    }
+
+    private FederatedGraphExecutor createExecutor(final Long timeout) {
+        final FederatedStoreProperties properties = new FederatedStoreProperties();
+        properties.setExecutorThreads(2);
+        properties.setExecutorTimeout(timeout);
+        properties.setMergeBufferSize(1);
+        return new FederatedGraphExecutor(properties);
+    }
+
+    private List<Graph> getGraphs(final String... graphIds) {
+        final List<Graph> graphs = Lists.newArrayList();
+        for (final String graphId : graphIds) {
+            final Store store = mock(Store.class);
+            given(store.getSchema()).willReturn(new Schema());
+            given(store.getProperties()).willReturn(new StoreProperties());
+            graphs.add(new Graph.Builder()
+                    .config(new GraphConfig.Builder()
+                            .graphId(graphId)
+                            .build())
+                    .store(store)
+                    .build());
+        }
+        return graphs;
+    }
+}
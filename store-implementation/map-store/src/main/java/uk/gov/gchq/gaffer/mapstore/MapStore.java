@@ -89,8 +89,12 @@ public class MapStore extends Store {
         // Add OperationChainOptimisers
         super.addOperationChainOptimisers(asList(new CountAllElementsOperationChainOptimiser()));
 
-        // Initialise maps
+        // Initialise maps, releasing the previous maps if the store is being reinitialised
+        final MapImpl previousMapImpl = mapImpl;
         mapImpl = createMapImpl();
+        if (null != previousMapImpl && previousMapImpl != mapImpl) {
+            previousMapImpl.close();
+        }
     }
 
     public MapImpl getMapImpl() {
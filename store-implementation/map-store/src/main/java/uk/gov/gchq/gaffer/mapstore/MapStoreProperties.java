@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore;
 
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
@@ -31,6 +32,25 @@ public class MapStoreProperties extends StoreProperties {
     public static final String CREATE_INDEX = "gaffer.store.mapstore.createIndex";
     public static final String CREATE_INDEX_DEFAULT = "true";
 
+    /**
+     * Property name for using the compact index. If true (and an index is
+     * being created), vertices are interned into int ids and the index is held
+     * in primitive adjacency arrays rather than in the
+     * {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap}s provided by the
+     * {@link MapFactory}.
+     */
+    public static final String COMPACT_INDEX = "gaffer.store.mapstore.index.compact";
+    public static final String COMPACT_INDEX_DEFAULT = "false";
+
+    /**
+     * Property name for lazy reads. If true, GetAllElements returns shallow
+     * copies of the stored elements, which share their property values with the
+     * store, and only clones the elements when the view or a later Transform or
+     * Aggregate operation in the chain could modify the property values.
+     */
+    public static final String LAZY_READS = "gaffer.store.mapstore.read.lazy";
+    public static final String LAZY_READS_DEFAULT = "false";
+
     public static final String MAP_FACTORY = "gaffer.store.mapstore.map.factory";
     public static final Class<? extends MapFactory> MAP_FACTORY_DEFAULT = SimpleMapFactory.class;
 
@@ -49,6 +69,58 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for enabling concurrent ingest. If true, elements can be
+     * added from several threads at once: aggregation is striped on the
+     * element key and, if an ingest buffer is used, the buffered batches are
+     * added in parallel using {@link #INGEST_THREADS} threads.
+     * Unless a map factory is configured the {@link ConcurrentMapFactory} is used.
+     */
+    public static final String CONCURRENT_INGEST = "gaffer.store.mapstore.map.ingest.concurrent";
+    public static final String CONCURRENT_INGEST_DEFAULT = "false";
+
+    /**
+     * Property name for the number of threads used to add batches of elements
+     * when concurrent ingest is enabled. Defaults to the number of available
+     * processors.
+     */
+    public static final String INGEST_THREADS = "gaffer.store.mapstore.map.ingest.threads";
+
+    /**
+     * Property name for enabling parallel queries. If true, GetElements
+     * splits its seeds into batches of {@link #PARALLEL_QUERY_BATCH_SIZE}
+     * which are looked up and filtered in parallel using
+     * {@link #PARALLEL_QUERY_THREADS} threads.
+     */
+    public static final String PARALLEL_QUERY = "gaffer.store.mapstore.query.parallel";
+    public static final String PARALLEL_QUERY_DEFAULT = "false";
+
+    /**
+     * Property name for the number of threads used for parallel queries.
+     * Defaults to the number of available processors.
+     */
+    public static final String PARALLEL_QUERY_THREADS = "gaffer.store.mapstore.query.parallel.threads";
+
+    /**
+     * Property name for the number of seeds in each batch of a parallel query.
+     */
+    public static final String PARALLEL_QUERY_BATCH_SIZE = "gaffer.store.mapstore.query.parallel.batch.size";
+    public static final int PARALLEL_QUERY_BATCH_SIZE_DEFAULT = 1000;
+
+    /**
+     * Property name for the checkpoint directory. If set, a snapshot of the
+     * maps and a delta log of added elements are written to this directory
+     * and are reloaded when the MapStore is next created.
+     */
+    public static final String CHECKPOINT_DIRECTORY = "gaffer.store.mapstore.checkpoint.directory";
+
+    /**
+     * Property name for the number of elements that can be written to the
+     * checkpoint delta log before a new snapshot is written.
+     */
+    public static final String CHECKPOINT_MAX_LOG_ELEMENTS = "gaffer.store.mapstore.checkpoint.log.max.elements";
+    public static final long CHECKPOINT_MAX_LOG_ELEMENTS_DEFAULT = 1000000L;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -82,7 +154,26 @@ public class MapStoreProperties extends StoreProperties {
         return Boolean.parseBoolean(get(CREATE_INDEX, CREATE_INDEX_DEFAULT));
     }
 
+    public void setCompactIndex(final boolean compactIndex) {
+        set(COMPACT_INDEX, Boolean.toString(compactIndex));
+    }
+
+    public boolean isCompactIndex() {
+        return Boolean.parseBoolean(get(COMPACT_INDEX, COMPACT_INDEX_DEFAULT));
+    }
+
+    public void setLazyReads(final boolean lazyReads) {
+        set(LAZY_READS, Boolean.toString(lazyReads));
+    }
+
+    public boolean isLazyReads() {
+        return Boolean.parseBoolean(get(LAZY_READS, LAZY_READS_DEFAULT));
+    }
+
     public String getMapFactory() {
+        if (isConcurrentIngest()) {
+            return get(MAP_FACTORY, ConcurrentMapFactory.class.getName());
+        }
         return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
     }
 
@@ -115,6 +206,72 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public boolean isConcurrentIngest() {
+        return Boolean.parseBoolean(get(CONCURRENT_INGEST, CONCURRENT_INGEST_DEFAULT));
+    }
+
+    public void setConcurrentIngest(final boolean concurrentIngest) {
+        set(CONCURRENT_INGEST, Boolean.toString(concurrentIngest));
+    }
+
+    public int getIngestThreads() {
+        final String threads = get(INGEST_THREADS, null);
+        if (null == threads) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setIngestThreads(final int ingestThreads) {
+        set(INGEST_THREADS, String.valueOf(ingestThreads));
+    }
+
+    public boolean isParallelQuery() {
+        return Boolean.parseBoolean(get(PARALLEL_QUERY, PARALLEL_QUERY_DEFAULT));
+    }
+
+    public void setParallelQuery(final boolean parallelQuery) {
+        set(PARALLEL_QUERY, Boolean.toString(parallelQuery));
+    }
+
+    public int getParallelQueryThreads() {
+        final String threads = get(PARALLEL_QUERY_THREADS, null);
+        if (null == threads) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setParallelQueryThreads(final int parallelQueryThreads) {
+        set(PARALLEL_QUERY_THREADS, String.valueOf(parallelQueryThreads));
+    }
+
+    public int getParallelQueryBatchSize() {
+        return Integer.parseInt(get(PARALLEL_QUERY_BATCH_SIZE, String.valueOf(PARALLEL_QUERY_BATCH_SIZE_DEFAULT)));
+    }
+
+    public void setParallelQueryBatchSize(final int parallelQueryBatchSize) {
+        set(PARALLEL_QUERY_BATCH_SIZE, String.valueOf(parallelQueryBatchSize));
+    }
+
+    public String getCheckpointDirectory() {
+        return get(CHECKPOINT_DIRECTORY);
+    }
+
+    public void setCheckpointDirectory(final String checkpointDirectory) {
+        set(CHECKPOINT_DIRECTORY, checkpointDirectory);
+    }
+
+    public long getCheckpointMaxLogElements() {
+        return Long.parseLong(get(CHECKPOINT_MAX_LOG_ELEMENTS, String.valueOf(CHECKPOINT_MAX_LOG_ELEMENTS_DEFAULT)));
+    }
+
+    public void setCheckpointMaxLogElements(final long checkpointMaxLogElements) {
+        set(CHECKPOINT_MAX_LOG_ELEMENTS, String.valueOf(checkpointMaxLogElements));
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MapFactory} that creates thread safe maps, allowing elements to be
+ * added to a {@link uk.gov.gchq.gaffer.mapstore.MapStore} from several threads
+ * at once whilst it is being queried.
+ * <p>
+ * By default {@link ConcurrentHashMap}s are used. The map class can be changed
+ * using {@link SimpleMapFactory#MAP_CLASS}, but must implement
+ * {@link ConcurrentMap}.
+ * </p>
+ */
+public class ConcurrentMapFactory extends SimpleMapFactory {
+    public static final String MAP_CLASS_DEFAULT = ConcurrentHashMap.class.getName();
+
+    private final Map<String, MultiMap> multiMaps = new ConcurrentHashMap<>();
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        super.initialise(schema, properties);
+        if (!ConcurrentMap.class.isAssignableFrom(getMapClass())) {
+            throw new IllegalArgumentException("Map Class must be a " + ConcurrentMap.class.getSimpleName() + ": " + getMapClass().getName());
+        }
+    }
+
+    @Override
+    public synchronized <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return super.getMap(mapName, keyClass, valueClass);
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new ConcurrentMapOfSets((ConcurrentMap) getMap(n, keyClass, valueClass)));
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        multiMaps.clear();
+    }
+
+    @Override
+    protected String getDefaultMapClassName() {
+        return MAP_CLASS_DEFAULT;
+    }
+}
@@ -82,6 +82,15 @@ public interface MapFactory {
      */
     void clear();
 
+    /**
+     * Release any resources held by the maps. This is called when the
+     * {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} using the maps is
+     * replaced, after which the maps are no longer used.
+     */
+    default void close() {
+        // no action required.
+    }
+
     /**
      * Clone an element.
      *
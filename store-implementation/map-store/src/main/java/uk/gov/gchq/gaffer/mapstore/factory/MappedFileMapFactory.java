@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.mapstore.utils.MappedFileMap;
+import uk.gov.gchq.gaffer.mapstore.utils.PropertyPresenceSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link MapFactory} that stores the elements of a
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} off the Java heap, in
+ * {@link MappedFileMap}s. Elements and {@link GroupedProperties} are
+ * serialised using the {@link ElementSerialiser} and
+ * {@link GroupedPropertiesSerialiser} for the schema.
+ * <p>
+ * Each map is held in a file in the directory given by {@link #DIRECTORY}. If
+ * the files already exist they are reopened, so a MapStore using the same
+ * directory and schema starts with the elements that were previously added.
+ * {@link MultiMap}s, which are only used for the element index, are held on
+ * the heap and are rebuilt from the reopened maps.
+ * </p>
+ * <p>
+ * A file is only mapped once in a JVM. Factories opening a file that is
+ * already open share the same map, which is closed once every factory using
+ * it has been closed.
+ * </p>
+ */
+public class MappedFileMapFactory implements MapFactory {
+    public static final String DIRECTORY = "gaffer.store.mapstore.map.mapped.directory";
+    public static final String SEGMENT_SIZE = "gaffer.store.mapstore.map.mapped.segment.size";
+    public static final String SEGMENT_SIZE_DEFAULT = String.valueOf(64 * 1024 * 1024);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileMapFactory.class);
+    private static final Map<File, OpenMap> OPEN_MAPS = new HashMap<>();
+
+    private final ElementCloner cloner;
+    private final Map<String, MappedFileMap> maps = new HashMap<>();
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+
+    private Schema schema;
+    private File directory;
+    private int segmentSize;
+
+    public MappedFileMapFactory() {
+        this(new ElementCloner());
+    }
+
+    protected MappedFileMapFactory(final ElementCloner cloner) {
+        this.cloner = cloner;
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        final String directoryName = properties.get(DIRECTORY);
+        if (null == directoryName) {
+            throw new IllegalArgumentException(DIRECTORY + " is required");
+        }
+        directory = new File(directoryName);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create directory: " + directoryName);
+        }
+        segmentSize = Integer.parseInt(properties.get(SEGMENT_SIZE, SEGMENT_SIZE_DEFAULT));
+        this.schema = schema;
+    }
+
+    @Override
+    public synchronized <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        MappedFileMap map = maps.get(mapName);
+        if (null == map) {
+            map = open(new File(directory, getFileName(mapName)), keyClass, valueClass);
+            LOGGER.debug("Opened map {} containing {} entries from {}", mapName, map.size(), map.getFile());
+            maps.put(mapName, map);
+        }
+        return map;
+    }
+
+    @Override
+    public synchronized <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new MapOfSets(new HashMap<>()));
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (final MappedFileMap map : maps.values()) {
+            map.clear();
+        }
+        multiMaps.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+
+    /**
+     * Flush the maps and close any that are no longer used by another factory.
+     */
+    @Override
+    public synchronized void close() {
+        synchronized (OPEN_MAPS) {
+            for (final MappedFileMap map : maps.values()) {
+                final OpenMap openMap = OPEN_MAPS.get(map.getFile());
+                if (--openMap.references > 0) {
+                    map.flush();
+                } else {
+                    OPEN_MAPS.remove(map.getFile());
+                    try {
+                        map.close();
+                    } catch (final IOException e) {
+                        LOGGER.warn("Unable to close map file {}", map.getFile(), e);
+                    }
+                }
+            }
+        }
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    /**
+     * Flush all the maps to their files.
+     */
+    public synchronized void flush() {
+        for (final MappedFileMap map : maps.values()) {
+            map.flush();
+        }
+    }
+
+    private MappedFileMap open(final File file, final Class<?> keyClass, final Class<?> valueClass) {
+        synchronized (OPEN_MAPS) {
+            final File canonicalFile;
+            OpenMap openMap;
+            try {
+                canonicalFile = file.getCanonicalFile();
+                openMap = OPEN_MAPS.get(canonicalFile);
+                if (null == openMap) {
+                    openMap = new OpenMap(new MappedFileMap<>(canonicalFile, getSerialiser(keyClass), getSerialiser(valueClass), segmentSize));
+                    OPEN_MAPS.put(canonicalFile, openMap);
+                }
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Unable to open map file: " + file, e);
+            }
+            openMap.references++;
+            return openMap.map;
+        }
+    }
+
+    private ToBytesSerialiser getSerialiser(final Class<?> clazz) {
+        if (Element.class.isAssignableFrom(clazz)) {
+            return PropertyPresenceSerialiser.forElements(schema);
+        }
+        if (GroupedProperties.class.isAssignableFrom(clazz)) {
+            return PropertyPresenceSerialiser.forGroupedProperties(schema);
+        }
+        if (Long.class.equals(clazz)) {
+            return new CompactRawLongSerialiser();
+        }
+        throw new IllegalArgumentException("No serialiser available for map class: " + clazz.getName());
+    }
+
+    private static String getFileName(final String mapName) {
+        return mapName.replaceAll("[^A-Za-z0-9._-]", "_") + ".map";
+    }
+
+    private static final class OpenMap {
+        private final MappedFileMap map;
+        private int references;
+
+        private OpenMap(final MappedFileMap map) {
+            this.map = map;
+        }
+    }
+}
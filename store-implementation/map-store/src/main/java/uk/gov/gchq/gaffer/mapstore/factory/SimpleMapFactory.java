@@ -50,7 +50,7 @@ public class SimpleMapFactory implements MapFactory {
 
     @Override
     public void initialise(final Schema schema, final MapStoreProperties properties) {
-        final String mapClassName = properties.get(MAP_CLASS, MAP_CLASS_DEFAULT);
+        final String mapClassName = properties.get(MAP_CLASS, getDefaultMapClassName());
         try {
             mapClass = Class.forName(SimpleClassNameIdResolver.getClassName(mapClassName)).asSubclass(Map.class);
         } catch (final ClassNotFoundException | ClassCastException e) {
@@ -88,6 +88,10 @@ public class SimpleMapFactory implements MapFactory {
         return cloner.cloneElement(element, schema);
     }
 
+    protected String getDefaultMapClassName() {
+        return MAP_CLASS_DEFAULT;
+    }
+
     protected Class<? extends Map> getMapClass() {
         return mapClass;
     }
@@ -18,16 +18,10 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
-import uk.gov.gchq.gaffer.data.element.id.EdgeId;
-import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -37,8 +31,12 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link MapStore}.
@@ -53,11 +51,35 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             elements = new ValidatedElements(elements, store.getSchema(), addElements.isSkipInvalidElements());
         }
 
-        addElements(elements, (MapStore) store);
+        final MapStore mapStore = (MapStore) store;
+        final MapCheckpoint checkpoint = mapStore.getMapImpl().getCheckpoint();
+        if (null == checkpoint) {
+            addElements(elements, mapStore);
+        } else {
+            addElementsWithCheckpoint(elements, mapStore, checkpoint);
+        }
         return null;
     }
 
-    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) {
+    private void addElementsWithCheckpoint(final Iterable<? extends Element> elements,
+                                           final MapStore mapStore,
+                                           final MapCheckpoint checkpoint) throws OperationException {
+        final boolean snapshotRequired;
+        try {
+            try {
+                addElements(checkpoint.beginAdd(elements), mapStore);
+            } finally {
+                snapshotRequired = checkpoint.endAdd();
+            }
+            if (snapshotRequired) {
+                checkpoint.writeSnapshot(mapStore.getMapImpl());
+            }
+        } catch (final IOException e) {
+            throw new OperationException("Unable to write the MapStore checkpoint: " + e.getMessage(), e);
+        }
+    }
+
+    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) throws OperationException {
         final MapImpl mapImpl = mapStore.getMapImpl();
         final Schema schema = mapStore.getSchema();
 
@@ -66,6 +88,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         if (bufferSize < 1) {
             // Add all elements directly
             addBatch(mapImpl, schema, elements);
+        } else if (mapImpl.isConcurrentIngest()) {
+            addBatchesInParallel(elements, mapImpl, schema, bufferSize, mapStore.getProperties().getIngestThreads());
         } else {
             LOGGER.info("Adding elements in batches, batch size = " + bufferSize);
             int count = 0;
@@ -88,14 +112,80 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
-    private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
+    private void addBatchesInParallel(final Iterable<? extends Element> elements,
+                                      final MapImpl mapImpl,
+                                      final Schema schema,
+                                      final int bufferSize,
+                                      final int numThreads) throws OperationException {
+        LOGGER.info("Adding elements in parallel batches, batch size = {}, threads = {}", bufferSize, numThreads);
+        final ExecutorService threadPool = mapImpl.getIngestPool();
+
+        // Bound the number of batches held in memory waiting to be added
+        final int maxBatchesInFlight = 2 * numThreads;
+        final Semaphore batchesInFlight = new Semaphore(maxBatchesInFlight);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            List<Element> batch = new ArrayList<>(bufferSize);
+            for (final Element element : elements) {
+                if (null != failure.get()) {
+                    break;
+                }
+                if (null != element) {
+                    batch.add(mapImpl.cloneElement(element, schema));
+                    if (batch.size() >= bufferSize) {
+                        submitBatch(batch, mapImpl, schema, threadPool, batchesInFlight, failure);
+                        batch = new ArrayList<>(bufferSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty() && null == failure.get()) {
+                submitBatch(batch, mapImpl, schema, threadPool, batchesInFlight, failure);
+            }
+
+            // Wait for all the submitted batches to be added
+            batchesInFlight.acquire(maxBatchesInFlight);
+        } catch (final InterruptedException e) {
+            // The pool is shared so is not shut down, instead stop the batches not yet started
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst adding elements", e);
+        }
+
+        if (null != failure.get()) {
+            throw new OperationException("Failed to add elements: " + failure.get().getMessage(), failure.get());
+        }
+    }
+
+    private void submitBatch(final List<Element> batch,
+                             final MapImpl mapImpl,
+                             final Schema schema,
+                             final ExecutorService threadPool,
+                             final Semaphore batchesInFlight,
+                             final AtomicReference<Throwable> failure) throws InterruptedException {
+        batchesInFlight.acquire();
+        threadPool.execute(() -> {
+            try {
+                // The batch is not pre-aggregated with AggregatorUtil as the schema
+                // aggregators are not thread safe - the MapImpl aggregates instead.
+                if (null == failure.get()) {
+                    addBatch(mapImpl, schema, batch);
+                }
+            } catch (final RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                batchesInFlight.release();
+            }
+        });
+    }
+
+    void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
         for (final Element element : elements) {
             if (null != element) {
                 final Element elementForIndexing = addElement(element, schema, mapImpl);
 
                 // Update entityIdToElements and edgeIdToElements if index required
                 if (mapImpl.isMaintainIndex()) {
-                    updateElementIndex(elementForIndexing, mapImpl);
+                    mapImpl.updateIndex(elementForIndexing);
                 }
             }
         }
@@ -142,24 +232,4 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         mapImpl.addNonAggElement(elementClone);
         return elementClone;
     }
-
-    private void updateElementIndex(final Element element, final MapImpl mapImpl) {
-        if (element instanceof Entity) {
-            final Entity entity = (Entity) element;
-            final EntityId entityId = new EntitySeed(entity.getVertex());
-            mapImpl.addIndex(entityId, element);
-        } else {
-            final Edge edge = (Edge) element;
-            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
-            final EntityId sourceEntityId = new EntitySeed(edge.getSource());
-            mapImpl.addIndex(sourceEntityId, edge);
-
-            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
-            final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
-            mapImpl.addIndex(destinationEntityId, destMatchedEdge);
-
-            final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
-            mapImpl.addIndex(edgeId, edge);
-        }
-    }
 }
@@ -45,14 +45,15 @@ public class CountAllElementsDefaultViewHandler implements OutputOperationHandle
         final Schema schema = mapStore.getSchema();
         final boolean supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
 
-        Stream<Element> elementStream = Stream.concat(
-                mapStore.getMapImpl().getAllAggElements(schema.getGroups()),
-                mapStore.getMapImpl().getAllNonAggElements(schema.getGroups()));
-
-        if (supportsVisibility) {
-            elementStream = GetElementsUtil.applyVisibilityFilter(elementStream, schema, user);
+        if (!supportsVisibility || null == schema.getVisibilityProperty()) {
+            return mapStore.getMapImpl().countAllElements(schema.getGroups());
         }
 
+        // The elements are only counted, so they do not need to be cloned.
+        // Shallow copies are still used as the visibility filter can add an empty visibility.
+        final Stream<Element> elementStream = GetElementsUtil.applyVisibilityFilter(
+                mapStore.getMapImpl().getAllElements(schema.getGroups(), false), schema, user);
+
         return elementStream.count();
     }
 }
@@ -20,10 +20,30 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSingletonList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToStream;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
@@ -31,12 +51,45 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * An {@link OutputOperationHandler} for the {@link GetAllElements} operation on the {@link MapStore}.
+ * <p>
+ * The elements are created lazily as the results are iterated. If lazy reads are
+ * enabled using {@link uk.gov.gchq.gaffer.mapstore.MapStoreProperties#LAZY_READS}
+ * the elements are only cloned if their property values could be modified.
+ * </p>
  */
 public class GetAllElementsHandler implements OutputOperationHandler<GetAllElements, CloseableIterable<? extends Element>> {
+    /**
+     * The operations that never modify the property values of their input
+     * elements, so can follow a GetAllElements without the elements being cloned.
+     */
+    private static final Set<Class<? extends Operation>> READ_ONLY_OPERATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            GetAllElements.class,
+            GetElements.class,
+            GetAdjacentIds.class,
+            Count.class,
+            CountGroups.class,
+            DiscardOutput.class,
+            Limit.class,
+            Filter.class,
+            Sort.class,
+            Max.class,
+            Min.class,
+            ToArray.class,
+            ToEntitySeeds.class,
+            ToList.class,
+            ToSet.class,
+            ToSingletonList.class,
+            ToStream.class,
+            ToVertices.class
+    )));
 
     @Override
     public CloseableIterable<? extends Element> doOperation(final GetAllElements operation,
@@ -46,7 +99,50 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
     }
 
     private CloseableIterable<Element> doOperation(final GetAllElements operation, final Context context, final MapStore mapStore) {
-        return new AllElementsIterable(mapStore.getMapImpl(), operation, mapStore, context.getUser());
+        final boolean cloneElements = !mapStore.getProperties().isLazyReads() || isCloneRequired(operation, context);
+        return new AllElementsIterable(mapStore.getMapImpl(), operation, mapStore, context.getUser(), cloneElements);
+    }
+
+    /**
+     * The elements only need to be cloned if their property values could be
+     * modified in place, by transforming or aggregating them in the view or
+     * in a later operation. The clone is only skipped if every operation in
+     * the original chain is known to be read only, so the elements are cloned
+     * if the chain is not known or contains any other operation, including
+     * operations such as If and Join that contain other operations.
+     *
+     * @param operation the GetAllElements operation
+     * @param context   the context containing the original operation chain
+     * @return true if the elements should be cloned
+     */
+    static boolean isCloneRequired(final GetAllElements operation, final Context context) {
+        final View view = operation.getView();
+        if (null != view) {
+            if (GetElementsUtil.isQueryAggregationRequired(view)) {
+                return true;
+            }
+            for (final String group : view.getGroups()) {
+                if (null != view.getElement(group).getTransformer()) {
+                    return true;
+                }
+            }
+        }
+
+        final OperationChain<?> chain = context.getOriginalOpChain();
+        return null == chain || !isReadOnly(chain);
+    }
+
+    private static boolean isReadOnly(final OperationChain<?> chain) {
+        for (final Operation op : chain.getOperations()) {
+            if (op instanceof OperationChain) {
+                if (!isReadOnly((OperationChain<?>) op)) {
+                    return false;
+                }
+            } else if (!READ_ONLY_OPERATIONS.contains(op.getClass())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static class AllElementsIterable extends WrappedCloseableIterable<Element> {
@@ -55,30 +151,52 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final boolean cloneElements;
 
-        AllElementsIterable(final MapImpl mapImpl, final GetAllElements getAllElements, final MapStore mapStore, final User user) {
+        AllElementsIterable(final MapImpl mapImpl, final GetAllElements getAllElements, final MapStore mapStore, final User user, final boolean cloneElements) {
             this.mapImpl = mapImpl;
             this.getAllElements = getAllElements;
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.cloneElements = cloneElements;
         }
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
+            Stream<Element> elements = getElements(getAllElements.getView());
             if (this.supportsVisibility) {
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            if (cloneElements) {
+                elements = elements.map(element -> mapImpl.cloneElement(element, schema));
+            }
+            elements = GetElementsUtil.applyViewToDistinctElements(elements, schema, getAllElements.getView());
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getAllElements.getView(), element);
                 return element;
             });
             return new WrappedCloseableIterator<>(elements.iterator());
         }
+
+        /**
+         * Get the elements in the view groups, using a property index for a
+         * group if its pre aggregation filter tests an indexed property.
+         *
+         * @param view the view
+         * @return a stream of the elements
+         */
+        private Stream<Element> getElements(final View view) {
+            if (!mapImpl.hasPropertyIndexes()) {
+                return mapImpl.getAllElements(view.getGroups(), false);
+            }
+            return view.getGroups().stream()
+                    .flatMap(group -> {
+                        final Stream<Element> indexedElements = mapImpl.getIndexedElements(group, view.getElement(group).getPreAggregationFilter());
+                        return null != indexedElements ? indexedElements : mapImpl.getAllElements(Collections.singleton(group), false);
+                    });
+        }
     }
 }
 
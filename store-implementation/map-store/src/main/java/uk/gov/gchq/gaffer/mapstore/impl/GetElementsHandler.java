@@ -23,8 +23,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.utils.ParallelBatchIterator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -34,10 +36,18 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * An {@link OutputOperationHandler} for the {@link GetElements} operation on the {@link MapStore}.
+ * <p>
+ * If parallel queries are enabled using
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStoreProperties#PARALLEL_QUERY} the seeds
+ * are processed in batches on a {@link java.util.concurrent.ForkJoinPool}.
+ * </p>
  */
 public class GetElementsHandler
         implements OutputOperationHandler<GetElements, CloseableIterable<? extends Element>> {
@@ -81,6 +91,10 @@ public class GetElementsHandler
 
         @Override
         public CloseableIterator<Element> iterator() {
+            if (mapImpl.isParallelQuery()) {
+                return parallelIterator();
+            }
+
             Stream<Element> elements = Streams.toStream(getElements.getInput())
                     .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream())
                     .distinct();
@@ -96,6 +110,55 @@ public class GetElementsHandler
             });
             return new WrappedCloseableIterator<>(elements.iterator());
         }
+
+        /**
+         * Splits the seeds into batches which are processed in parallel. The
+         * relevant elements are deduplicated across all batches, so each batch
+         * holds distinct elements and the view can be applied within the batch
+         * unless query time aggregation is required.
+         *
+         * @return an iterator of the results
+         */
+        private CloseableIterator<Element> parallelIterator() {
+            final View view = getElements.getView();
+            final boolean aggregate = GetElementsUtil.isQueryAggregationRequired(view);
+            final Set<Element> seen = ConcurrentHashMap.newKeySet();
+            // Element filters and transformers are not thread safe, so each thread uses its own view
+            final ThreadLocal<View> threadView = ThreadLocal.withInitial(view::clone);
+
+            final CloseableIterator<Element> batchResults = new ParallelBatchIterator<ElementId, Element>(
+                    getElements.getInput().iterator(),
+                    mapImpl.getQueryPool(),
+                    mapImpl.getQueryBatchSize(),
+                    batch -> {
+                        Stream<Element> elements = batch.stream()
+                                .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, view, getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream())
+                                .filter(seen::add);
+                        elements = elements.flatMap(e -> Streams.toStream(mapImpl.getElements(e)));
+                        if (supportsVisibility) {
+                            elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
+                        }
+                        elements = elements.map(element -> mapImpl.cloneElement(element, schema));
+                        if (!aggregate) {
+                            elements = applyView(elements, threadView.get(), false);
+                        }
+                        return elements.collect(Collectors.toList());
+                    });
+
+            if (!aggregate) {
+                return batchResults;
+            }
+            return new WrappedCloseableIterator<>(applyView(Streams.toStream(batchResults), view, true).iterator());
+        }
+
+        private Stream<Element> applyView(final Stream<Element> elements, final View view, final boolean aggregate) {
+            final Stream<Element> viewElements = aggregate
+                    ? GetElementsUtil.applyView(elements, schema, view)
+                    : GetElementsUtil.applyViewToDistinctElements(elements, schema, view);
+            return viewElements.map(element -> {
+                ViewUtil.removeProperties(view, element);
+                return element;
+            });
+        }
     }
 }
-
@@ -36,7 +36,6 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
@@ -75,7 +74,7 @@ public final class GetElementsUtil {
         Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
 
         if (elementId instanceof EntityId) {
-            final Collection<Element> elements = mapImpl.lookup(new EntitySeed(((EntityId) elementId).getVertex()));
+            final Collection<Element> elements = mapImpl.lookupVertex(((EntityId) elementId).getVertex(), groups);
             if (elements.isEmpty()) {
                 return Collections.emptySet();
             }
@@ -107,11 +106,11 @@ public final class GetElementsUtil {
                 relevantElements.addAll(mapImpl.lookup(edgeId));
             }
 
-            mapImpl.lookup(new EntitySeed(edgeId.getSource()))
+            mapImpl.lookupVertex(edgeId.getSource(), null)
                     .stream()
                     .filter(e -> e instanceof Entity)
                     .forEach(relevantElements::add);
-            mapImpl.lookup(new EntitySeed(edgeId.getDestination()))
+            mapImpl.lookupVertex(edgeId.getDestination(), null)
                     .stream()
                     .filter(e -> e instanceof Entity)
                     .forEach(relevantElements::add);
@@ -182,6 +181,45 @@ public final class GetElementsUtil {
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, true);
+    }
+
+    /**
+     * Applies the view to a stream of distinct elements, for example all the
+     * elements in the store. As the elements are already aggregated using the
+     * schema group by properties, query time aggregation is only required if the
+     * view overrides the group by properties. Otherwise the stream is not
+     * collected into memory.
+     *
+     * @param elementStream the distinct elements
+     * @param schema        the schema
+     * @param view          the view to apply
+     * @return the filtered and transformed elements
+     */
+    public static Stream<Element> applyViewToDistinctElements(final Stream<Element> elementStream,
+                                                              final Schema schema,
+                                                              final View view) {
+        return applyView(elementStream, schema, view, false, isQueryAggregationRequired(view));
+    }
+
+    /**
+     * @param view the view
+     * @return true if the view overrides the group by properties of any group
+     */
+    public static boolean isQueryAggregationRequired(final View view) {
+        for (final String group : view.getGroups()) {
+            if (null != view.getElement(group).getGroupBy()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Stream<Element> applyView(final Stream<Element> elementStream,
+                                             final Schema schema,
+                                             final View view,
+                                             final boolean includeMatchedVertex,
+                                             final boolean aggregate) {
         final Set<String> viewGroups = view.getGroups();
         Stream<Element> stream = elementStream;
         // Check group is valid
@@ -197,8 +235,10 @@ public final class GetElementsUtil {
         });
 
         // Apply aggregation
-        final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
-        stream = StreamSupport.stream(iterable.spliterator(), false);
+        if (aggregate) {
+            final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
+            stream = StreamSupport.stream(iterable.spliterator(), false);
+        }
 
         // Apply post-aggregation filter
         stream = stream.filter(e -> {
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.utils.MappedFileReader;
+import uk.gov.gchq.gaffer.mapstore.utils.PropertyPresenceSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persists the contents of a {@link MapImpl} to a directory, as a snapshot of
+ * the aggregated and non aggregated element maps plus an append-only delta log
+ * of the elements added since the snapshot was written.
+ * <p>
+ * Elements and properties are written using the schema serialisers. On startup
+ * the snapshot is loaded and the delta log replayed, both using memory-mapped
+ * reads, and the element indexes are rebuilt as the elements are added. Once the
+ * delta log holds more than a configured number of elements a new snapshot is
+ * written and the log is truncated, which bounds the recovery time.
+ * </p>
+ * <p>
+ * Each snapshot records a generation number, and the delta log records the
+ * generation of the snapshot it follows. A log from an older generation than
+ * the snapshot is already included in it and is not replayed, so a failure
+ * between writing a snapshot and truncating the log does not apply the logged
+ * elements twice.
+ * </p>
+ */
+public class MapCheckpoint {
+    public static final String SNAPSHOT_FILE = "snapshot";
+    public static final String LOG_FILE = "delta.log";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapCheckpoint.class);
+    private static final long SNAPSHOT_MAGIC = 0x4761666665725353L;
+    private static final long LOG_MAGIC = 0x476166666572444CL;
+    private static final byte END_RECORD = 0;
+    private static final byte AGG_RECORD = 1;
+    private static final byte NON_AGG_RECORD = 2;
+    private static final int REPLAY_BATCH_SIZE = 10000;
+
+    private final File directory;
+    private final Schema schema;
+    private final long maxLogElements;
+    private final PropertyPresenceSerialiser<Element> elementSerialiser;
+    private final PropertyPresenceSerialiser<GroupedProperties> propertiesSerialiser;
+
+    /**
+     * Adding elements holds the read lock and writing a snapshot holds the
+     * write lock, so a snapshot is never taken part way through an add.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileOutputStream logFile;
+    private DataOutputStream log;
+    private long logElements;
+    private long generation;
+
+    public MapCheckpoint(final File directory, final Schema schema, final long maxLogElements) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create checkpoint directory: " + directory);
+        }
+        this.directory = directory;
+        this.schema = schema;
+        this.maxLogElements = maxLogElements;
+        this.elementSerialiser = PropertyPresenceSerialiser.forElements(schema);
+        this.propertiesSerialiser = PropertyPresenceSerialiser.forGroupedProperties(schema);
+    }
+
+    /**
+     * Load the snapshot and replay the delta log into an empty {@link MapImpl}.
+     * If the log contained any elements a new snapshot is written.
+     *
+     * @param mapImpl the map to recover into
+     * @throws IOException if the checkpoint files cannot be read or written
+     */
+    void recover(final MapImpl mapImpl) throws IOException {
+        final File snapshot = new File(directory, SNAPSHOT_FILE);
+        generation = 0;
+        if (snapshot.exists()) {
+            generation = loadSnapshot(snapshot, mapImpl);
+        }
+
+        final File logFileToReplay = new File(directory, LOG_FILE);
+        long replayed = 0;
+        if (logFileToReplay.exists()) {
+            replayed = replayLog(logFileToReplay, mapImpl);
+        }
+
+        if (replayed > 0) {
+            writeSnapshot(mapImpl);
+        } else {
+            openLog();
+        }
+    }
+
+    /**
+     * Wrap the elements being added so each element is written to the delta
+     * log as it is read. {@link #endAdd()} must be called once the elements
+     * have been added.
+     *
+     * @param elements the elements being added
+     * @return the elements, logged as they are iterated
+     */
+    Iterable<? extends Element> beginAdd(final Iterable<? extends Element> elements) {
+        lock.readLock().lock();
+        return () -> new Iterator<Element>() {
+            private final Iterator<? extends Element> iterator = elements.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Element next() {
+                final Element element = iterator.next();
+                if (null != element) {
+                    append(element);
+                }
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Flush the delta log to disk after adding elements.
+     *
+     * @return true if a new snapshot should be written
+     * @throws IOException if the log cannot be flushed
+     */
+    boolean endAdd() throws IOException {
+        try {
+            synchronized (this) {
+                log.flush();
+                logFile.getChannel().force(false);
+                return logElements >= maxLogElements;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write a snapshot of the map and truncate the delta log.
+     *
+     * @param mapImpl the map to write
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeSnapshot(final MapImpl mapImpl) throws IOException {
+        lock.writeLock().lock();
+        try {
+            final long count = writeSnapshotFile(mapImpl);
+            LOGGER.info("Wrote MapStore snapshot containing {} entries to {}", count, directory);
+            closeLog();
+            openLog();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the snapshot with an empty one and truncate the delta log.
+     *
+     * @throws IOException if the snapshot or log cannot be written
+     */
+    void clear() throws IOException {
+        lock.writeLock().lock();
+        try {
+            writeSnapshotFile(null);
+            closeLog();
+            openLog();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write the map to the snapshot file with the next generation number,
+     * replacing the previous snapshot in a single atomic move.
+     *
+     * @param mapImpl the map to write, or null to write an empty snapshot
+     * @return the number of entries written
+     * @throws IOException if the snapshot cannot be written
+     */
+    private long writeSnapshotFile(final MapImpl mapImpl) throws IOException {
+        final long nextGeneration = generation + 1;
+        final File tmpSnapshot = new File(directory, SNAPSHOT_FILE + ".tmp");
+        long count = 0;
+        try (final FileOutputStream file = new FileOutputStream(tmpSnapshot);
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeLong(SNAPSHOT_MAGIC);
+            out.writeLong(nextGeneration);
+            if (null != mapImpl) {
+                for (final String group : schema.getGroups()) {
+                    final Map<Element, GroupedProperties> aggMap = mapImpl.getAggElementsMap(group);
+                    if (null != aggMap) {
+                        for (final Map.Entry<Element, GroupedProperties> entry : aggMap.entrySet()) {
+                            out.writeByte(AGG_RECORD);
+                            writeBytes(out, elementSerialiser.serialise(entry.getKey()));
+                            writeBytes(out, propertiesSerialiser.serialise(entry.getValue()));
+                            count++;
+                        }
+                    }
+                    final Map<Element, Long> nonAggMap = mapImpl.getNonAggElementsMap(group);
+                    if (null != nonAggMap) {
+                        for (final Map.Entry<Element, Long> entry : nonAggMap.entrySet()) {
+                            out.writeByte(NON_AGG_RECORD);
+                            writeBytes(out, elementSerialiser.serialise(entry.getKey()));
+                            out.writeLong(entry.getValue());
+                            count++;
+                        }
+                    }
+                }
+            }
+            out.writeByte(END_RECORD);
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(tmpSnapshot.toPath(), new File(directory, SNAPSHOT_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        generation = nextGeneration;
+        return count;
+    }
+
+    private synchronized void append(final Element element) {
+        try {
+            writeBytes(log, elementSerialiser.serialise(element));
+            logElements++;
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to write element to the checkpoint log", e);
+        }
+    }
+
+    private long loadSnapshot(final File snapshot, final MapImpl mapImpl) throws IOException {
+        final long snapshotGeneration;
+        long count = 0;
+        try (final MappedFileReader reader = new MappedFileReader(snapshot)) {
+            if (SNAPSHOT_MAGIC != reader.readLong()) {
+                throw new IOException("Invalid MapStore snapshot: " + snapshot);
+            }
+            snapshotGeneration = reader.readLong();
+            for (byte type = reader.readByte(); END_RECORD != type; type = reader.readByte()) {
+                final Element element = elementSerialiser.deserialise(reader.readBytes(reader.readInt()));
+                if (AGG_RECORD == type) {
+                    mapImpl.addAggElement(element, propertiesSerialiser.deserialise(reader.readBytes(reader.readInt())));
+                } else if (NON_AGG_RECORD == type) {
+                    mapImpl.addNonAggElement(element, reader.readLong());
+                } else {
+                    throw new IOException("Invalid record type " + type + " in MapStore snapshot: " + snapshot);
+                }
+                if (mapImpl.isMaintainIndex()) {
+                    mapImpl.updateIndex(element);
+                }
+                count++;
+            }
+        }
+        LOGGER.info("Loaded MapStore snapshot containing {} entries from {}", count, directory);
+        return snapshotGeneration;
+    }
+
+    private long replayLog(final File logFileToReplay, final MapImpl mapImpl) throws IOException {
+        // A log without a complete header holds no elements
+        if (logFileToReplay.length() < 2 * Long.BYTES) {
+            return 0;
+        }
+
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        long count = 0;
+        try (final MappedFileReader reader = new MappedFileReader(logFileToReplay)) {
+            if (LOG_MAGIC != reader.readLong()) {
+                throw new IOException("Invalid MapStore delta log: " + logFileToReplay);
+            }
+            if (reader.readLong() < generation) {
+                LOGGER.info("Ignoring MapStore delta log {} as it is already included in the snapshot", logFileToReplay);
+                return 0;
+            }
+            while (reader.remaining() >= 4) {
+                final int length = reader.readInt();
+                if (length < 0 || length > reader.remaining()) {
+                    LOGGER.warn("Ignoring incomplete record at the end of the MapStore delta log {}", logFileToReplay);
+                    break;
+                }
+                batch.add(elementSerialiser.deserialise(reader.readBytes(length)));
+                if (batch.size() >= REPLAY_BATCH_SIZE) {
+                    handler.addBatch(mapImpl, schema, batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (final SerialisationException e) {
+            LOGGER.warn("Ignoring unreadable record at the end of the MapStore delta log {}", logFileToReplay, e);
+        }
+        handler.addBatch(mapImpl, schema, batch);
+        count += batch.size();
+        LOGGER.info("Replayed {} elements from MapStore delta log {}", count, logFileToReplay);
+        return count;
+    }
+
+    private synchronized void openLog() throws IOException {
+        logFile = new FileOutputStream(new File(directory, LOG_FILE));
+        log = new DataOutputStream(new BufferedOutputStream(logFile));
+        log.writeLong(LOG_MAGIC);
+        log.writeLong(generation);
+        log.flush();
+        logFile.getChannel().force(false);
+        logElements = 0;
+    }
+
+    private synchronized void closeLog() throws IOException {
+        if (null != log) {
+            log.close();
+            log = null;
+            logFile = null;
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -17,18 +17,31 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.mapstore.index.CompactElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.PropertyIndex;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +49,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
 /**
@@ -59,6 +77,7 @@ public class MapImpl {
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    private static final int INGEST_LOCK_STRIPES = 256;
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -82,6 +101,17 @@ public class MapImpl {
      */
     private final MultiMap<EdgeId, Element> edgeIdToElements;
 
+    /**
+     * compactIndex replaces entityIdToElements and edgeIdToElements if a compact index is required
+     */
+    private final CompactElementIndex compactIndex;
+
+    /**
+     * propertyIndexes maps from an Element group to the secondary property indexes declared
+     * in the schema for that group
+     */
+    private final Map<String, List<PropertyIndex>> propertyIndexes;
+
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
@@ -91,51 +121,285 @@ public class MapImpl {
     private final boolean maintainIndex;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
 
+    /**
+     * ingestStripes is used to aggregate elements when concurrent ingest is enabled,
+     * otherwise it is null
+     */
+    private final IngestStripe[] ingestStripes;
+
+    /**
+     * ingestPool adds batches of elements in parallel when concurrent ingest is
+     * enabled, otherwise it is null. It is shared by all AddElements operations
+     * and shut down when the MapImpl is closed.
+     */
+    private final ExecutorService ingestPool;
+
+    /**
+     * compactIndexLock guards the compactIndex when concurrent ingest is enabled,
+     * otherwise it is null
+     */
+    private final ReadWriteLock compactIndexLock;
+
+    /**
+     * queryPool is used to run batches of seeds in parallel when parallel queries
+     * are enabled, otherwise it is null. It is shut down when the MapImpl is closed.
+     */
+    private final ForkJoinPool queryPool;
+    private final int queryBatchSize;
+
+    /**
+     * checkpoint persists the maps if a checkpoint directory is configured,
+     * otherwise it is null
+     */
+    private final MapCheckpoint checkpoint;
+
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
 
+        if (mapStoreProperties.isConcurrentIngest()) {
+            ingestStripes = new IngestStripe[INGEST_LOCK_STRIPES];
+            for (int i = 0; i < INGEST_LOCK_STRIPES; i++) {
+                ingestStripes[i] = new IngestStripe(schema);
+            }
+            ingestPool = Executors.newFixedThreadPool(mapStoreProperties.getIngestThreads(), r -> {
+                final Thread thread = new Thread(r, "map-store-ingest");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            ingestStripes = null;
+            ingestPool = null;
+        }
+
+        if (mapStoreProperties.isParallelQuery()) {
+            queryPool = new ForkJoinPool(mapStoreProperties.getParallelQueryThreads());
+        } else {
+            queryPool = null;
+        }
+        queryBatchSize = mapStoreProperties.getParallelQueryBatchSize();
+
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
         }
 
-        if (maintainIndex) {
+        if (maintainIndex && mapStoreProperties.isCompactIndex()) {
+            entityIdToElements = null;
+            edgeIdToElements = null;
+            compactIndex = new CompactElementIndex();
+            compactIndexLock = mapStoreProperties.isConcurrentIngest() ? new ReentrantReadWriteLock() : null;
+        } else if (maintainIndex) {
             entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
             edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            compactIndex = null;
+            compactIndexLock = null;
         } else {
             entityIdToElements = null;
             edgeIdToElements = null;
+            compactIndex = null;
+            compactIndexLock = null;
         }
 
         this.aggregatedGroups = schema.getAggregatedGroups();
         schema.getEntityGroups().forEach(this::addToGroupByMap);
         schema.getEdgeGroups().forEach(this::addToGroupByMap);
+
+        propertyIndexes = PropertyIndex.createIndexes(schema);
+
+        if (maintainIndex) {
+            rebuildIndex();
+        }
+        rebuildPropertyIndexes();
+
+        final String checkpointDirectory = mapStoreProperties.getCheckpointDirectory();
+        if (null == checkpointDirectory) {
+            checkpoint = null;
+        } else {
+            checkpoint = new MapCheckpoint(new File(checkpointDirectory), schema, mapStoreProperties.getCheckpointMaxLogElements());
+            try {
+                checkpoint.recover(this);
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Unable to recover the MapStore checkpoint from: " + checkpointDirectory, e);
+            }
+        }
     }
 
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
-        if (maintainIndex) {
+        for (final List<PropertyIndex> indexes : propertyIndexes.values()) {
+            indexes.forEach(PropertyIndex::clear);
+        }
+        if (null != compactIndex) {
+            compactIndex.clear();
+        } else if (maintainIndex) {
             entityIdToElements.clear();
             edgeIdToElements.clear();
         }
+        if (null != checkpoint) {
+            try {
+                checkpoint.clear();
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to clear the MapStore checkpoint", e);
+            }
+        }
+    }
+
+    /**
+     * Release the resources held by the maps. The MapImpl must not be used
+     * once it has been closed.
+     */
+    public void close() {
+        if (null != ingestPool) {
+            ingestPool.shutdown();
+        }
+        if (null != queryPool) {
+            queryPool.shutdown();
+        }
+        mapFactory.close();
     }
 
     void addNonAggElement(final Element element) {
-        nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
+        addNonAggElement(element, 1L);
+    }
+
+    void addNonAggElement(final Element element, final long count) {
+        nonAggElements.get(element.getGroup()).merge(element, count, (a, b) -> a + b);
+        final List<PropertyIndex> indexes = propertyIndexes.get(element.getGroup());
+        if (null != indexes) {
+            for (final PropertyIndex index : indexes) {
+                index.update(element, null, element.getProperty(index.getProperty()));
+            }
+        }
     }
 
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
-        if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
-            aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+        final Map<Element, GroupedProperties> map = aggElements.get(elementWithGroupByProperties.getGroup());
+        if (null != map) {
+            final List<PropertyIndex> indexes = propertyIndexes.get(elementWithGroupByProperties.getGroup());
+            if (null == ingestStripes) {
+                if (null == indexes) {
+                    map.merge(elementWithGroupByProperties, properties, propertyAggregator);
+                } else {
+                    mergeIndexed(indexes, map, elementWithGroupByProperties,
+                            () -> map.merge(elementWithGroupByProperties, properties, propertyAggregator));
+                }
+            } else {
+                final IngestStripe stripe = ingestStripes[(elementWithGroupByProperties.hashCode() & Integer.MAX_VALUE) % ingestStripes.length];
+                if (null == indexes) {
+                    stripe.merge(map, elementWithGroupByProperties, properties);
+                } else {
+                    // Hold the stripe lock so the index updates for a key are applied in order
+                    synchronized (stripe) {
+                        mergeIndexed(indexes, map, elementWithGroupByProperties,
+                                () -> stripe.merge(map, elementWithGroupByProperties, properties));
+                    }
+                }
+            }
+        }
+    }
+
+    private void mergeIndexed(final List<PropertyIndex> indexes,
+                              final Map<Element, GroupedProperties> map,
+                              final Element elementWithGroupByProperties,
+                              final Runnable merge) {
+        // The existing properties may be aggregated in place, so take the old values first
+        final Object[] oldValues = new Object[indexes.size()];
+        final GroupedProperties existing = map.get(elementWithGroupByProperties);
+        if (null != existing) {
+            for (int i = 0; i < oldValues.length; i++) {
+                oldValues[i] = getProperty(elementWithGroupByProperties, existing, indexes.get(i).getProperty());
+            }
+        }
+
+        merge.run();
+
+        final GroupedProperties merged = map.get(elementWithGroupByProperties);
+        for (int i = 0; i < oldValues.length; i++) {
+            final PropertyIndex index = indexes.get(i);
+            index.update(elementWithGroupByProperties, oldValues[i], getProperty(elementWithGroupByProperties, merged, index.getProperty()));
+        }
+    }
+
+    private static Object getProperty(final Element elementWithGroupByProperties, final GroupedProperties properties, final String property) {
+        if (elementWithGroupByProperties.getProperties().containsKey(property)) {
+            return elementWithGroupByProperties.getProperty(property);
         }
+        return null != properties ? properties.get(property) : null;
+    }
+
+    /**
+     * Get the elements in a group using a property index, if the filter tests
+     * an indexed property with a predicate the index supports. The filter
+     * must still be applied to the returned elements.
+     *
+     * @param group  the group
+     * @param filter the pre aggregation filter for the group
+     * @return a stream of the candidate elements, or null if no index can be used.
+     * The elements share their property values with the stored elements.
+     */
+    Stream<Element> getIndexedElements(final String group, final ElementFilter filter) {
+        final List<PropertyIndex> indexes = propertyIndexes.get(group);
+        if (null == indexes || null == filter || null == filter.getComponents()) {
+            return null;
+        }
+
+        Set<Element> keys = null;
+        for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+            final String[] selection = component.getSelection();
+            if (null != selection && 1 == selection.length) {
+                for (final PropertyIndex index : indexes) {
+                    if (index.getProperty().equals(selection[0])) {
+                        final Set<Element> matches = index.lookup(component.getPredicate());
+                        if (null != matches && (null == keys || matches.size() < keys.size())) {
+                            keys = matches;
+                        }
+                    }
+                }
+            }
+        }
+        if (null == keys) {
+            return null;
+        }
+
+        if (groupsWithNoAggregation.contains(group)) {
+            final Map<Element, Long> map = nonAggElements.get(group);
+            return keys.stream()
+                    .flatMap(key -> {
+                        final Long count = map.get(key);
+                        return null == count ? Stream.empty() : Streams.toStream(new RepeatItemIterable<>(key.shallowClone(), count));
+                    });
+        }
+
+        final Map<Element, GroupedProperties> map = aggElements.get(group);
+        return keys.stream()
+                .flatMap(key -> {
+                    final GroupedProperties properties = map.get(key);
+                    if (null == properties) {
+                        return Stream.empty();
+                    }
+                    final Element element = key.shallowClone();
+                    element.copyProperties(properties);
+                    return Stream.of(element);
+                });
+    }
+
+    boolean hasPropertyIndexes() {
+        return !propertyIndexes.isEmpty();
     }
 
     Collection<Element> lookup(final EntityId entitId) {
+        return lookup(entitId, null);
+    }
+
+    Collection<Element> lookup(final EntityId entitId, final Set<String> groups) {
+        if (null != compactIndex) {
+            return lookupCompactIndex(entitId.getVertex(), groups);
+        }
+
         Collection<Element> results = entityIdToElements.get(entitId);
         if (null == results) {
             results = Collections.emptySet();
@@ -144,7 +408,47 @@ public class MapImpl {
         return results;
     }
 
+    /**
+     * Get all the elements containing a vertex. When the compact index is used
+     * the vertex is looked up directly, rather than through an
+     * {@link EntitySeed}.
+     *
+     * @param vertex the vertex to lookup
+     * @param groups the groups to return, or null for all groups
+     * @return the elements containing the vertex
+     */
+    Collection<Element> lookupVertex(final Object vertex, final Set<String> groups) {
+        if (null != compactIndex) {
+            return lookupCompactIndex(vertex, groups);
+        }
+        return lookup(new EntitySeed(vertex), groups);
+    }
+
+    private Collection<Element> lookupCompactIndex(final Object vertex, final Set<String> groups) {
+        if (null == compactIndexLock) {
+            return compactIndex.lookup(vertex, groups);
+        }
+        compactIndexLock.readLock().lock();
+        try {
+            return compactIndex.lookup(vertex, groups);
+        } finally {
+            compactIndexLock.readLock().unlock();
+        }
+    }
+
     Collection<Element> lookup(final EdgeId edgeId) {
+        if (null != compactIndex) {
+            if (null == compactIndexLock) {
+                return compactIndex.lookup(edgeId);
+            }
+            compactIndexLock.readLock().lock();
+            try {
+                return compactIndex.lookup(edgeId);
+            } finally {
+                compactIndexLock.readLock().unlock();
+            }
+        }
+
         Collection<Element> results = edgeIdToElements.get(edgeId);
         if (null == results) {
             results = Collections.emptySet();
@@ -177,6 +481,20 @@ public class MapImpl {
     }
 
     Stream<Element> getAllAggElements(final Set<String> groups) {
+        return getAllAggElements(groups, true);
+    }
+
+    /**
+     * Get all the aggregated elements in the given groups. The elements are
+     * created lazily as the stream is consumed.
+     *
+     * @param groups        the groups to return
+     * @param cloneElements if false the elements share their property values
+     *                      with the stored elements, so the property values must
+     *                      not be modified
+     * @return a stream of the elements
+     */
+    Stream<Element> getAllAggElements(final Set<String> groups, final boolean cloneElements) {
         return aggElements.entrySet().stream()
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
@@ -185,21 +503,62 @@ public class MapImpl {
                     final Element element = x.getKey().emptyClone();
                     element.copyProperties(x.getKey().getProperties());
                     element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
+                    return cloneElements ? cloneElement(element, schema) : element;
                 });
     }
 
     Stream<Element> getAllNonAggElements(final Set<String> groups) {
+        return getAllNonAggElements(groups, true);
+    }
+
+    /**
+     * Get all the non aggregated elements in the given groups. The elements are
+     * created lazily as the stream is consumed.
+     *
+     * @param groups        the groups to return
+     * @param cloneElements if false the elements share their property values
+     *                      with the stored elements, so the property values must
+     *                      not be modified
+     * @return a stream of the elements
+     */
+    Stream<Element> getAllNonAggElements(final Set<String> groups, final boolean cloneElements) {
         return nonAggElements.entrySet().stream()
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
+                .map(x -> new RepeatItemIterable<>(cloneElements ? cloneElement(x.getKey(), schema) : x.getKey().shallowClone(), x.getValue()))
                 .flatMap(Streams::toStream);
     }
 
     Stream<Element> getAllElements(final Set<String> groups) {
-        return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
+        return getAllElements(groups, true);
+    }
+
+    Stream<Element> getAllElements(final Set<String> groups, final boolean cloneElements) {
+        return Stream.concat(getAllAggElements(groups, cloneElements), getAllNonAggElements(groups, cloneElements));
+    }
+
+    /**
+     * Count all the elements in the given groups without creating them.
+     *
+     * @param groups the groups to count
+     * @return the number of elements
+     */
+    long countAllElements(final Set<String> groups) {
+        long count = 0;
+        for (final String group : groups) {
+            final Map<Element, GroupedProperties> aggMap = aggElements.get(group);
+            if (null != aggMap) {
+                count += aggMap.size();
+            }
+            final Map<Element, Long> nonAggMap = nonAggElements.get(group);
+            if (null != nonAggMap) {
+                for (final Long elementCount : nonAggMap.values()) {
+                    count += elementCount;
+                }
+            }
+        }
+        return count;
     }
 
     void addIndex(final EntityId entityId, final Element element) {
@@ -210,6 +569,81 @@ public class MapImpl {
         edgeIdToElements.put(edgeId, element);
     }
 
+    void addIndex(final Element element) {
+        if (null == compactIndexLock) {
+            compactIndex.add(element);
+        } else {
+            compactIndexLock.writeLock().lock();
+            try {
+                compactIndex.add(element);
+            } finally {
+                compactIndexLock.writeLock().unlock();
+            }
+        }
+    }
+
+    boolean isParallelQuery() {
+        return null != queryPool;
+    }
+
+    ForkJoinPool getQueryPool() {
+        return queryPool;
+    }
+
+    int getQueryBatchSize() {
+        return queryBatchSize;
+    }
+
+    MapCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    Map<Element, GroupedProperties> getAggElementsMap(final String group) {
+        return aggElements.get(group);
+    }
+
+    Map<Element, Long> getNonAggElementsMap(final String group) {
+        return nonAggElements.get(group);
+    }
+
+    boolean isConcurrentIngest() {
+        return null != ingestStripes;
+    }
+
+    ExecutorService getIngestPool() {
+        return ingestPool;
+    }
+
+    void updateIndex(final Element element) {
+        if (isCompactIndex()) {
+            if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+            }
+            addIndex(element);
+        } else if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            final EntityId entityId = new EntitySeed(entity.getVertex());
+            addIndex(entityId, element);
+        } else {
+            final Edge edge = (Edge) element;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+            final EntityId sourceEntityId = new EntitySeed(edge.getSource());
+            addIndex(sourceEntityId, edge);
+
+            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+            final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
+            addIndex(destinationEntityId, destMatchedEdge);
+
+            final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
+            addIndex(edgeId, edge);
+        }
+    }
+
+    boolean isCompactIndex() {
+        return null != compactIndex;
+    }
+
     boolean isMaintainIndex() {
         return maintainIndex;
     }
@@ -270,6 +704,44 @@ public class MapImpl {
         return mapFactory;
     }
 
+    /**
+     * Index any elements already held in the maps, e.g. if the {@link MapFactory}
+     * has reopened maps that were persisted by a previous MapStore.
+     */
+    private void rebuildIndex() {
+        for (final Map<Element, GroupedProperties> map : aggElements.values()) {
+            if (null != map && !map.isEmpty()) {
+                map.keySet().forEach(this::updateIndex);
+            }
+        }
+        for (final Map<Element, Long> map : nonAggElements.values()) {
+            if (null != map && !map.isEmpty()) {
+                map.keySet().forEach(this::updateIndex);
+            }
+        }
+    }
+
+    private void rebuildPropertyIndexes() {
+        for (final Map.Entry<String, List<PropertyIndex>> entry : propertyIndexes.entrySet()) {
+            final Map<Element, GroupedProperties> aggMap = aggElements.get(entry.getKey());
+            if (null != aggMap && !aggMap.isEmpty()) {
+                for (final Map.Entry<Element, GroupedProperties> element : aggMap.entrySet()) {
+                    for (final PropertyIndex index : entry.getValue()) {
+                        index.update(element.getKey(), null, getProperty(element.getKey(), element.getValue(), index.getProperty()));
+                    }
+                }
+            }
+            final Map<Element, Long> nonAggMap = nonAggElements.get(entry.getKey());
+            if (null != nonAggMap && !nonAggMap.isEmpty()) {
+                for (final Element element : nonAggMap.keySet()) {
+                    for (final PropertyIndex index : entry.getValue()) {
+                        index.update(element, null, element.getProperty(index.getProperty()));
+                    }
+                }
+            }
+        }
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
@@ -280,4 +752,40 @@ public class MapImpl {
         nonGroupByProperties.removeAll(sed.getGroupBy());
         groupToNonGroupByProperties.put(group, nonGroupByProperties);
     }
+
+    /**
+     * A lock stripe used to aggregate elements when concurrent ingest is
+     * enabled. The schema's ingest aggregators and their functions are not
+     * thread safe, so each stripe aggregates using its own deep copy of them.
+     */
+    private static final class IngestStripe {
+        private final Schema schema;
+        private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+
+        private IngestStripe(final Schema schema) {
+            this.schema = schema;
+        }
+
+        private synchronized void merge(final Map<Element, GroupedProperties> map,
+                                        final Element elementWithGroupByProperties,
+                                        final GroupedProperties properties) {
+            final GroupedProperties existing = map.get(elementWithGroupByProperties);
+            if (null == existing) {
+                map.put(elementWithGroupByProperties, properties);
+            } else {
+                getAggregator(existing.getGroup()).apply(existing, properties);
+                map.put(elementWithGroupByProperties, existing);
+            }
+        }
+
+        private ElementAggregator getAggregator(final String group) {
+            return aggregators.computeIfAbsent(group, g -> {
+                try {
+                    return JSONSerialiser.deserialise(JSONSerialiser.serialise(schema.getElement(g).getIngestAggregator()), ElementAggregator.class);
+                } catch (final SerialisationException e) {
+                    throw new IllegalArgumentException("Unable to copy the ingest aggregator for group: " + g, e);
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.mapstore.utils.ObjectIntMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact index from vertices to the {@link Element}s that contain them,
+ * used by the {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} as an
+ * alternative to the {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap}
+ * based indexes.
+ * <p>
+ * Vertices and elements are interned into dense int ids. For each group there
+ * are three {@link IntAdjacencyLists}: entities by vertex, edges by source and
+ * edges by destination. Looking up a vertex therefore only touches primitive
+ * arrays for the requested groups, and an indexed edge costs a few array
+ * slots rather than several set, seed and entry objects.
+ * </p>
+ * <p>
+ * Edges should be added with their matched vertex set to
+ * {@link EdgeId.MatchedVertex#SOURCE}. A copy matched on the destination
+ * vertex is created when the edge is added, as the
+ * {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap} based indexes do, so
+ * lookups do not create any elements. The lists returned by lookups cannot be
+ * modified.
+ * </p>
+ */
+public class CompactElementIndex {
+    private static final int ENTITIES = 0;
+    private static final int SOURCES = 1;
+    private static final int DESTINATIONS = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ObjectIntMap<Object> vertexIds = new ObjectIntMap<>();
+    private final ObjectIntMap<Element> elementIds = new ObjectIntMap<>();
+    private final ObjectIntMap<String> groupIds = new ObjectIntMap<>();
+
+    private Element[] elements = new Element[INITIAL_CAPACITY];
+    private Edge[] destinationEdges = new Edge[INITIAL_CAPACITY];
+    private int elementCount;
+    private int vertexCount;
+
+    private String[] groups = new String[0];
+    private IntAdjacencyLists[][] adjacency = new IntAdjacencyLists[0][];
+
+    /**
+     * Add an element to the index. Adding an element that is already indexed
+     * has no effect.
+     *
+     * @param element the element to index
+     */
+    public void add(final Element element) {
+        final int elementId = elementIds.putIfAbsent(element, elementCount);
+        if (elementId != elementCount) {
+            return;
+        }
+        if (elementCount == elements.length) {
+            elements = Arrays.copyOf(elements, elementCount << 1);
+            destinationEdges = Arrays.copyOf(destinationEdges, elementCount << 1);
+        }
+        elements[elementCount++] = element;
+
+        final IntAdjacencyLists[] lists = getAdjacency(element.getGroup());
+        if (element instanceof Entity) {
+            lists[ENTITIES].add(getVertexId(((Entity) element).getVertex()), elementId);
+        } else {
+            final Edge edge = (Edge) element;
+            final int sourceId = getVertexId(edge.getSource());
+            final int destinationId = getVertexId(edge.getDestination());
+            lists[SOURCES].add(sourceId, elementId);
+            if (sourceId != destinationId) {
+                destinationEdges[elementId] = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+                lists[DESTINATIONS].add(destinationId, elementId);
+            }
+        }
+    }
+
+    /**
+     * Get all the entities and edges containing the given vertex.
+     *
+     * @param vertex the vertex to lookup
+     * @param groups the groups to return, or null for all groups
+     * @return the matching elements
+     */
+    public List<Element> lookup(final Object vertex, final Set<String> groups) {
+        final int vertexId = vertexIds.get(vertex);
+        if (ObjectIntMap.NO_VALUE == vertexId) {
+            return Collections.emptyList();
+        }
+
+        int count = 0;
+        for (int groupId = 0; groupId < this.groups.length; groupId++) {
+            if (null == groups || groups.contains(this.groups[groupId])) {
+                for (final IntAdjacencyLists lists : adjacency[groupId]) {
+                    count += lists.size(vertexId);
+                }
+            }
+        }
+        if (0 == count) {
+            return Collections.emptyList();
+        }
+
+        final Element[] results = new Element[count];
+        int index = 0;
+        for (int groupId = 0; groupId < this.groups.length; groupId++) {
+            if (null == groups || groups.contains(this.groups[groupId])) {
+                final IntAdjacencyLists[] lists = adjacency[groupId];
+                index = addElements(lists[ENTITIES], vertexId, elements, results, index);
+                index = addElements(lists[SOURCES], vertexId, elements, results, index);
+                index = addElements(lists[DESTINATIONS], vertexId, destinationEdges, results, index);
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Get all the edges with the same source, destination and directed flag
+     * as the given {@link EdgeId}.
+     *
+     * @param edgeId the edge id to lookup
+     * @return the matching edges
+     */
+    public List<Element> lookup(final EdgeId edgeId) {
+        final int vertexId = vertexIds.get(edgeId.getSource());
+        if (ObjectIntMap.NO_VALUE == vertexId) {
+            return Collections.emptyList();
+        }
+
+        int count = 0;
+        for (final IntAdjacencyLists[] lists : adjacency) {
+            count += addMatchingEdges(lists[SOURCES], vertexId, edgeId, null, count);
+            count += addMatchingEdges(lists[DESTINATIONS], vertexId, edgeId, null, count);
+        }
+        if (0 == count) {
+            return Collections.emptyList();
+        }
+
+        final Element[] results = new Element[count];
+        int index = 0;
+        for (final IntAdjacencyLists[] lists : adjacency) {
+            index += addMatchingEdges(lists[SOURCES], vertexId, edgeId, results, index);
+            index += addMatchingEdges(lists[DESTINATIONS], vertexId, edgeId, results, index);
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * @return the number of distinct elements in the index
+     */
+    public int size() {
+        return elementCount;
+    }
+
+    /**
+     * @return the number of distinct vertices in the index
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public void clear() {
+        vertexIds.clear();
+        elementIds.clear();
+        groupIds.clear();
+        elements = new Element[INITIAL_CAPACITY];
+        destinationEdges = new Edge[INITIAL_CAPACITY];
+        elementCount = 0;
+        vertexCount = 0;
+        groups = new String[0];
+        adjacency = new IntAdjacencyLists[0][];
+    }
+
+    private static int addElements(final IntAdjacencyLists lists, final int vertexId, final Element[] source, final Element[] results, final int index) {
+        final int[] ids = lists.get(vertexId);
+        final int size = lists.size(vertexId);
+        for (int i = 0; i < size; i++) {
+            results[index + i] = source[ids[i]];
+        }
+        return index + size;
+    }
+
+    /**
+     * Adds the edges in the lists for a vertex that match an {@link EdgeId}.
+     *
+     * @param lists    the adjacency lists to search
+     * @param vertexId the id of the vertex
+     * @param edgeId   the edge id to match
+     * @param results  the array to add the matching edges to, or null to only count them
+     * @param index    the index in the results to add the first matching edge at
+     * @return the number of matching edges
+     */
+    private int addMatchingEdges(final IntAdjacencyLists lists, final int vertexId, final EdgeId edgeId, final Element[] results, final int index) {
+        final int[] ids = lists.get(vertexId);
+        int count = 0;
+        for (int i = 0; i < lists.size(vertexId); i++) {
+            final Edge edge = (Edge) elements[ids[i]];
+            if (edge.isDirected() == edgeId.isDirected()
+                    && (isEqual(edge, edgeId.getSource(), edgeId.getDestination())
+                    || (!edge.isDirected() && isEqual(edge, edgeId.getDestination(), edgeId.getSource())))) {
+                if (null != results) {
+                    results[index + count] = edge;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isEqual(final Edge edge, final Object source, final Object destination) {
+        return Objects.equals(edge.getSource(), source) && Objects.equals(edge.getDestination(), destination);
+    }
+
+    private int getVertexId(final Object vertex) {
+        final int vertexId = vertexIds.putIfAbsent(vertex, vertexCount);
+        if (vertexId == vertexCount) {
+            vertexCount++;
+        }
+        return vertexId;
+    }
+
+    private IntAdjacencyLists[] getAdjacency(final String group) {
+        final int groupId = groupIds.putIfAbsent(group, groups.length);
+        if (groupId == groups.length) {
+            groups = Arrays.copyOf(groups, groupId + 1);
+            groups[groupId] = group;
+            adjacency = Arrays.copyOf(adjacency, groupId + 1);
+            adjacency[groupId] = new IntAdjacencyLists[]{new IntAdjacencyLists(), new IntAdjacencyLists(), new IntAdjacencyLists()};
+        }
+        return adjacency[groupId];
+    }
+}
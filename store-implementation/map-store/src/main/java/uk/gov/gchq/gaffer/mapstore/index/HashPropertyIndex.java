@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.util.HashMap;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@link PropertyIndex} backed by a hash map, used for equality lookups.
+ */
+public class HashPropertyIndex extends PropertyIndex {
+    public HashPropertyIndex(final String group, final String property) {
+        super(group, property, new HashMap<>());
+    }
+
+    @Override
+    protected Set<Element> lookupRange(final Predicate<?> predicate) {
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import java.util.Arrays;
+
+/**
+ * Adjacency lists of primitive ints, keyed by a dense int vertex id.
+ * <p>
+ * Each vertex has a single growable {@code int[]} holding the ids of its
+ * adjacent values, so no boxing or collection objects are required per
+ * adjacency.
+ * </p>
+ */
+public class IntAdjacencyLists {
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_LIST_SIZE = 2;
+
+    private int[][] lists = new int[0][];
+    private int[] sizes = EMPTY;
+
+    /**
+     * Append a value to the adjacency list of a vertex.
+     *
+     * @param vertexId the vertex id
+     * @param value    the value to add
+     */
+    public void add(final int vertexId, final int value) {
+        ensureVertexCapacity(vertexId);
+        int[] list = lists[vertexId];
+        final int size = sizes[vertexId];
+        if (null == list) {
+            list = new int[INITIAL_LIST_SIZE];
+            lists[vertexId] = list;
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size << 1);
+            lists[vertexId] = list;
+        }
+        list[size] = value;
+        sizes[vertexId] = size + 1;
+    }
+
+    /**
+     * Get the backing array of the adjacency list of a vertex. Only the first
+     * {@link #size(int)} entries are valid and the array must not be modified.
+     *
+     * @param vertexId the vertex id
+     * @return the backing array, never null
+     */
+    public int[] get(final int vertexId) {
+        if (vertexId < 0 || vertexId >= lists.length || null == lists[vertexId]) {
+            return EMPTY;
+        }
+        return lists[vertexId];
+    }
+
+    /**
+     * @param vertexId the vertex id
+     * @return the number of values in the adjacency list of the vertex
+     */
+    public int size(final int vertexId) {
+        if (vertexId < 0 || vertexId >= sizes.length) {
+            return 0;
+        }
+        return sizes[vertexId];
+    }
+
+    public void clear() {
+        lists = new int[0][];
+        sizes = EMPTY;
+    }
+
+    private void ensureVertexCapacity(final int vertexId) {
+        if (vertexId >= lists.length) {
+            final int newLength = Math.max(vertexId + 1, lists.length + (lists.length >> 1));
+            lists = Arrays.copyOf(lists, newLength);
+            sizes = Arrays.copyOf(sizes, newLength);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A secondary index from the values of a single property in a group to the
+ * keys of the elements holding those values.
+ * <p>
+ * The index is only used to narrow down the elements to test, so lookups may
+ * return elements that no longer match and the full filter must still be
+ * applied to the results. Null values are not indexed, and the indexed
+ * property values should be immutable.
+ * </p>
+ * <p>
+ * Indexes are declared in the {@link Schema} config, using a comma separated
+ * list of property names for {@link #SORTED_INDEX_PROPERTIES} or
+ * {@link #HASH_INDEX_PROPERTIES}. Each listed property is indexed in every group
+ * that contains it.
+ * </p>
+ */
+public abstract class PropertyIndex {
+    public static final String SORTED_INDEX_PROPERTIES = "mapStoreSortedIndexProperties";
+    public static final String HASH_INDEX_PROPERTIES = "mapStoreHashIndexProperties";
+
+    private final String group;
+    private final String property;
+    private final Map<Object, Set<Element>> index;
+
+    /**
+     * Create the property indexes declared in a schema.
+     *
+     * @param schema the schema
+     * @return a map of group to the indexes for that group
+     */
+    public static Map<String, List<PropertyIndex>> createIndexes(final Schema schema) {
+        final Map<String, List<PropertyIndex>> indexes = new HashMap<>();
+        for (final String property : getPropertyNames(schema, SORTED_INDEX_PROPERTIES)) {
+            for (final String group : schema.getGroups()) {
+                final SchemaElementDefinition elementDef = schema.getElement(group);
+                if (elementDef.containsProperty(property)) {
+                    final Class<?> propertyClass = elementDef.getPropertyClass(property);
+                    if (null == propertyClass || !Comparable.class.isAssignableFrom(propertyClass)) {
+                        throw new IllegalArgumentException("A sorted index cannot be created for property " + property
+                                + " in group " + group + " as it is not Comparable");
+                    }
+                    indexes.computeIfAbsent(group, g -> new ArrayList<>()).add(new SortedPropertyIndex(group, property));
+                }
+            }
+        }
+        for (final String property : getPropertyNames(schema, HASH_INDEX_PROPERTIES)) {
+            for (final String group : schema.getGroups()) {
+                if (schema.getElement(group).containsProperty(property)) {
+                    indexes.computeIfAbsent(group, g -> new ArrayList<>()).add(new HashPropertyIndex(group, property));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    protected PropertyIndex(final String group, final String property, final Map<Object, Set<Element>> index) {
+        this.group = group;
+        this.property = property;
+        this.index = index;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Update the index after the value of the property for an element key has
+     * changed.
+     *
+     * @param key      the element key
+     * @param oldValue the previous value, or null if the key is new
+     * @param newValue the new value
+     */
+    public synchronized void update(final Element key, final Object oldValue, final Object newValue) {
+        if (null != oldValue && !oldValue.equals(newValue)) {
+            final Set<Element> keys = index.get(oldValue);
+            if (null != keys) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    index.remove(oldValue);
+                }
+            }
+        }
+        if (null != newValue) {
+            index.computeIfAbsent(newValue, v -> new HashSet<>()).add(key);
+        }
+    }
+
+    /**
+     * Lookup the element keys that may match a predicate on the property.
+     *
+     * @param predicate the predicate
+     * @return a copy of the matching keys, or null if the index cannot be used
+     * for the predicate
+     */
+    public synchronized Set<Element> lookup(final Predicate<?> predicate) {
+        try {
+            return lookupValues(predicate);
+        } catch (final ClassCastException e) {
+            // The predicate values are not comparable with the indexed values
+            return null;
+        }
+    }
+
+    private Set<Element> lookupValues(final Predicate<?> predicate) {
+        if (predicate instanceof IsEqual) {
+            final Object value = ((IsEqual) predicate).getControlValue();
+            if (null == value) {
+                return null;
+            }
+            final Set<Element> keys = index.get(value);
+            return null == keys ? Collections.emptySet() : new HashSet<>(keys);
+        }
+        if (predicate instanceof IsIn) {
+            final Set<Object> values = ((IsIn) predicate).getAllowedValues();
+            if (null == values || values.contains(null)) {
+                return null;
+            }
+            final Set<Element> results = new HashSet<>();
+            for (final Object value : values) {
+                final Set<Element> keys = index.get(value);
+                if (null != keys) {
+                    results.addAll(keys);
+                }
+            }
+            return results;
+        }
+        return lookupRange(predicate);
+    }
+
+    public synchronized void clear() {
+        index.clear();
+    }
+
+    /**
+     * Lookup a predicate other than {@link IsEqual} or {@link IsIn}.
+     *
+     * @param predicate the predicate
+     * @return a copy of the matching keys, or null if the index cannot be used
+     * for the predicate
+     */
+    protected abstract Set<Element> lookupRange(final Predicate<?> predicate);
+
+    protected Map<Object, Set<Element>> getIndex() {
+        return index;
+    }
+
+    private static List<String> getPropertyNames(final Schema schema, final String configKey) {
+        final String properties = schema.getConfig(configKey);
+        if (null == properties) {
+            return Collections.emptyList();
+        }
+        final List<String> propertyNames = new ArrayList<>();
+        for (final String property : properties.split(",")) {
+            if (!property.trim().isEmpty()) {
+                propertyNames.add(property.trim());
+            }
+        }
+        return propertyNames;
+    }
+
+    protected static Set<Element> union(final Iterable<Set<Element>> keySets) {
+        final Set<Element> results = new HashSet<>();
+        for (final Set<Element> keys : keySets) {
+            results.addAll(keys);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link PropertyIndex} backed by a sorted map, used for equality and range
+ * lookups. The property values must be {@link Comparable}.
+ */
+public class SortedPropertyIndex extends PropertyIndex {
+    public SortedPropertyIndex(final String group, final String property) {
+        super(group, property, new TreeMap<>());
+    }
+
+    @Override
+    protected Set<Element> lookupRange(final Predicate<?> predicate) {
+        final NavigableMap<Object, Set<Element>> index = (NavigableMap<Object, Set<Element>>) getIndex();
+        if (predicate instanceof IsMoreThan) {
+            final IsMoreThan isMoreThan = (IsMoreThan) predicate;
+            if (null == isMoreThan.getControlValue()) {
+                return null;
+            }
+            return union(index.tailMap(isMoreThan.getControlValue(), isMoreThan.getOrEqualTo()).values());
+        }
+        if (predicate instanceof IsLessThan) {
+            final IsLessThan isLessThan = (IsLessThan) predicate;
+            if (null == isLessThan.getControlValue()) {
+                return null;
+            }
+            return union(index.headMap(isLessThan.getControlValue(), isLessThan.getOrEqualTo()).values());
+        }
+        return null;
+    }
+}
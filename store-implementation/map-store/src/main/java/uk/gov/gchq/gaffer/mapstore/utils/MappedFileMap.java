@@ -0,0 +1,545 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link java.util.Map} that stores its serialised keys and values in a
+ * memory-mapped file rather than on the Java heap.
+ * <p>
+ * The file is an append-only log of key/value records, split into fixed size
+ * memory-mapped segments. Updating a key appends a new record and leaves the
+ * old one in place. Once more than half of the log is superseded records the
+ * live records are copied to a new file, which replaces the old one. The only
+ * state held on the heap is an open addressing table of record offsets and key
+ * hash codes.
+ * </p>
+ * <p>
+ * Each record holds the hash code of its key, so when an existing file is
+ * reopened the table is rebuilt by comparing the serialised keys, without
+ * deserialising them. This requires the key hash codes to be the same each
+ * time the file is opened, and equal keys to always serialise to the same
+ * bytes.
+ * </p>
+ * <p>
+ * Entries cannot be removed individually. Values returned by the map are
+ * deserialised copies, so changes to them are only stored if they are put
+ * back into the map. All methods are synchronised.
+ * </p>
+ *
+ * @param <K> the type of key in the map
+ * @param <V> the type of value in the map
+ */
+public class MappedFileMap<K, V> extends AbstractMap<K, V> implements Closeable {
+    private static final long MAGIC = 0x4761666665724d4dL;
+    private static final int HEADER_SIZE = 24;
+    private static final int SEGMENT_SIZE_POSITION = 8;
+    private static final int END_POSITION = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int VALUE_LENGTH_POSITION = 4;
+    private static final int HASH_POSITION = 8;
+    private static final int UNUSED = -1;
+    private static final int INITIAL_TABLE_SIZE = 16;
+    private static final double MAX_STALE_RATIO = 0.5;
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    private final File file;
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private RandomAccessFile randomAccessFile;
+    private FileChannel channel;
+    private long end;
+
+    /**
+     * The number of bytes used by records that have been superseded, which
+     * are removed when the log is compacted.
+     */
+    private long staleBytes;
+
+    /**
+     * Offsets of the latest record for each key, plus one, so that 0 marks an
+     * empty slot.
+     */
+    private long[] offsets = new long[INITIAL_TABLE_SIZE];
+    private int[] hashes = new int[INITIAL_TABLE_SIZE];
+    private int size;
+
+    public MappedFileMap(final File file,
+                         final ToBytesSerialiser<K> keySerialiser,
+                         final ToBytesSerialiser<V> valueSerialiser,
+                         final int segmentSize) throws IOException {
+        this.file = file;
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+
+        final boolean exists = file.exists() && file.length() >= HEADER_SIZE;
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        channel = randomAccessFile.getChannel();
+        try {
+            if (exists) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                if (MAGIC != header.getLong(0)) {
+                    throw new IOException("File is not a " + getClass().getSimpleName() + ": " + file);
+                }
+                this.segmentSize = header.getInt(SEGMENT_SIZE_POSITION);
+                this.end = header.getLong(END_POSITION);
+                rebuildTable();
+            } else {
+                if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+                    throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+                }
+                this.segmentSize = segmentSize;
+                final MappedByteBuffer firstSegment = getSegment(0);
+                firstSegment.putLong(0, MAGIC);
+                firstSegment.putInt(SEGMENT_SIZE_POSITION, segmentSize);
+                setEnd(HEADER_SIZE);
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized boolean containsKey(final Object key) {
+        return null != key && 0 != offsets[findSlot(key, hash(key))];
+    }
+
+    @Override
+    public synchronized V get(final Object key) {
+        if (null == key) {
+            return null;
+        }
+        final long offset = offsets[findSlot(key, hash(key))];
+        return 0 == offset ? null : readValue(getRecord(segments, offset - 1));
+    }
+
+    @Override
+    public synchronized V put(final K key, final V value) {
+        final int hash = hash(key);
+        final int slot = findSlot(key, hash);
+        final V previousValue = 0 == offsets[slot] ? null : readValue(getRecord(segments, offsets[slot] - 1));
+        write(slot, hash, key, value);
+        return previousValue;
+    }
+
+    @Override
+    public synchronized V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final int hash = hash(key);
+        final int slot = findSlot(key, hash);
+        final V newValue = 0 == offsets[slot] ? value : remappingFunction.apply(readValue(getRecord(segments, offsets[slot] - 1)), value);
+        write(slot, hash, key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public synchronized void clear() {
+        offsets = new long[INITIAL_TABLE_SIZE];
+        hashes = new int[INITIAL_TABLE_SIZE];
+        size = 0;
+        staleBytes = 0;
+        setEnd(HEADER_SIZE);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    protected K read(final ByteBuffer record) {
+                        return readKey(record);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MappedFileMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new SlotIterator<Entry<K, V>>() {
+                    @Override
+                    protected Entry<K, V> read(final ByteBuffer record) {
+                        return new SimpleImmutableEntry<>(readKey(record), readValue(record));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MappedFileMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Flush any changes to the underlying file.
+     */
+    public synchronized void flush() {
+        for (final MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        segments.clear();
+        channel.close();
+        randomAccessFile.close();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    private void write(final int slot, final int hash, final K key, final V value) {
+        final long offset;
+        try {
+            offset = append(hash, ByteBuffer.wrap(keySerialiser.serialise(key)), ByteBuffer.wrap(valueSerialiser.serialise(value)));
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to serialise entry for key " + key, e);
+        }
+
+        setSlot(slot, hash, offset);
+        if (staleBytes >= segmentSize && staleBytes > (end - HEADER_SIZE) * MAX_STALE_RATIO) {
+            compact();
+        }
+    }
+
+    private void setSlot(final int slot, final int hash, final long offset) {
+        if (0 == offsets[slot]) {
+            hashes[slot] = hash;
+            offsets[slot] = offset + 1;
+            if (++size > offsets.length >> 1) {
+                resizeTable();
+            }
+        } else {
+            staleBytes += getRecordSize(getRecord(segments, offsets[slot] - 1));
+            offsets[slot] = offset + 1;
+        }
+    }
+
+    private long append(final int hash, final ByteBuffer key, final ByteBuffer value) {
+        final int recordSize = RECORD_HEADER_SIZE + key.remaining() + value.remaining();
+        if (recordSize > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Entry of " + recordSize + " bytes is larger than the segment size " + segmentSize);
+        }
+
+        long offset = end;
+        final int remaining = segmentSize - getPositionInSegment(offset);
+        if (remaining < recordSize) {
+            // Mark the rest of this segment as unused and start a new segment
+            if (remaining >= RECORD_HEADER_SIZE) {
+                getSegment(getSegmentIndex(offset)).putInt(getPositionInSegment(offset), UNUSED);
+            }
+            offset += remaining;
+        }
+
+        final ByteBuffer buffer = getSegment(getSegmentIndex(offset)).duplicate();
+        buffer.position(getPositionInSegment(offset));
+        buffer.putInt(key.remaining());
+        buffer.putInt(value.remaining());
+        buffer.putInt(hash);
+        buffer.put(key);
+        buffer.put(value);
+        setEnd(offset + recordSize);
+        return offset;
+    }
+
+    private K readKey(final ByteBuffer record) {
+        try {
+            return keySerialiser.deserialise(toBytes(getKey(record)));
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise key from " + file, e);
+        }
+    }
+
+    private V readValue(final ByteBuffer record) {
+        try {
+            return valueSerialiser.deserialise(toBytes(getValue(record)));
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise value from " + file, e);
+        }
+    }
+
+    /**
+     * Scan the log, pointing each key at its latest record. Records for the
+     * same key are matched by their hash codes and serialised keys, so only the
+     * record headers and keys are read.
+     */
+    private void rebuildTable() {
+        getSegment(getSegmentIndex(end - 1));
+        for (long offset = skipUnused(HEADER_SIZE); offset < end; ) {
+            final ByteBuffer record = getRecord(segments, offset);
+            final int hash = getHash(record);
+            final ByteBuffer key = getKey(record);
+            final int mask = offsets.length - 1;
+            int slot = hash & mask;
+            while (0 != offsets[slot]
+                    && (hashes[slot] != hash || !key.equals(getKey(getRecord(segments, offsets[slot] - 1))))) {
+                slot = (slot + 1) & mask;
+            }
+            setSlot(slot, hash, offset);
+            offset = skipUnused(offset + getRecordSize(record));
+        }
+    }
+
+    /**
+     * Copy the live records, in log order, to a new file and replace the log
+     * with it. The previous mappings remain valid for any open iterators.
+     */
+    private void compact() {
+        final File compactFile = new File(file.getPath() + COMPACT_SUFFIX);
+        final long[] compactOffsets = new long[offsets.length];
+        final long compactEnd;
+        try {
+            Files.deleteIfExists(compactFile.toPath());
+            try (final MappedFileMap<K, V> compacted = new MappedFileMap<>(compactFile, keySerialiser, valueSerialiser, segmentSize)) {
+                final int mask = offsets.length - 1;
+                for (long offset = skipUnused(HEADER_SIZE); offset < end; ) {
+                    final ByteBuffer record = getRecord(segments, offset);
+                    final int hash = getHash(record);
+                    int slot = hash & mask;
+                    while (0 != offsets[slot] && offset != offsets[slot] - 1) {
+                        slot = (slot + 1) & mask;
+                    }
+                    if (0 != offsets[slot]) {
+                        compactOffsets[slot] = compacted.append(hash, getKey(record), getValue(record)) + 1;
+                    }
+                    offset = skipUnused(offset + getRecordSize(record));
+                }
+                compactEnd = compacted.end;
+            }
+
+            segments.clear();
+            channel.close();
+            randomAccessFile.close();
+            Files.move(compactFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            channel = randomAccessFile.getChannel();
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to compact " + file, e);
+        }
+
+        offsets = compactOffsets;
+        end = compactEnd;
+        staleBytes = 0;
+        getSegment(getSegmentIndex(end - 1));
+    }
+
+    /**
+     * @param offset an offset in the log
+     * @return the offset of the first record at or after the offset, skipping
+     * the unused end of a segment
+     */
+    private long skipUnused(final long offset) {
+        final int positionInSegment = getPositionInSegment(offset);
+        final int remaining = segmentSize - positionInSegment;
+        if (offset < end && (remaining < RECORD_HEADER_SIZE || UNUSED == getSegment(getSegmentIndex(offset)).getInt(positionInSegment))) {
+            return offset + remaining;
+        }
+        return offset;
+    }
+
+    private int findSlot(final Object key, final int hash) {
+        final int mask = offsets.length - 1;
+        int slot = hash & mask;
+        while (0 != offsets[slot]) {
+            if (hashes[slot] == hash && key.equals(readKey(getRecord(segments, offsets[slot] - 1)))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeTable() {
+        final long[] oldOffsets = offsets;
+        final int[] oldHashes = hashes;
+        offsets = new long[oldOffsets.length << 1];
+        hashes = new int[oldHashes.length << 1];
+        final int mask = offsets.length - 1;
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (0 != oldOffsets[i]) {
+                int slot = oldHashes[i] & mask;
+                while (0 != offsets[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                offsets[slot] = oldOffsets[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private void setEnd(final long end) {
+        this.end = end;
+        getSegment(0).putLong(END_POSITION, end);
+    }
+
+    private MappedByteBuffer getSegment(final int index) {
+        while (segments.size() <= index) {
+            try {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize));
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to map segment " + segments.size() + " of " + file, e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * @param recordSegments the mapped segments of the log, all of the records
+     *                       before the end of the log are mapped
+     * @param offset         the offset of a record
+     * @return a buffer positioned at the start of the record
+     */
+    private ByteBuffer getRecord(final List<MappedByteBuffer> recordSegments, final long offset) {
+        final ByteBuffer record = recordSegments.get(getSegmentIndex(offset)).duplicate();
+        record.position(getPositionInSegment(offset));
+        return record;
+    }
+
+    private int getSegmentIndex(final long offset) {
+        return (int) (offset / segmentSize);
+    }
+
+    private int getPositionInSegment(final long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private static ByteBuffer getKey(final ByteBuffer record) {
+        final int start = record.position() + RECORD_HEADER_SIZE;
+        final ByteBuffer key = record.duplicate();
+        key.limit(start + record.getInt(record.position()));
+        key.position(start);
+        return key;
+    }
+
+    private static ByteBuffer getValue(final ByteBuffer record) {
+        final int start = record.position() + RECORD_HEADER_SIZE + record.getInt(record.position());
+        final ByteBuffer value = record.duplicate();
+        value.limit(start + record.getInt(record.position() + VALUE_LENGTH_POSITION));
+        value.position(start);
+        return value;
+    }
+
+    private static int getHash(final ByteBuffer record) {
+        return record.getInt(record.position() + HASH_POSITION);
+    }
+
+    private static int getRecordSize(final ByteBuffer record) {
+        return RECORD_HEADER_SIZE + record.getInt(record.position()) + record.getInt(record.position() + VALUE_LENGTH_POSITION);
+    }
+
+    private static byte[] toBytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterates over the occupied slots of a snapshot of the offsets table,
+     * reading the records from the segments that were mapped when the snapshot
+     * was taken.
+     *
+     * @param <T> the type returned by the iterator
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private final long[] snapshot;
+        private final List<MappedByteBuffer> snapshotSegments;
+        private int slot = -1;
+
+        SlotIterator() {
+            synchronized (MappedFileMap.this) {
+                snapshot = Arrays.copyOf(offsets, offsets.length);
+                snapshotSegments = new ArrayList<>(segments);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < snapshot.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T next;
+            synchronized (MappedFileMap.this) {
+                next = read(getRecord(snapshotSegments, snapshot[slot] - 1));
+            }
+            advance();
+            return next;
+        }
+
+        protected abstract T read(final ByteBuffer record);
+
+        private void advance() {
+            do {
+                slot++;
+            } while (slot < snapshot.length && 0 == snapshot[slot]);
+        }
+    }
+}
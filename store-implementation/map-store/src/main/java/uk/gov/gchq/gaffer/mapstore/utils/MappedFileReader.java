@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a file sequentially through a memory-mapped window, so files larger
+ * than a single mapping can be read without copying them onto the heap first.
+ */
+public class MappedFileReader implements Closeable {
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public MappedFileReader(final File file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileReader(final File file, final int windowSize) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        this.length = channel.size();
+        this.windowSize = windowSize;
+        map(0, 0);
+    }
+
+    /**
+     * @return the number of bytes left to read
+     */
+    public long remaining() {
+        return length - getPosition();
+    }
+
+    public long getPosition() {
+        return windowStart + window.position();
+    }
+
+    public byte readByte() throws IOException {
+        ensureAvailable(1);
+        return window.get();
+    }
+
+    public int readInt() throws IOException {
+        ensureAvailable(4);
+        return window.getInt();
+    }
+
+    public long readLong() throws IOException {
+        ensureAvailable(8);
+        return window.getLong();
+    }
+
+    public byte[] readBytes(final int size) throws IOException {
+        ensureAvailable(size);
+        final byte[] bytes = new byte[size];
+        window.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        file.close();
+    }
+
+    private void ensureAvailable(final int size) throws IOException {
+        if (size < 0 || size > remaining()) {
+            throw new EOFException("Unable to read " + size + " bytes at position " + getPosition() + " of " + length);
+        }
+        if (window.remaining() < size) {
+            map(getPosition(), size);
+        }
+    }
+
+    private void map(final long position, final int minSize) throws IOException {
+        final long size = Math.min(length - position, Math.max(windowSize, minSize));
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        windowStart = position;
+    }
+}
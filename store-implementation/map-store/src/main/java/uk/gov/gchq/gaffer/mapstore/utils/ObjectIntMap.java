@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from object keys to primitive int values.
+ * <p>
+ * Unlike a {@link java.util.HashMap}, no entry or boxed value objects are
+ * created per mapping - the keys and values are held in two parallel arrays.
+ * Keys cannot be removed individually, only by clearing the whole map.
+ * </p>
+ *
+ * @param <K> the type of key in the map
+ */
+public class ObjectIntMap<K> {
+    /**
+     * Value returned by {@link #get(Object)} if the key is not present.
+     */
+    public static final int NO_VALUE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public ObjectIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ObjectIntMap(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Get the value mapped to a key.
+     *
+     * @param key the key to lookup
+     * @return the mapped value, or {@link #NO_VALUE} if the key is not present
+     */
+    public int get(final Object key) {
+        if (null == key) {
+            return NO_VALUE;
+        }
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (null != keys[index]) {
+            if (keys[index].equals(key)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Map a key to a value if the key is not already present.
+     *
+     * @param key   the key, must not be null
+     * @param value the value to map the key to, must not be {@link #NO_VALUE}
+     * @return the existing value if the key was already present, otherwise
+     * the supplied value
+     */
+    public int putIfAbsent(final K key, final int value) {
+        if (null == key) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (NO_VALUE == value) {
+            throw new IllegalArgumentException("Value cannot be " + NO_VALUE);
+        }
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (null != keys[index]) {
+            if (keys[index].equals(key)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private void rehash(final int newCapacity) {
+        final Object[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(newCapacity);
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (null != oldKeys[i]) {
+                int index = hash(oldKeys[i]) & mask;
+                while (null != keys[index]) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final int minCapacity = Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * A {@link CloseableIterator} that splits an input iterator into batches and
+ * processes the batches in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The input is only read by the thread consuming this iterator and only a
+ * bounded number of batches are in flight at any time, so results are streamed
+ * in the order of the input batches. When the final batch is the only one
+ * left it is processed on the calling thread.
+ * </p>
+ *
+ * @param <I> the type of the input items
+ * @param <O> the type of the output items
+ */
+public class ParallelBatchIterator<I, O> implements CloseableIterator<O> {
+    private final Iterator<? extends I> input;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final Function<List<I>, List<O>> processor;
+    private final Deque<ForkJoinTask<List<O>>> batchesInFlight = new ArrayDeque<>();
+    private Iterator<O> current = Collections.emptyIterator();
+
+    public ParallelBatchIterator(final Iterator<? extends I> input,
+                                 final ForkJoinPool pool,
+                                 final int batchSize,
+                                 final Function<List<I>, List<O>> processor) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.input = input;
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = 2 * pool.getParallelism();
+        this.processor = processor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            submitBatches();
+            final ForkJoinTask<List<O>> batch = batchesInFlight.poll();
+            if (null == batch) {
+                return false;
+            }
+            current = batch.join().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public O next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        for (final ForkJoinTask<List<O>> batch : batchesInFlight) {
+            batch.cancel(true);
+        }
+        batchesInFlight.clear();
+        current = Collections.emptyIterator();
+        CloseableUtil.close(input);
+    }
+
+    private void submitBatches() {
+        while (batchesInFlight.size() < maxBatchesInFlight && input.hasNext()) {
+            final List<I> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && input.hasNext()) {
+                batch.add(input.next());
+            }
+            final ForkJoinTask<List<O>> task = ForkJoinTask.adapt(() -> processor.apply(batch));
+            if (batchesInFlight.isEmpty() && !input.hasNext()) {
+                // Nothing else is running, so process the last batch on this thread
+                task.invoke();
+            } else {
+                pool.execute(task);
+            }
+            batchesInFlight.add(task);
+        }
+    }
+}
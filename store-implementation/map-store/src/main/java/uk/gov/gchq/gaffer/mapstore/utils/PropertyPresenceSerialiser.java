@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Wraps an element or properties serialiser to record which of the schema
+ * properties were set. The wrapped serialisers write every schema property,
+ * so without this a map key holding only the group-by properties would be
+ * deserialised with the other properties set to empty values.
+ *
+ * @param <T> the type of object to serialise
+ */
+public final class PropertyPresenceSerialiser<T> implements ToBytesSerialiser<T> {
+    private static final long serialVersionUID = -2817535468227640218L;
+    private final ToBytesSerialiser<T> serialiser;
+    private final Schema schema;
+    private final Function<T, String> toGroup;
+    private final Function<T, Properties> toProperties;
+
+    private PropertyPresenceSerialiser(final ToBytesSerialiser<T> serialiser,
+                                       final Schema schema,
+                                       final Function<T, String> toGroup,
+                                       final Function<T, Properties> toProperties) {
+        this.serialiser = serialiser;
+        this.schema = schema;
+        this.toGroup = toGroup;
+        this.toProperties = toProperties;
+    }
+
+    /**
+     * @param schema the schema
+     * @return a serialiser for {@link Element}s in the schema
+     */
+    public static PropertyPresenceSerialiser<Element> forElements(final Schema schema) {
+        return new PropertyPresenceSerialiser<>(new ElementSerialiser(schema), schema, Element::getGroup, Element::getProperties);
+    }
+
+    /**
+     * @param schema the schema
+     * @return a serialiser for {@link GroupedProperties} in the schema
+     */
+    public static PropertyPresenceSerialiser<GroupedProperties> forGroupedProperties(final Schema schema) {
+        return new PropertyPresenceSerialiser<>(new GroupedPropertiesSerialiser(schema), schema, GroupedProperties::getGroup, p -> p);
+    }
+
+    @Override
+    public byte[] serialise(final T object) throws SerialisationException {
+        final Properties properties = toProperties.apply(object);
+        final String[] propertyNames = getPropertyNames(object);
+        final byte[] presence = new byte[(propertyNames.length + 7) / 8];
+        int i = 0;
+        for (final String propertyName : propertyNames) {
+            if (null != properties.get(propertyName)) {
+                presence[i / 8] |= 1 << (i % 8);
+            }
+            i++;
+        }
+
+        final byte[] bytes = serialiser.serialise(object);
+        final byte[] result = new byte[1 + presence.length + bytes.length];
+        result[0] = (byte) presence.length;
+        System.arraycopy(presence, 0, result, 1, presence.length);
+        System.arraycopy(bytes, 0, result, 1 + presence.length, bytes.length);
+        return result;
+    }
+
+    @Override
+    public T deserialise(final byte[] bytes) throws SerialisationException {
+        final int presenceLength = bytes[0] & 0xFF;
+        final T object = serialiser.deserialise(Arrays.copyOfRange(bytes, 1 + presenceLength, bytes.length));
+        final Properties properties = toProperties.apply(object);
+        int i = 0;
+        for (final String propertyName : getPropertyNames(object)) {
+            if (0 == (bytes[1 + i / 8] & (1 << (i % 8)))) {
+                properties.remove(propertyName);
+            }
+            i++;
+        }
+        return object;
+    }
+
+    @Override
+    public T deserialiseEmpty() throws SerialisationException {
+        return serialiser.deserialiseEmpty();
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return serialiser.canHandle(clazz);
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return serialiser.isConsistent();
+    }
+
+    private String[] getPropertyNames(final T object) throws SerialisationException {
+        final String group = toGroup.apply(object);
+        if (null == schema.getElement(group)) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return schema.getElement(group).getProperties().toArray(new String[0]);
+    }
+}
@@ -17,6 +17,8 @@ package uk.gov.gchq.gaffer.mapstore;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import uk.gov.gchq.gaffer.store.StorePropertiesTest.TestCustomJsonModules1;
 import uk.gov.gchq.gaffer.store.StorePropertiesTest.TestCustomJsonModules2;
@@ -50,4 +52,29 @@ public class MapStorePropertiesTest {
         // Then
         assertEquals(SketchesJsonModules.class.getName() + "," + TestCustomJsonModules1.class.getName(), modules);
     }
+
+    @Test
+    public void shouldUseConcurrentMapFactoryByDefaultForConcurrentIngest() {
+        // Given
+        final MapStoreProperties props = new MapStoreProperties();
+
+        // When
+        props.setConcurrentIngest(true);
+
+        // Then
+        assertEquals(ConcurrentMapFactory.class.getName(), props.getMapFactory());
+    }
+
+    @Test
+    public void shouldUseConfiguredMapFactoryForConcurrentIngest() {
+        // Given
+        final MapStoreProperties props = new MapStoreProperties();
+        props.setMapFactory(SimpleMapFactory.class);
+
+        // When
+        props.setConcurrentIngest(true);
+
+        // Then
+        assertEquals(SimpleMapFactory.class.getName(), props.getMapFactory());
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentMapFactoryTest {
+
+    @Test
+    public void shouldCreateConcurrentHashMapsByDefault() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        factory.initialise(schema, properties);
+
+        // When
+        final Map<Object, Object> map = factory.getMap("mapName1", Object.class, Object.class);
+        final MultiMap<Object, Object> multiMap = factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map instanceof ConcurrentHashMap);
+        assertTrue(multiMap instanceof ConcurrentMapOfSets);
+        assertTrue(((ConcurrentMapOfSets) multiMap).getWrappedMap() instanceof ConcurrentHashMap);
+    }
+
+    @Test
+    public void shouldUseConfiguredConcurrentMapClass() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        given(properties.get(SimpleMapFactory.MAP_CLASS, ConcurrentMapFactory.MAP_CLASS_DEFAULT)).willReturn(ConcurrentSkipListMap.class.getName());
+
+        factory.initialise(schema, properties);
+
+        // When
+        final Map<Object, Object> map = factory.getMap("mapName1", Object.class, Object.class);
+
+        // Then
+        assertTrue(map instanceof ConcurrentSkipListMap);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrent() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        given(properties.get(SimpleMapFactory.MAP_CLASS, ConcurrentMapFactory.MAP_CLASS_DEFAULT)).willReturn(LinkedHashMap.class.getName());
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> factory.initialise(schema, properties));
+    }
+}
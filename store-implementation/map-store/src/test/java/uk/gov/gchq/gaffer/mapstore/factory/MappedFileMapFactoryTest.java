@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class MappedFileMapFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldThrowExceptionIfDirectoryIsNotSet() {
+        // Given
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> factory.initialise(mock(Schema.class), new MapStoreProperties()));
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnsupportedMapClass() {
+        // Given
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+        factory.initialise(mock(Schema.class), createProperties());
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> factory.getMap("map", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldShareOpenMapFilesUntilClosed() {
+        // Given
+        final MappedFileMapFactory factory1 = new MappedFileMapFactory();
+        final MappedFileMapFactory factory2 = new MappedFileMapFactory();
+        factory1.initialise(mock(Schema.class), createProperties());
+        factory2.initialise(mock(Schema.class), createProperties());
+
+        // When
+        final Map<Long, Long> map1 = factory1.getMap("map", Long.class, Long.class);
+        final Map<Long, Long> map2 = factory2.getMap("map", Long.class, Long.class);
+
+        // Then
+        assertSame(map1, map2);
+
+        // When
+        factory1.close();
+        map2.put(1L, 2L);
+        factory2.close();
+
+        // Then
+        final MappedFileMapFactory factory3 = new MappedFileMapFactory();
+        factory3.initialise(mock(Schema.class), createProperties());
+        final Map<Long, Long> map3 = factory3.getMap("map", Long.class, Long.class);
+        assertNotSame(map1, map3);
+        assertEquals(2L, (long) map3.get(1L));
+        factory3.close();
+    }
+
+    @Test
+    public void shouldReopenElementsAddedByPreviousStore() throws OperationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 1)
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property1", "q")
+                .property("count", 2)
+                .build();
+        createGraph().execute(new AddElements.Builder()
+                .input(entity, edge, entity)
+                .build(), new User());
+
+        // When
+        final CloseableIterable<? extends Element> results = createGraph().execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User());
+
+        // Then
+        final Entity expectedEntity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 2)
+                .build();
+        final Set<Element> resultSet = Streams.toStream(results).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(expectedEntity, edge)), resultSet);
+    }
+
+    private Graph createGraph() {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("mappedGraph")
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.openStreams(getClass(), "schema")))
+                .storeProperties(createProperties())
+                .build();
+    }
+
+    private MapStoreProperties createProperties() {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(MappedFileMapFactory.class);
+        properties.set(MappedFileMapFactory.DIRECTORY, tempDir.toString());
+        properties.set(MappedFileMapFactory.SEGMENT_SIZE, "4096");
+        return properties;
+    }
+}
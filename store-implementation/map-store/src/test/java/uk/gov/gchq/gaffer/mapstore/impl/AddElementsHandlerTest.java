@@ -17,18 +17,38 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +67,100 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAggregateElementsAddedConcurrently() throws Exception {
+        // Given
+        final int numWriters = 4;
+        final int numElementsPerWriter = 1000;
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrentIngest(true);
+        storeProperties.setIngestBufferSize(10);
+        storeProperties.setIngestThreads(4);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numElementsPerWriter; i++) {
+            elements.add(new Entity.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                    .vertex("A")
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                    .property(GetAllElementsHandlerTest.COUNT, 1)
+                    .build());
+            elements.add(new Entity.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                    .vertex("B" + i)
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                    .property(GetAllElementsHandlerTest.COUNT, 1)
+                    .build());
+        }
+
+        // When
+        final ExecutorService writers = Executors.newFixedThreadPool(numWriters);
+        final List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < numWriters; i++) {
+            results.add(writers.submit(() -> {
+                graph.execute(new AddElements.Builder()
+                        .input(elements)
+                        .build(), new User());
+                return null;
+            }));
+        }
+        for (final Future<?> result : results) {
+            result.get();
+        }
+        writers.shutdown();
+
+        // Then
+        final CloseableIterable<? extends Element> allElements = graph.execute(new GetAllElements(), new User());
+        assertEquals(numElementsPerWriter + 1, Streams.toStream(allElements).count());
+
+        final CloseableIterable<? extends Element> hubElements = graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User());
+        final List<Element> hubElementList = Streams.toStream(hubElements).collect(Collectors.toList());
+        assertEquals(1, hubElementList.size());
+        assertEquals(numWriters * numElementsPerWriter, hubElementList.get(0).getProperty(GetAllElementsHandlerTest.COUNT));
+    }
+
+    @Test
+    public void shouldShareIngestPoolUntilMapImplIsClosed() throws OperationException, StoreException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrentIngest(true);
+        storeProperties.setIngestBufferSize(10);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", GetAllElementsHandlerTest.getSchema(), storeProperties);
+        final MapImpl mapImpl = store.getMapImpl();
+        final ExecutorService ingestPool = mapImpl.getIngestPool();
+        final AddElementsHandler handler = new AddElementsHandler();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            handler.doOperation(new AddElements.Builder()
+                    .input(new Entity.Builder()
+                            .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                            .vertex("A")
+                            .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                            .property(GetAllElementsHandlerTest.COUNT, 1)
+                            .build())
+                    .build(), new Context(), store);
+        }
+
+        // Then
+        assertSame(ingestPool, mapImpl.getIngestPool());
+        assertFalse(ingestPool.isShutdown());
+
+        // When
+        mapImpl.close();
+
+        // Then
+        assertTrue(ingestPool.isShutdown());
+    }
 }
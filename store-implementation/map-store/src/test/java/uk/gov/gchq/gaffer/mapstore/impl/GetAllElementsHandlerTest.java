@@ -25,18 +25,28 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.index.PropertyIndex;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.If;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.util.ArrayList;
@@ -49,6 +59,8 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GetAllElementsHandlerTest {
     static final String BASIC_ENTITY = "BasicEntity";
@@ -343,6 +355,119 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetAllElementsWithLazyReadsDoesNotModifyStoredElements() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithLazyReads();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        graph.execute(addElements, new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder().build();
+        final CloseableIterable<? extends Element> results = graph.execute(getAllElements, new User());
+        final Set<Element> resultsSet = new HashSet<>();
+        Streams.toStream(results).forEach(resultsSet::add);
+        Streams.toStream(results).forEach(element -> element.putProperty(PROPERTY1, "modified"));
+
+        // Then
+        assertEquals(new HashSet<>(getElements()), resultsSet);
+        final Set<Element> resultsAfterModification = new HashSet<>();
+        Streams.toStream(graph.execute(getAllElements, new User())).forEach(resultsAfterModification::add);
+        assertEquals(new HashSet<>(getElements()), resultsAfterModification);
+    }
+
+    @Test
+    public void shouldOnlyRequireCloneIfElementsCouldBeModified() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final GetAllElements getAllElementsWithTransform = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(BASIC_ENTITY, new ViewElementDefinition.Builder()
+                                .transformer(new ElementTransformer.Builder()
+                                        .select(PROPERTY1)
+                                        .execute(new ToString())
+                                        .project(PROPERTY1)
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final Context context = new Context();
+
+        // When / Then
+        context.setOriginalOpChain(new OperationChain<>(getAllElements));
+        assertFalse(GetAllElementsHandler.isCloneRequired(getAllElements, context));
+        assertTrue(GetAllElementsHandler.isCloneRequired(getAllElementsWithTransform, context));
+
+        context.setOriginalOpChain(new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Aggregate())
+                .build());
+        assertTrue(GetAllElementsHandler.isCloneRequired(getAllElements, context));
+
+        context.setOriginalOpChain(new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new If<>())
+                .build());
+        assertTrue(GetAllElementsHandler.isCloneRequired(getAllElements, context));
+
+        context.setOriginalOpChain(new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Limit<>(10))
+                .then(new Count<>())
+                .build());
+        assertFalse(GetAllElementsHandler.isCloneRequired(getAllElements, context));
+
+        context.setOriginalOpChain(null);
+        assertTrue(GetAllElementsHandler.isCloneRequired(getAllElements, context));
+    }
+
+    @Test
+    public void testGetAllElementsUsingPropertyIndexes() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithPropertyIndexes();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        graph.execute(addElements, new User());
+        graph.execute(addElements, new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(COUNT)
+                                        .execute(new IsMoreThan(10))
+                                        .build())
+                                .build())
+                        .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(PROPERTY1)
+                                        .execute(new IsEqual("r"))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final CloseableIterable<? extends Element> results = graph.execute(getAllElements, new User());
+
+        // Then
+        final Set<Element> resultsSet = new HashSet<>();
+        Streams.toStream(results).forEach(resultsSet::add);
+        final Set<Element> expectedResults = new HashSet<>();
+        getElements().stream()
+                .filter(e -> e.getGroup().equals(BASIC_EDGE2)
+                        || (e.getGroup().equals(BASIC_EDGE1) && 2 * ((int) e.getProperty(COUNT)) > 10))
+                .map(e -> {
+                    final Element expected = e.shallowClone();
+                    expected.putProperty(COUNT, 2 * ((int) e.getProperty(COUNT)));
+                    return expected;
+                })
+                .forEach(expectedResults::add);
+        assertEquals(expectedResults, resultsSet);
+    }
+
     public static Schema getSchema() {
         return Schema.fromJson(StreamUtil.schemas(GetAllElementsHandlerTest.class));
     }
@@ -391,6 +516,33 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
+    static Graph getGraphWithLazyReads() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setLazyReads(true);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithLazyReads")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    static Graph getGraphWithPropertyIndexes() {
+        final Schema schema = new Schema.Builder()
+                .merge(getSchema())
+                .config(PropertyIndex.SORTED_INDEX_PROPERTIES, COUNT)
+                .config(PropertyIndex.HASH_INDEX_PROPERTIES, PROPERTY1)
+                .build();
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithPropertyIndexes")
+                        .build())
+                .addSchema(schema)
+                .storeProperties(new MapStoreProperties())
+                .build();
+    }
+
     static Schema getSchemaNoAggregation() {
         return Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-no-aggregation"));
     }
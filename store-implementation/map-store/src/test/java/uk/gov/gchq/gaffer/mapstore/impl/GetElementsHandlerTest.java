@@ -27,9 +27,13 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
@@ -48,11 +52,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GetElementsHandlerTest {
     private static final int NUM_LOOPS = 10;
@@ -1164,6 +1171,79 @@ public class GetElementsHandlerTest {
         assertEquals("q", result2.getProperty(GetAllElementsHandlerTest.PROPERTY1));
     }
 
+    @Test
+    public void testGetElementsInParallelMatchesSerialResults() throws OperationException {
+        // Given
+        final Graph serialGraph = GetAllElementsHandlerTest.getGraph();
+        final Graph parallelGraph = getGraphWithParallelQuery();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        serialGraph.execute(addElements, new User());
+        parallelGraph.execute(addElements, new User());
+        final List<ElementId> seeds = new ArrayList<>();
+        seeds.add(new EntitySeed("A"));
+        seeds.add(new EntitySeed("X"));
+        IntStream.range(0, NUM_LOOPS).forEach(i -> {
+            seeds.add(new EntitySeed("B" + i));
+            seeds.add(new EdgeSeed("X", "Y" + i, false));
+        });
+        final View view = new View.Builder()
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(GetAllElementsHandlerTest.COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE2)
+                .entity(GetAllElementsHandlerTest.BASIC_ENTITY)
+                .build();
+
+        // When
+        final List<Element> serialResults = new ArrayList<>();
+        final List<Element> parallelResults = new ArrayList<>();
+        Streams.toStream(serialGraph.execute(new GetElements.Builder().input(seeds).view(view).build(), new User()))
+                .forEach(serialResults::add);
+        Streams.toStream(parallelGraph.execute(new GetElements.Builder().input(seeds).view(view).build(), new User()))
+                .forEach(parallelResults::add);
+
+        // Then
+        assertEquals(serialResults.size(), parallelResults.size());
+        assertEquals(new HashSet<>(serialResults), new HashSet<>(parallelResults));
+        assertEquals(parallelResults.size(), new HashSet<>(parallelResults).size());
+    }
+
+    @Test
+    public void shouldShutDownQueryPoolWhenStoreIsReinitialised() throws StoreException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelQuery(true);
+        final MapStore store = new MapStore();
+        store.initialise("graphWithParallelQuery", GetAllElementsHandlerTest.getSchema(), storeProperties);
+        final ForkJoinPool queryPool = store.getMapImpl().getQueryPool();
+
+        // When
+        store.initialise("graphWithParallelQuery", GetAllElementsHandlerTest.getSchema(), storeProperties);
+
+        // Then
+        assertTrue(queryPool.isShutdown());
+        assertFalse(store.getMapImpl().getQueryPool().isShutdown());
+    }
+
+    private static Graph getGraphWithParallelQuery() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelQuery(true);
+        storeProperties.setParallelQueryThreads(4);
+        storeProperties.setParallelQueryBatchSize(2);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithParallelQuery")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
     private static List<Element> getElements() {
         final List<Element> elements = new ArrayList<>();
         final Entity entity1 = new Entity(GetAllElementsHandlerTest.BASIC_ENTITY, "A");
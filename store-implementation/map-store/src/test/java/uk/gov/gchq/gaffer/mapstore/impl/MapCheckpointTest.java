@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MapCheckpointTest {
+    private static final Entity ENTITY = new Entity.Builder()
+            .group("BasicEntity")
+            .vertex("A")
+            .property("property1", "p")
+            .property("count", 1)
+            .build();
+    private static final Edge EDGE = new Edge.Builder()
+            .group("BasicEdge")
+            .source("A")
+            .dest("B")
+            .directed(true)
+            .property("property1", "q")
+            .property("count", 2)
+            .build();
+    private static final Entity AGGREGATED_ENTITY = new Entity.Builder()
+            .group("BasicEntity")
+            .vertex("A")
+            .property("property1", "p")
+            .property("count", 2)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void before() {
+        MapStore.resetStaticMap();
+    }
+
+    @Test
+    public void shouldRecoverElementsFromDeltaLog() throws OperationException {
+        // Given
+        addElements(createGraph(100));
+        assertFalse(new File(tempDir.toFile(), MapCheckpoint.SNAPSHOT_FILE).exists());
+
+        // When
+        final Set<Element> results = getElements(createGraph(100));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(AGGREGATED_ENTITY, EDGE)), results);
+    }
+
+    @Test
+    public void shouldRecoverElementsFromSnapshot() throws OperationException {
+        // Given
+        addElements(createGraph(1));
+        assertTrue(new File(tempDir.toFile(), MapCheckpoint.SNAPSHOT_FILE).exists());
+
+        // When
+        final Set<Element> results = getElements(createGraph(1));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(AGGREGATED_ENTITY, EDGE)), results);
+    }
+
+    @Test
+    public void shouldRecoverElementsFromSnapshotAndDeltaLog() throws OperationException {
+        // Given
+        addElements(createGraph(1));
+        final MapStoreProperties properties = createProperties(100);
+        final Graph graphWithLog = createGraph(properties);
+        graphWithLog.execute(new AddElements.Builder()
+                .input(ENTITY)
+                .build(), new User());
+
+        // When
+        final Set<Element> results = getElements(createGraph(properties));
+
+        // Then
+        final Entity expectedEntity = new Entity.Builder()
+                .group("BasicEntity")
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 3)
+                .build();
+        assertEquals(new HashSet<>(Arrays.asList(expectedEntity, EDGE)), results);
+    }
+
+    @Test
+    public void shouldNotReplayDeltaLogAlreadyIncludedInSnapshot() throws Exception {
+        // Given
+        addElements(createGraph(100));
+        final Path log = tempDir.resolve(MapCheckpoint.LOG_FILE);
+        final byte[] logBeforeSnapshot = Files.readAllBytes(log);
+        createGraph(1);
+        assertTrue(new File(tempDir.toFile(), MapCheckpoint.SNAPSHOT_FILE).exists());
+
+        // Simulate a failure after the snapshot was written but before the log was truncated
+        Files.write(log, logBeforeSnapshot);
+
+        // When
+        final Set<Element> results = getElements(createGraph(100));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(AGGREGATED_ENTITY, EDGE)), results);
+    }
+
+    @Test
+    public void shouldNotRecoverElementsAfterClear() throws Exception {
+        // Given
+        addElements(createGraph(1));
+        final MapStore store = new MapStore();
+        store.initialise("checkpointGraph", createSchema(), createProperties(1));
+        store.getMapImpl().clear();
+
+        // When
+        final Set<Element> results = getElements(createGraph(1));
+
+        // Then
+        assertTrue(results.isEmpty());
+    }
+
+    private void addElements(final Graph graph) throws OperationException {
+        graph.execute(new AddElements.Builder()
+                .input(ENTITY, EDGE, ENTITY)
+                .build(), new User());
+    }
+
+    private Set<Element> getElements(final Graph graph) throws OperationException {
+        final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User());
+        return Streams.toStream(results).collect(Collectors.toSet());
+    }
+
+    private Graph createGraph(final long maxLogElements) {
+        return createGraph(createProperties(maxLogElements));
+    }
+
+    private Graph createGraph(final MapStoreProperties properties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("checkpointGraph")
+                        .build())
+                .addSchema(createSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    private Schema createSchema() {
+        return Schema.fromJson(StreamUtil.openStreams(getClass(), "schema"));
+    }
+
+    private MapStoreProperties createProperties(final long maxLogElements) {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setCheckpointDirectory(tempDir.toString());
+        properties.setCheckpointMaxLogElements(maxLogElements);
+        return properties;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactElementIndexTest {
+
+    @Test
+    public void shouldLookupEntitiesAndEdgesByVertex() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Edge edgeAB = new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null);
+        final Edge edgeCA = new Edge(TestGroups.EDGE, "C", "A", true, EdgeId.MatchedVertex.SOURCE, null);
+        index.add(entity);
+        index.add(edgeAB);
+        index.add(edgeCA);
+
+        // When
+        final List<Element> results = index.lookup("A", null);
+
+        // Then
+        assertEquals(Sets.newHashSet(entity, edgeAB, edgeCA), new HashSet<>(results));
+        for (final Element element : results) {
+            if (element.equals(edgeAB)) {
+                assertEquals(EdgeId.MatchedVertex.SOURCE, ((Edge) element).getMatchedVertex());
+            } else if (element.equals(edgeCA)) {
+                assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) element).getMatchedVertex());
+            }
+        }
+        assertEquals(3, index.getVertexCount());
+    }
+
+    @Test
+    public void shouldOnlyLookupRequestedGroups() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        index.add(entity);
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null));
+
+        // When
+        final List<Element> results = index.lookup("A", Sets.newHashSet(TestGroups.ENTITY));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(entity, results.get(0));
+    }
+
+    @Test
+    public void shouldNotCreateElementsOnLookup() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null));
+
+        // When
+        final List<Element> first = index.lookup("B", null);
+        final List<Element> second = index.lookup("B", null);
+
+        // Then
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) first.get(0)).getMatchedVertex());
+        assertSame(first.get(0), second.get(0));
+        assertSame(Collections.emptyList(), index.lookup("B", Sets.newHashSet(TestGroups.ENTITY)));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Entity(TestGroups.ENTITY, "B")));
+    }
+
+    @Test
+    public void shouldNotIndexTheSameElementTwice() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null));
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null));
+
+        // When / Then
+        assertEquals(1, index.size());
+        assertEquals(1, index.lookup("A", null).size());
+        assertEquals(1, index.lookup("B", null).size());
+    }
+
+    @Test
+    public void shouldOnlyReturnSelfLoopOnce() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Edge(TestGroups.EDGE, "A", "A", true, EdgeId.MatchedVertex.SOURCE, null));
+
+        // When
+        final List<Element> results = index.lookup("A", null);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(EdgeId.MatchedVertex.SOURCE, ((Edge) results.get(0)).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldLookupEdgesByEdgeId() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Edge directed = new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null);
+        final Edge undirected = new Edge(TestGroups.EDGE_2, "A", "B", false, EdgeId.MatchedVertex.SOURCE, null);
+        index.add(directed);
+        index.add(undirected);
+        index.add(new Edge(TestGroups.EDGE, "A", "C", true, EdgeId.MatchedVertex.SOURCE, null));
+
+        // When / Then
+        assertEquals(Sets.newHashSet(directed), new HashSet<>(index.lookup(new EdgeSeed("A", "B", true))));
+        assertEquals(Sets.newHashSet(undirected), new HashSet<>(index.lookup(new EdgeSeed("A", "B", false))));
+        assertEquals(Sets.newHashSet(undirected), new HashSet<>(index.lookup(new EdgeSeed("B", "A", false))));
+        assertTrue(index.lookup(new EdgeSeed("B", "A", true)).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnNothingForUnknownVertexOrAfterClear() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Entity(TestGroups.ENTITY, "A"));
+
+        // When / Then
+        assertTrue(index.lookup("B", null).isEmpty());
+        index.clear();
+        assertTrue(index.lookup("A", null).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
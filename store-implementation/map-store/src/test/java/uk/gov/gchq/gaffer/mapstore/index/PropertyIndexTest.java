@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertyIndexTest {
+    private static final Element KEY_A = new Entity(TestGroups.ENTITY, "A");
+    private static final Element KEY_B = new Entity(TestGroups.ENTITY, "B");
+    private static final Element KEY_C = new Entity(TestGroups.ENTITY, "C");
+
+    @Test
+    public void shouldLookupRangesInSortedIndex() {
+        // Given
+        final PropertyIndex index = new SortedPropertyIndex(TestGroups.ENTITY, TestPropertyNames.COUNT);
+        index.update(KEY_A, null, 1L);
+        index.update(KEY_B, null, 5L);
+        index.update(KEY_C, null, 10L);
+
+        // When / Then
+        assertEquals(Sets.newHashSet(KEY_B, KEY_C), index.lookup(new IsMoreThan(5L, true)));
+        assertEquals(Sets.newHashSet(KEY_C), index.lookup(new IsMoreThan(5L)));
+        assertEquals(Sets.newHashSet(KEY_A), index.lookup(new IsLessThan(5L)));
+        assertEquals(Sets.newHashSet(KEY_A, KEY_C), index.lookup(new IsIn(1L, 10L, 11L)));
+        assertEquals(Sets.newHashSet(KEY_B), index.lookup(new IsEqual(5L)));
+    }
+
+    @Test
+    public void shouldOnlyLookupEqualityInHashIndex() {
+        // Given
+        final PropertyIndex index = new HashPropertyIndex(TestGroups.ENTITY, TestPropertyNames.STRING);
+        index.update(KEY_A, null, "x");
+        index.update(KEY_B, null, "y");
+
+        // When / Then
+        assertEquals(Sets.newHashSet(KEY_A), index.lookup(new IsEqual("x")));
+        assertEquals(Collections.emptySet(), index.lookup(new IsEqual("z")));
+        assertNull(index.lookup(new IsMoreThan("a")));
+        assertNull(index.lookup(new Exists()));
+    }
+
+    @Test
+    public void shouldMoveKeyWhenValueIsUpdated() {
+        // Given
+        final PropertyIndex index = new SortedPropertyIndex(TestGroups.ENTITY, TestPropertyNames.COUNT);
+        index.update(KEY_A, null, 1L);
+
+        // When
+        index.update(KEY_A, 1L, 3L);
+
+        // Then
+        assertEquals(Collections.emptySet(), index.lookup(new IsEqual(1L)));
+        assertEquals(Sets.newHashSet(KEY_A), index.lookup(new IsEqual(3L)));
+    }
+
+    @Test
+    public void shouldNotUseIndexForValuesOfADifferentType() {
+        // Given
+        final PropertyIndex index = new SortedPropertyIndex(TestGroups.ENTITY, TestPropertyNames.COUNT);
+        index.update(KEY_A, null, 1L);
+
+        // When / Then
+        assertNull(index.lookup(new IsMoreThan("a")));
+    }
+
+    @Test
+    public void shouldCreateIndexesDeclaredInSchemaConfig() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .property(TestPropertyNames.PROP_1, "object")
+                        .build())
+                .type("string", String.class)
+                .type("long", Long.class)
+                .type("object", new TypeDefinition(Object.class))
+                .config(PropertyIndex.SORTED_INDEX_PROPERTIES, TestPropertyNames.COUNT + ", unknown")
+                .config(PropertyIndex.HASH_INDEX_PROPERTIES, TestPropertyNames.PROP_1)
+                .build();
+
+        // When
+        final Map<String, List<PropertyIndex>> indexes = PropertyIndex.createIndexes(schema);
+
+        // Then
+        assertEquals(1, indexes.size());
+        assertEquals(2, indexes.get(TestGroups.ENTITY).size());
+        assertEquals(SortedPropertyIndex.class, indexes.get(TestGroups.ENTITY).get(0).getClass());
+        assertEquals(HashPropertyIndex.class, indexes.get(TestGroups.ENTITY).get(1).getClass());
+    }
+
+    @Test
+    public void shouldNotCreateSortedIndexForPropertyThatIsNotComparable() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.PROP_1, "object")
+                        .build())
+                .type("string", String.class)
+                .type("object", new TypeDefinition(Object.class))
+                .config(PropertyIndex.SORTED_INDEX_PROPERTIES, TestPropertyNames.PROP_1)
+                .build();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> PropertyIndex.createIndexes(schema));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedFileMapTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldPutGetAndMergeEntries() throws IOException {
+        // Given
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            // When
+            assertNull(map.put("a", 1L));
+            assertEquals(1L, (long) map.put("a", 2L));
+            map.merge("a", 3L, Long::sum);
+            map.merge("b", 5L, Long::sum);
+
+            // Then
+            assertEquals(2, map.size());
+            assertEquals(5L, (long) map.get("a"));
+            assertEquals(5L, (long) map.get("b"));
+            assertTrue(map.containsKey("a"));
+            assertFalse(map.containsKey("c"));
+            assertNull(map.get("c"));
+        }
+    }
+
+    @Test
+    public void shouldIterateOverAllEntriesAcrossSegments() throws IOException {
+        // Given
+        final Map<String, Long> expected = new HashMap<>();
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            // When
+            for (long i = 0; i < 1000; i++) {
+                map.put("key" + i, i);
+                map.put("key" + i, i * 2);
+                expected.put("key" + i, i * 2);
+            }
+
+            // Then
+            assertEquals(expected, new HashMap<>(map));
+            assertEquals(expected.keySet(), map.keySet());
+        }
+    }
+
+    @Test
+    public void shouldReopenExistingFile() throws IOException {
+        // Given
+        final Map<String, Long> expected = new HashMap<>();
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            for (long i = 0; i < 500; i++) {
+                map.merge("key" + (i % 100), i, Long::sum);
+                expected.merge("key" + (i % 100), i, Long::sum);
+            }
+        }
+
+        // When
+        try (final MappedFileMap<String, Long> reopened = createMap()) {
+            // Then
+            assertEquals(expected, new HashMap<>(reopened));
+        }
+    }
+
+    @Test
+    public void shouldClearAndReuseFile() throws IOException {
+        // Given
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            for (long i = 0; i < 100; i++) {
+                map.put("key" + i, i);
+            }
+
+            // When
+            map.clear();
+            map.put("new", 1L);
+        }
+
+        // Then
+        try (final MappedFileMap<String, Long> reopened = createMap()) {
+            assertEquals(1, reopened.size());
+            assertEquals(1L, (long) reopened.get("new"));
+        }
+    }
+
+    @Test
+    public void shouldCompactSupersededEntries() throws IOException {
+        // Given
+        final File file = tempDir.resolve("test.map").toFile();
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            // When
+            for (long i = 0; i < 10000; i++) {
+                map.put("key" + (i % 10), i);
+            }
+
+            // Then
+            assertEquals(10, map.size());
+            assertEquals(9999L, (long) map.get("key9"));
+            assertTrue(file.length() <= 4 * SEGMENT_SIZE);
+        }
+
+        try (final MappedFileMap<String, Long> reopened = createMap()) {
+            assertEquals(10, reopened.size());
+            assertEquals(9999L, (long) reopened.get("key9"));
+        }
+    }
+
+    @Test
+    public void shouldIterateOverSnapshotWhenCompacted() throws IOException {
+        // Given
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            for (long i = 0; i < 10; i++) {
+                map.put("key" + i, i);
+            }
+            final Iterator<Map.Entry<String, Long>> entries = map.entrySet().iterator();
+
+            // When
+            for (long i = 0; i < 1000; i++) {
+                map.put("key" + (i % 10), -1L);
+            }
+
+            // Then
+            final Map<String, Long> results = new HashMap<>();
+            entries.forEachRemaining(e -> results.put(e.getKey(), e.getValue()));
+            for (long i = 0; i < 10; i++) {
+                assertEquals(i, (long) results.get("key" + i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotDeserialiseKeysWhenReopening() throws IOException {
+        // Given
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            for (long i = 0; i < 500; i++) {
+                map.merge("key" + (i % 100), i, Long::sum);
+            }
+        }
+        final AtomicInteger deserialised = new AtomicInteger();
+        final StringSerialiser keySerialiser = new StringSerialiser() {
+            @Override
+            protected String deserialiseString(final String value) throws SerialisationException {
+                deserialised.incrementAndGet();
+                return super.deserialiseString(value);
+            }
+        };
+
+        // When
+        try (final MappedFileMap<String, Long> reopened = new MappedFileMap<>(tempDir.resolve("test.map").toFile(),
+                keySerialiser, new CompactRawLongSerialiser(), SEGMENT_SIZE)) {
+            // Then
+            assertEquals(100, reopened.size());
+            assertEquals(0, deserialised.get());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfEntryIsLargerThanSegment() throws IOException {
+        // Given
+        final StringBuilder largeKey = new StringBuilder();
+        for (int i = 0; i < SEGMENT_SIZE; i++) {
+            largeKey.append('a');
+        }
+
+        try (final MappedFileMap<String, Long> map = createMap()) {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> map.put(largeKey.toString(), 1L));
+        }
+    }
+
+    private MappedFileMap<String, Long> createMap() throws IOException {
+        final File file = tempDir.resolve("test.map").toFile();
+        return new MappedFileMap<>(file, new StringSerialiser(), new CompactRawLongSerialiser(), SEGMENT_SIZE);
+    }
+}